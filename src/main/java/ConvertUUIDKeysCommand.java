@@ -0,0 +1,62 @@
+import configuration.DatabaseConfiguration;
+import configuration.NotiConfiguration;
+import infrastructure.MySQLConnectionFactory;
+import infrastructure.UUIDBackfill;
+import io.dropwizard.cli.ConfiguredCommand;
+import io.dropwizard.setup.Bootstrap;
+import io.opentracing.util.GlobalTracer;
+import net.sourceforge.argparse4j.inf.Namespace;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts the UUID keys of the database from their textual form to {@code BINARY(16)}.
+ *
+ * <p>The conversion is a cutover rather than an online change: nodes started with the {@code TEXT}
+ * format cannot read the converted keys, and nodes started with the {@code BINARY} format refuse to
+ * start until the keys are converted. Every node is stopped, this command is run once with their
+ * configuration, and the nodes are started again with the {@code BINARY} format. The backfill task
+ * may be run beforehand, while the nodes still serve requests, to shorten the time they are down.
+ *
+ * @author Jon Freer
+ */
+public final class ConvertUUIDKeysCommand extends ConfiguredCommand<NotiConfiguration> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConvertUUIDKeysCommand.class);
+
+  /** Constructs a new {@link ConvertUUIDKeysCommand}. */
+  public ConvertUUIDKeysCommand() {
+    super(
+        "convert-uuid-keys",
+        "Converts the UUID keys of the database to binary. Every node must be stopped first.");
+  }
+
+  @Override
+  protected void run(
+      Bootstrap<NotiConfiguration> bootstrap, Namespace namespace, NotiConfiguration configuration)
+      throws Exception {
+    DatabaseConfiguration databaseConfiguration = configuration.getDatabaseConfiguration();
+    String url = databaseConfiguration.getURL();
+    String username = databaseConfiguration.getUser();
+    String password = databaseConfiguration.getPassword();
+
+    Flyway flyway = DatabaseModule.flyway(url, username, password);
+    flyway.migrate();
+    if (DatabaseModule.isBinaryUUIDSchema(flyway)) {
+      logger.info("The UUID keys are already binary.");
+      return;
+    }
+
+    // fill the binary keys the backfill task left unfilled, then swap them in.
+    new UUIDBackfill(
+            new MySQLConnectionFactory(url, username, password, GlobalTracer.get()),
+            databaseConfiguration.getBatchSize(),
+            LoggerFactory.getLogger(UUIDBackfill.class))
+        .backfill();
+    flyway.setLocations(
+        DatabaseModule.MIGRATION_LOCATION, DatabaseModule.BINARY_UUID_MIGRATION_LOCATION);
+    flyway.migrate();
+    logger.info("Converted the UUID keys to binary; start every node with the BINARY format.");
+  }
+}
@@ -1,11 +1,30 @@
+import api.tasks.BackfillUUIDKeysTask;
+import api.tasks.FlushAggregateCacheTask;
+import com.codahale.metrics.SharedMetricRegistries;
+import configuration.DatabaseCacheConfiguration;
 import configuration.DatabaseConfiguration;
+import configuration.DatabasePoolConfiguration;
+import configuration.DatabaseReplicaConfiguration;
 import configuration.NotiConfiguration;
+import domain.Audience;
+import domain.Target;
+import domain.Template;
+import infrastructure.AggregateCache;
+import infrastructure.ConnectionFactory;
+import infrastructure.PooledConnectionFactory;
+import infrastructure.RoutingConnectionFactory;
+import infrastructure.UUIDBackfill;
+import infrastructure.UUIDCodec;
+import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Environment;
+import io.opentracing.util.GlobalTracer;
+import java.util.HashSet;
 import java.util.concurrent.TimeUnit;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.RetryPolicy;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,12 +34,52 @@ public final class DatabaseModule extends NotiModule {
   private static final String JDBC_URL = "JDBC_URL";
   private static final String JDBC_USERNAME = "JDBC_USERNAME";
   private static final String JDBC_PASSWORD = "JDBC_PASSWORD";
+  private static final String DB_BATCH_SIZE = "DB_BATCH_SIZE";
   private static final Logger logger = LoggerFactory.getLogger(DatabaseModule.class);
 
+  // the migrations shared by every schema, and those only applied once keys are stored as binary.
+  static final String MIGRATION_LOCATION = "db/migration";
+  static final String BINARY_UUID_MIGRATION_LOCATION = "db/binary";
+  private static final String BINARY_UUID_MIGRATION_VERSION = "10";
+
+  private ConnectionFactory connectionFactory;
+  private UUIDCodec uuidCodec;
+  private AggregateCache aggregateCache;
+
   public DatabaseModule(NotiConfiguration configuration, Environment environment) {
     super(configuration, environment);
   }
 
+  /**
+   * Retrieves the {@link ConnectionFactory} shared by the application. Only available once the
+   * module has been configured.
+   *
+   * @return The shared {@link ConnectionFactory}.
+   */
+  ConnectionFactory getConnectionFactory() {
+    return this.connectionFactory;
+  }
+
+  /**
+   * Retrieves the {@link UUIDCodec} shared by the application. Only available once the module has
+   * been configured.
+   *
+   * @return The shared {@link UUIDCodec}.
+   */
+  UUIDCodec getUUIDCodec() {
+    return this.uuidCodec;
+  }
+
+  /**
+   * Retrieves the {@link AggregateCache} shared by the application. Only available once the module
+   * has been configured.
+   *
+   * @return The shared {@link AggregateCache}.
+   */
+  AggregateCache getAggregateCache() {
+    return this.aggregateCache;
+  }
+
   @Override
   public void configure() {
 
@@ -30,6 +89,16 @@ public final class DatabaseModule extends NotiModule {
     final String username = databaseConfiguration.getUser();
     final String password = databaseConfiguration.getPassword();
     final String url = databaseConfiguration.getURL();
+    final Integer batchSize = databaseConfiguration.getBatchSize();
+    final UUIDCodec uuidCodec =
+        new UUIDCodec(UUIDCodec.Format.valueOf(databaseConfiguration.getUuidFormat()));
+    this.uuidCodec = uuidCodec;
+    final DatabasePoolConfiguration poolConfiguration =
+        databaseConfiguration.getPoolConfiguration();
+    final DatabaseReplicaConfiguration replicaConfiguration =
+        databaseConfiguration.getReplicaConfiguration();
+    final DatabaseCacheConfiguration cacheConfiguration =
+        databaseConfiguration.getCacheConfiguration();
 
     final Integer delay = 1;
     final Integer maxDelay = 32;
@@ -40,17 +109,125 @@ public final class DatabaseModule extends NotiModule {
             .withBackoff(delay, maxDelay, TimeUnit.SECONDS)
             .withMaxRetries(maxRetries);
 
+    // setup the database. the binary key conversion is held back in its own location, so the
+    // migrations after it still apply to schemas with textual keys. it is never applied here.
+    final Flyway flyway = flyway(url, username, password);
     Failsafe.with(retryPolicy)
         .onFailedAttempt((f) -> logger.warn("Unable to connect to database."))
         .onFailure((f) -> logger.error("Unable to connect to database.", f))
-        .run(
-            () -> {
-
-              // setup the database.
-              Flyway flyway = new Flyway();
-              flyway.setInstalledBy(username);
-              flyway.setDataSource(url, username, password);
-              flyway.migrate();
+        .run(flyway::migrate);
+
+    // nodes storing one form of key cannot read the other, so the keys are only converted by the
+    // convert-uuid-keys command while every node is stopped, and a node whose format does not
+    // match the schema refuses to start.
+    boolean converted = isBinaryUUIDSchema(flyway);
+    if (converted != (uuidCodec.getFormat() == UUIDCodec.Format.BINARY)) {
+      throw new IllegalStateException(
+          converted
+              ? "The UUID keys are already binary; start every node with the BINARY format."
+              : "The UUID keys are still textual; stop every node and run the convert-uuid-keys"
+                  + " command before starting nodes with the BINARY format.");
+    }
+
+    // construct the connection pool shared by the application.
+    final PooledConnectionFactory pooledConnectionFactory =
+        new PooledConnectionFactory(
+            url,
+            username,
+            password,
+            null,
+            poolConfiguration.getMaxSize(),
+            poolConfiguration.getMinIdle(),
+            poolConfiguration.getAcquireTimeout(),
+            poolConfiguration.getValidationTimeout(),
+            poolConfiguration.getIdleTimeout(),
+            poolConfiguration.getMaxLifetime(),
+            poolConfiguration.getLeakDetectionThreshold(),
+            SharedMetricRegistries.getOrCreate(MetricsModule.METRIC_REGISTRY_NAME),
+            GlobalTracer.get());
+
+    // route read-only work to the replica, when one is configured.
+    final PooledConnectionFactory replicaConnectionFactory;
+    final RoutingConnectionFactory routingConnectionFactory;
+    if (replicaConfiguration.isEnabled()) {
+      final String replicaURL = databaseConfiguration.getReplicaURL();
+      final DatabasePoolConfiguration replicaPoolConfiguration =
+          replicaConfiguration.getPoolConfiguration();
+      replicaConnectionFactory =
+          new PooledConnectionFactory(
+              replicaURL,
+              username,
+              password,
+              "replica",
+              replicaPoolConfiguration.getMaxSize(),
+              replicaPoolConfiguration.getMinIdle(),
+              replicaPoolConfiguration.getAcquireTimeout(),
+              replicaPoolConfiguration.getValidationTimeout(),
+              replicaPoolConfiguration.getIdleTimeout(),
+              replicaPoolConfiguration.getMaxLifetime(),
+              replicaPoolConfiguration.getLeakDetectionThreshold(),
+              SharedMetricRegistries.getOrCreate(MetricsModule.METRIC_REGISTRY_NAME),
+              GlobalTracer.get());
+      routingConnectionFactory =
+          new RoutingConnectionFactory(
+              pooledConnectionFactory,
+              replicaConnectionFactory,
+              replicaConfiguration.getMaxLag(),
+              replicaConfiguration.getLagCheckInterval(),
+              SharedMetricRegistries.getOrCreate(MetricsModule.METRIC_REGISTRY_NAME),
+              GlobalTracer.get(),
+              LoggerFactory.getLogger(RoutingConnectionFactory.class));
+      this.connectionFactory = routingConnectionFactory;
+    } else {
+      replicaConnectionFactory = null;
+      routingConnectionFactory = null;
+      this.connectionFactory = pooledConnectionFactory;
+    }
+    final ConnectionFactory connectionFactory = this.connectionFactory;
+
+    // cache the aggregates that are read far more often than they change.
+    final AggregateCache aggregateCache =
+        new AggregateCache(
+            cacheConfiguration.getMaxWeight(),
+            cacheConfiguration.getTimeToLive(),
+            SharedMetricRegistries.getOrCreate(MetricsModule.METRIC_REGISTRY_NAME));
+    aggregateCache.cache(Target.class, (target) -> target, (target) -> 1);
+    aggregateCache.cache(Template.class, (template) -> template, (template) -> 1);
+    aggregateCache.cache(
+        Audience.class,
+        (audience) -> {
+          Audience copy =
+              new Audience(audience.getId(), audience.name(), new HashSet<>(audience.members()));
+          copy.setVersion(audience.getVersion());
+          return copy;
+        },
+        (audience) -> 1 + audience.members().size(),
+        Target.class);
+    this.getEnvironment().admin().addTask(new FlushAggregateCacheTask(aggregateCache));
+    this.aggregateCache = aggregateCache;
+
+    // fill the binary keys on demand while the keys are still textual.
+    final UUIDBackfill uuidBackfill =
+        new UUIDBackfill(
+            pooledConnectionFactory, batchSize, LoggerFactory.getLogger(UUIDBackfill.class));
+    this.getEnvironment().admin().addTask(new BackfillUUIDKeysTask(uuidBackfill));
+
+    // close pooled connections when the application stops.
+    this.getEnvironment()
+        .lifecycle()
+        .manage(
+            new Managed() {
+              @Override
+              public void start() {}
+
+              @Override
+              public void stop() {
+                if (routingConnectionFactory != null) {
+                  routingConnectionFactory.close();
+                  replicaConnectionFactory.close();
+                }
+                pooledConnectionFactory.close();
+              }
             });
 
     // register database configuration with environment.
@@ -61,8 +238,38 @@ public final class DatabaseModule extends NotiModule {
             this.bind(url).to(String.class).named(JDBC_URL);
             this.bind(username).to(String.class).named(JDBC_USERNAME);
             this.bind(password).to(String.class).named(JDBC_PASSWORD);
+            this.bind(batchSize).to(Integer.class).named(DB_BATCH_SIZE);
+            this.bind(uuidCodec).to(UUIDCodec.class);
+            this.bind(connectionFactory).to(ConnectionFactory.class);
+            this.bind(aggregateCache).to(AggregateCache.class);
           }
         };
     this.getEnvironment().jersey().register(binder);
   }
+
+  /**
+   * Creates the {@link Flyway} instance migrating the database, with the migrations shared by every
+   * schema. The binary key conversion is applied out of order, after the migrations that follow it.
+   */
+  static Flyway flyway(String url, String username, String password) {
+    Flyway flyway = new Flyway();
+    flyway.setInstalledBy(username);
+    flyway.setDataSource(url, username, password);
+    flyway.setLocations(MIGRATION_LOCATION);
+    flyway.setOutOfOrder(true);
+    return flyway;
+  }
+
+  /** Determines whether the binary key conversion has been applied to the database. */
+  static boolean isBinaryUUIDSchema(Flyway flyway) {
+    for (MigrationInfo migration : flyway.info().applied()) {
+      if (migration.getVersion() != null
+          && BINARY_UUID_MIGRATION_VERSION.equals(migration.getVersion().getVersion())
+          && migration.getState().isApplied()
+          && !migration.getState().isFailed()) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
@@ -1,11 +1,22 @@
 import configuration.KafkaConfiguration;
 import configuration.KafkaProducerConfiguration;
 import configuration.NotiConfiguration;
+import infrastructure.services.AvroSerializer;
+import infrastructure.services.FileSchemaRegistry;
+import infrastructure.services.MessageRecordCodec;
+import infrastructure.services.RestSchemaRegistry;
+import infrastructure.services.SMSQueueService;
+import infrastructure.services.SchemaRegistry;
 import io.dropwizard.setup.Environment;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.Properties;
+import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.glassfish.hk2.api.TypeLiteral;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
@@ -14,21 +25,38 @@ public final class KafkaModule extends NotiModule {
   // Kafka properties.
   private static final String KAFKA_PROPERTY_BOOTSTRAP_SERVERS = "bootstrap.servers";
   private static final String KAFKA_PROPERTY_ACKS = "acks";
-  private static final String KAFKA_PROPERTY_SCHEMA_REGISTRY_URL = "schema.registry.url";
-  private static final String KAFKA_PROPERTY_KEY_SERIALIZER = "key.serializer";
-  private static final String KAFKA_PROPERTY_VALUE_SERIALIZER = "value.serializer";
   private static final String KAFKA_PROPERTY_CLIENT_ID = "client.id";
+  private static final String KAFKA_PROPERTY_ENABLE_IDEMPOTENCE = "enable.idempotence";
+  private static final String KAFKA_PROPERTY_LINGER_MS = "linger.ms";
+  private static final String KAFKA_PROPERTY_BATCH_SIZE = "batch.size";
+  private static final String KAFKA_PROPERTY_COMPRESSION_TYPE = "compression.type";
+
+  // named bindings.
+  private static final String KAFKA_SEND_TIMEOUT = "KAFKA_SEND_TIMEOUT";
 
   // Kafka property values.
-  private static final String KEY_SERIALIZER = "io.confluent.kafka.serializers.KafkaAvroSerializer";
-  private static final String VALUE_SERIALIZER =
-      "io.confluent.kafka.serializers.KafkaAvroSerializer";
   private static final String CLIENT_ID = "noti-producer";
 
+  // schema registry subjects, named after the topic as the Confluent serializers name them.
+  private static final String KEY_SUBJECT = SMSQueueService.TOPIC_NAME + "-key";
+  private static final String VALUE_SUBJECT = SMSQueueService.TOPIC_NAME + "-value";
+
+  private Producer<String, GenericRecord> producer;
+
   public KafkaModule(NotiConfiguration configuration, Environment environment) {
     super(configuration, environment);
   }
 
+  /**
+   * Retrieves the Kafka producer shared by the application. Only available once the module has
+   * been configured.
+   *
+   * @return The shared Kafka producer.
+   */
+  Producer<String, GenericRecord> getProducer() {
+    return this.producer;
+  }
+
   @Override
   public void configure() {
 
@@ -43,15 +71,46 @@ public final class KafkaModule extends NotiModule {
         KAFKA_PROPERTY_BOOTSTRAP_SERVERS,
         String.join(",", producerConfiguration.getBootstrapServers()));
     producerProperties.put(KAFKA_PROPERTY_ACKS, producerConfiguration.getAcks());
-    producerProperties.put(
-        KAFKA_PROPERTY_SCHEMA_REGISTRY_URL, producerConfiguration.getSchemaRegistryURL());
     producerProperties.put(KAFKA_PROPERTY_CLIENT_ID, CLIENT_ID);
-    producerProperties.put(KAFKA_PROPERTY_KEY_SERIALIZER, KEY_SERIALIZER);
-    producerProperties.put(KAFKA_PROPERTY_VALUE_SERIALIZER, VALUE_SERIALIZER);
+    producerProperties.put(
+        KAFKA_PROPERTY_ENABLE_IDEMPOTENCE, String.valueOf(producerConfiguration.isIdempotent()));
+
+    // batching is left to the producer defaults unless configured.
+    if (producerConfiguration.getLingerMs() != null) {
+      producerProperties.put(
+          KAFKA_PROPERTY_LINGER_MS, String.valueOf(producerConfiguration.getLingerMs()));
+    }
+    if (producerConfiguration.getBatchSize() != null) {
+      producerProperties.put(
+          KAFKA_PROPERTY_BATCH_SIZE, String.valueOf(producerConfiguration.getBatchSize()));
+    }
+    if (producerConfiguration.getCompressionType() != null) {
+      producerProperties.put(
+          KAFKA_PROPERTY_COMPRESSION_TYPE, producerConfiguration.getCompressionType());
+    }
+
+    // register the schemas once, before anything is produced. a local registry file stands in for
+    // the registry server when one is configured.
+    SchemaRegistry schemaRegistry =
+        producerConfiguration.getSchemaRegistryFile() != null
+            ? new FileSchemaRegistry(Paths.get(producerConfiguration.getSchemaRegistryFile()))
+            : new RestSchemaRegistry(producerConfiguration.getSchemaRegistryURL());
+    Serializer<String> keySerializer;
+    Serializer<GenericRecord> valueSerializer;
+    try {
+      keySerializer =
+          new AvroSerializer<>(schemaRegistry, KEY_SUBJECT, Schema.create(Schema.Type.STRING));
+      valueSerializer =
+          new AvroSerializer<>(schemaRegistry, VALUE_SUBJECT, MessageRecordCodec.SCHEMA);
+    } catch (IOException x) {
+      throw new UncheckedIOException(x);
+    }
 
     // construct the Kafka producer.
     Producer<String, GenericRecord> producer =
-        new KafkaProducer<String, GenericRecord>(producerProperties);
+        new KafkaProducer<String, GenericRecord>(
+            producerProperties, keySerializer, valueSerializer);
+    this.producer = producer;
 
     // register Kafka producer with environment.
     AbstractBinder binder =
@@ -59,6 +118,9 @@ public final class KafkaModule extends NotiModule {
           @Override
           protected void configure() {
             this.bind(producer).to(new TypeLiteral<Producer<String, GenericRecord>>() {});
+            this.bind(producerConfiguration.getSendTimeout())
+                .to(Long.class)
+                .named(KAFKA_SEND_TIMEOUT);
           }
         };
     this.getEnvironment().jersey().register(binder);
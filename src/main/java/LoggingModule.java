@@ -7,6 +7,7 @@ import application.services.NotificationService;
 import application.services.TargetService;
 import application.services.TemplateService;
 import configuration.NotiConfiguration;
+import infrastructure.AudienceFanout;
 import infrastructure.services.RepresentationMetadataService;
 import infrastructure.services.SMSQueueService;
 import io.dropwizard.setup.Environment;
@@ -45,6 +46,7 @@ public final class LoggingModule extends NotiModule {
                 loggers.add(LoggerFactory.getLogger(TemplateService.class));
                 loggers.add(LoggerFactory.getLogger(SMSQueueService.class));
                 loggers.add(LoggerFactory.getLogger(RepresentationMetadataService.class));
+                loggers.add(LoggerFactory.getLogger(AudienceFanout.class));
 
                 // wire up logger instances.
                 for (Logger logger : loggers) {
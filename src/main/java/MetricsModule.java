@@ -1,5 +1,6 @@
 import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
 import com.codahale.metrics.graphite.Graphite;
 import com.codahale.metrics.graphite.GraphiteReporter;
 import com.google.common.collect.ImmutableList;
@@ -16,6 +17,9 @@ import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
 public final class MetricsModule extends NotiModule {
 
+  /** The name under which the application metric registry is shared with other modules. */
+  static final String METRIC_REGISTRY_NAME = "noti";
+
   public MetricsModule(NotiConfiguration configuration, Environment environment) {
     super(configuration, environment);
   }
@@ -51,6 +55,9 @@ public final class MetricsModule extends NotiModule {
             .build(graphite);
     reporter.start(frequency.getQuantity(), frequency.getUnit());
 
+    // share metric registry with modules that construct components outside of the environment.
+    SharedMetricRegistries.add(METRIC_REGISTRY_NAME, metricRegistry);
+
     // hook in jaeger with metric registry.
     this.getConfiguration().getJaegerConfiguration().setMetricRegistry(metricRegistry);
 
@@ -19,25 +19,30 @@ public class Noti extends Application<NotiConfiguration> {
     bootstrap.setConfigurationSourceProvider(
         new SubstitutingSourceProvider(
             bootstrap.getConfigurationSourceProvider(), new EnvironmentVariableSubstitutor()));
+    bootstrap.addCommand(new ConvertUUIDKeysCommand());
   }
 
   @Override
   public void run(NotiConfiguration configuration, Environment environment) throws Exception {
 
     // configure application modules.
+    DatabaseModule databaseModule = new DatabaseModule(configuration, environment);
+    KafkaModule kafkaModule = new KafkaModule(configuration, environment);
     List<ApplicationModule> modules = new ArrayList<ApplicationModule>();
-    modules.add(new KafkaModule(configuration, environment));
+    modules.add(kafkaModule);
     modules.add(new MetricsModule(configuration, environment));
     modules.add(new TracingModule(configuration, environment));
-    modules.add(new DatabaseModule(configuration, environment));
+    modules.add(databaseModule);
     modules.add(new ResourceModule(configuration, environment));
     modules.add(new FilterModule(configuration, environment));
     modules.add(new RepresentationModule(configuration, environment));
     modules.add(new LoggingModule(configuration, environment));
     modules.add(new NotiDomainModule(configuration, environment));
     modules.add(new NotiApplicationModule(configuration, environment));
-    modules.add(new NotiInfrastructureModule(configuration, environment));
-    modules.add(new HealthModule(configuration, environment));
+    modules.add(new NotiInfrastructureModule(configuration, environment, databaseModule));
+    modules.add(new HealthModule(configuration, environment, databaseModule));
+    modules.add(new OutboxModule(configuration, environment, databaseModule, kafkaModule));
+    modules.add(new SchedulerModule(configuration, environment, databaseModule));
 
     for (ApplicationModule module : modules) {
       module.configure();
@@ -3,6 +3,7 @@ import domain.Audience;
 import domain.AudienceFactory;
 import domain.AudienceSQLFactory;
 import domain.EntitySQLFactory;
+import domain.IdentityGenerator;
 import domain.MessageFactory;
 import domain.Notification;
 import domain.NotificationFactory;
@@ -13,6 +14,7 @@ import domain.TargetSQLFactory;
 import domain.Template;
 import domain.TemplateFactory;
 import domain.TemplateSQLFactory;
+import domain.TimeOrderedUUIDGenerator;
 import io.dropwizard.setup.Environment;
 import java.util.UUID;
 import org.glassfish.hk2.api.TypeLiteral;
@@ -52,6 +54,10 @@ public final class NotiDomainModule extends NotiModule {
                     .named(TEMPLATE_SQL_FACTORY)
                     .to(new TypeLiteral<EntitySQLFactory<Template, UUID>>() {});
 
+                // a single generator is shared so identities stay ordered across factories.
+                this.bind(new TimeOrderedUUIDGenerator())
+                    .to(new TypeLiteral<IdentityGenerator<UUID>>() {});
+
                 this.bindAsContract(NotificationFactory.class);
                 this.bindAsContract(TargetFactory.class);
                 this.bindAsContract(AudienceFactory.class);
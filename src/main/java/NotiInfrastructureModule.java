@@ -1,29 +1,79 @@
+import com.codahale.metrics.SharedMetricRegistries;
+import configuration.FanoutConfiguration;
 import configuration.NotiConfiguration;
+import domain.Audience;
 import domain.Notification;
-import infrastructure.ConnectionFactory;
+import domain.Target;
+import domain.Template;
+import infrastructure.AudienceFanout;
 import infrastructure.MessageQueueService;
-import infrastructure.MySQLConnectionFactory;
 import infrastructure.RepositoryFactory;
 import infrastructure.SQLRepositoryFactory;
 import infrastructure.SQLUnitOfWorkFactory;
 import infrastructure.UnitOfWorkFactory;
+import infrastructure.query.AudienceQueryFactory;
 import infrastructure.query.NotificationQueryFactory;
 import infrastructure.query.QueryFactory;
+import infrastructure.query.TargetQueryFactory;
+import infrastructure.query.TemplateQueryFactory;
 import infrastructure.services.RepresentationMetadataService;
 import infrastructure.services.SMSQueueService;
+import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Environment;
 import org.glassfish.hk2.api.TypeLiteral;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.slf4j.LoggerFactory;
 
 public final class NotiInfrastructureModule extends NotiModule {
 
-  public NotiInfrastructureModule(NotiConfiguration configuration, Environment environment) {
+  private final DatabaseModule databaseModule;
+
+  public NotiInfrastructureModule(
+      NotiConfiguration configuration, Environment environment, DatabaseModule databaseModule) {
     super(configuration, environment);
+    this.databaseModule = databaseModule;
   }
 
   @Override
   public void configure() {
 
+    // extract the configuration.
+    final FanoutConfiguration fanoutConfiguration =
+        this.getConfiguration().getFanoutConfiguration();
+    final int poolSize =
+        this.getConfiguration().getDatabaseConfiguration().getPoolConfiguration().getMaxSize();
+
+    // the fan-outs and their writers share the connection pool with the requests, which must
+    // never starve.
+    if (fanoutConfiguration.getConcurrency() + fanoutConfiguration.getParallelism() >= poolSize) {
+      throw new IllegalArgumentException(
+          "The fan-out concurrency and parallelism must be smaller than the connection pool.");
+    }
+    final AudienceFanout audienceFanout =
+        new AudienceFanout(
+            this.databaseModule.getConnectionFactory(),
+            this.databaseModule.getUUIDCodec(),
+            fanoutConfiguration.getChunkSize(),
+            fanoutConfiguration.getConcurrency(),
+            fanoutConfiguration.getParallelism(),
+            fanoutConfiguration.getResumeInterval(),
+            SharedMetricRegistries.getOrCreate(MetricsModule.METRIC_REGISTRY_NAME),
+            LoggerFactory.getLogger(AudienceFanout.class));
+    this.getEnvironment()
+        .lifecycle()
+        .manage(
+            new Managed() {
+              @Override
+              public void start() {
+                audienceFanout.start();
+              }
+
+              @Override
+              public void stop() {
+                audienceFanout.close();
+              }
+            });
+
     // register infrastructure layer components with environment.
     this.getEnvironment()
         .jersey()
@@ -32,14 +82,19 @@ public final class NotiInfrastructureModule extends NotiModule {
               @Override
               protected void configure() {
 
-                this.bind(MySQLConnectionFactory.class).to(ConnectionFactory.class);
                 this.bind(SQLRepositoryFactory.class).to(RepositoryFactory.class);
                 this.bind(SQLUnitOfWorkFactory.class).to(UnitOfWorkFactory.class);
                 this.bind(RepresentationMetadataService.class)
                     .to(infrastructure.RepresentationMetadataService.class);
                 this.bind(SMSQueueService.class).to(MessageQueueService.class);
+                this.bind(audienceFanout).to(AudienceFanout.class);
                 this.bind(NotificationQueryFactory.class)
                     .to(new TypeLiteral<QueryFactory<Notification>>() {});
+                this.bind(TargetQueryFactory.class).to(new TypeLiteral<QueryFactory<Target>>() {});
+                this.bind(AudienceQueryFactory.class)
+                    .to(new TypeLiteral<QueryFactory<Audience>>() {});
+                this.bind(TemplateQueryFactory.class)
+                    .to(new TypeLiteral<QueryFactory<Template>>() {});
               }
             });
   }
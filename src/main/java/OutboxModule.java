@@ -0,0 +1,57 @@
+import com.codahale.metrics.SharedMetricRegistries;
+import configuration.NotiConfiguration;
+import configuration.OutboxConfiguration;
+import infrastructure.services.OutboxRelay;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.setup.Environment;
+import org.slf4j.LoggerFactory;
+
+public final class OutboxModule extends NotiModule {
+
+  private final DatabaseModule databaseModule;
+  private final KafkaModule kafkaModule;
+
+  public OutboxModule(
+      NotiConfiguration configuration,
+      Environment environment,
+      DatabaseModule databaseModule,
+      KafkaModule kafkaModule) {
+    super(configuration, environment);
+    this.databaseModule = databaseModule;
+    this.kafkaModule = kafkaModule;
+  }
+
+  @Override
+  public void configure() {
+
+    // extract the configuration.
+    OutboxConfiguration outboxConfiguration = this.getConfiguration().getOutboxConfiguration();
+
+    // relay the outbox through the application connection pool and Kafka producer.
+    this.getEnvironment()
+        .lifecycle()
+        .manage(
+            new Managed() {
+              private OutboxRelay relay;
+
+              @Override
+              public void start() {
+                this.relay =
+                    new OutboxRelay(
+                        databaseModule.getConnectionFactory(),
+                        kafkaModule.getProducer(),
+                        databaseModule.getUUIDCodec(),
+                        outboxConfiguration.getBatchSize(),
+                        outboxConfiguration.getPollInterval(),
+                        outboxConfiguration.getPublishTimeout(),
+                        SharedMetricRegistries.getOrCreate(MetricsModule.METRIC_REGISTRY_NAME),
+                        LoggerFactory.getLogger(OutboxRelay.class));
+              }
+
+              @Override
+              public void stop() {
+                this.relay.close();
+              }
+            });
+  }
+}
@@ -1,5 +1,6 @@
 import api.error.ApplicationExceptionMapper;
 import api.error.NotFoundExceptionMapper;
+import api.error.PreconditionFailedExceptionMapper;
 import api.resources.AudienceResource;
 import api.resources.MessageResource;
 import api.resources.NotiResource;
@@ -29,5 +30,6 @@ public final class ResourceModule extends NotiModule {
     // TODO move into its own module.
     this.getEnvironment().jersey().register(ApplicationExceptionMapper.class);
     this.getEnvironment().jersey().register(NotFoundExceptionMapper.class);
+    this.getEnvironment().jersey().register(PreconditionFailedExceptionMapper.class);
   }
 }
@@ -0,0 +1,56 @@
+import com.codahale.metrics.SharedMetricRegistries;
+import configuration.NotiConfiguration;
+import configuration.SchedulerConfiguration;
+import infrastructure.services.NotificationScheduler;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.setup.Environment;
+import org.slf4j.LoggerFactory;
+
+public final class SchedulerModule extends NotiModule {
+
+  private final DatabaseModule databaseModule;
+
+  public SchedulerModule(
+      NotiConfiguration configuration, Environment environment, DatabaseModule databaseModule) {
+    super(configuration, environment);
+    this.databaseModule = databaseModule;
+  }
+
+  @Override
+  public void configure() {
+
+    // extract the configuration.
+    SchedulerConfiguration schedulerConfiguration =
+        this.getConfiguration().getSchedulerConfiguration();
+
+    // the scheduler runs outside of any request and dispatches through the outbox, so it only
+    // shares the connection pool with the resources.
+    this.getEnvironment()
+        .lifecycle()
+        .manage(
+            new Managed() {
+              private NotificationScheduler scheduler;
+
+              @Override
+              public void start() {
+                this.scheduler =
+                    new NotificationScheduler(
+                        databaseModule.getConnectionFactory(),
+                        databaseModule.getUUIDCodec(),
+                        schedulerConfiguration.getBatchSize(),
+                        schedulerConfiguration.getTick(),
+                        schedulerConfiguration.getWheelSize(),
+                        schedulerConfiguration.getWindow(),
+                        schedulerConfiguration.getClaimInterval(),
+                        schedulerConfiguration.getLeaseDuration(),
+                        SharedMetricRegistries.getOrCreate(MetricsModule.METRIC_REGISTRY_NAME),
+                        LoggerFactory.getLogger(NotificationScheduler.class));
+              }
+
+              @Override
+              public void stop() {
+                this.scheduler.close();
+              }
+            });
+  }
+}
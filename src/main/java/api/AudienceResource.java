@@ -9,6 +9,7 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -23,6 +24,39 @@ import javax.ws.rs.core.UriInfo;
 @Path("/audiences")
 public interface AudienceResource {
 
+  /**
+   * Handles HTTP GET requests for the audience collection.
+   *
+   * @param headers The headers from the HTTP request.
+   * @param uriInfo Information about the URI of the HTTP request.
+   * @param name The name the audiences must have.
+   * @param after The opaque cursor, taken from the last audience of a previous page, after which
+   *     the page begins.
+   * @param skip The number of audiences to skip when in the collection. Prefer {@code after}, which
+   *     does not become slower as the number of audiences skipped grows.
+   * @param take The maximum number of audiences to return in the response.
+   * @return The HTTP {@link Response}, including the representations of the requested audience
+   *     collection.
+   */
+  @GET
+  @Produces({
+    MediaType.APPLICATION_JSON,
+    MediaType.APPLICATION_XML,
+    YAMLMediaTypes.APPLICATION_JACKSON_YAML,
+    YAMLMediaTypes.TEXT_JACKSON_YAML,
+    "application/vnd.siren+json",
+    "application/x-yaml",
+    "text/x-yaml",
+    "text/vnd.yaml"
+  })
+  Response getCollection(
+      @Context HttpHeaders headers,
+      @Context UriInfo uriInfo,
+      @QueryParam("name") String name,
+      @QueryParam("after") String after,
+      @QueryParam("skip") Integer skip,
+      @QueryParam("take") Integer take);
+
   /**
    * Handles HTTP GET requests for the audience resource with the unique identifier provided.
    *
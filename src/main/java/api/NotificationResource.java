@@ -30,7 +30,10 @@ public interface NotificationResource {
    * @param headers The headers from the HTTP request.
    * @param uriInfo Information about the URI of the HTTP request.
    * @param messageExternalID The external identifier of a message associated with a notification.
-   * @param skip The number of notifications to skip when in the collection.
+   * @param after The opaque cursor, taken from the {@code next} link of a previous page, after
+   *     which the page begins.
+   * @param skip The number of notifications to skip when in the collection. Prefer {@code after},
+   *     which does not become slower as the number of notifications skipped grows.
    * @param take The maximum number of notifications to return in the response.
    * @return The HTTP {@link Response}, including the representations of the requested notification
    *     collection.
@@ -50,6 +53,7 @@ public interface NotificationResource {
       @Context HttpHeaders headers,
       @Context UriInfo uriInfo,
       @QueryParam("messageExternalID") String messageExternalID,
+      @QueryParam("after") String after,
       @QueryParam("skip") Integer skip,
       @QueryParam("take") Integer take);
 
@@ -9,6 +9,7 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -23,6 +24,37 @@ import javax.ws.rs.core.UriInfo;
 @Path("/templates")
 public interface TemplateResource {
 
+  /**
+   * Handles HTTP GET requests for the template collection.
+   *
+   * @param headers The headers from the HTTP request.
+   * @param uriInfo Information about the URI of the HTTP request.
+   * @param after The opaque cursor, taken from the last template of a previous page, after which
+   *     the page begins.
+   * @param skip The number of templates to skip when in the collection. Prefer {@code after}, which
+   *     does not become slower as the number of templates skipped grows.
+   * @param take The maximum number of templates to return in the response.
+   * @return The HTTP {@link Response}, including the representations of the requested template
+   *     collection.
+   */
+  @GET
+  @Produces({
+    MediaType.APPLICATION_JSON,
+    MediaType.APPLICATION_XML,
+    YAMLMediaTypes.APPLICATION_JACKSON_YAML,
+    YAMLMediaTypes.TEXT_JACKSON_YAML,
+    "application/vnd.siren+json",
+    "application/x-yaml",
+    "text/x-yaml",
+    "text/vnd.yaml"
+  })
+  Response getCollection(
+      @Context HttpHeaders headers,
+      @Context UriInfo uriInfo,
+      @QueryParam("after") String after,
+      @QueryParam("skip") Integer skip,
+      @QueryParam("take") Integer take);
+
   /**
    * Handles HTTP GET requests for the template resource with the unique identifier provided.
    *
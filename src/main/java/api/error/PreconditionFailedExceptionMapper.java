@@ -0,0 +1,27 @@
+package api.error;
+
+import api.representations.Representation;
+import api.representations.RepresentationFactory;
+import application.PreconditionFailedException;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+public final class PreconditionFailedExceptionMapper
+    extends ExceptionMapper<PreconditionFailedException> {
+
+  @Inject
+  public PreconditionFailedExceptionMapper(
+      Map<MediaType, RepresentationFactory> representationIndustry) {
+    super(representationIndustry);
+  }
+
+  @Override
+  public Response toResponse(PreconditionFailedException x) {
+    RepresentationFactory representationFactory = this.getRepresentationFactory();
+    Representation representation =
+        representationFactory.createErrorRepresentation(this.getUriInfo().getRequestUri(), null, x);
+    return Response.status(Response.Status.PRECONDITION_FAILED).entity(representation).build();
+  }
+}
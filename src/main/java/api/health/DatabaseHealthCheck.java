@@ -15,18 +15,13 @@ public final class DatabaseHealthCheck extends HealthCheck {
 
   @Override
   public Result check() throws Exception {
-    Connection connection = null;
-    try {
-      connection = this.connectionFactory.createConnection();
-      PreparedStatement healthStatement = connection.prepareStatement("SELECT 1;");
+    // closing the connection returns it to the pool it was borrowed from.
+    try (Connection connection = this.connectionFactory.createConnection();
+        PreparedStatement healthStatement = connection.prepareStatement("SELECT 1;")) {
       healthStatement.executeQuery();
       connection.commit();
       return Result.healthy();
     } catch (Exception x) {
-      if (connection != null) {
-        connection.rollback();
-        connection.close();
-      }
       return Result.unhealthy(x.getMessage());
     }
   }
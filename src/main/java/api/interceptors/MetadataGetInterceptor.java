@@ -71,9 +71,18 @@ public final class MetadataGetInterceptor extends WriterInterceptor {
       }
 
       byte[] representationBytes = writerInterceptorContext.getEntityBytes();
-      MessageDigest digest = MessageDigest.getInstance("MD5");
-      byte[] hashedBytes = digest.digest(representationBytes);
-      String hashedBytesBase64 = Base64.getEncoder().encodeToString(hashedBytes);
+
+      // a tag set by the resource, such as one derived from the version of an aggregate, is kept;
+      // otherwise the tag is derived from the bytes of the representation.
+      Object resourceEntityTag = writerInterceptorContext.getHeaders().getFirst(HttpHeaders.ETAG);
+      EntityTag entityTag;
+      if (resourceEntityTag instanceof EntityTag) {
+        entityTag = (EntityTag) resourceEntityTag;
+      } else {
+        MessageDigest digest = MessageDigest.getInstance("MD5");
+        byte[] hashedBytes = digest.digest(representationBytes);
+        entityTag = new EntityTag(Base64.getEncoder().encodeToString(hashedBytes));
+      }
 
       String requestUri = writerInterceptorContext.getRequest().getRequestURI();
       URI location = new URI(requestUri);
@@ -96,7 +105,6 @@ public final class MetadataGetInterceptor extends WriterInterceptor {
           contentEncodingStrings == null || contentEncodingStrings.size() == 0
               ? null
               : String.join(",", contentEncodingStrings);
-      EntityTag entityTag = new EntityTag(hashedBytesBase64);
       Date lastModified = calendar.getTime();
 
       this.logger.debug("Representation is {} bytes long.", representationBytes.length);
@@ -0,0 +1,49 @@
+package api.representations;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Converts the position of a page within a collection to and from the opaque token given to
+ * clients. Clients are expected to pass the token back unchanged to retrieve the following page.
+ *
+ * @author Jon Freer
+ */
+public final class Cursor {
+
+  private static final int LENGTH = 16;
+
+  private Cursor() {}
+
+  /**
+   * Encodes the provided position as an opaque, URL safe token.
+   *
+   * @param position The universally unique identifier of the last element of a page.
+   * @return The opaque token.
+   */
+  public static String encode(UUID position) {
+    byte[] bytes =
+        ByteBuffer.allocate(LENGTH)
+            .putLong(position.getMostSignificantBits())
+            .putLong(position.getLeastSignificantBits())
+            .array();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  /**
+   * Decodes the position from the provided opaque token.
+   *
+   * @param token The opaque token previously produced by {@link #encode(UUID)}.
+   * @return The universally unique identifier of the last element of a page.
+   * @throws IllegalArgumentException if the token was not produced by {@link #encode(UUID)}.
+   */
+  public static UUID decode(String token) {
+    byte[] bytes = Base64.getUrlDecoder().decode(token);
+    if (bytes.length != LENGTH) {
+      throw new IllegalArgumentException("The cursor provided is not valid.");
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+}
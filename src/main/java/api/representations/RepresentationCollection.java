@@ -1,6 +1,7 @@
 package api.representations;
 
-import java.util.HashSet;
+import java.net.URI;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import javax.ws.rs.core.MediaType;
 import javax.xml.bind.annotation.XmlElement;
@@ -11,29 +12,31 @@ import javax.xml.bind.annotation.XmlRootElement;
 public final class RepresentationCollection extends Representation {
 
   private int total;
+  private String next;
   private Set<Representation> representations;
 
   public RepresentationCollection() {
     super();
     this.total = 0;
-    this.representations = new HashSet<>();
+    this.representations = new LinkedHashSet<>();
   }
 
   public RepresentationCollection(MediaType mediaType) {
     super(mediaType);
     this.total = 0;
-    this.representations = new HashSet<>();
+    this.representations = new LinkedHashSet<>();
   }
 
   public static class Builder extends Representation.Builder {
 
     private int total;
+    private String next;
     private Set<Representation> representations;
 
     public Builder(MediaType mediaType) {
       super(mediaType);
       this.total = 0;
-      this.representations = new HashSet<>();
+      this.representations = new LinkedHashSet<>();
     }
 
     public Builder add(Representation representation) {
@@ -46,6 +49,11 @@ public final class RepresentationCollection extends Representation {
       return this;
     }
 
+    public Builder next(URI next) {
+      this.next = next != null ? next.toString() : null;
+      return this;
+    }
+
     @Override
     public Representation build() {
       RepresentationCollection rc = new RepresentationCollection(this.mediaType());
@@ -55,6 +63,7 @@ public final class RepresentationCollection extends Representation {
       rc.setLastModified(this.lastModified());
       rc.setElements(this.representations);
       rc.setTotal(this.total);
+      rc.setNext(this.next);
       return rc;
     }
   }
@@ -77,4 +86,13 @@ public final class RepresentationCollection extends Representation {
   private void setTotal(int total) {
     this.total = total;
   }
+
+  @XmlElement(name = "next")
+  public String getNext() {
+    return this.next;
+  }
+
+  private void setNext(String next) {
+    this.next = next;
+  }
 }
@@ -9,7 +9,9 @@ import application.Template;
 import java.net.URI;
 import java.util.Locale;
 import java.util.Set;
+import java.util.UUID;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriBuilder;
 
 /**
  * A factory of all {@link Representation} instances.
@@ -159,6 +161,26 @@ public abstract class RepresentationFactory {
       Integer take,
       Integer total);
 
+  /**
+   * Constructs a template collection representation.
+   *
+   * @param location The content location of the template collection representation.
+   * @param language The content language of the template collection representation.
+   * @param templates The template collection state expressed by the template collection
+   *     representation being constructed.
+   * @param skip The number of templates skipped (in previous pages).
+   * @param take The maximum number of templates in the current page of the collection.
+   * @param total The total number of template in the collection (not the current page).
+   * @return The template collection representation.
+   */
+  public abstract Representation createTemplateCollectionRepresentation(
+      URI location,
+      Locale language,
+      Set<Template> templates,
+      Integer skip,
+      Integer take,
+      Integer total);
+
   public abstract Representation createErrorRepresentation(
       URI location, Locale language, ApplicationException exception);
 
@@ -171,4 +193,31 @@ public abstract class RepresentationFactory {
 
   public abstract Representation createTemplateRepresentation(
       URI location, Locale language, Template template);
+
+  /**
+   * Constructs the location of the page following the provided page of notifications. The
+   * following page is addressed by a cursor positioned after the last notification of the page, so
+   * it can be retrieved without skipping over the notifications before it.
+   *
+   * @param location The content location of the current page.
+   * @param notifications The notifications of the current page, in the order of the collection.
+   * @param take The maximum number of notifications in a page.
+   * @return The location of the following page; {@code null} when the current page is the last.
+   */
+  protected URI createNextNotificationPageLocation(
+      URI location, Set<Notification> notifications, Integer take) {
+    if (take == null || take <= 0 || notifications.size() < take) {
+      return null;
+    }
+
+    UUID last = null;
+    for (Notification notification : notifications) {
+      last = notification.getUUID();
+    }
+    return UriBuilder.fromUri(location)
+        .replaceQueryParam("skip")
+        .replaceQueryParam("after", Cursor.encode(last))
+        .replaceQueryParam("take", take)
+        .build();
+  }
 }
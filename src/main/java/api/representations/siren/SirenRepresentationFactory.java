@@ -486,7 +486,7 @@ public final class SirenRepresentationFactory extends RepresentationFactory {
       Entity.Builder entityBuilder = this.entityBuilderFactory.create();
 
       boolean hasPreviousLink = this.hasPreviousLink(skip, take, total);
-      boolean hasNextLink = this.hasNextLink(skip, take, total);
+      URI nextHref = this.createNextNotificationPageLocation(location, notifications, take);
 
       if (hasPreviousLink) {
         int prevSkip = skip - take >= 0 ? skip - take : 0;
@@ -510,16 +510,7 @@ public final class SirenRepresentationFactory extends RepresentationFactory {
         linkBuilder.clear();
       }
 
-      if (hasNextLink) {
-        int nextSkip = skip + take;
-        int nextTake = take;
-
-        URI nextHref =
-            UriBuilder.fromUri(location)
-                .replaceQueryParam("skip", nextSkip)
-                .replaceQueryParam("take", nextTake)
-                .build();
-
+      if (nextHref != null) {
         Link nextLink =
             linkBuilder
                 .rel(Relation.NEXT)
@@ -937,6 +928,128 @@ public final class SirenRepresentationFactory extends RepresentationFactory {
     return representation;
   }
 
+  @Override
+  public Representation createTemplateCollectionRepresentation(
+      URI location,
+      Locale language,
+      Set<Template> templates,
+      Integer skip,
+      Integer take,
+      Integer total) {
+
+    Representation representation = null;
+
+    Span span =
+        this.tracer
+            .buildSpan("SirenRepresentationFactory#createTemplateCollectionRepresentation")
+            .asChildOf(this.tracer.activeSpan())
+            .start();
+    try (Scope scope = this.tracer.scopeManager().activate(span, false)) {
+
+      Link.Builder linkBuilder = this.linkBuilderFactory.create();
+      Link self =
+          linkBuilder
+              .rel(Relation.SELF)
+              .title("Self")
+              .type(this.getMediaType().toString())
+              .klass("template")
+              .href(location)
+              .build();
+
+      linkBuilder.clear();
+
+      EmbeddedLinkSubEntity.Builder embeddedLinkSubEntityBuilder =
+          this.embeddedLinkSubEntityBuilderFactory.create();
+
+      Entity.Builder entityBuilder = this.entityBuilderFactory.create();
+
+      boolean hasPreviousLink = this.hasPreviousLink(skip, take, total);
+      boolean hasNextLink = this.hasNextLink(skip, take, total);
+
+      if (hasPreviousLink) {
+        int prevSkip = skip - take >= 0 ? skip - take : 0;
+        int prevTake = skip - prevSkip < take ? skip - prevSkip : take;
+
+        URI prevHref =
+            UriBuilder.fromUri(location)
+                .replaceQueryParam("skip", prevSkip)
+                .replaceQueryParam("take", prevTake)
+                .build();
+
+        Link prevLink =
+            linkBuilder
+                .rel(Relation.PREV)
+                .title("previous")
+                .type(this.getMediaType().toString())
+                .href(prevHref)
+                .build();
+
+        entityBuilder.link(prevLink);
+        linkBuilder.clear();
+      }
+
+      if (hasNextLink) {
+        int nextSkip = skip + take;
+        int nextTake = take;
+
+        URI nextHref =
+            UriBuilder.fromUri(location)
+                .replaceQueryParam("skip", nextSkip)
+                .replaceQueryParam("take", nextTake)
+                .build();
+
+        Link nextLink =
+            linkBuilder
+                .rel(Relation.NEXT)
+                .title("next")
+                .type(this.getMediaType().toString())
+                .href(nextHref)
+                .build();
+
+        entityBuilder.link(nextLink);
+        linkBuilder.clear();
+      }
+
+      for (Template template : templates) {
+        EmbeddedLinkSubEntity templateSubEntity =
+            embeddedLinkSubEntityBuilder
+                .klass("template")
+                .title("Template")
+                .rel(Relation.ITEM)
+                .type(this.getMediaType().toString())
+                .href(
+                    UriBuilder.fromUri(location)
+                        .replacePath("/templates/{uuid}/")
+                        .build(template.getUUID()))
+                .build();
+        entityBuilder.subEntity(templateSubEntity);
+        embeddedLinkSubEntityBuilder.clear();
+      }
+
+      Entity entity =
+          entityBuilder
+              .klass("template")
+              .klass("collection")
+              .property("total", total)
+              .link(self)
+              .build();
+
+      representation =
+          new api.representations.siren.SirenEntityRepresentation.Builder()
+              .entity(entity)
+              .location(location)
+              .language(language)
+              .build();
+
+    } catch (URISyntaxException x) {
+      throw new RuntimeException(x);
+    } finally {
+      span.finish();
+    }
+
+    return representation;
+  }
+
   @Override
   public Representation createErrorRepresentation(
       URI location, Locale language, ApplicationException x) {
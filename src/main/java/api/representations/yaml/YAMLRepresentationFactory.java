@@ -236,7 +236,10 @@ public final class YAMLRepresentationFactory extends RepresentationFactory {
             this.createNotificationRepresentation(location, language, notification);
         builder.add(notificationRepresentation);
       }
-      return builder.total(total).build();
+      return builder
+          .total(total)
+          .next(this.createNextNotificationPageLocation(location, notifications, take))
+          .build();
     } finally {
       span.finish();
     }
@@ -359,6 +362,45 @@ public final class YAMLRepresentationFactory extends RepresentationFactory {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @param location {@inheritDoc}
+   * @param language {@inheritDoc}
+   * @param templates {@inheritDoc}
+   * @param skip {@inheritDoc}
+   * @param take {@inheritDoc}
+   * @param total {@inheritDoc}
+   * @return {@inheritDoc}
+   */
+  @Override
+  public Representation createTemplateCollectionRepresentation(
+      URI location,
+      Locale language,
+      Set<Template> templates,
+      Integer skip,
+      Integer take,
+      Integer total) {
+    Span span =
+        this.tracer
+            .buildSpan("YAMLRepresentationFactory#createTemplateCollectionRepresentation")
+            .asChildOf(this.tracer.activeSpan())
+            .start();
+    try (Scope scope = this.tracer.scopeManager().activate(span, false)) {
+
+      api.representations.RepresentationCollection.Builder builder =
+          new api.representations.RepresentationCollection.Builder(this.getMediaType());
+      for (Template template : templates) {
+        Representation templateRepresentation =
+            this.createTemplateRepresentation(location, language, template);
+        builder.add(templateRepresentation);
+      }
+      return builder.total(total).build();
+    } finally {
+      span.finish();
+    }
+  }
+
   @Override
   public Representation createErrorRepresentation(
       URI location, Locale language, ApplicationException x) {
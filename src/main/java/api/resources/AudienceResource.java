@@ -1,9 +1,11 @@
 package api.resources;
 
+import api.representations.Cursor;
 import api.representations.Representation;
 import api.representations.RepresentationFactory;
 import application.AudienceFactory;
 import application.AudienceService;
+import application.Page;
 import application.TargetFactory;
 import io.opentracing.Scope;
 import io.opentracing.Span;
@@ -13,6 +15,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -43,6 +46,53 @@ public class AudienceResource extends Resource implements api.AudienceResource {
     this.audienceFactory = new AudienceFactory(new TargetFactory());
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @param headers {@inheritDoc}
+   * @param uriInfo {@inheritDoc}
+   * @param name {@inheritDoc}
+   * @param after {@inheritDoc}
+   * @param skip {@inheritDoc}
+   * @param take {@inheritDoc}
+   * @return {@inheritDoc}
+   */
+  @Override
+  public Response getCollection(
+      HttpHeaders headers,
+      UriInfo uriInfo,
+      String name,
+      String after,
+      Integer skip,
+      Integer take) {
+    String className = AudienceResource.class.getName();
+    String spanName = String.format("%s#getCollection", className);
+    Span span = this.getTracer().buildSpan(spanName).start();
+    try (Scope scope = this.getTracer().scopeManager().activate(span, false)) {
+      URI location = uriInfo.getRequestUri();
+      Locale language = null;
+
+      UUID cursor = null;
+      if (after != null) {
+        try {
+          cursor = Cursor.decode(after);
+        } catch (IllegalArgumentException x) {
+          throw new BadRequestException("The 'after' cursor provided is not valid.", x);
+        }
+      }
+
+      Page<application.Audience> page = this.audienceService.getAudiences(name, cursor, skip, take);
+
+      RepresentationFactory representationFactory = this.getRepresentationFactory(headers);
+      Representation representation =
+          representationFactory.createAudienceCollectionRepresentation(
+              location, language, page.getItems(), skip, take, page.getTotal());
+      return Response.ok(representation).build();
+    } finally {
+      span.finish();
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -63,7 +113,7 @@ public class AudienceResource extends Resource implements api.AudienceResource {
       RepresentationFactory representationFactory = this.getRepresentationFactory(headers);
       Representation representation =
           representationFactory.createAudienceRepresentation(location, language, audience);
-      return Response.ok(representation).build();
+      return Response.ok(representation).tag(versionTag(audience.getVersion())).build();
     } finally {
       span.finish();
     }
@@ -138,7 +188,8 @@ public class AudienceResource extends Resource implements api.AudienceResource {
     String spanName = String.format("%s#replace", className);
     Span span = this.getTracer().buildSpan(spanName).start();
     try (Scope scope = this.getTracer().scopeManager().activate(span, false)) {
-      this.audienceService.replaceAudience(this.audienceFactory.createFrom(audience));
+      this.audienceService.replaceAudience(
+          this.audienceFactory.createFrom(audience), expectedVersion(headers));
       return Response.noContent().build();
     } finally {
       span.finish();
@@ -160,7 +211,8 @@ public class AudienceResource extends Resource implements api.AudienceResource {
     String spanName = String.format("%s#replace", className);
     Span span = this.getTracer().buildSpan(spanName).start();
     try (Scope scope = this.getTracer().scopeManager().activate(span, false)) {
-      this.audienceService.replaceAudience(this.audienceFactory.createFrom(audience));
+      this.audienceService.replaceAudience(
+          this.audienceFactory.createFrom(audience), expectedVersion(headers));
       return Response.noContent().build();
     } finally {
       span.finish();
@@ -1,10 +1,12 @@
 package api.resources;
 
+import api.representations.Cursor;
 import api.representations.RepresentationFactory;
 import application.AudienceFactory;
 import application.MessageFactory;
 import application.NotificationFactory;
 import application.NotificationService;
+import application.Page;
 import application.Target;
 import application.TargetFactory;
 import io.opentracing.Scope;
@@ -13,9 +15,11 @@ import io.opentracing.Tracer;
 import java.net.URI;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -65,11 +69,19 @@ public class NotificationResource extends Resource implements api.NotificationRe
    * @param headers {@inheritDoc}
    * @param uriInfo {@inheritDoc}
    * @param messageExternalID {@inheritDoc}
+   * @param after {@inheritDoc}
+   * @param skip {@inheritDoc}
+   * @param take {@inheritDoc}
    * @return {@inheritDoc}
    */
   @Override
   public Response getCollection(
-      HttpHeaders headers, UriInfo uriInfo, String messageExternalID, Integer skip, Integer take) {
+      HttpHeaders headers,
+      UriInfo uriInfo,
+      String messageExternalID,
+      String after,
+      Integer skip,
+      Integer take) {
     String className = NotificationResource.class.getName();
     String spanName = String.format("%s#getCollection", className);
     Span span = this.getTracer().buildSpan(spanName).start();
@@ -77,9 +89,19 @@ public class NotificationResource extends Resource implements api.NotificationRe
       URI location = uriInfo.getRequestUri();
       Locale language = null;
 
-      Set<application.Notification> notifications =
-          this.notificationService.getNotifications(messageExternalID, skip, take);
-      Integer total = this.notificationService.getNotificationCount();
+      UUID cursor = null;
+      if (after != null) {
+        try {
+          cursor = Cursor.decode(after);
+        } catch (IllegalArgumentException x) {
+          throw new BadRequestException("The 'after' cursor provided is not valid.", x);
+        }
+      }
+
+      Page<application.Notification> page =
+          this.notificationService.getNotifications(messageExternalID, cursor, skip, take);
+      Set<application.Notification> notifications = page.getItems();
+      Integer total = page.getTotal();
 
       api.representations.Representation representation = null;
       RepresentationFactory representationFactory = this.getRepresentationFactory(headers);
@@ -117,12 +139,29 @@ public class NotificationResource extends Resource implements api.NotificationRe
       representation =
           representationFactory.createNotificationRepresentation(
               requestURI, language, notification);
-      return Response.ok(representation).build();
+      return Response.ok(representation)
+          .tag(versionTag(notification.getVersion(), messageRevision(notification)))
+          .build();
     } finally {
       span.finish();
     }
   }
 
+  /**
+   * Derives a revision of the states of the messages of the provided notification, which status
+   * callbacks write without changing the version of the notification.
+   *
+   * @param notification The notification.
+   * @return The revision of its messages.
+   */
+  private static int messageRevision(application.Notification notification) {
+    int revision = 0;
+    for (application.Message message : notification.getMessages()) {
+      revision += Objects.hash(message.getID(), message.getStatus(), message.getExternalID());
+    }
+    return revision;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -191,7 +230,7 @@ public class NotificationResource extends Resource implements api.NotificationRe
     Span span = this.getTracer().buildSpan(spanName).start();
     try (Scope scope = this.getTracer().scopeManager().activate(span, false)) {
       this.notificationService.updateNotification(
-          this.notificationFactory.createFrom(notification));
+          this.notificationFactory.createFrom(notification), expectedVersion(headers));
       return Response.noContent().build();
     } finally {
       span.finish();
@@ -214,7 +253,7 @@ public class NotificationResource extends Resource implements api.NotificationRe
     Span span = this.getTracer().buildSpan(spanName).start();
     try (Scope scope = this.getTracer().scopeManager().activate(span, false)) {
       this.notificationService.updateNotification(
-          this.notificationFactory.createFrom(notification));
+          this.notificationFactory.createFrom(notification), expectedVersion(headers));
       return Response.noContent().build();
     } finally {
       span.finish();
@@ -257,17 +296,19 @@ public class NotificationResource extends Resource implements api.NotificationRe
     try (Scope scope = this.getTracer().scopeManager().activate(span, false)) {
       URI requestURI = uriInfo.getRequestUri();
       Locale language = null;
-      Set<Target> notificationTargets =
+      Page<Target> notificationTargets =
           this.notificationService.getNotificationDirectRecipients(
               UUID.fromString(uuid), skip, take);
-      application.Notification notification =
-          this.notificationService.getNotification(UUID.fromString(uuid));
-      int totalTargets = notification.getTargets().size();
       api.representations.Representation representation = null;
       RepresentationFactory representationFactory = this.getRepresentationFactory(headers);
       representation =
           representationFactory.createTargetCollectionRepresentation(
-              requestURI, language, notificationTargets, skip, take, totalTargets);
+              requestURI,
+              language,
+              notificationTargets.getItems(),
+              skip,
+              take,
+              notificationTargets.getTotal());
       return Response.ok(representation).build();
     } finally {
       span.finish();
@@ -290,16 +331,13 @@ public class NotificationResource extends Resource implements api.NotificationRe
     try (Scope scope = this.getTracer().scopeManager().activate(span, false)) {
       URI requestURI = uriInfo.getRequestUri();
       Locale language = null;
-      application.Notification notification =
-          this.notificationService.getNotification(UUID.fromString(uuid));
-      int audiencesTotal = notification.getAudiences().size();
-      Set<application.Audience> audiences =
+      Page<application.Audience> audiences =
           this.notificationService.getNotificationAudiences(UUID.fromString(uuid), skip, take);
       api.representations.Representation representation = null;
       RepresentationFactory representationFactory = this.getRepresentationFactory(headers);
       representation =
           representationFactory.createAudienceCollectionRepresentation(
-              requestURI, language, audiences, skip, take, audiencesTotal);
+              requestURI, language, audiences.getItems(), skip, take, audiences.getTotal());
       return Response.ok(representation).build();
     } finally {
       span.finish();
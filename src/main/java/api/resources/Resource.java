@@ -3,11 +3,23 @@ package api.resources;
 import api.representations.RepresentationFactory;
 import io.opentracing.Tracer;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 
 public abstract class Resource {
 
+  // entity tags derived from the version of an aggregate are prefixed to tell them apart from the
+  // tags derived from the bytes of a representation. they may be followed by a revision of the
+  // state that is written without changing the version, which does not take part in updates.
+  private static final String VERSION_TAG_PREFIX = "v";
+  private static final String REVISION_SEPARATOR = ".";
+  private static final Pattern VERSION_TAG =
+      Pattern.compile(
+          "^\\s*\"" + VERSION_TAG_PREFIX + "(\\d{1,9})(?:\\.[0-9a-f]{1,8})?\"\\s*$");
+
   private final Map<MediaType, RepresentationFactory> representationIndustry;
   private final Tracer tracer;
 
@@ -31,4 +43,48 @@ public abstract class Resource {
     }
     return null;
   }
+
+  /**
+   * Creates the strong entity tag of a resource from the version of the aggregate it represents.
+   *
+   * @param version The version of the aggregate.
+   * @return The entity tag, or {@code null} if the version is not known.
+   */
+  static EntityTag versionTag(Integer version) {
+    return version == null ? null : new EntityTag(VERSION_TAG_PREFIX + version);
+  }
+
+  /**
+   * Creates the strong entity tag of a resource from the version of the aggregate it represents
+   * and a revision of the state it holds outside of that version. The tag changes with either, but
+   * an update expecting it only expects the version.
+   *
+   * @param version The version of the aggregate.
+   * @param revision The revision of the state written without changing the version.
+   * @return The entity tag, or {@code null} if the version is not known.
+   */
+  static EntityTag versionTag(Integer version, int revision) {
+    return version == null
+        ? null
+        : new EntityTag(
+            VERSION_TAG_PREFIX + version + REVISION_SEPARATOR + Integer.toHexString(revision));
+  }
+
+  /**
+   * Retrieves the version of the aggregate that the {@code If-Match} header of the request expects.
+   * Only a single strong entity tag created by {@link #versionTag(Integer)} or {@link
+   * #versionTag(Integer, int)} names a version; other tags are left to the conditional request
+   * filters.
+   *
+   * @param headers The headers of the request.
+   * @return The expected version, or {@code null} if the request does not expect one.
+   */
+  static Integer expectedVersion(HttpHeaders headers) {
+    String ifMatch = headers.getHeaderString(HttpHeaders.IF_MATCH);
+    if (ifMatch == null) {
+      return null;
+    }
+    Matcher matcher = VERSION_TAG.matcher(ifMatch);
+    return matcher.matches() ? Integer.valueOf(matcher.group(1)) : null;
+  }
 }
@@ -1,7 +1,9 @@
 package api.resources;
 
+import api.representations.Cursor;
 import api.representations.Representation;
 import api.representations.RepresentationFactory;
+import application.Page;
 import application.TemplateFactory;
 import application.TemplateService;
 import io.opentracing.Scope;
@@ -12,6 +14,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -47,6 +50,47 @@ public final class TemplateResource extends Resource implements api.TemplateReso
     this.templateFactory = new TemplateFactory();
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @param headers {@inheritDoc}
+   * @param uriInfo {@inheritDoc}
+   * @param after {@inheritDoc}
+   * @param skip {@inheritDoc}
+   * @param take {@inheritDoc}
+   * @return {@inheritDoc}
+   */
+  @Override
+  public Response getCollection(
+      HttpHeaders headers, UriInfo uriInfo, String after, Integer skip, Integer take) {
+    String className = TemplateResource.class.getName();
+    String spanName = String.format("%s#getCollection", className);
+    Span span = this.getTracer().buildSpan(spanName).start();
+    try (Scope scope = this.getTracer().scopeManager().activate(span, false)) {
+      URI location = uriInfo.getRequestUri();
+      Locale language = null;
+
+      UUID cursor = null;
+      if (after != null) {
+        try {
+          cursor = Cursor.decode(after);
+        } catch (IllegalArgumentException x) {
+          throw new BadRequestException("The 'after' cursor provided is not valid.", x);
+        }
+      }
+
+      Page<application.Template> page = this.templateService.getTemplates(cursor, skip, take);
+
+      RepresentationFactory representationFactory = this.getRepresentationFactory(headers);
+      Representation representation =
+          representationFactory.createTemplateCollectionRepresentation(
+              location, language, page.getItems(), skip, take, page.getTotal());
+      return Response.ok(representation).build();
+    } finally {
+      span.finish();
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
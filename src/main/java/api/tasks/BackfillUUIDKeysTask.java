@@ -0,0 +1,33 @@
+package api.tasks;
+
+import com.google.common.collect.ImmutableMultimap;
+import infrastructure.UUIDBackfill;
+import io.dropwizard.servlets.tasks.Task;
+import java.io.PrintWriter;
+
+/**
+ * An administrative task that fills the binary shadow columns of the UUID keys, so that the keys
+ * can be converted to binary without the conversion waiting on the backfill.
+ *
+ * @author Jon Freer
+ */
+public final class BackfillUUIDKeysTask extends Task {
+
+  private final UUIDBackfill backfill;
+
+  /**
+   * Constructs a new {@link BackfillUUIDKeysTask}.
+   *
+   * @param backfill The backfill to run.
+   */
+  public BackfillUUIDKeysTask(UUIDBackfill backfill) {
+    super("backfill-uuid-keys");
+    this.backfill = backfill;
+  }
+
+  @Override
+  public void execute(ImmutableMultimap<String, String> parameters, PrintWriter output) {
+    long filled = this.backfill.backfill();
+    output.println(String.format("Backfilled the binary keys of %d rows.", filled));
+  }
+}
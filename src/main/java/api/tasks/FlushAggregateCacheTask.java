@@ -0,0 +1,32 @@
+package api.tasks;
+
+import com.google.common.collect.ImmutableMultimap;
+import infrastructure.AggregateCache;
+import io.dropwizard.servlets.tasks.Task;
+import java.io.PrintWriter;
+
+/**
+ * An administrative task that evicts every aggregate from the {@link AggregateCache}.
+ *
+ * @author Jon Freer
+ */
+public final class FlushAggregateCacheTask extends Task {
+
+  private final AggregateCache aggregateCache;
+
+  /**
+   * Constructs a new {@link FlushAggregateCacheTask}.
+   *
+   * @param aggregateCache The cache to flush.
+   */
+  public FlushAggregateCacheTask(AggregateCache aggregateCache) {
+    super("flush-aggregate-cache");
+    this.aggregateCache = aggregateCache;
+  }
+
+  @Override
+  public void execute(ImmutableMultimap<String, String> parameters, PrintWriter output) {
+    this.aggregateCache.invalidateAll();
+    output.println("Flushed the aggregate cache.");
+  }
+}
@@ -15,12 +15,14 @@ public class Audience {
   private final UUID uuid;
   private final String name;
   private final Set<Target> members;
+  private final Integer version;
 
   /** Constructs an empty instance of {@link Audience}. */
   public Audience() {
     this.uuid = null;
     this.name = null;
     this.members = new HashSet<>();
+    this.version = null;
   }
 
   /**
@@ -31,9 +33,14 @@ public class Audience {
    * @param members The members that collectively resemble this audience.
    */
   public Audience(UUID uuid, String name, Set<Target> members) {
+    this(uuid, name, members, null);
+  }
+
+  public Audience(UUID uuid, String name, Set<Target> members, Integer version) {
     this.uuid = uuid;
     this.name = name;
     this.members = members;
+    this.version = version;
   }
 
   /**
@@ -63,6 +70,10 @@ public class Audience {
     return this.members;
   }
 
+  public Integer getVersion() {
+    return this.version;
+  }
+
   /**
    * Determines if the provided instance is equal to the calling instance.
    *
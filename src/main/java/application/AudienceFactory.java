@@ -38,6 +38,10 @@ public class AudienceFactory {
     for (domain.Target member : audience.members()) {
       members.add(this.targetFactory.createFrom(member));
     }
-    return new Audience(audience.getId(), audience.name(), members);
+    return new Audience(audience.getId(), audience.name(), members, audience.getVersion());
+  }
+
+  public Audience createSummaryFrom(domain.Audience audience) {
+    return new Audience(audience.getId(), audience.name(), new HashSet<>(), audience.getVersion());
   }
 }
@@ -10,11 +10,36 @@ public interface AudienceService {
 
   void replaceAudience(Audience audience);
 
+  /**
+   * Replaces the current state of the {@link application.Audience} with the state provided,
+   * provided that the {@link application.Audience} is still at the version expected.
+   *
+   * @param audience The desired state of the {@link application.Audience}.
+   * @param version The version the {@link application.Audience} is expected to be at, or {@code
+   *     null} to replace it regardless of its version.
+   * @throws PreconditionFailedException if the {@link application.Audience} is no longer at the
+   *     version expected.
+   */
+  void replaceAudience(Audience audience, Integer version);
+
   void deleteAudience(UUID uuid);
 
   void associateMemberToAudience(UUID audienceUUID, UUID memberUUID);
 
   void disassociateMemberFromAudience(UUID audienceUUID, UUID memberUUID);
 
+  /**
+   * Retrieves a page of {@link application.Audience}s, along with the total number matching the
+   * filter provided.
+   *
+   * @param name The name the audiences must have, or {@code null} to match any name.
+   * @param after The universally unique identifier of the audience the page starts after, or
+   *     {@code null} to start from the first audience.
+   * @param skip The number of audiences to skip, or {@code null} to skip none.
+   * @param take The maximum number of audiences to retrieve, or {@code null} for no limit.
+   * @return The page of {@link application.Audience}s.
+   */
+  Page<Audience> getAudiences(String name, UUID after, Integer skip, Integer take);
+
   Integer getAudienceCount();
 }
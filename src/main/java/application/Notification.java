@@ -24,6 +24,7 @@ public class Notification {
   private final Set<Target> targets;
   private final Set<Audience> audiences;
   private final Set<Message> messages;
+  private final Integer version;
 
   /** Constructs an empty instance of {@link Notification}. */
   public Notification() {
@@ -35,6 +36,7 @@ public class Notification {
     this.targets = new HashSet<>();
     this.audiences = new HashSet<>();
     this.messages = new HashSet<>();
+    this.version = null;
   }
 
   /**
@@ -59,6 +61,33 @@ public class Notification {
       Set<Message> messages,
       Date sendAt,
       Date sentAt) {
+    this(uuid, content, status, targets, audiences, messages, sendAt, sentAt, null);
+  }
+
+  /**
+   * Constructs a fully initialized instances of {@link Notification} at the version provided.
+   *
+   * @param uuid The universally unique identifier of the Notification resource.
+   * @param content The information being communicated within the notification.
+   * @param status The status of the notification in terms of its delivery to its audiences and
+   *     targets.
+   * @param targets Explicit recipients that should receive this notification.
+   * @param audiences Broader audiences that should receive this notification.
+   * @param sendAt States when the notification should be sent to its targets and audiences.
+   * @param sentAt States when the notification was sent to all of its targets and all of its
+   *     audiences.
+   * @param version The version of the notification, or {@code null} if it is not known.
+   */
+  public Notification(
+      UUID uuid,
+      String content,
+      NotificationStatus status,
+      Set<Target> targets,
+      Set<Audience> audiences,
+      Set<Message> messages,
+      Date sendAt,
+      Date sentAt,
+      Integer version) {
     this.uuid = uuid;
     this.content = content;
     this.status = status;
@@ -67,6 +96,7 @@ public class Notification {
     this.targets = targets == null ? new HashSet<>() : targets;
     this.audiences = audiences == null ? new HashSet<>() : audiences;
     this.messages = messages == null ? new HashSet<>() : messages;
+    this.version = version;
   }
 
   /**
@@ -139,4 +169,14 @@ public class Notification {
   public Set<Message> getMessages() {
     return this.messages;
   }
+
+  /**
+   * Retrieves the version of this notification. The version changes every time the notification
+   * changes, so it identifies the state the notification was retrieved in.
+   *
+   * @return The version of this notification, or {@code null} if it is not known.
+   */
+  public Integer getVersion() {
+    return this.version;
+  }
 }
@@ -98,6 +98,7 @@ public class NotificationFactory {
         audiences_sm,
         messages_sm,
         notification.sendAt(),
-        notification.sentAt());
+        notification.sentAt(),
+        notification.getVersion());
   }
 }
@@ -34,6 +34,18 @@ public interface NotificationService {
    */
   void updateNotification(Notification notification);
 
+  /**
+   * Replaces the current state of the {@link application.Notification} with the state provided,
+   * provided that the {@link application.Notification} is still at the version expected.
+   *
+   * @param notification The desired state of the {@link application.Notification}.
+   * @param version The version the {@link application.Notification} is expected to be at, or
+   *     {@code null} to replace it regardless of its version.
+   * @throws PreconditionFailedException if the {@link application.Notification} is no longer at
+   *     the version expected.
+   */
+  void updateNotification(Notification notification, Integer version);
+
   /**
    * Deletes an existing {@link application.Notification}.
    *
@@ -42,13 +54,35 @@ public interface NotificationService {
    */
   void deleteNotification(UUID uuid);
 
-  Set<Notification> getNotifications(String externalMessageID, Integer skip, Integer take);
+  /**
+   * Retrieves a page of {@link application.Notification}s, along with the total number matching
+   * the filter provided.
+   *
+   * @param externalMessageID The external identifier of a message the notifications must contain,
+   *     or {@code null} to retrieve every notification.
+   * @param after The universally unique identifier of the notification the page starts after, or
+   *     {@code null} to start from the first notification.
+   * @param skip The number of notifications to skip, or {@code null} to skip none.
+   * @param take The maximum number of notifications to retrieve, or {@code null} for no limit.
+   * @return The page of {@link application.Notification}s.
+   */
+  Page<Notification> getNotifications(
+      String externalMessageID, UUID after, Integer skip, Integer take);
 
   Integer getNotificationCount();
 
-  Set<Target> getNotificationDirectRecipients(UUID uuid, Integer skip, Integer take);
+  Page<Target> getNotificationDirectRecipients(UUID uuid, Integer skip, Integer take);
 
-  Set<Audience> getNotificationAudiences(UUID uuid, Integer skip, Integer take);
+  /**
+   * Retrieves a page of the audiences of an existing {@link application.Notification}, along with
+   * the total number of its audiences. The members of the audiences are not retrieved.
+   *
+   * @param uuid The universally unique identifier of the {@link application.Notification}.
+   * @param skip The number of audiences to skip, or {@code null} to skip none.
+   * @param take The maximum number of audiences to retrieve, or {@code null} for no limit.
+   * @return The page of {@link application.Audience}s, each without members.
+   */
+  Page<Audience> getNotificationAudiences(UUID uuid, Integer skip, Integer take);
 
   Set<Message> getNotificationMessages(UUID uuid, Integer skip, Integer take);
 
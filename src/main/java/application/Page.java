@@ -0,0 +1,45 @@
+package application;
+
+import java.util.Set;
+
+/**
+ * A page of a collection, along with the total number of items in the collection it was taken
+ * from.
+ *
+ * @author Jon Freer
+ */
+public final class Page<T> {
+
+  private final Set<T> items;
+  private final Integer total;
+
+  /**
+   * Constructs a new {@link Page}.
+   *
+   * @param items The items of the page, in order.
+   * @param total The total number of items matching the criteria the page was taken with.
+   */
+  public Page(Set<T> items, Integer total) {
+    this.items = items;
+    this.total = total;
+  }
+
+  /**
+   * Retrieves the items of the page.
+   *
+   * @return The items of the page, in order.
+   */
+  public Set<T> getItems() {
+    return this.items;
+  }
+
+  /**
+   * Retrieves the total number of items matching the criteria the page was taken with, ignoring
+   * the bounds of the page.
+   *
+   * @return The total number of matching items.
+   */
+  public Integer getTotal() {
+    return this.total;
+  }
+}
@@ -0,0 +1,34 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class PreconditionFailedException extends ApplicationException {
+
+  public PreconditionFailedException(
+      String message, String detailedMessage, String sillyMessage, String emoji) {
+    super(message, detailedMessage, sillyMessage, emoji);
+  }
+
+  public PreconditionFailedException(String message, String detailedMessage) {
+    super(message, detailedMessage);
+  }
+
+  @Override
+  List<String> emojis() {
+    List<String> emojis = new ArrayList<>();
+    emojis.add("⏳");
+    emojis.add("🔀");
+    emojis.add("🤼");
+    return emojis;
+  }
+
+  @Override
+  List<String> sillyMessages() {
+    List<String> sillyMessages = new ArrayList<>();
+    sillyMessages.add("Somebody got here first.");
+    sillyMessages.add("That was so last version.");
+    sillyMessages.add("Things changed while you weren't looking.");
+    return sillyMessages;
+  }
+}
@@ -39,5 +39,21 @@ public interface TargetService {
    */
   void deleteTarget(UUID uuid);
 
+  /**
+   * Retrieves a page of {@link application.Target}s, along with the total number matching the
+   * filters provided.
+   *
+   * @param name The name the targets must have, or {@code null} to match any name.
+   * @param phoneNumber The phone number the targets must have, or {@code null} to match any phone
+   *     number.
+   * @param after The universally unique identifier of the target the page starts after, or {@code
+   *     null} to start from the first target.
+   * @param skip The number of targets to skip, or {@code null} to skip none.
+   * @param take The maximum number of targets to retrieve, or {@code null} for no limit.
+   * @return The page of {@link application.Target}s.
+   */
+  Page<Target> getTargets(
+      String name, String phoneNumber, UUID after, Integer skip, Integer take);
+
   Integer getTargetCount();
 }
@@ -40,5 +40,16 @@ public interface TemplateService {
    */
   void deleteTemplate(UUID uuid);
 
+  /**
+   * Retrieves a page of {@link application.Template}s, along with the total number of templates.
+   *
+   * @param after The universally unique identifier of the template the page starts after, or
+   *     {@code null} to start from the first template.
+   * @param skip The number of templates to skip, or {@code null} to skip none.
+   * @param take The maximum number of templates to retrieve, or {@code null} for no limit.
+   * @return The page of {@link application.Template}s.
+   */
+  Page<Template> getTemplates(UUID after, Integer skip, Integer take);
+
   Integer getTemplateCount();
 }
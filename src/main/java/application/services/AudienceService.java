@@ -2,13 +2,21 @@ package application.services;
 
 import application.InternalErrorException;
 import application.NotFoundException;
+import application.Page;
+import application.PreconditionFailedException;
 import domain.Audience;
 import domain.AudienceFactory;
+import domain.StaleAggregateException;
 import domain.Target;
+import infrastructure.AudienceMetadata;
 import infrastructure.Repository;
 import infrastructure.RepositoryFactory;
 import infrastructure.UnitOfWork;
 import infrastructure.UnitOfWorkFactory;
+import infrastructure.query.Query;
+import infrastructure.query.QueryFactory;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -20,6 +28,7 @@ public final class AudienceService implements application.AudienceService {
   private final RepositoryFactory repositoryFactory;
   private final AudienceFactory audienceFactory;
   private final application.AudienceFactory applicationAudienceFactory;
+  private final QueryFactory<Audience> queryFactory;
   private final Logger logger;
 
   @Inject
@@ -28,18 +37,75 @@ public final class AudienceService implements application.AudienceService {
       RepositoryFactory repositoryFactory,
       AudienceFactory audienceFactory,
       application.AudienceFactory applicationAudienceFactory,
+      QueryFactory<Audience> queryFactory,
       @Named("application.services.AudienceService") Logger logger) {
     this.unitOfWorkFactory = unitOfWorkFactory;
     this.repositoryFactory = repositoryFactory;
     this.audienceFactory = audienceFactory;
     this.applicationAudienceFactory = applicationAudienceFactory;
+    this.queryFactory = queryFactory;
     this.logger = logger;
   }
 
+  @Override
+  public Page<application.Audience> getAudiences(
+      String name, UUID after, Integer skip, Integer take) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
+      Repository<Audience, UUID> audienceRepository =
+          this.repositoryFactory.createAudienceRepository(unitOfWork);
+
+      // pages are ordered by key so that a page can be resumed from the last audience seen.
+      Query<Audience> query = this.createQuery(unitOfWork, name);
+      query.ascending(AudienceMetadata.UUID);
+      if (after != null) {
+        query.after(AudienceMetadata.UUID, after);
+      }
+
+      if (take != null) {
+        query.limit(take);
+      }
+
+      if (skip != null) {
+        query.skip(skip);
+      }
+
+      Set<application.Audience> audiences = new LinkedHashSet<>();
+      for (Audience audience : audienceRepository.get(query)) {
+        audiences.add(this.applicationAudienceFactory.createFrom(audience));
+      }
+      this.logger.info("Retrieved {} matching audiences.", audiences.size());
+
+      // filtered totals are computed alongside the page; unfiltered totals are read from the
+      // counters. a filtered page past the end carries no total, so it is read from the first.
+      Integer total = query.getTotal();
+      if (total == null && name == null) {
+        total = audienceRepository.size();
+      } else if (total == null) {
+        Query<Audience> firstPage = this.createQuery(unitOfWork, name);
+        firstPage.limit(1);
+        audienceRepository.get(firstPage);
+        total = firstPage.getTotal();
+      }
+      return new Page<>(audiences, total);
+    } catch (Exception x) {
+      String errorMessage = "An error occurred when retrieving audiences.";
+      this.logger.error(errorMessage, x);
+      throw new InternalErrorException(errorMessage, x.getMessage());
+    }
+  }
+
+  private Query<Audience> createQuery(UnitOfWork unitOfWork, String name) {
+    Query<Audience> query = this.queryFactory.createQuery(unitOfWork);
+    if (name != null) {
+      query.add(query.equalTo(query.field(AudienceMetadata.NAME), query.string(name)));
+    }
+    return query;
+  }
+
   @Override
   public Integer getAudienceCount() {
 
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Audience, UUID> audienceRepository =
           this.repositoryFactory.createAudienceRepository(unitOfWork);
       return audienceRepository.size();
@@ -70,7 +136,7 @@ public final class AudienceService implements application.AudienceService {
   public application.Audience getAudience(final UUID uuid) {
 
     Audience audience = null;
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Audience, UUID> audienceRepository =
           this.repositoryFactory.createAudienceRepository(unitOfWork);
       audience = audienceRepository.get(uuid);
@@ -93,12 +159,26 @@ public final class AudienceService implements application.AudienceService {
 
   @Override
   public void replaceAudience(final application.Audience audience) {
+    this.replaceAudience(audience, null);
+  }
+
+  @Override
+  public void replaceAudience(final application.Audience audience, final Integer version) {
 
     try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
       Audience _audience = this.audienceFactory.createFrom(audience);
+      _audience.setVersion(version);
       Repository<Audience, UUID> audienceRepository =
           this.repositoryFactory.createAudienceRepository(unitOfWork);
       audienceRepository.put(_audience);
+    } catch (StaleAggregateException x) {
+      String errorMessage = "The audience has changed.";
+      String detailedMessage =
+          String.format(
+              "The audience with UUID of '%s' is no longer at version %d.",
+              audience.getUUID(), version);
+      this.logger.warn(detailedMessage);
+      throw new PreconditionFailedException(errorMessage, detailedMessage);
     } catch (Exception x) {
       String errorMessage = "An error occurred when updating the audience.";
       this.logger.error(errorMessage, x);
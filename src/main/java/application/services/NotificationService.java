@@ -2,12 +2,18 @@ package application.services;
 
 import application.InternalErrorException;
 import application.NotFoundException;
+import application.Page;
+import application.PreconditionFailedException;
 import domain.Message;
 import domain.MessageFactory;
 import domain.Notification;
 import domain.NotificationFactory;
-import infrastructure.MessageMetadata;
-import infrastructure.MessageQueueService;
+import domain.StaleAggregateException;
+import infrastructure.AudienceFanout;
+import infrastructure.MessageKey;
+import infrastructure.MessageRepository;
+import infrastructure.NotificationMetadata;
+import infrastructure.OutboxMessage;
 import infrastructure.Repository;
 import infrastructure.RepositoryFactory;
 import infrastructure.UnitOfWork;
@@ -18,6 +24,7 @@ import io.opentracing.Tracer;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
@@ -33,8 +40,10 @@ public final class NotificationService implements application.NotificationServic
   private final application.NotificationFactory applicationNotificationFactory;
   private final MessageFactory messageFactory;
   private final application.MessageFactory applicationMessageFactory;
-  private final MessageQueueService smsQueueService;
+  private final application.TargetFactory applicationTargetFactory;
+  private final application.AudienceFactory applicationAudienceFactory;
   private final QueryFactory<domain.Notification> queryFactory;
+  private final AudienceFanout audienceFanout;
   private final Tracer tracer;
   private final Logger logger;
 
@@ -42,42 +51,58 @@ public final class NotificationService implements application.NotificationServic
   public NotificationService(
       UnitOfWorkFactory unitOfWorkFactory,
       RepositoryFactory repositoryFactory,
-      MessageQueueService smsQueueService,
       NotificationFactory notificationFactory,
       application.NotificationFactory applicationNotificationFactory,
       QueryFactory<domain.Notification> queryFactory,
       MessageFactory messageFactory,
       application.MessageFactory applicationMessageFactory,
+      application.TargetFactory applicationTargetFactory,
+      application.AudienceFactory applicationAudienceFactory,
+      AudienceFanout audienceFanout,
       Tracer tracer,
       @Named("application.services.NotificationService") Logger logger) {
     this.unitOfWorkFactory = unitOfWorkFactory;
     this.repositoryFactory = repositoryFactory;
-    this.smsQueueService = smsQueueService;
     this.notificationFactory = notificationFactory;
     this.messageFactory = messageFactory;
     this.applicationMessageFactory = applicationMessageFactory;
+    this.applicationTargetFactory = applicationTargetFactory;
+    this.applicationAudienceFactory = applicationAudienceFactory;
     this.applicationNotificationFactory = applicationNotificationFactory;
     this.queryFactory = queryFactory;
+    this.audienceFanout = audienceFanout;
     this.tracer = tracer;
     this.logger = logger;
   }
 
-  public Set<application.Notification> getNotifications(
-      String externalMessageID, Integer skip, Integer take) {
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+  public Page<application.Notification> getNotifications(
+      String externalMessageID, UUID after, Integer skip, Integer take) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Notification, UUID> notificationRepository =
           this.repositoryFactory.createNotificationRepository(unitOfWork);
 
       Query<domain.Notification> query = this.queryFactory.createQuery(unitOfWork);
 
       if (externalMessageID != null) {
+        // resolve the owning notification from the message index rather than joining messages.
+        MessageRepository messageRepository =
+            this.repositoryFactory.createMessageRepository(unitOfWork);
+        MessageKey key = messageRepository.findByExternalMessageId(externalMessageID);
+        if (key == null) {
+          this.logger.info("Retrieved 0 matching notifications.");
+          return new Page<>(new LinkedHashSet<>(), 0);
+        }
         query.add(
             query.equalTo(
-                query.field(MessageMetadata.EXTERNAL_ID), query.string(externalMessageID)));
+                query.field(NotificationMetadata.UUID), query.uuid(key.getNotificationUUID())));
+      }
+
+      // pages are ordered by key so that a page can be resumed from the last notification seen.
+      query.ascending(NotificationMetadata.UUID);
+      if (after != null) {
+        query.after(NotificationMetadata.UUID, after);
       }
 
-      // TODO - should find a way so that the order of which
-      // these method calls on query does not influence outcome.
       if (take != null) {
         query.limit(take);
       }
@@ -88,13 +113,21 @@ public final class NotificationService implements application.NotificationServic
 
       Set<domain.Notification> notifications_dm = notificationRepository.get(query);
 
-      Set<application.Notification> notifications = new HashSet<>();
+      Set<application.Notification> notifications = new LinkedHashSet<>();
 
       for (domain.Notification notification : notifications_dm) {
         notifications.add(this.applicationNotificationFactory.createFrom(notification));
       }
       this.logger.info("Retrieved {} matching notifications.", notifications.size());
-      return notifications;
+
+      // filtered totals are computed alongside the page; unfiltered totals are read from the
+      // counters. a filtered page past the end carries no total, but the message index has
+      // already resolved the single notification it can match.
+      Integer total = query.getTotal();
+      if (total == null) {
+        total = externalMessageID != null ? 1 : notificationRepository.size();
+      }
+      return new Page<>(notifications, total);
     } catch (Exception x) {
       String errorMessage = "An error occurred when retrieving notifications.";
       this.logger.error(errorMessage, x);
@@ -104,7 +137,7 @@ public final class NotificationService implements application.NotificationServic
 
   public Integer getNotificationCount() {
 
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Notification, UUID> notificationRepository =
           this.repositoryFactory.createNotificationRepository(unitOfWork);
       return notificationRepository.size();
@@ -115,9 +148,9 @@ public final class NotificationService implements application.NotificationServic
     }
   }
 
-  public Set<application.Target> getNotificationDirectRecipients(
+  public Page<application.Target> getNotificationDirectRecipients(
       UUID uuid, Integer skip, Integer take) {
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Notification, UUID> notificationRepository =
           this.repositoryFactory.createNotificationRepository(unitOfWork);
       domain.Notification notification = notificationRepository.get(uuid);
@@ -128,8 +161,11 @@ public final class NotificationService implements application.NotificationServic
         this.logger.warn(detailedMessage);
         throw new NotFoundException(errorMessage, detailedMessage);
       }
-      application.Notification noti = this.applicationNotificationFactory.createFrom(notification);
-      Set<application.Target> targets = noti.getTargets();
+      // only the recipients are mapped, leaving the audience members unloaded.
+      Set<application.Target> targets = new HashSet<>();
+      for (domain.Target target : notification.directRecipients()) {
+        targets.add(this.applicationTargetFactory.createFrom(target));
+      }
       Set<application.Target> filteredTargets = new HashSet<>();
       application.Target[] targetArray = new application.Target[targets.size()];
       targets.toArray(targetArray);
@@ -142,7 +178,7 @@ public final class NotificationService implements application.NotificationServic
         }
         filteredTargets.add(targetArray[idx]);
       }
-      return filteredTargets;
+      return new Page<>(filteredTargets, targets.size());
     } catch (Exception x) {
       String errorMessage =
           "An error occurred when retrieving the direct recipients of the notification.";
@@ -151,8 +187,9 @@ public final class NotificationService implements application.NotificationServic
     }
   }
 
-  public Set<application.Audience> getNotificationAudiences(UUID uuid, Integer skip, Integer take) {
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+  public Page<application.Audience> getNotificationAudiences(
+      UUID uuid, Integer skip, Integer take) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Notification, UUID> notificationRepository =
           this.repositoryFactory.createNotificationRepository(unitOfWork);
       domain.Notification notification = notificationRepository.get(uuid);
@@ -163,8 +200,11 @@ public final class NotificationService implements application.NotificationServic
         this.logger.warn(detailedMessage);
         throw new NotFoundException(errorMessage, detailedMessage);
       }
-      application.Notification noti = this.applicationNotificationFactory.createFrom(notification);
-      Set<application.Audience> audiences = noti.getAudiences();
+      // only the audiences are mapped, leaving their members unloaded.
+      Set<application.Audience> audiences = new HashSet<>();
+      for (domain.Audience audience : notification.audiences()) {
+        audiences.add(this.applicationAudienceFactory.createSummaryFrom(audience));
+      }
       Set<application.Audience> filteredAudiences = new HashSet<>();
       application.Audience[] audienceArray = new application.Audience[audiences.size()];
       audiences.toArray(audienceArray);
@@ -177,7 +217,7 @@ public final class NotificationService implements application.NotificationServic
         }
         filteredAudiences.add(audienceArray[idx]);
       }
-      return filteredAudiences;
+      return new Page<>(filteredAudiences, audiences.size());
     } catch (Exception x) {
       String errorMessage = "An error occurred when retrieving the audiences of the notification.";
       this.logger.error(errorMessage, x);
@@ -186,7 +226,7 @@ public final class NotificationService implements application.NotificationServic
   }
 
   public Set<application.Message> getNotificationMessages(UUID uuid, Integer skip, Integer take) {
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Notification, UUID> notificationRepository =
           this.repositoryFactory.createNotificationRepository(unitOfWork);
       domain.Notification notification = notificationRepository.get(uuid);
@@ -197,8 +237,11 @@ public final class NotificationService implements application.NotificationServic
         this.logger.warn(detailedMessage);
         throw new NotFoundException(errorMessage, detailedMessage);
       }
-      application.Notification noti = this.applicationNotificationFactory.createFrom(notification);
-      Set<application.Message> messages = noti.getMessages();
+      // only the messages are mapped, leaving the audience members unloaded.
+      Set<application.Message> messages = new HashSet<>();
+      for (domain.Message message : notification.messages()) {
+        messages.add(this.applicationMessageFactory.createFrom(message));
+      }
       Set<application.Message> filteredMessages = new HashSet<>();
       application.Message[] messageArray = new application.Message[messages.size()];
       messages.toArray(messageArray);
@@ -228,8 +271,10 @@ public final class NotificationService implements application.NotificationServic
   public UUID createNotification(application.Notification notification) {
     Date now = Calendar.getInstance(TimeZone.getTimeZone("UTC")).getTime();
 
+    Notification noti_domain;
+    boolean fanOut;
     try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
-      Notification noti_domain = this.notificationFactory.createFrom(notification);
+      noti_domain = this.notificationFactory.createFrom(notification);
 
       Repository<Notification, UUID> notificationRepository =
           this.repositoryFactory.createNotificationRepository(unitOfWork);
@@ -241,21 +286,36 @@ public final class NotificationService implements application.NotificationServic
             "Notification has {} milliseconds until it should be sent.", timeUntilSend);
       }
 
-      if (timeUntilSend <= 0) {
+      notificationRepository.add(noti_domain);
+
+      // a notification with audiences is committed flagged as being fanned out and leased to this
+      // node, and is dispatched by the fan-out or the scheduler only once every message is written.
+      fanOut = !noti_domain.audiences().isEmpty();
+      if (fanOut) {
+        this.audienceFanout.lease(unitOfWork, noti_domain.getId());
+      }
+
+      // the messages are published by the outbox relay once the notification is committed.
+      if (!fanOut && timeUntilSend <= 0) {
         for (Message message : noti_domain.messages()) {
-          this.smsQueueService.send(noti_domain, message.getId());
-          // mark message as PROCESSING via notification interface.
+          unitOfWork.enqueue(
+              new OutboxMessage(noti_domain.getId(), message.getId(), message.getTo().toE164()));
         }
+        unitOfWork.dispatch(noti_domain.getId());
       }
-
-      notificationRepository.add(noti_domain);
-
-      return noti_domain.getId();
     } catch (Exception x) {
       String errorMessage = "An error occurred when creating the notification.";
       this.logger.error(errorMessage, x);
       throw new InternalErrorException(errorMessage, x.getMessage());
     }
+
+    // the members of the audiences are streamed into messages in the background once the
+    // notification is committed; a fan-out that cannot complete marks the notification as failed.
+    if (fanOut) {
+      this.audienceFanout.fanOutLater(noti_domain);
+    }
+
+    return noti_domain.getId();
   }
 
   /**
@@ -266,12 +326,17 @@ public final class NotificationService implements application.NotificationServic
    */
   public application.Notification getNotification(UUID uuid) {
 
-    Notification notification = null;
+    application.Notification notification = null;
 
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    // the notification is mapped while the unit of work is open, since mapping its audiences loads
+    // their members through its connection.
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Notification, UUID> notificationRepository =
           this.repositoryFactory.createNotificationRepository(unitOfWork);
-      notification = notificationRepository.get(uuid);
+      Notification noti_domain = notificationRepository.get(uuid);
+      if (noti_domain != null) {
+        notification = this.applicationNotificationFactory.createFrom(noti_domain);
+      }
     } catch (Exception x) {
       String errorMessage = "An error occurred when retrieving the notification.";
       this.logger.error(errorMessage, x);
@@ -286,7 +351,7 @@ public final class NotificationService implements application.NotificationServic
       throw new NotFoundException(errorMessage, detailedMessage);
     }
 
-    return this.applicationNotificationFactory.createFrom(notification);
+    return notification;
   }
 
   /**
@@ -313,12 +378,31 @@ public final class NotificationService implements application.NotificationServic
    * @param notification {@inheritDoc}
    */
   public void updateNotification(application.Notification notification) {
+    this.updateNotification(notification, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param notification {@inheritDoc}
+   * @param version {@inheritDoc}
+   */
+  public void updateNotification(application.Notification notification, Integer version) {
 
     try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
       Repository<Notification, UUID> notificationRepository =
           this.repositoryFactory.createNotificationRepository(unitOfWork);
       Notification noti_domain = this.notificationFactory.createFrom(notification);
+      noti_domain.setVersion(version);
       notificationRepository.put(noti_domain);
+    } catch (StaleAggregateException x) {
+      String errorMessage = "The notification has changed.";
+      String detailedMessage =
+          String.format(
+              "The notification with UUID of '%s' is no longer at version %d.",
+              notification.getUUID(), version);
+      this.logger.warn(detailedMessage);
+      throw new PreconditionFailedException(errorMessage, detailedMessage);
     } catch (Exception x) {
       String errorMessage = "An error occurred when updating the notification.";
       this.logger.error(errorMessage, x);
@@ -328,7 +412,7 @@ public final class NotificationService implements application.NotificationServic
 
   public application.Message getNotificationMessage(UUID notificationUUID, Integer messageID) {
 
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Notification, UUID> notificationRepository =
           this.repositoryFactory.createNotificationRepository(unitOfWork);
 
@@ -362,32 +446,20 @@ public final class NotificationService implements application.NotificationServic
   public void updateNotificationMessage(UUID notificationUUID, application.Message message) {
 
     try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
-      Repository<Notification, UUID> notificationRepository =
-          this.repositoryFactory.createNotificationRepository(unitOfWork);
+      MessageRepository messageRepository =
+          this.repositoryFactory.createMessageRepository(unitOfWork);
       Message _message = this.messageFactory.createFrom(message);
 
-      // retrieve notification.
-      Notification _notification = notificationRepository.get(notificationUUID);
-      if (_notification == null) {
-        String errorMessage = "Can't find notification.";
-        String detailedMessage =
-            String.format("Can't find notification with UUID of '%s'", notificationUUID.toString());
-        this.logger.warn(detailedMessage);
-        throw new NotFoundException(errorMessage, detailedMessage);
-      }
-
-      // ensure that the message being updated actually exists.
-      if (!_notification.containsMessage(_message)) {
+      // only the message row is written; the notification is neither loaded nor rewritten.
+      if (!messageRepository.replace(notificationUUID, _message)) {
         String errorMessage = "Can't find message.";
         String detailedMessage =
-            String.format("Can't find a message with ID '%d'.", message.getID());
+            String.format(
+                "Can't find a message with ID '%d' for the notification with UUID of '%s'.",
+                message.getID(), notificationUUID.toString());
         this.logger.warn(detailedMessage);
         throw new NotFoundException(errorMessage, detailedMessage);
       }
-
-      // update the message.
-      _notification.message(_message);
-      notificationRepository.put(_notification);
     } catch (Exception x) {
       String errorMessage = "An error occurred when updating the notification messages.";
       this.logger.error(errorMessage, x);
@@ -2,12 +2,19 @@ package application.services;
 
 import application.InternalErrorException;
 import application.NotFoundException;
+import application.Page;
 import domain.Target;
 import domain.TargetFactory;
 import infrastructure.Repository;
 import infrastructure.RepositoryFactory;
+import infrastructure.TargetMetadata;
 import infrastructure.UnitOfWork;
 import infrastructure.UnitOfWorkFactory;
+import infrastructure.query.Query;
+import infrastructure.query.QueryFactory;
+import infrastructure.query.expressions.QueryExpression;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -19,6 +26,7 @@ public final class TargetService implements application.TargetService {
   private final RepositoryFactory repositoryFactory;
   private final TargetFactory targetFactory;
   private final application.TargetFactory applicationTargetFactory;
+  private final QueryFactory<Target> queryFactory;
   private final Logger logger;
 
   @Inject
@@ -27,18 +35,94 @@ public final class TargetService implements application.TargetService {
       RepositoryFactory repositoryFactory,
       TargetFactory targetFactory,
       application.TargetFactory applicationTargetFactory,
+      QueryFactory<Target> queryFactory,
       @Named("application.services.TargetService") Logger logger) {
     this.unitOfWorkFactory = unitOfWorkFactory;
     this.repositoryFactory = repositoryFactory;
     this.targetFactory = targetFactory;
     this.applicationTargetFactory = applicationTargetFactory;
+    this.queryFactory = queryFactory;
     this.logger = logger;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @param name {@inheritDoc}
+   * @param phoneNumber {@inheritDoc}
+   * @param after {@inheritDoc}
+   * @param skip {@inheritDoc}
+   * @param take {@inheritDoc}
+   * @return {@inheritDoc}
+   */
+  @Override
+  public Page<application.Target> getTargets(
+      String name, String phoneNumber, UUID after, Integer skip, Integer take) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
+      Repository<Target, UUID> targetRepository =
+          this.repositoryFactory.createTargetRepository(unitOfWork);
+
+      // pages are ordered by key so that a page can be resumed from the last target seen.
+      Query<Target> query = this.createQuery(unitOfWork, name, phoneNumber);
+      query.ascending(TargetMetadata.UUID);
+      if (after != null) {
+        query.after(TargetMetadata.UUID, after);
+      }
+
+      if (take != null) {
+        query.limit(take);
+      }
+
+      if (skip != null) {
+        query.skip(skip);
+      }
+
+      Set<application.Target> targets = new LinkedHashSet<>();
+      for (Target target : targetRepository.get(query)) {
+        targets.add(this.applicationTargetFactory.createFrom(target));
+      }
+      this.logger.info("Retrieved {} matching targets.", targets.size());
+
+      // filtered totals are computed alongside the page; unfiltered totals are read from the
+      // counters. a filtered page past the end carries no total, so it is read from the first.
+      Integer total = query.getTotal();
+      if (total == null && name == null && phoneNumber == null) {
+        total = targetRepository.size();
+      } else if (total == null) {
+        Query<Target> firstPage = this.createQuery(unitOfWork, name, phoneNumber);
+        firstPage.limit(1);
+        targetRepository.get(firstPage);
+        total = firstPage.getTotal();
+      }
+      return new Page<>(targets, total);
+    } catch (Exception x) {
+      String errorMessage = "An error occurred when retrieving targets.";
+      this.logger.error(errorMessage, x);
+      throw new InternalErrorException(errorMessage, x.getMessage());
+    }
+  }
+
+  private Query<Target> createQuery(UnitOfWork unitOfWork, String name, String phoneNumber) {
+    Query<Target> query = this.queryFactory.createQuery(unitOfWork);
+    if (name != null) {
+      query.add(query.equalTo(query.field(TargetMetadata.NAME), query.string(name)));
+    }
+    if (phoneNumber != null) {
+      QueryExpression condition =
+          query.equalTo(query.field(TargetMetadata.PHONE_NUMBER), query.string(phoneNumber));
+      if (name != null) {
+        query.and(condition);
+      } else {
+        query.add(condition);
+      }
+    }
+    return query;
+  }
+
   @Override
   public Integer getTargetCount() {
 
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Target, UUID> targetRepository =
           this.repositoryFactory.createTargetRepository(unitOfWork);
       return targetRepository.size();
@@ -81,7 +165,7 @@ public final class TargetService implements application.TargetService {
   public application.Target getTarget(UUID uuid) {
 
     Target target = null;
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Target, UUID> targetRepository =
           this.repositoryFactory.createTargetRepository(unitOfWork);
       target = targetRepository.get(uuid);
@@ -2,12 +2,18 @@ package application.services;
 
 import application.InternalErrorException;
 import application.NotFoundException;
+import application.Page;
 import domain.Template;
 import domain.TemplateFactory;
 import infrastructure.Repository;
 import infrastructure.RepositoryFactory;
+import infrastructure.TemplateMetadata;
 import infrastructure.UnitOfWork;
 import infrastructure.UnitOfWorkFactory;
+import infrastructure.query.Query;
+import infrastructure.query.QueryFactory;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -19,6 +25,7 @@ public final class TemplateService implements application.TemplateService {
   private final RepositoryFactory repositoryFactory;
   private final TemplateFactory templateFactory;
   private final application.TemplateFactory applicationTemplateFactory;
+  private final QueryFactory<Template> queryFactory;
   private final Logger logger;
 
   @Inject
@@ -27,18 +34,56 @@ public final class TemplateService implements application.TemplateService {
       RepositoryFactory repositoryFactory,
       TemplateFactory templateFactory,
       application.TemplateFactory applicationTemplateFactory,
+      QueryFactory<Template> queryFactory,
       @Named("application.services.TemplateService") Logger logger) {
     this.unitOfWorkFactory = unitOfWorkFactory;
     this.repositoryFactory = repositoryFactory;
     this.templateFactory = templateFactory;
     this.applicationTemplateFactory = applicationTemplateFactory;
+    this.queryFactory = queryFactory;
     this.logger = logger;
   }
 
+  @Override
+  public Page<application.Template> getTemplates(UUID after, Integer skip, Integer take) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
+      Repository<Template, UUID> templateRepository =
+          this.repositoryFactory.createTemplateRepository(unitOfWork);
+
+      // pages are ordered by key so that a page can be resumed from the last template seen.
+      Query<Template> query = this.queryFactory.createQuery(unitOfWork);
+      query.ascending(TemplateMetadata.UUID);
+      if (after != null) {
+        query.after(TemplateMetadata.UUID, after);
+      }
+
+      if (take != null) {
+        query.limit(take);
+      }
+
+      if (skip != null) {
+        query.skip(skip);
+      }
+
+      Set<application.Template> templates = new LinkedHashSet<>();
+      for (Template template : templateRepository.get(query)) {
+        templates.add(this.applicationTemplateFactory.createFrom(template));
+      }
+      this.logger.info("Retrieved {} templates.", templates.size());
+
+      // the page is unfiltered, so its total is read from the counters.
+      return new Page<>(templates, templateRepository.size());
+    } catch (Exception x) {
+      String errorMessage = "An error occurred when retrieving templates.";
+      this.logger.error(errorMessage, x);
+      throw new InternalErrorException(errorMessage, x.getMessage());
+    }
+  }
+
   @Override
   public Integer getTemplateCount() {
 
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Template, UUID> templateRepository =
           this.repositoryFactory.createTemplateRepository(unitOfWork);
       return templateRepository.size();
@@ -81,7 +126,7 @@ public final class TemplateService implements application.TemplateService {
   public application.Template getTemplate(UUID uuid) {
 
     Template template = null;
-    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createUnitOfWork()) {
+    try (UnitOfWork unitOfWork = this.unitOfWorkFactory.createReadOnlyUnitOfWork()) {
       Repository<Template, UUID> templateRepository =
           this.repositoryFactory.createTemplateRepository(unitOfWork);
       template = templateRepository.get(uuid);
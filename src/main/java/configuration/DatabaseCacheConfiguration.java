@@ -0,0 +1,41 @@
+package configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Represents the configuration of the aggregate cache for Noti. */
+public class DatabaseCacheConfiguration {
+
+  private long maxWeight = 10000;
+  private long timeToLive = 300;
+
+  /**
+   * Retrieves the maximum total weight of the cached aggregates. An aggregate weighs one, plus one
+   * for each entity it contains.
+   *
+   * @return The maximum weight of the cache.
+   */
+  @JsonProperty
+  public long getMaxWeight() {
+    return this.maxWeight;
+  }
+
+  @JsonProperty
+  public void setMaxWeight(long maxWeight) {
+    this.maxWeight = maxWeight;
+  }
+
+  /**
+   * Retrieves the number of seconds an aggregate may remain cached.
+   *
+   * @return The time to live in seconds.
+   */
+  @JsonProperty
+  public long getTimeToLive() {
+    return this.timeToLive;
+  }
+
+  @JsonProperty
+  public void setTimeToLive(long timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+}
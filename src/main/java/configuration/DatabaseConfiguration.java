@@ -14,6 +14,15 @@ public class DatabaseConfiguration {
   private boolean useSSL;
   private boolean useLegacyDatetimeCode;
   private boolean allowPublicKeyRetrieval;
+  private boolean useServerPrepStmts = true;
+  private boolean cachePrepStmts = true;
+  private int prepStmtCacheSize = 250;
+  private int prepStmtCacheSqlLimit = 4096;
+  private int batchSize = 500;
+  private String uuidFormat = "TEXT";
+  private DatabasePoolConfiguration poolConfiguration = new DatabasePoolConfiguration();
+  private DatabaseReplicaConfiguration replicaConfiguration = new DatabaseReplicaConfiguration();
+  private DatabaseCacheConfiguration cacheConfiguration = new DatabaseCacheConfiguration();
 
   @JsonProperty
   public String getHost() {
@@ -95,20 +104,155 @@ public class DatabaseConfiguration {
     this.allowPublicKeyRetrieval = allowPublicKeyRetrieval;
   }
 
+  @JsonProperty
+  public boolean getUseServerPrepStmts() {
+    return this.useServerPrepStmts;
+  }
+
+  @JsonProperty
+  public void setUseServerPrepStmts(boolean useServerPrepStmts) {
+    this.useServerPrepStmts = useServerPrepStmts;
+  }
+
+  @JsonProperty
+  public boolean getCachePrepStmts() {
+    return this.cachePrepStmts;
+  }
+
+  @JsonProperty
+  public void setCachePrepStmts(boolean cachePrepStmts) {
+    this.cachePrepStmts = cachePrepStmts;
+  }
+
+  /**
+   * Retrieves the number of prepared statements cached by each connection.
+   *
+   * @return The size of the per-connection prepared statement cache.
+   */
+  @JsonProperty
+  public int getPrepStmtCacheSize() {
+    return this.prepStmtCacheSize;
+  }
+
+  @JsonProperty
+  public void setPrepStmtCacheSize(int prepStmtCacheSize) {
+    this.prepStmtCacheSize = prepStmtCacheSize;
+  }
+
+  /**
+   * Retrieves the length of the longest SQL statement that is eligible for the per-connection
+   * prepared statement cache.
+   *
+   * @return The maximum length of a cached statement.
+   */
+  @JsonProperty
+  public int getPrepStmtCacheSqlLimit() {
+    return this.prepStmtCacheSqlLimit;
+  }
+
+  @JsonProperty
+  public void setPrepStmtCacheSqlLimit(int prepStmtCacheSqlLimit) {
+    this.prepStmtCacheSqlLimit = prepStmtCacheSqlLimit;
+  }
+
+  /**
+   * Retrieves the maximum number of rows written by a single multi-row statement.
+   *
+   * @return The batch size used for writes.
+   */
+  @JsonProperty
+  public int getBatchSize() {
+    return this.batchSize;
+  }
+
+  @JsonProperty
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Retrieves the representation used to store UUID keys; either {@code TEXT} or {@code BINARY}.
+   * {@code TEXT} keeps the schema on the textual keys, while writing their binary form alongside,
+   * so that the existing keys can be backfilled online. The keys are converted by the
+   * convert-uuid-keys command while every node is stopped, after which every node is started with
+   * {@code BINARY}; a node whose format does not match the schema refuses to start.
+   *
+   * @return The representation used to store UUID keys.
+   */
+  @JsonProperty
+  public String getUuidFormat() {
+    return this.uuidFormat;
+  }
+
+  @JsonProperty
+  public void setUuidFormat(String uuidFormat) {
+    this.uuidFormat = uuidFormat;
+  }
+
+  @JsonProperty("pool")
+  public DatabasePoolConfiguration getPoolConfiguration() {
+    return this.poolConfiguration;
+  }
+
+  @JsonProperty("pool")
+  public void setPoolConfiguration(DatabasePoolConfiguration poolConfiguration) {
+    this.poolConfiguration = poolConfiguration;
+  }
+
+  @JsonProperty("replica")
+  public DatabaseReplicaConfiguration getReplicaConfiguration() {
+    return this.replicaConfiguration;
+  }
+
+  @JsonProperty("replica")
+  public void setReplicaConfiguration(DatabaseReplicaConfiguration replicaConfiguration) {
+    this.replicaConfiguration = replicaConfiguration;
+  }
+
+  @JsonProperty("cache")
+  public DatabaseCacheConfiguration getCacheConfiguration() {
+    return this.cacheConfiguration;
+  }
+
+  @JsonProperty("cache")
+  public void setCacheConfiguration(DatabaseCacheConfiguration cacheConfiguration) {
+    this.cacheConfiguration = cacheConfiguration;
+  }
+
   @JsonIgnore
   public String getURL() {
+    return this.getURL(this.getHost(), this.getPort());
+  }
+
+  /**
+   * Retrieves the JDBC URL of the configured replica, which shares the database name and
+   * connection properties of the primary.
+   *
+   * @return The JDBC URL of the replica.
+   */
+  @JsonIgnore
+  public String getReplicaURL() {
+    final DatabaseReplicaConfiguration replicaConfiguration = this.getReplicaConfiguration();
+    return this.getURL(replicaConfiguration.getHost(), replicaConfiguration.getPort());
+  }
+
+  private String getURL(final String host, final Integer port) {
 
     // retrieve configuration values.
-    final String host = this.getHost();
-    final Integer port = this.getPort();
     final String databaseName = this.getName();
     final Boolean useLegacyDateTimeCode = this.getUseLegacyDatetimeCode();
     final Boolean useSSL = this.getUseSSL();
     final Boolean allowPublicKeyRetrieval = this.getAllowPublicKeyRetrieval();
+    final Boolean useServerPrepStmts = this.getUseServerPrepStmts();
+    final Boolean cachePrepStmts = this.getCachePrepStmts();
+    final Integer prepStmtCacheSize = this.getPrepStmtCacheSize();
+    final Integer prepStmtCacheSqlLimit = this.getPrepStmtCacheSqlLimit();
 
     // construct the URL.
     final String urlTemplate =
-        "jdbc:mysql://%s:%s/%s?useLegacyDatetimeCode=%b&useSSL=%b&allowPublicKeyRetrieval=%b";
+        "jdbc:mysql://%s:%s/%s?useLegacyDatetimeCode=%b&useSSL=%b&allowPublicKeyRetrieval=%b"
+            + "&useServerPrepStmts=%b&cachePrepStmts=%b&prepStmtCacheSize=%d"
+            + "&prepStmtCacheSqlLimit=%d";
     return String.format(
         urlTemplate,
         host,
@@ -116,6 +260,10 @@ public class DatabaseConfiguration {
         databaseName,
         useLegacyDateTimeCode,
         useSSL,
-        allowPublicKeyRetrieval);
+        allowPublicKeyRetrieval,
+        useServerPrepStmts,
+        cachePrepStmts,
+        prepStmtCacheSize,
+        prepStmtCacheSqlLimit);
   }
 }
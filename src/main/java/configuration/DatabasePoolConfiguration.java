@@ -0,0 +1,124 @@
+package configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Represents the database connection pool configuration for Noti. */
+public class DatabasePoolConfiguration {
+
+  private int maxSize = 10;
+  private int minIdle = 2;
+  private long acquireTimeout = 5000;
+  private int validationTimeout = 5;
+  private long idleTimeout = 600000;
+  private long maxLifetime = 1800000;
+  private long leakDetectionThreshold = 0;
+
+  /**
+   * Retrieves the maximum number of connections that the pool will open at once.
+   *
+   * @return The maximum number of pooled connections.
+   */
+  @JsonProperty
+  public int getMaxSize() {
+    return this.maxSize;
+  }
+
+  @JsonProperty
+  public void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Retrieves the number of idle connections that the pool keeps open; connections beyond it are
+   * closed once they have been idle for the idle timeout.
+   *
+   * @return The minimum number of idle connections.
+   */
+  @JsonProperty
+  public int getMinIdle() {
+    return this.minIdle;
+  }
+
+  @JsonProperty
+  public void setMinIdle(int minIdle) {
+    this.minIdle = minIdle;
+  }
+
+  /**
+   * Retrieves the number of milliseconds a caller will wait for a connection before failing.
+   *
+   * @return The acquisition timeout in milliseconds.
+   */
+  @JsonProperty
+  public long getAcquireTimeout() {
+    return this.acquireTimeout;
+  }
+
+  @JsonProperty
+  public void setAcquireTimeout(long acquireTimeout) {
+    this.acquireTimeout = acquireTimeout;
+  }
+
+  /**
+   * Retrieves the number of seconds allowed for validating an idle connection before it is lent.
+   *
+   * @return The validation timeout in seconds.
+   */
+  @JsonProperty
+  public int getValidationTimeout() {
+    return this.validationTimeout;
+  }
+
+  @JsonProperty
+  public void setValidationTimeout(int validationTimeout) {
+    this.validationTimeout = validationTimeout;
+  }
+
+  /**
+   * Retrieves the number of milliseconds a connection beyond the minimum may sit idle before it is
+   * closed.
+   *
+   * @return The idle timeout in milliseconds.
+   */
+  @JsonProperty
+  public long getIdleTimeout() {
+    return this.idleTimeout;
+  }
+
+  @JsonProperty
+  public void setIdleTimeout(long idleTimeout) {
+    this.idleTimeout = idleTimeout;
+  }
+
+  /**
+   * Retrieves the number of milliseconds after which a connection is retired, which must be shorter
+   * than the time the database allows a connection to live.
+   *
+   * @return The maximum lifetime of a connection in milliseconds.
+   */
+  @JsonProperty
+  public long getMaxLifetime() {
+    return this.maxLifetime;
+  }
+
+  @JsonProperty
+  public void setMaxLifetime(long maxLifetime) {
+    this.maxLifetime = maxLifetime;
+  }
+
+  /**
+   * Retrieves the number of milliseconds a connection may be borrowed before it is reported as a
+   * potential leak. A value of zero disables leak detection.
+   *
+   * @return The leak detection threshold in milliseconds.
+   */
+  @JsonProperty
+  public long getLeakDetectionThreshold() {
+    return this.leakDetectionThreshold;
+  }
+
+  @JsonProperty
+  public void setLeakDetectionThreshold(long leakDetectionThreshold) {
+    this.leakDetectionThreshold = leakDetectionThreshold;
+  }
+}
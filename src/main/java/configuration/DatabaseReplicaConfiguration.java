@@ -0,0 +1,88 @@
+package configuration;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents the configuration of the MySQL replica that read-only units of work are routed to.
+ * The replica shares the database name and credentials of the primary.
+ */
+public class DatabaseReplicaConfiguration {
+
+  private String host;
+  private int port = 3306;
+  private long maxLag = 5;
+  private long lagCheckInterval = 1000;
+  private DatabasePoolConfiguration poolConfiguration = new DatabasePoolConfiguration();
+
+  /**
+   * Retrieves the host of the replica. Reads are routed to the primary when no host is configured.
+   *
+   * @return The host of the replica.
+   */
+  @JsonProperty
+  public String getHost() {
+    return this.host;
+  }
+
+  @JsonProperty
+  public void setHost(String host) {
+    this.host = host;
+  }
+
+  @JsonProperty
+  public int getPort() {
+    return this.port;
+  }
+
+  @JsonProperty
+  public void setPort(int port) {
+    this.port = port;
+  }
+
+  /**
+   * Retrieves the number of seconds the replica may fall behind the primary before reads are
+   * routed back to the primary.
+   *
+   * @return The maximum tolerated replication lag in seconds.
+   */
+  @JsonProperty
+  public long getMaxLag() {
+    return this.maxLag;
+  }
+
+  @JsonProperty
+  public void setMaxLag(long maxLag) {
+    this.maxLag = maxLag;
+  }
+
+  /**
+   * Retrieves the number of milliseconds between checks of the replication lag.
+   *
+   * @return The lag check interval in milliseconds.
+   */
+  @JsonProperty
+  public long getLagCheckInterval() {
+    return this.lagCheckInterval;
+  }
+
+  @JsonProperty
+  public void setLagCheckInterval(long lagCheckInterval) {
+    this.lagCheckInterval = lagCheckInterval;
+  }
+
+  @JsonProperty("pool")
+  public DatabasePoolConfiguration getPoolConfiguration() {
+    return this.poolConfiguration;
+  }
+
+  @JsonProperty("pool")
+  public void setPoolConfiguration(DatabasePoolConfiguration poolConfiguration) {
+    this.poolConfiguration = poolConfiguration;
+  }
+
+  @JsonIgnore
+  public boolean isEnabled() {
+    return this.host != null && !this.host.trim().isEmpty();
+  }
+}
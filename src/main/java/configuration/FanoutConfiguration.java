@@ -0,0 +1,76 @@
+package configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Represents the configuration of the fan-out of notifications to their audiences for Noti. */
+public class FanoutConfiguration {
+
+  private int chunkSize = 1000;
+  private int concurrency = 2;
+  private int parallelism = 4;
+  private long resumeInterval = 60000;
+
+  /**
+   * Retrieves the number of messages written by each transaction of a fan-out.
+   *
+   * @return The number of messages per chunk.
+   */
+  @JsonProperty
+  public int getChunkSize() {
+    return this.chunkSize;
+  }
+
+  @JsonProperty
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Retrieves the number of fan-outs run concurrently in the background, each reading the members
+   * of its audiences with a connection of its own.
+   *
+   * @return The number of concurrent fan-outs.
+   */
+  @JsonProperty
+  public int getConcurrency() {
+    return this.concurrency;
+  }
+
+  @JsonProperty
+  public void setConcurrency(int concurrency) {
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Retrieves the number of chunks written concurrently, each with a connection of its own. The
+   * writers are shared by every fan-out, and together with the fan-outs must be fewer than the
+   * connections of the pool.
+   *
+   * @return The number of concurrent writers.
+   */
+  @JsonProperty
+  public int getParallelism() {
+    return this.parallelism;
+  }
+
+  @JsonProperty
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Retrieves the number of milliseconds between searches for fan-outs left stalled by a node that
+   * stopped, which are resumed once their leases expire.
+   *
+   * @return The number of milliseconds between searches.
+   */
+  @JsonProperty
+  public long getResumeInterval() {
+    return this.resumeInterval;
+  }
+
+  @JsonProperty
+  public void setResumeInterval(long resumeInterval) {
+    this.resumeInterval = resumeInterval;
+  }
+}
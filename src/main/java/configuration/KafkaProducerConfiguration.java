@@ -8,6 +8,12 @@ public final class KafkaProducerConfiguration {
   private String acks;
   private List<String> bootstrapServers;
   private String schemaRegistryURL;
+  private String schemaRegistryFile;
+  private boolean idempotent = true;
+  private long sendTimeout = 100;
+  private Integer lingerMs;
+  private Integer batchSize;
+  private String compressionType;
 
   @JsonProperty("acks")
   public String getAcks() {
@@ -38,4 +44,99 @@ public final class KafkaProducerConfiguration {
   public void setSchemaRegistryURL(String schemaRegistryURL) {
     this.schemaRegistryURL = schemaRegistryURL;
   }
+
+  /**
+   * Retrieves the path of a local file standing in for the schema registry, which allows records
+   * to be produced without a registry server.
+   *
+   * @return The path of the file, or {@code null} to use the registry at the configured URL.
+   */
+  @JsonProperty("schema.registry.file")
+  public String getSchemaRegistryFile() {
+    return this.schemaRegistryFile;
+  }
+
+  @JsonProperty("schema.registry.file")
+  public void setSchemaRegistryFile(String schemaRegistryFile) {
+    this.schemaRegistryFile =
+        schemaRegistryFile == null || schemaRegistryFile.isEmpty() ? null : schemaRegistryFile;
+  }
+
+  /**
+   * Indicates whether the producer writes each record exactly once per partition, even when a send
+   * is retried. Idempotent producing requires {@code acks} to be {@code all}.
+   *
+   * @return {@code true} if the producer is idempotent; {@code false} otherwise.
+   */
+  @JsonProperty("enable.idempotence")
+  public boolean isIdempotent() {
+    return this.idempotent;
+  }
+
+  @JsonProperty("enable.idempotence")
+  public void setIdempotent(boolean idempotent) {
+    this.idempotent = idempotent;
+  }
+
+  /**
+   * Retrieves the number of milliseconds a caller waits for the messages it enqueues to be
+   * acknowledged. The messages enqueued together share a single deadline.
+   *
+   * @return The send timeout in milliseconds.
+   */
+  @JsonProperty("send.timeout.ms")
+  public long getSendTimeout() {
+    return this.sendTimeout;
+  }
+
+  @JsonProperty("send.timeout.ms")
+  public void setSendTimeout(long sendTimeout) {
+    this.sendTimeout = sendTimeout;
+  }
+
+  /**
+   * Retrieves the number of milliseconds the producer waits for more records before sending a
+   * batch that is not full.
+   *
+   * @return The linger in milliseconds, or {@code null} to use the producer default.
+   */
+  @JsonProperty("linger.ms")
+  public Integer getLingerMs() {
+    return this.lingerMs;
+  }
+
+  @JsonProperty("linger.ms")
+  public void setLingerMs(Integer lingerMs) {
+    this.lingerMs = lingerMs;
+  }
+
+  /**
+   * Retrieves the maximum number of bytes batched together for a single partition.
+   *
+   * @return The batch size in bytes, or {@code null} to use the producer default.
+   */
+  @JsonProperty("batch.size")
+  public Integer getBatchSize() {
+    return this.batchSize;
+  }
+
+  @JsonProperty("batch.size")
+  public void setBatchSize(Integer batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Retrieves the codec batches are compressed with, such as {@code lz4} or {@code snappy}.
+   *
+   * @return The compression type, or {@code null} to use the producer default.
+   */
+  @JsonProperty("compression.type")
+  public String getCompressionType() {
+    return this.compressionType;
+  }
+
+  @JsonProperty("compression.type")
+  public void setCompressionType(String compressionType) {
+    this.compressionType = compressionType;
+  }
 }
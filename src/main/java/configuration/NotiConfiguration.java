@@ -9,6 +9,9 @@ public class NotiConfiguration extends Configuration {
   private DatabaseConfiguration databaseConfiguration;
   private com.uber.jaeger.dropwizard.Configuration jaegerConfiguration;
   private KafkaConfiguration kafkaConfiguration;
+  private OutboxConfiguration outboxConfiguration = new OutboxConfiguration();
+  private SchedulerConfiguration schedulerConfiguration = new SchedulerConfiguration();
+  private FanoutConfiguration fanoutConfiguration = new FanoutConfiguration();
 
   @JsonProperty("database")
   public DatabaseConfiguration getDatabaseConfiguration() {
@@ -39,4 +42,34 @@ public class NotiConfiguration extends Configuration {
   public void setKafkaConfiguration(final KafkaConfiguration configuration) {
     this.kafkaConfiguration = configuration;
   }
+
+  @JsonProperty("outbox")
+  public OutboxConfiguration getOutboxConfiguration() {
+    return this.outboxConfiguration;
+  }
+
+  @JsonProperty("outbox")
+  public void setOutboxConfiguration(final OutboxConfiguration configuration) {
+    this.outboxConfiguration = configuration;
+  }
+
+  @JsonProperty("scheduler")
+  public SchedulerConfiguration getSchedulerConfiguration() {
+    return this.schedulerConfiguration;
+  }
+
+  @JsonProperty("scheduler")
+  public void setSchedulerConfiguration(final SchedulerConfiguration configuration) {
+    this.schedulerConfiguration = configuration;
+  }
+
+  @JsonProperty("fanout")
+  public FanoutConfiguration getFanoutConfiguration() {
+    return this.fanoutConfiguration;
+  }
+
+  @JsonProperty("fanout")
+  public void setFanoutConfiguration(final FanoutConfiguration configuration) {
+    this.fanoutConfiguration = configuration;
+  }
 }
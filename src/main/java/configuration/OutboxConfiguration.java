@@ -0,0 +1,57 @@
+package configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Represents the configuration of the relay publishing the outbox for Noti. */
+public class OutboxConfiguration {
+
+  private int batchSize = 500;
+  private long pollInterval = 100;
+  private long publishTimeout = 5000;
+
+  /**
+   * Retrieves the maximum number of messages published by a single pass over the outbox.
+   *
+   * @return The maximum number of messages per pass.
+   */
+  @JsonProperty
+  public int getBatchSize() {
+    return this.batchSize;
+  }
+
+  @JsonProperty
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Retrieves the number of milliseconds between passes over an outbox that has been drained.
+   *
+   * @return The poll interval in milliseconds.
+   */
+  @JsonProperty
+  public long getPollInterval() {
+    return this.pollInterval;
+  }
+
+  @JsonProperty
+  public void setPollInterval(long pollInterval) {
+    this.pollInterval = pollInterval;
+  }
+
+  /**
+   * Retrieves the number of milliseconds a pass waits for the acknowledgements of its messages
+   * before releasing the unacknowledged ones.
+   *
+   * @return The publish timeout in milliseconds.
+   */
+  @JsonProperty
+  public long getPublishTimeout() {
+    return this.publishTimeout;
+  }
+
+  @JsonProperty
+  public void setPublishTimeout(long publishTimeout) {
+    this.publishTimeout = publishTimeout;
+  }
+}
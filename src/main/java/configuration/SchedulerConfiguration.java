@@ -0,0 +1,110 @@
+package configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Represents the configuration of the scheduler dispatching notifications sent later for Noti. */
+public class SchedulerConfiguration {
+
+  private int batchSize = 500;
+  private long tick = 100;
+  private int wheelSize = 512;
+  private long window = 60000;
+  private long claimInterval = 5000;
+  private long leaseDuration = 30000;
+
+  /**
+   * Retrieves the maximum number of notifications leased by a single pass over the due
+   * notifications.
+   *
+   * @return The maximum number of notifications per pass.
+   */
+  @JsonProperty
+  public int getBatchSize() {
+    return this.batchSize;
+  }
+
+  @JsonProperty
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Retrieves the number of milliseconds between checks for leased notifications that are due,
+   * which bounds how late a notification is dispatched.
+   *
+   * @return The tick in milliseconds.
+   */
+  @JsonProperty
+  public long getTick() {
+    return this.tick;
+  }
+
+  @JsonProperty
+  public void setTick(long tick) {
+    this.tick = tick;
+  }
+
+  /**
+   * Retrieves the number of ticks spanned by each level of the timing wheel holding the leased
+   * notifications.
+   *
+   * @return The number of buckets per wheel.
+   */
+  @JsonProperty
+  public int getWheelSize() {
+    return this.wheelSize;
+  }
+
+  @JsonProperty
+  public void setWheelSize(int wheelSize) {
+    this.wheelSize = wheelSize;
+  }
+
+  /**
+   * Retrieves the number of milliseconds ahead of their send time that notifications are leased
+   * and held in memory.
+   *
+   * @return The window in milliseconds.
+   */
+  @JsonProperty
+  public long getWindow() {
+    return this.window;
+  }
+
+  @JsonProperty
+  public void setWindow(long window) {
+    this.window = window;
+  }
+
+  /**
+   * Retrieves the number of milliseconds between passes leasing the notifications that are due
+   * within the window.
+   *
+   * @return The claim interval in milliseconds.
+   */
+  @JsonProperty
+  public long getClaimInterval() {
+    return this.claimInterval;
+  }
+
+  @JsonProperty
+  public void setClaimInterval(long claimInterval) {
+    this.claimInterval = claimInterval;
+  }
+
+  /**
+   * Retrieves the number of milliseconds a lease lasts unless renewed by a later pass. The leases
+   * of a node that stops are taken over by the other nodes once they expire.
+   *
+   * @return The lease duration in milliseconds.
+   */
+  @JsonProperty
+  public long getLeaseDuration() {
+    return this.leaseDuration;
+  }
+
+  @JsonProperty
+  public void setLeaseDuration(long leaseDuration) {
+    this.leaseDuration = leaseDuration;
+  }
+}
@@ -16,6 +16,7 @@ public class Audience extends Entity<UUID> {
 
   public Audience(Audience toCopy) {
     super(toCopy.getId());
+    this.setVersion(toCopy.getVersion());
     this.name = toCopy.name();
     this.members = toCopy.members();
   }
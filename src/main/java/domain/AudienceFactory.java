@@ -3,6 +3,7 @@ package domain;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import javax.inject.Inject;
 
 // temporary solution for now. need to look more into
 // factories with DDD. not a fan of everything being a concrete type.
@@ -13,10 +14,18 @@ import java.util.UUID;
 // other factories are responsible for its reconstitution.
 public class AudienceFactory {
 
+  private final IdentityGenerator<UUID> identityGenerator;
+
+  @Inject
+  public AudienceFactory(IdentityGenerator<UUID> identityGenerator) {
+    this.identityGenerator = identityGenerator;
+  }
+
   // what happens here if not all of the target info is provided?
   // perhaps just require it to be honest...
   public Audience createFrom(application.Audience audience) {
-    UUID uuid = audience.getUUID() == null ? UUID.randomUUID() : audience.getUUID();
+    UUID uuid =
+        audience.getUUID() == null ? this.identityGenerator.nextIdentity() : audience.getUUID();
     Set<Target> members = new HashSet<>();
     for (application.Target target : audience.getMembers()) {
       members.add(
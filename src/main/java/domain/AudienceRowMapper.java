@@ -0,0 +1,49 @@
+package domain;
+
+import infrastructure.AudienceMetadata;
+import infrastructure.DataMap;
+import infrastructure.UUIDCodec;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.UUID;
+
+/**
+ * Maps rows of the {@code AUDIENCE} table to {@link Audience} instances without their members.
+ *
+ * @author Jon Freer
+ */
+final class AudienceRowMapper extends RowMapper<Audience> {
+
+  private static final String UUID_COLUMN;
+  private static final String NAME_COLUMN;
+  private static final String VERSION_COLUMN;
+
+  static {
+    DataMap audienceDataMap = new AudienceMetadata().getDataMap();
+    UUID_COLUMN = label(audienceDataMap, AudienceMetadata.UUID);
+    NAME_COLUMN = label(audienceDataMap, AudienceMetadata.NAME);
+    VERSION_COLUMN = label(audienceDataMap, AudienceMetadata.VERSION);
+  }
+
+  private final int uuidColumn;
+  private final int nameColumn;
+  private final int versionColumn;
+
+  AudienceRowMapper(ResultSet results) throws SQLException {
+    super(results);
+    this.uuidColumn = this.position(UUID_COLUMN);
+    this.nameColumn = this.position(NAME_COLUMN);
+    this.versionColumn = this.position(VERSION_COLUMN);
+  }
+
+  @Override
+  Audience map() throws SQLException {
+    ResultSet results = this.getResults();
+    UUID uuid = UUIDCodec.read(results, this.uuidColumn);
+    String name = results.getString(this.nameColumn);
+    Audience audience = new Audience(uuid, name, new HashSet<>());
+    audience.setVersion(this.readVersion(this.versionColumn));
+    return audience;
+  }
+}
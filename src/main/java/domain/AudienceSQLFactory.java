@@ -1,27 +1,27 @@
 package domain;
 
-import infrastructure.AudienceMetadata;
-import infrastructure.DataMap;
-import infrastructure.TargetMetadata;
+import infrastructure.UUIDCodec;
 import io.opentracing.Tracer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import javax.inject.Inject;
 
 public class AudienceSQLFactory extends EntitySQLFactory<Audience, UUID> {
 
-  private final AudienceMetadata audienceMetadata;
-  private final TargetMetadata targetMetadata;
+  private static final String audienceUUIDColumn = "audience_uuid";
+
   private final Tracer tracer;
 
   @Inject
   public AudienceSQLFactory(Tracer tracer) {
-    this.audienceMetadata = new AudienceMetadata();
-    this.targetMetadata = new TargetMetadata();
     this.tracer = tracer;
   }
 
@@ -34,7 +34,7 @@ public class AudienceSQLFactory extends EntitySQLFactory<Audience, UUID> {
       while (statement.getMoreResults() || statement.getUpdateCount() != -1) {
         if (resultSetIndex == 1) {
           // extract audience.
-          audience = this.extractAudience(statement.getResultSet());
+          audience = new AudienceRowMapper(statement.getResultSet()).map();
           if (audience == null) break;
         } else if (resultSetIndex == 2) {
           // extract members.
@@ -59,7 +59,7 @@ public class AudienceSQLFactory extends EntitySQLFactory<Audience, UUID> {
 
     Audience audience = null;
     try {
-      audience = this.extractAudience(results[0]);
+      audience = new AudienceRowMapper(results[0]).map();
 
       if (results.length > 1) {
         Set<Target> members = this.extractMembers(results[1]);
@@ -73,29 +73,54 @@ public class AudienceSQLFactory extends EntitySQLFactory<Audience, UUID> {
     }
   }
 
-  private Audience extractAudience(ResultSet results) throws SQLException {
-    DataMap audienceDataMap = this.audienceMetadata.getDataMap();
-    String uuidColumn = audienceDataMap.getColumnNameForField(AudienceMetadata.UUID);
-    String nameColumn = audienceDataMap.getColumnNameForField(AudienceMetadata.NAME);
-
-    String uuid = results.getString(uuidColumn);
-    String name = results.getString(nameColumn);
-    return new Audience(UUID.fromString(uuid), name, new HashSet<>());
-  }
-
   private Set<Target> extractMembers(ResultSet results) throws SQLException {
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
-    String uuidColumn = targetDataMap.getColumnNameForField(TargetMetadata.UUID);
-    String nameColumn = targetDataMap.getColumnNameForField(TargetMetadata.NAME);
-    String phoneNumberColumn = targetDataMap.getColumnNameForField(TargetMetadata.PHONE_NUMBER);
-
     Set<Target> members = new HashSet<>();
+    TargetRowMapper mapper = new TargetRowMapper(results);
     while (results.next()) {
-      String uuid = results.getString(uuidColumn);
-      String name = results.getString(nameColumn);
-      String phoneNumber = results.getString(phoneNumberColumn);
-      members.add(new Target(UUID.fromString(uuid), name, new PhoneNumber(phoneNumber)));
+      members.add(mapper.map());
     }
     return members;
   }
+
+  private Map<UUID, Set<Target>> extractMembersByAudience(ResultSet results)
+      throws SQLException {
+    Map<UUID, Set<Target>> membersForAudiences = new HashMap<>();
+    int audiencePosition = results.findColumn(audienceUUIDColumn);
+    TargetRowMapper mapper = new TargetRowMapper(results);
+    while (results.next()) {
+      UUID audienceUUID = UUIDCodec.read(results, audiencePosition);
+      Target member = mapper.map();
+      membersForAudiences.computeIfAbsent(audienceUUID, k -> new HashSet<>()).add(member);
+    }
+    return membersForAudiences;
+  }
+
+  public Set<Audience> reconstituteAll(ResultSet... results) {
+    Map<UUID, Audience> audiences = new LinkedHashMap<>();
+    if (results == null || results.length < 1) {
+      return new LinkedHashSet<>();
+    }
+
+    try {
+      while (results[0].next()) {
+        Audience audience = new AudienceRowMapper(results[0]).map();
+        audiences.putIfAbsent(audience.getId(), audience);
+      }
+
+      if (results.length > 1) {
+        Map<UUID, Set<Target>> members = this.extractMembersByAudience(results[1]);
+        for (Map.Entry<UUID, Set<Target>> entry : members.entrySet()) {
+          Audience audience = audiences.get(entry.getKey());
+          if (audience != null) {
+            for (Target member : entry.getValue()) {
+              audience.include(member);
+            }
+          }
+        }
+      }
+      return new LinkedHashSet<>(audiences.values());
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
 }
@@ -4,6 +4,7 @@ package domain;
 public abstract class Entity<I> {
 
   private I id;
+  private Integer version;
 
   /**
    * Constructor for creating a transient entity. In other words, this constructor should be used to
@@ -40,6 +41,25 @@ public abstract class Entity<I> {
     this.id = id;
   }
 
+  /**
+   * Retrieves the version of the persisted state this entity was read from or is expected to
+   * replace. The version changes every time the state of the entity is written.
+   *
+   * @return The version of the entity, or {@code null} if it is not known.
+   */
+  public Integer getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Alters the version of the persisted state this entity was read from or is expected to replace.
+   *
+   * @param version - The version of the entity, or {@code null} if it is not known.
+   */
+  public void setVersion(Integer version) {
+    this.version = version;
+  }
+
   /** Compares the calling Entity instance to the provided object for equality. */
   @Override
   public boolean equals(Object obj) {
@@ -2,6 +2,7 @@ package domain;
 
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.Set;
 import org.jvnet.hk2.annotations.Contract;
 
 /**
@@ -30,4 +31,15 @@ public abstract class EntitySQLFactory<T extends Entity<I>, I> {
    * @return The reconstituted entity.
    */
   public abstract T reconstitute(ResultSet... results);
+
+  /**
+   * Reconstitutes a collection of entities using the provided {@link ResultSet} instances. The
+   * first {@link ResultSet} contains one row per entity, while each subsequent {@link ResultSet}
+   * contains the rows of a single kind of child for the entire collection, keyed by the identity of
+   * the owning entity.
+   *
+   * @param results The {@link ResultSet} instances used to construct the entities.
+   * @return The reconstituted entities, in the order of the first {@link ResultSet}.
+   */
+  public abstract Set<T> reconstituteAll(ResultSet... results);
 }
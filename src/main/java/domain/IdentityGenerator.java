@@ -0,0 +1,18 @@
+package domain;
+
+/**
+ * Mints identities for entities that are being created for the first time.
+ *
+ * @param <I> The type of the identity minted.
+ * @author Jon Freer
+ */
+public interface IdentityGenerator<I> {
+
+  /**
+   * Mints a new identity. Every identity returned is distinct from every identity previously
+   * returned.
+   *
+   * @return The new identity.
+   */
+  I nextIdentity();
+}
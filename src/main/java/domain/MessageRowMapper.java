@@ -0,0 +1,60 @@
+package domain;
+
+import infrastructure.DataMap;
+import infrastructure.MessageMetadata;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code MESSAGE} table to {@link Message} instances.
+ *
+ * @author Jon Freer
+ */
+final class MessageRowMapper extends RowMapper<Message> {
+
+  private static final String ID_COLUMN;
+  private static final String FROM_COLUMN;
+  private static final String TO_COLUMN;
+  private static final String CONTENT_COLUMN;
+  private static final String STATUS_COLUMN;
+  private static final String EXTERNAL_ID_COLUMN;
+
+  static {
+    DataMap messageDataMap = new MessageMetadata().getDataMap();
+    ID_COLUMN = label(messageDataMap, MessageMetadata.ID);
+    FROM_COLUMN = label(messageDataMap, MessageMetadata.FROM);
+    TO_COLUMN = label(messageDataMap, MessageMetadata.TO);
+    CONTENT_COLUMN = label(messageDataMap, MessageMetadata.CONTENT);
+    STATUS_COLUMN = label(messageDataMap, MessageMetadata.STATUS);
+    EXTERNAL_ID_COLUMN = label(messageDataMap, MessageMetadata.EXTERNAL_ID);
+  }
+
+  private final int idColumn;
+  private final int fromColumn;
+  private final int toColumn;
+  private final int contentColumn;
+  private final int statusColumn;
+  private final int externalIdColumn;
+
+  MessageRowMapper(ResultSet results) throws SQLException {
+    super(results);
+    this.idColumn = this.position(ID_COLUMN);
+    this.fromColumn = this.position(FROM_COLUMN);
+    this.toColumn = this.position(TO_COLUMN);
+    this.contentColumn = this.position(CONTENT_COLUMN);
+    this.statusColumn = this.position(STATUS_COLUMN);
+    this.externalIdColumn = this.position(EXTERNAL_ID_COLUMN);
+  }
+
+  @Override
+  Message map() throws SQLException {
+    ResultSet results = this.getResults();
+    Integer id = results.getInt(this.idColumn);
+    PhoneNumber from = this.readPhoneNumber(this.fromColumn);
+    PhoneNumber to = this.readPhoneNumber(this.toColumn);
+    String content = results.getString(this.contentColumn);
+    String status = results.getString(this.statusColumn);
+    String externalId = results.getString(this.externalIdColumn);
+    return new Message(id, from, to, content, MessageStatus.valueOf(status), externalId);
+  }
+}
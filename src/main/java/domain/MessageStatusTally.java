@@ -0,0 +1,153 @@
+package domain;
+
+import java.util.Collection;
+
+/**
+ * The number of messages of a notification in each {@link MessageStatus}. The status of a
+ * notification is derived solely from this tally, which allows the status to be recomputed without
+ * reconstituting the messages themselves.
+ *
+ * @author Jon Freer
+ */
+public final class MessageStatusTally {
+
+  private final int total;
+  private final int pending;
+  private final int sent;
+  private final int failed;
+
+  /**
+   * Constructs a new {@link MessageStatusTally}.
+   *
+   * @param total The number of messages.
+   * @param pending The number of messages that are {@link MessageStatus#PENDING}.
+   * @param sent The number of messages that are {@link MessageStatus#SENT} or {@link
+   *     MessageStatus#DELIVERED}.
+   * @param failed The number of messages that are {@link MessageStatus#FAILED}.
+   */
+  public MessageStatusTally(int total, int pending, int sent, int failed) {
+    this.total = total;
+    this.pending = pending;
+    this.sent = sent;
+    this.failed = failed;
+  }
+
+  /**
+   * Tallies the statuses of the provided messages.
+   *
+   * @param messages The messages to tally.
+   * @return The tally of the messages.
+   */
+  public static MessageStatusTally of(Collection<Message> messages) {
+    int pending = 0;
+    int sent = 0;
+    int failed = 0;
+    for (Message message : messages) {
+      if (message.getStatus() == MessageStatus.PENDING) {
+        pending++;
+      } else if (message.getStatus() == MessageStatus.SENT
+          || message.getStatus() == MessageStatus.DELIVERED) {
+        sent++;
+      } else if (message.getStatus() == MessageStatus.FAILED) {
+        failed++;
+      }
+    }
+    return new MessageStatusTally(messages.size(), pending, sent, failed);
+  }
+
+  /**
+   * Tallies a single message in the provided status.
+   *
+   * @param status The status of the message.
+   * @return The tally of the message.
+   */
+  public static MessageStatusTally of(MessageStatus status) {
+    return new MessageStatusTally(
+        1,
+        status == MessageStatus.PENDING ? 1 : 0,
+        status == MessageStatus.SENT || status == MessageStatus.DELIVERED ? 1 : 0,
+        status == MessageStatus.FAILED ? 1 : 0);
+  }
+
+  /**
+   * Adds the provided tally to this one.
+   *
+   * @param other The tally to add.
+   * @return The sum of the tallies.
+   */
+  public MessageStatusTally plus(MessageStatusTally other) {
+    return new MessageStatusTally(
+        this.total + other.total,
+        this.pending + other.pending,
+        this.sent + other.sent,
+        this.failed + other.failed);
+  }
+
+  /**
+   * Subtracts the provided tally from this one.
+   *
+   * @param other The tally to subtract.
+   * @return The difference of the tallies.
+   */
+  public MessageStatusTally minus(MessageStatusTally other) {
+    return new MessageStatusTally(
+        this.total - other.total,
+        this.pending - other.pending,
+        this.sent - other.sent,
+        this.failed - other.failed);
+  }
+
+  public int total() {
+    return this.total;
+  }
+
+  public int pending() {
+    return this.pending;
+  }
+
+  public int sent() {
+    return this.sent;
+  }
+
+  public int failed() {
+    return this.failed;
+  }
+
+  boolean allFailed() {
+    return this.total != 0 && this.failed == this.total;
+  }
+
+  boolean allSent() {
+    return this.total != 0 && this.sent == this.total;
+  }
+
+  boolean sending() {
+    return this.total != 0 && this.sent != this.total && this.pending != this.total;
+  }
+
+  /**
+   * Determines the status a notification moves to from its current status, given this tally of
+   * its messages. The transitions are those of the notification states.
+   *
+   * @param current The current status of the notification.
+   * @return The status the notification moves to.
+   */
+  public NotificationStatus next(NotificationStatus current) {
+    if (current == NotificationStatus.PENDING) {
+      if (this.allFailed()) {
+        return NotificationStatus.FAILED;
+      } else if (this.sending()) {
+        return NotificationStatus.SENDING;
+      } else if (this.allSent()) {
+        return NotificationStatus.SENT;
+      }
+    } else if (current == NotificationStatus.SENDING) {
+      if (this.allFailed()) {
+        return NotificationStatus.FAILED;
+      } else if (this.allSent()) {
+        return NotificationStatus.SENT;
+      }
+    }
+    return current;
+  }
+}
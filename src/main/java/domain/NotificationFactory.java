@@ -3,11 +3,22 @@ package domain;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import javax.inject.Inject;
 import javax.inject.Named;
 
 @Named("NotificationFactory")
 public class NotificationFactory {
 
+  /** The phone number every message is sent from. */
+  public static final PhoneNumber SENDER = new PhoneNumber("1", "812", "487", "1699");
+
+  private final IdentityGenerator<UUID> identityGenerator;
+
+  @Inject
+  public NotificationFactory(IdentityGenerator<UUID> identityGenerator) {
+    this.identityGenerator = identityGenerator;
+  }
+
   // i hate this. can't create mappers as they violate DDD. mappers are factories.
   public Notification createFrom(application.Notification notification) {
     Notification noti = this.create(notification);
@@ -24,10 +35,13 @@ public class NotificationFactory {
 
   private Set<Message> createMessages(Notification notification) {
     Set<Message> messages = new HashSet<>();
-    final PhoneNumber from = new PhoneNumber("1", "812", "487", "1699");
+    final PhoneNumber from = SENDER;
     int sequenceNum = 0;
 
+    // recipients are deduplicated by their packed phone numbers in a single hashed pass.
+    Set<Long> recipients = new HashSet<>();
     for (Target target : notification.directRecipients()) {
+      recipients.add(target.getPhoneNumber().pack());
       messages.add(
           new Message(
               sequenceNum,
@@ -41,15 +55,7 @@ public class NotificationFactory {
 
     for (Audience audience : notification.audiences()) {
       for (Target member : audience.members()) {
-        boolean alreadyExists = false;
-        for (Message message : messages) {
-          if (message.getTo().toE164().equals(member.getPhoneNumber().toE164())) {
-            alreadyExists = true;
-            break;
-          }
-        }
-
-        if (!alreadyExists) {
+        if (recipients.add(member.getPhoneNumber().pack())) {
           messages.add(
               new Message(
                   sequenceNum,
@@ -78,7 +84,10 @@ public class NotificationFactory {
     }
 
     NotificationBuilder builder = new NotificationBuilder();
-    UUID uuid = notification.getUUID() == null ? UUID.randomUUID() : notification.getUUID();
+    UUID uuid =
+        notification.getUUID() == null
+            ? this.identityGenerator.nextIdentity()
+            : notification.getUUID();
 
     Notification domainNotification =
         builder
@@ -0,0 +1,80 @@
+package domain;
+
+import infrastructure.DataMap;
+import infrastructure.NotificationMetadata;
+import infrastructure.UUIDCodec;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * Maps rows of the {@code NOTIFICATION} table to {@link Notification} instances without their
+ * recipients, messages, or audiences.
+ *
+ * @author Jon Freer
+ */
+final class NotificationRowMapper extends RowMapper<Notification> {
+
+  private static final String UUID_COLUMN;
+  private static final String CONTENT_COLUMN;
+  private static final String SENT_AT_COLUMN;
+  private static final String STATUS_COLUMN;
+  private static final String SEND_AT_COLUMN;
+  private static final String VERSION_COLUMN;
+
+  static {
+    DataMap notificationDataMap = new NotificationMetadata().getDataMap();
+    UUID_COLUMN = label(notificationDataMap, NotificationMetadata.UUID);
+    CONTENT_COLUMN = label(notificationDataMap, NotificationMetadata.CONTENT);
+    SENT_AT_COLUMN = label(notificationDataMap, NotificationMetadata.SENT_AT);
+    STATUS_COLUMN = label(notificationDataMap, NotificationMetadata.STATUS);
+    SEND_AT_COLUMN = label(notificationDataMap, NotificationMetadata.SEND_AT);
+    VERSION_COLUMN = label(notificationDataMap, NotificationMetadata.VERSION);
+  }
+
+  private final Calendar utc;
+  private final int uuidColumn;
+  private final int contentColumn;
+  private final int sentAtColumn;
+  private final int statusColumn;
+  private final int sendAtColumn;
+  private final int versionColumn;
+
+  NotificationRowMapper(ResultSet results) throws SQLException {
+    super(results);
+    this.utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    this.uuidColumn = this.position(UUID_COLUMN);
+    this.contentColumn = this.position(CONTENT_COLUMN);
+    this.sentAtColumn = this.position(SENT_AT_COLUMN);
+    this.statusColumn = this.position(STATUS_COLUMN);
+    this.sendAtColumn = this.position(SEND_AT_COLUMN);
+    this.versionColumn = this.position(VERSION_COLUMN);
+  }
+
+  @Override
+  Notification map() throws SQLException {
+    ResultSet results = this.getResults();
+    UUID uuid = UUIDCodec.read(results, this.uuidColumn);
+    String content = results.getString(this.contentColumn);
+    Date sentAt = this.readDate(this.sentAtColumn);
+    Date sendAt = this.readDate(this.sendAtColumn);
+
+    // compare persisted state with computed state. log error and adopt computed.
+    NotificationStatus.valueOf(results.getString(this.statusColumn));
+
+    NotificationBuilder builder = new NotificationBuilder();
+    Notification notification =
+        builder.identity(uuid).content(content).sendAt(sendAt).sentAt(sentAt).build();
+    notification.setVersion(this.readVersion(this.versionColumn));
+    return notification;
+  }
+
+  private Date readDate(int column) throws SQLException {
+    Timestamp timestamp = this.getResults().getTimestamp(column, this.utc);
+    return timestamp == null ? null : new Date(timestamp.getTime());
+  }
+}
@@ -1,22 +1,16 @@
 package domain;
 
-import infrastructure.AudienceMetadata;
-import infrastructure.DataMap;
-import infrastructure.MessageMetadata;
-import infrastructure.NotificationMetadata;
-import infrastructure.TargetMetadata;
+import infrastructure.UUIDCodec;
 import io.opentracing.Tracer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Timestamp;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.TimeZone;
 import java.util.UUID;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -33,21 +27,12 @@ public class NotificationSQLFactory extends EntitySQLFactory<Notification, UUID>
 
   private static final String targetUUIDColumn = "target_uuid";
   private static final String audienceUUIDColumn = "audience_uuid";
-  private static final Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+  private static final String notificationUUIDColumn = "notification_uuid";
 
   private final Tracer tracer;
-  private final NotificationMetadata notificationMedadata;
-  private final AudienceMetadata audienceMetadata;
-  private final TargetMetadata targetMetadata;
-  private final MessageMetadata messageMetadata;
 
   @Inject
   public NotificationSQLFactory(Tracer tracer) {
-    // TODO - pass these in via DI.
-    this.notificationMedadata = new NotificationMetadata();
-    this.audienceMetadata = new AudienceMetadata();
-    this.targetMetadata = new TargetMetadata();
-    this.messageMetadata = new MessageMetadata();
     this.tracer = tracer;
   }
 
@@ -78,114 +63,78 @@ public class NotificationSQLFactory extends EntitySQLFactory<Notification, UUID>
   }
 
   private Map<UUID, Set<Target>> extractMembers(ResultSet results) throws SQLException {
-    Map<UUID, Set<Target>> membersForAudiences = new HashMap<>();
-    while (results.next()) {
-      String audienceUUID = results.getString(audienceUUIDColumn);
-      Target member = this.extractTarget(results);
-      if (!membersForAudiences.containsKey(audienceUUID)) {
-        Set<Target> members = new HashSet<>();
-        members.add(member);
-        membersForAudiences.put(UUID.fromString(audienceUUID), members);
-      } else {
-        membersForAudiences.get(UUID.fromString(audienceUUID)).add(member);
-      }
-    }
-    return membersForAudiences;
+    return this.extractTargetsByOwner(results, audienceUUIDColumn);
   }
 
-  private Target extractTarget(ResultSet results) throws SQLException {
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
-    String uuidColumn = targetDataMap.getColumnNameForField(TargetMetadata.UUID);
-    String nameColumn = targetDataMap.getColumnNameForField(TargetMetadata.NAME);
-    String phoneNumberColumn = targetDataMap.getColumnNameForField(TargetMetadata.PHONE_NUMBER);
-
-    String uuid = results.getString(uuidColumn);
-    String name = results.getString(nameColumn);
-    String phoneNumber = results.getString(phoneNumberColumn);
-    return new Target(new Target(UUID.fromString(uuid), name, new PhoneNumber(phoneNumber)));
+  private Map<UUID, Set<Target>> extractTargetsByOwner(ResultSet results, String ownerColumn)
+      throws SQLException {
+    Map<UUID, Set<Target>> targetsForOwners = new HashMap<>();
+    int ownerPosition = results.findColumn(ownerColumn);
+    TargetRowMapper mapper = new TargetRowMapper(results);
+    while (results.next()) {
+      UUID ownerUUID = UUIDCodec.read(results, ownerPosition);
+      Target target = mapper.map();
+      targetsForOwners.computeIfAbsent(ownerUUID, k -> new HashSet<>()).add(target);
+    }
+    return targetsForOwners;
   }
 
   private Set<Target> extractTargets(ResultSet results) throws SQLException {
     Set<Target> targets = new HashSet<>();
+    TargetRowMapper mapper = new TargetRowMapper(results);
     while (results.next()) {
-      targets.add(this.extractTarget(results));
+      targets.add(mapper.map());
     }
     return targets;
   }
 
   private Notification extractNotification(ResultSet results) throws SQLException {
-    DataMap notificationDataMap = this.notificationMedadata.getDataMap();
-    String uuidColumn = notificationDataMap.getColumnNameForField(NotificationMetadata.UUID);
-    String contentColumn = notificationDataMap.getColumnNameForField(NotificationMetadata.CONTENT);
-    String sentAtColumn = notificationDataMap.getColumnNameForField(NotificationMetadata.SENT_AT);
-    String statusColumn = notificationDataMap.getColumnNameForField(NotificationMetadata.STATUS);
-    String sendAtColumn = notificationDataMap.getColumnNameForField(NotificationMetadata.SEND_AT);
-
-    String uuid = results.getString(uuidColumn);
-    String content = results.getString(contentColumn);
-    Timestamp sentAtTimestamp = results.getTimestamp(sentAtColumn, utc);
-    Date sentAt = null;
-    if (sentAtTimestamp != null) {
-      sentAt = new Date(sentAtTimestamp.getTime());
-    }
-    String status = results.getString(statusColumn);
-    Timestamp sendAtTimestamp = results.getTimestamp(sendAtColumn, utc);
-    Date sendAt = null;
-    if (sendAtTimestamp != null) {
-      sendAt = new Date(sendAtTimestamp.getTime());
-    }
-
-    // compare persisted state with computed state. log error and adopt computed.
-    NotificationStatus statusEnum = NotificationStatus.valueOf(status);
-
-    NotificationBuilder builder = new NotificationBuilder();
-    return builder.identity(uuid).content(content).sendAt(sendAt).sentAt(sentAt).build();
+    return new NotificationRowMapper(results).map();
   }
 
   private Set<Message> extractMessages(ResultSet results) throws SQLException {
-    DataMap messageDataMap = this.messageMetadata.getDataMap();
-    String idColumn = messageDataMap.getColumnNameForField(MessageMetadata.ID);
-    String fromColumn = messageDataMap.getColumnNameForField(MessageMetadata.FROM);
-    String toColumn = messageDataMap.getColumnNameForField(MessageMetadata.TO);
-    String contentColumn = messageDataMap.getColumnNameForField(MessageMetadata.CONTENT);
-    String statusColumn = messageDataMap.getColumnNameForField(MessageMetadata.STATUS);
-    String externalIdColumn = messageDataMap.getColumnNameForField(MessageMetadata.EXTERNAL_ID);
-
     Set<Message> messages = new HashSet<Message>();
+    MessageRowMapper mapper = new MessageRowMapper(results);
     while (results.next()) {
-      Integer id = results.getInt(idColumn);
-      String from = results.getString(fromColumn.replace("`", ""));
-      String to = results.getString(toColumn.replace("`", ""));
-      String content = results.getString(contentColumn);
-      String status = results.getString(statusColumn);
-      String externalId = results.getString(externalIdColumn);
-      messages.add(
-          new Message(
-              id,
-              new PhoneNumber(from),
-              new PhoneNumber(to),
-              content,
-              MessageStatus.valueOf(status),
-              externalId));
+      messages.add(mapper.map());
     }
-
     return messages;
   }
 
-  private Set<Audience> extractAudiences(ResultSet results) throws SQLException {
-    DataMap audienceDataMap = this.audienceMetadata.getDataMap();
-    String uuidColumn = audienceDataMap.getColumnNameForField(AudienceMetadata.UUID);
-    String nameColumn = audienceDataMap.getColumnNameForField(AudienceMetadata.NAME);
+  private Map<UUID, Set<Message>> extractMessagesByOwner(ResultSet results) throws SQLException {
+    Map<UUID, Set<Message>> messagesForOwners = new HashMap<>();
+    int ownerPosition = results.findColumn(notificationUUIDColumn);
+    MessageRowMapper mapper = new MessageRowMapper(results);
+    while (results.next()) {
+      UUID ownerUUID = UUIDCodec.read(results, ownerPosition);
+      Message message = mapper.map();
+      messagesForOwners.computeIfAbsent(ownerUUID, k -> new HashSet<>()).add(message);
+    }
+    return messagesForOwners;
+  }
 
+  private Set<Audience> extractAudiences(ResultSet results) throws SQLException {
     Set<Audience> audiences = new HashSet<>();
+    AudienceRowMapper mapper = new AudienceRowMapper(results);
     while (results.next()) {
-      String uuid = results.getString(uuidColumn);
-      String name = results.getString(nameColumn);
-      audiences.add(new Audience(UUID.fromString(uuid), name, new HashSet<>()));
+      audiences.add(mapper.map());
     }
     return audiences;
   }
 
+  private Map<UUID, Set<Audience>> extractAudiencesByOwner(ResultSet results)
+      throws SQLException {
+    Map<UUID, Set<Audience>> audiencesForOwners = new HashMap<>();
+    int ownerPosition = results.findColumn(notificationUUIDColumn);
+    AudienceRowMapper mapper = new AudienceRowMapper(results);
+    while (results.next()) {
+      UUID ownerUUID = UUIDCodec.read(results, ownerPosition);
+      Audience audience = mapper.map();
+      audiencesForOwners.computeIfAbsent(ownerUUID, k -> new HashSet<>()).add(audience);
+    }
+    return audiencesForOwners;
+  }
+
   @Override
   public Notification reconstitute(ResultSet... results) {
 
@@ -235,4 +184,74 @@ public class NotificationSQLFactory extends EntitySQLFactory<Notification, UUID>
     }
     return notification;
   }
+
+  @Override
+  public Set<Notification> reconstituteAll(ResultSet... results) {
+
+    if (results == null || results.length < 1) {
+      return new LinkedHashSet<>();
+    }
+
+    // rows of the first result set may repeat when the page was joined with its messages.
+    Map<UUID, Notification> notifications = new LinkedHashMap<>();
+
+    try {
+      NotificationRowMapper mapper = new NotificationRowMapper(results[0]);
+      while (results[0].next()) {
+        Notification notification = mapper.map();
+        notifications.putIfAbsent(notification.getId(), notification);
+      }
+
+      if (results.length > 1) {
+        Map<UUID, Set<Target>> targets =
+            this.extractTargetsByOwner(results[1], notificationUUIDColumn);
+        for (Map.Entry<UUID, Set<Target>> entry : targets.entrySet()) {
+          Notification notification = notifications.get(entry.getKey());
+          if (notification != null) {
+            for (Target target : entry.getValue()) {
+              notification.includeRecipient(target);
+            }
+          }
+        }
+      }
+
+      if (results.length > 2) {
+        Map<UUID, Set<Message>> messages = this.extractMessagesByOwner(results[2]);
+        for (Map.Entry<UUID, Set<Message>> entry : messages.entrySet()) {
+          Notification notification = notifications.get(entry.getKey());
+          if (notification != null) {
+            notification.messages(entry.getValue());
+          }
+        }
+      }
+
+      Map<UUID, Set<Audience>> audiences = new HashMap<>();
+      if (results.length > 3) {
+        audiences = this.extractAudiencesByOwner(results[3]);
+        for (Map.Entry<UUID, Set<Audience>> entry : audiences.entrySet()) {
+          Notification notification = notifications.get(entry.getKey());
+          if (notification != null) {
+            notification.audiences(entry.getValue());
+          }
+        }
+      }
+
+      if (results.length > 4) {
+        Map<UUID, Set<Target>> members = this.extractMembers(results[4]);
+        for (Set<Audience> audiencesForNotification : audiences.values()) {
+          for (Audience audience : audiencesForNotification) {
+            if (members.containsKey(audience.getId())) {
+              for (Target member : members.get(audience.getId())) {
+                audience.include(member);
+              }
+            }
+          }
+        }
+      }
+
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+    return new LinkedHashSet<>(notifications.values());
+  }
 }
@@ -155,6 +155,38 @@ public class PhoneNumber extends ValueObject {
         this.stationNumber);
   }
 
+  /**
+   * Packs the digits of the phone number into a single {@code long}, so that phone numbers can be
+   * compared and hashed without their strings.
+   *
+   * @return The packed phone number.
+   */
+  public long pack() {
+    return pack(this.toNonFormatted());
+  }
+
+  /**
+   * Packs the digits of a phone number in its E.164 or non-formatted form into a single {@code
+   * long}, without parsing it into a {@link PhoneNumber}. Packing a phone number read back from
+   * storage matches packing the {@link PhoneNumber} it was written from.
+   *
+   * @param phoneNumberString The phone number, with or without its leading plus sign.
+   * @return The packed phone number.
+   */
+  public static long pack(String phoneNumberString) {
+    long packed = 0;
+    for (int i = 0; i < phoneNumberString.length(); i++) {
+      char c = phoneNumberString.charAt(i);
+      if (c >= '0' && c <= '9') {
+        packed = packed * 10 + (c - '0');
+      } else if (c != '+' || i != 0) {
+        throw new IllegalArgumentException(
+            String.format("The phone number '%s' is not in a valid format.", phoneNumberString));
+      }
+    }
+    return packed;
+  }
+
   @Override
   public String toString() {
     return this.toE164();
@@ -0,0 +1,21 @@
+package domain;
+
+import java.util.UUID;
+
+/**
+ * Mints random (version 4) {@link UUID} identities.
+ *
+ * @author Jon Freer
+ */
+public final class RandomUUIDGenerator implements IdentityGenerator<UUID> {
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return {@inheritDoc}
+   */
+  @Override
+  public UUID nextIdentity() {
+    return UUID.randomUUID();
+  }
+}
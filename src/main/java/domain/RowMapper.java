@@ -0,0 +1,100 @@
+package domain;
+
+import infrastructure.DataMap;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the rows of a single {@link ResultSet} to domain objects. The positions of the columns are
+ * resolved once, when the mapper is constructed, so that every row is read by index rather than by
+ * label. Value objects parsed while reading the results are shared between rows.
+ *
+ * @param <T> The type the rows are mapped to.
+ * @author Jon Freer
+ */
+abstract class RowMapper<T> {
+
+  private final ResultSet results;
+  private final Map<String, PhoneNumber> phoneNumbers;
+
+  /**
+   * Constructs a new {@link RowMapper}.
+   *
+   * @param results The results whose rows are mapped.
+   */
+  RowMapper(ResultSet results) {
+    this.results = results;
+    this.phoneNumbers = new HashMap<>();
+  }
+
+  /**
+   * Retrieves the label of the column mapped to the provided field, as it appears in a result set.
+   *
+   * @param dataMap The {@link DataMap} of the mapped table.
+   * @param fieldName The name of the field.
+   * @return The label of the column.
+   */
+  static String label(DataMap dataMap, String fieldName) {
+    return dataMap.getColumnNameForField(fieldName).replace("`", "");
+  }
+
+  /**
+   * Maps the row the results are currently positioned on.
+   *
+   * @return The mapped object.
+   * @throws SQLException if the row cannot be read.
+   */
+  abstract T map() throws SQLException;
+
+  /**
+   * Retrieves the results whose rows are mapped.
+   *
+   * @return The results whose rows are mapped.
+   */
+  protected ResultSet getResults() {
+    return this.results;
+  }
+
+  /**
+   * Resolves the position of the column with the provided label.
+   *
+   * @param label The label of the column.
+   * @return The 1-based position of the column.
+   * @throws SQLException if the results do not contain the column.
+   */
+  protected int position(String label) throws SQLException {
+    return this.results.findColumn(label);
+  }
+
+  /**
+   * Reads the version of an aggregate from the column at the provided position of the current row.
+   *
+   * @param column The position of the column.
+   * @return The version, or {@code null} if the column is {@code NULL}.
+   * @throws SQLException if the column cannot be read.
+   */
+  protected Integer readVersion(int column) throws SQLException {
+    int version = this.results.getInt(column);
+    return this.results.wasNull() ? null : version;
+  }
+
+  /**
+   * Reads a {@link PhoneNumber} from the column at the provided position of the current row. Equal
+   * values are only parsed once per mapper.
+   *
+   * @param column The position of the column.
+   * @return The {@link PhoneNumber}.
+   * @throws SQLException if the column cannot be read.
+   */
+  protected PhoneNumber readPhoneNumber(int column) throws SQLException {
+    String value = this.results.getString(column);
+    PhoneNumber phoneNumber = this.phoneNumbers.get(value);
+    if (phoneNumber == null) {
+      phoneNumber = new PhoneNumber(value);
+      this.phoneNumbers.put(value, phoneNumber);
+    }
+    return phoneNumber;
+  }
+}
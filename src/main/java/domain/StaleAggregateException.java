@@ -0,0 +1,60 @@
+package domain;
+
+import java.util.UUID;
+
+/**
+ * Thrown when an aggregate is written with a version that no longer matches its persisted state,
+ * because it was modified or removed since the version was read.
+ *
+ * @author Jon Freer
+ */
+public final class StaleAggregateException extends RuntimeException {
+
+  private final Class<?> type;
+  private final UUID uuid;
+  private final Integer version;
+
+  /**
+   * Constructs a new {@link StaleAggregateException}.
+   *
+   * @param type The type of the aggregate.
+   * @param uuid The identity of the aggregate.
+   * @param version The version the aggregate was expected to have.
+   */
+  public StaleAggregateException(Class<?> type, UUID uuid, Integer version) {
+    super(
+        String.format(
+            "The %s with UUID of '%s' is no longer at version %d.",
+            type.getSimpleName(), uuid, version));
+    this.type = type;
+    this.uuid = uuid;
+    this.version = version;
+  }
+
+  /**
+   * Retrieves the type of the aggregate.
+   *
+   * @return The type of the aggregate.
+   */
+  public Class<?> getType() {
+    return this.type;
+  }
+
+  /**
+   * Retrieves the identity of the aggregate.
+   *
+   * @return The identity of the aggregate.
+   */
+  public UUID getUUID() {
+    return this.uuid;
+  }
+
+  /**
+   * Retrieves the version the aggregate was expected to have.
+   *
+   * @return The expected version.
+   */
+  public Integer getVersion() {
+    return this.version;
+  }
+}
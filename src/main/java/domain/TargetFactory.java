@@ -1,13 +1,22 @@
 package domain;
 
 import java.util.UUID;
+import javax.inject.Inject;
 
 // temporary solution for now. need to look more into
 // factories with DDD. not a fan of everything being a concrete type.
 public class TargetFactory {
 
+  private final IdentityGenerator<UUID> identityGenerator;
+
+  @Inject
+  public TargetFactory(IdentityGenerator<UUID> identityGenerator) {
+    this.identityGenerator = identityGenerator;
+  }
+
   public Target createFrom(application.Target target) {
-    UUID uuid = target.getUUID() == null ? UUID.randomUUID() : target.getUUID();
+    UUID uuid =
+        target.getUUID() == null ? this.identityGenerator.nextIdentity() : target.getUUID();
     return new Target(uuid, target.getName(), new PhoneNumber(target.getPhoneNumber()));
   }
 }
@@ -0,0 +1,46 @@
+package domain;
+
+import infrastructure.DataMap;
+import infrastructure.TargetMetadata;
+import infrastructure.UUIDCodec;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Maps rows of the {@code TARGET} table to {@link Target} instances.
+ *
+ * @author Jon Freer
+ */
+final class TargetRowMapper extends RowMapper<Target> {
+
+  private static final String UUID_COLUMN;
+  private static final String NAME_COLUMN;
+  private static final String PHONE_NUMBER_COLUMN;
+
+  static {
+    DataMap targetDataMap = new TargetMetadata().getDataMap();
+    UUID_COLUMN = label(targetDataMap, TargetMetadata.UUID);
+    NAME_COLUMN = label(targetDataMap, TargetMetadata.NAME);
+    PHONE_NUMBER_COLUMN = label(targetDataMap, TargetMetadata.PHONE_NUMBER);
+  }
+
+  private final int uuidColumn;
+  private final int nameColumn;
+  private final int phoneNumberColumn;
+
+  TargetRowMapper(ResultSet results) throws SQLException {
+    super(results);
+    this.uuidColumn = this.position(UUID_COLUMN);
+    this.nameColumn = this.position(NAME_COLUMN);
+    this.phoneNumberColumn = this.position(PHONE_NUMBER_COLUMN);
+  }
+
+  @Override
+  Target map() throws SQLException {
+    ResultSet results = this.getResults();
+    UUID uuid = UUIDCodec.read(results, this.uuidColumn);
+    String name = results.getString(this.nameColumn);
+    return new Target(uuid, name, this.readPhoneNumber(this.phoneNumberColumn));
+  }
+}
@@ -1,13 +1,13 @@
 package domain;
 
-import infrastructure.DataMap;
-import infrastructure.TargetMetadata;
 import io.opentracing.Scope;
 import io.opentracing.Span;
 import io.opentracing.Tracer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -17,12 +17,10 @@ import org.jvnet.hk2.annotations.Service;
 @Named("TargetSQLFactory")
 public class TargetSQLFactory extends EntitySQLFactory<Target, UUID> {
 
-  private final TargetMetadata targetMetadata;
   private final Tracer tracer;
 
   @Inject
   public TargetSQLFactory(Tracer tracer) {
-    this.targetMetadata = new TargetMetadata();
     this.tracer = tracer;
   }
 
@@ -40,7 +38,7 @@ public class TargetSQLFactory extends EntitySQLFactory<Target, UUID> {
       if (statement.isClosed()) {
         return null;
       }
-      target = this.extractTarget(statement.getResultSet());
+      target = new TargetRowMapper(statement.getResultSet()).map();
       return target;
     } catch (SQLException x) {
       throw new RuntimeException(x);
@@ -49,18 +47,6 @@ public class TargetSQLFactory extends EntitySQLFactory<Target, UUID> {
     }
   }
 
-  private Target extractTarget(ResultSet results) throws SQLException {
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
-    String uuidColumn = targetDataMap.getColumnNameForField(TargetMetadata.UUID);
-    String nameColumn = targetDataMap.getColumnNameForField(TargetMetadata.NAME);
-    String phoneNumberColumn = targetDataMap.getColumnNameForField(TargetMetadata.PHONE_NUMBER);
-
-    String uuid = results.getString(uuidColumn);
-    String name = results.getString(nameColumn);
-    String phoneNumber = results.getString(phoneNumberColumn);
-    return new Target(UUID.fromString(uuid), name, new PhoneNumber(phoneNumber));
-  }
-
   @Override
   public Target reconstitute(ResultSet... results) {
     Span span =
@@ -73,7 +59,7 @@ public class TargetSQLFactory extends EntitySQLFactory<Target, UUID> {
         return null;
       }
       Target target = null;
-      target = this.extractTarget(results[0]);
+      target = new TargetRowMapper(results[0]).map();
       return target;
     } catch (SQLException x) {
       throw new RuntimeException(x);
@@ -81,4 +67,28 @@ public class TargetSQLFactory extends EntitySQLFactory<Target, UUID> {
       span.finish();
     }
   }
+
+  @Override
+  public Set<Target> reconstituteAll(ResultSet... results) {
+    Span span =
+        this.tracer
+            .buildSpan("TargetSQLFactory#reconstituteAll")
+            .asChildOf(this.tracer.activeSpan())
+            .start();
+    try (Scope scope = this.tracer.scopeManager().activate(span, false)) {
+      Set<Target> targets = new LinkedHashSet<>();
+      if (results == null || results.length < 1) {
+        return targets;
+      }
+      TargetRowMapper mapper = new TargetRowMapper(results[0]);
+      while (results[0].next()) {
+        targets.add(mapper.map());
+      }
+      return targets;
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    } finally {
+      span.finish();
+    }
+  }
 }
@@ -1,13 +1,22 @@
 package domain;
 
 import java.util.UUID;
+import javax.inject.Inject;
 
 // temporary solution for now. need to look more into
 // factories with DDD. not a fan of everything being a concrete type.
 public class TemplateFactory {
 
+  private final IdentityGenerator<UUID> identityGenerator;
+
+  @Inject
+  public TemplateFactory(IdentityGenerator<UUID> identityGenerator) {
+    this.identityGenerator = identityGenerator;
+  }
+
   public Template createFrom(application.Template template) {
-    UUID uuid = template.getUUID() == null ? UUID.randomUUID() : template.getUUID();
+    UUID uuid =
+        template.getUUID() == null ? this.identityGenerator.nextIdentity() : template.getUUID();
     return new Template(uuid, template.getContent());
   }
 }
@@ -0,0 +1,42 @@
+package domain;
+
+import infrastructure.DataMap;
+import infrastructure.TemplateMetadata;
+import infrastructure.UUIDCodec;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Maps rows of the {@code TEMPLATE} table to {@link Template} instances.
+ *
+ * @author Jon Freer
+ */
+final class TemplateRowMapper extends RowMapper<Template> {
+
+  private static final String UUID_COLUMN;
+  private static final String CONTENT_COLUMN;
+
+  static {
+    DataMap templateDataMap = new TemplateMetadata().getDataMap();
+    UUID_COLUMN = label(templateDataMap, TemplateMetadata.UUID);
+    CONTENT_COLUMN = label(templateDataMap, TemplateMetadata.CONTENT);
+  }
+
+  private final int uuidColumn;
+  private final int contentColumn;
+
+  TemplateRowMapper(ResultSet results) throws SQLException {
+    super(results);
+    this.uuidColumn = this.position(UUID_COLUMN);
+    this.contentColumn = this.position(CONTENT_COLUMN);
+  }
+
+  @Override
+  Template map() throws SQLException {
+    ResultSet results = this.getResults();
+    UUID uuid = UUIDCodec.read(results, this.uuidColumn);
+    String content = results.getString(this.contentColumn);
+    return new Template(uuid, content);
+  }
+}
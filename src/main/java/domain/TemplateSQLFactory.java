@@ -1,13 +1,13 @@
 package domain;
 
-import infrastructure.DataMap;
-import infrastructure.TemplateMetadata;
 import io.opentracing.Scope;
 import io.opentracing.Span;
 import io.opentracing.Tracer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -17,12 +17,10 @@ import org.jvnet.hk2.annotations.Service;
 @Named("TemplateSQLFactory")
 public class TemplateSQLFactory extends EntitySQLFactory<Template, UUID> {
 
-  private final TemplateMetadata templateMetadata;
   private final Tracer tracer;
 
   @Inject
   public TemplateSQLFactory(Tracer tracer) {
-    this.templateMetadata = new TemplateMetadata();
     this.tracer = tracer;
   }
 
@@ -40,7 +38,7 @@ public class TemplateSQLFactory extends EntitySQLFactory<Template, UUID> {
       if (statement.isClosed()) {
         return null;
       }
-      template = this.extractTemplate(statement.getResultSet());
+      template = new TemplateRowMapper(statement.getResultSet()).map();
       return template;
     } catch (SQLException x) {
       throw new RuntimeException(x);
@@ -49,16 +47,6 @@ public class TemplateSQLFactory extends EntitySQLFactory<Template, UUID> {
     }
   }
 
-  private Template extractTemplate(ResultSet results) throws SQLException {
-    DataMap templateDataMap = this.templateMetadata.getDataMap();
-    String uuidColumn = templateDataMap.getColumnNameForField(TemplateMetadata.UUID);
-    String contentColumn = templateDataMap.getColumnNameForField(TemplateMetadata.CONTENT);
-
-    String uuid = results.getString(uuidColumn);
-    String content = results.getString(contentColumn);
-    return new Template(UUID.fromString(uuid), content);
-  }
-
   @Override
   public Template reconstitute(ResultSet... results) {
     Span span =
@@ -71,7 +59,7 @@ public class TemplateSQLFactory extends EntitySQLFactory<Template, UUID> {
         return null;
       }
       Template template = null;
-      template = this.extractTemplate(results[0]);
+      template = new TemplateRowMapper(results[0]).map();
       return template;
     } catch (SQLException x) {
       throw new RuntimeException(x);
@@ -79,4 +67,28 @@ public class TemplateSQLFactory extends EntitySQLFactory<Template, UUID> {
       span.finish();
     }
   }
+
+  @Override
+  public Set<Template> reconstituteAll(ResultSet... results) {
+    Span span =
+        this.tracer
+            .buildSpan("TemplateSQLFactory#reconstituteAll")
+            .asChildOf(this.tracer.activeSpan())
+            .start();
+    try (Scope scope = this.tracer.scopeManager().activate(span, false)) {
+      Set<Template> templates = new LinkedHashSet<>();
+      if (results == null || results.length < 1) {
+        return templates;
+      }
+      TemplateRowMapper mapper = new TemplateRowMapper(results[0]);
+      while (results[0].next()) {
+        templates.add(mapper.map());
+      }
+      return templates;
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    } finally {
+      span.finish();
+    }
+  }
 }
@@ -0,0 +1,74 @@
+package domain;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mints time-ordered (version 7) {@link UUID} identities.
+ *
+ * <p>The most significant 48 bits hold the Unix time in milliseconds, followed by the version and
+ * a 12 bit sequence that keeps identities minted within the same millisecond in order. The
+ * remaining 62 bits are random. Identities minted later sort after identities minted earlier, both
+ * as {@link UUID}s and as their big-endian binary form, so new rows are appended to the end of a
+ * clustered index rather than scattered across it.
+ *
+ * @author Jon Freer
+ */
+public final class TimeOrderedUUIDGenerator implements IdentityGenerator<UUID> {
+
+  private static final int SEQUENCE_BITS = 12;
+  private static final long VERSION = 0x7000L;
+  private static final long VARIANT = 0x8000000000000000L;
+  private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+  private final Clock clock;
+  private final AtomicLong lastTick;
+
+  /** Constructs a new {@link TimeOrderedUUIDGenerator} that reads the system clock. */
+  public TimeOrderedUUIDGenerator() {
+    this(Clock.systemUTC());
+  }
+
+  /**
+   * Constructs a new {@link TimeOrderedUUIDGenerator}.
+   *
+   * @param clock The clock the timestamp of each identity is read from.
+   */
+  public TimeOrderedUUIDGenerator(Clock clock) {
+    if (clock == null) {
+      throw new IllegalArgumentException("The argument 'clock' cannot be null.");
+    }
+    this.clock = clock;
+    this.lastTick = new AtomicLong();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return {@inheritDoc}
+   */
+  @Override
+  public UUID nextIdentity() {
+    long tick = this.nextTick();
+    long mostSignificantBits =
+        ((tick >>> SEQUENCE_BITS) << 16) | VERSION | (tick & ((1L << SEQUENCE_BITS) - 1));
+    long leastSignificantBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+    return new UUID(mostSignificantBits, leastSignificantBits);
+  }
+
+  // a tick is the millisecond timestamp followed by the sequence. when the sequence of the current
+  // millisecond is exhausted, or the clock moves backwards, the tick borrows from the following
+  // millisecond so that identities are never minted out of order.
+  private long nextTick() {
+    long now = this.clock.millis() << SEQUENCE_BITS;
+    long last;
+    long next;
+    do {
+      last = this.lastTick.get();
+      next = Math.max(now, last + 1);
+    } while (!this.lastTick.compareAndSet(last, next));
+    return next;
+  }
+}
@@ -0,0 +1,220 @@
+package infrastructure;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import domain.Entity;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * A bounded cache of aggregates shared by every unit of work, consulted before an aggregate is read
+ * from its {@link DataMapper}.
+ *
+ * <p>Only the types registered with the cache are cached. Entities are copied on their way in and
+ * out, so a unit of work that alters an aggregate never alters the cached state. Aggregates are
+ * evicted once the total weight of the cache exceeds its maximum, once they have been cached for
+ * longer than the time to live, or when a unit of work commits a change to them.
+ *
+ * <p>A unit of work may read an aggregate from the database while another commits a change to it
+ * and evicts it. The state read may then predate the change, so it is only kept when no eviction
+ * that could concern it happened since the read began: each eviction advances a generation, for
+ * the evicted aggregate and for every type of aggregate evicted along with it, and an aggregate
+ * cached under an earlier generation is evicted again.
+ *
+ * @author Jon Freer
+ */
+public final class AggregateCache {
+
+  // evictions advance the generation of the stripe of each evicted key, and of each type whose
+  // aggregates are all evicted; striping bounds the generations kept whatever the number of keys.
+  private static final int GENERATION_STRIPES = 1024;
+
+  private final Cache<Map.Entry<Class, Object>, Entity> cache;
+  private final Map<Class, UnaryOperator<Entity>> copiers;
+  private final Map<Class, ToIntFunction<Entity>> weighers;
+  private final Map<Class, Set<Class>> dependents;
+  private final AtomicLongArray keyGenerations;
+  private final Map<Class, AtomicLong> typeGenerations;
+
+  /**
+   * Constructs a new {@link AggregateCache}.
+   *
+   * @param maxWeight The maximum total weight of the cached aggregates.
+   * @param timeToLive The number of seconds an aggregate may remain cached.
+   * @param metricRegistry The metric registry used to record cache metrics.
+   */
+  public AggregateCache(long maxWeight, long timeToLive, MetricRegistry metricRegistry) {
+    this.copiers = new HashMap<>();
+    this.weighers = new HashMap<>();
+    this.dependents = new HashMap<>();
+    this.keyGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    this.typeGenerations = new ConcurrentHashMap<>();
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((Map.Entry<Class, Object> key, Entity entity) -> this.weigh(entity))
+            .expireAfterWrite(timeToLive, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+
+    // register cache metrics.
+    metricRegistry.register(
+        MetricRegistry.name(AggregateCache.class, "hits"),
+        (Gauge<Long>) () -> this.cache.stats().hitCount());
+    metricRegistry.register(
+        MetricRegistry.name(AggregateCache.class, "misses"),
+        (Gauge<Long>) () -> this.cache.stats().missCount());
+    metricRegistry.register(
+        MetricRegistry.name(AggregateCache.class, "evictions"),
+        (Gauge<Long>) () -> this.cache.stats().evictionCount());
+    metricRegistry.register(
+        MetricRegistry.name(AggregateCache.class, "size"),
+        (Gauge<Long>) () -> this.cache.size());
+  }
+
+  /**
+   * Registers a type of aggregate to be cached.
+   *
+   * @param type The type of aggregate to cache.
+   * @param copier Copies an aggregate so that the cached state is never shared.
+   * @param weigher Weighs an aggregate relative to the maximum weight of the cache.
+   * @param dependencies The types of entities contained by the aggregate. Cached aggregates of the
+   *     type registered are evicted whenever an entity of one of these types changes.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Entity> void cache(
+      Class<T> type, UnaryOperator<T> copier, ToIntFunction<T> weigher, Class... dependencies) {
+    this.copiers.put(type, (UnaryOperator<Entity>) copier);
+    this.weighers.put(type, (ToIntFunction<Entity>) weigher);
+    for (Class dependency : dependencies) {
+      this.dependents.computeIfAbsent(dependency, (d) -> new HashSet<>()).add(type);
+    }
+  }
+
+  /**
+   * Determines whether aggregates of the provided type are cached.
+   *
+   * @param type The type of aggregate.
+   * @return {@code true} if aggregates of the type are cached; {@code false} otherwise.
+   */
+  public boolean caches(Class type) {
+    return this.copiers.containsKey(type);
+  }
+
+  /**
+   * Retrieves a copy of the cached aggregate of the type and identity provided.
+   *
+   * @param type The type of the aggregate.
+   * @param uuid The identity of the aggregate.
+   * @return A copy of the cached aggregate, or {@code null} if it is not cached.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Entity> T get(Class<T> type, UUID uuid) {
+    if (!this.caches(type)) {
+      return null;
+    }
+    Entity entity = this.cache.getIfPresent(key(type, uuid));
+    return entity != null ? (T) this.copiers.get(type).apply(entity) : null;
+  }
+
+  /**
+   * Retrieves the generation of the aggregate of the type and identity provided, which advances
+   * whenever the aggregate may be evicted. It is read before the aggregate is read from the
+   * database, and passed to {@link #put(Entity, long)} along with the state read.
+   *
+   * @param type The type of the aggregate.
+   * @param uuid The identity of the aggregate.
+   * @return The generation of the aggregate.
+   */
+  public long generation(Class type, UUID uuid) {
+    return this.typeGeneration(type).get()
+        + this.keyGenerations.get(stripe(key(type, uuid)));
+  }
+
+  /**
+   * Caches a copy of the provided aggregate, if its type is cached and it has not been evicted
+   * since the provided generation. The generation is checked again once the aggregate is cached,
+   * so that an eviction racing with the put evicts it as well.
+   *
+   * @param entity The aggregate to cache.
+   * @param generation The generation of the aggregate before it was read.
+   */
+  public void put(Entity entity, long generation) {
+    UnaryOperator<Entity> copier = this.copiers.get(entity.getClass());
+    if (copier == null) {
+      return;
+    }
+    Map.Entry<Class, Object> key = key(entity.getClass(), entity.getId());
+    if (this.generation(entity.getClass(), (UUID) entity.getId()) != generation) {
+      return;
+    }
+    this.cache.put(key, copier.apply(entity));
+    if (this.generation(entity.getClass(), (UUID) entity.getId()) != generation) {
+      this.cache.invalidate(key);
+    }
+  }
+
+  /**
+   * Evicts the provided entities, along with every cached aggregate of a type that contains
+   * entities of their types.
+   *
+   * @param entities The entities that have changed.
+   */
+  public void invalidate(Collection<Entity> entities) {
+
+    // the generations advance before the evictions, so a concurrent put either sees them or is
+    // evicted after it.
+    Set<Class> invalidatedTypes = new HashSet<>();
+    for (Entity entity : entities) {
+      this.keyGenerations.incrementAndGet(stripe(key(entity.getClass(), entity.getId())));
+      invalidatedTypes.addAll(this.dependents.getOrDefault(entity.getClass(), new HashSet<>()));
+    }
+    for (Class type : invalidatedTypes) {
+      this.typeGeneration(type).incrementAndGet();
+    }
+
+    for (Entity entity : entities) {
+      this.cache.invalidate(key(entity.getClass(), entity.getId()));
+    }
+    if (!invalidatedTypes.isEmpty()) {
+      this.cache.asMap().keySet().removeIf((key) -> invalidatedTypes.contains(key.getKey()));
+    }
+  }
+
+  /** Evicts every cached aggregate. */
+  public void invalidateAll() {
+    for (Class type : this.copiers.keySet()) {
+      this.typeGeneration(type).incrementAndGet();
+    }
+    this.cache.invalidateAll();
+  }
+
+  private AtomicLong typeGeneration(Class type) {
+    return this.typeGenerations.computeIfAbsent(type, (t) -> new AtomicLong());
+  }
+
+  private static int stripe(Map.Entry<Class, Object> key) {
+    return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+  }
+
+  private int weigh(Entity entity) {
+    return this.weighers.get(entity.getClass()).applyAsInt(entity);
+  }
+
+  private static Map.Entry<Class, Object> key(Class type, Object id) {
+    return new SimpleImmutableEntry<>(type, id);
+  }
+}
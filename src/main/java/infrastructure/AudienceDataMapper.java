@@ -1,41 +1,67 @@
 package infrastructure;
 
+import com.codahale.metrics.MetricRegistry;
 import domain.Audience;
 import domain.EntitySQLFactory;
+import domain.StaleAggregateException;
 import domain.Target;
+import infrastructure.query.Query;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import javax.inject.Named;
 import org.slf4j.Logger;
 
 public final class AudienceDataMapper extends DataMapper<Audience> {
 
+  private static final AudienceMetadata audienceMetadata = new AudienceMetadata();
+  private static final TargetMetadata targetMetadata = new TargetMetadata();
+
+  // statements that do not vary between calls are built once, when the class is initialized.
+  private static final String FIND_AUDIENCES_FOR_NOTIFICATION_SQL =
+      findAudiencesForNotificationSQL();
+  private static final String FIND_AUDIENCE_MEMBERS_SQL = findAudienceMembersSQL();
+  private static final String UPDATE_AUDIENCE_SQL = updateAudienceSQL(false);
+  private static final String UPDATE_VERSIONED_AUDIENCE_SQL = updateAudienceSQL(true);
+  private static final String FIND_AUDIENCE_SQL = findAudienceSQL();
+  private static final String DELETE_AUDIENCE_SQL = deleteAudienceSQL();
+  private static final String DISASSOCIATE_MEMBERS_SQL = disassociateMembersSQL();
+  private static final String FIND_AUDIENCE_MEMBER_UUIDS_SQL = findAudienceMemberUUIDsSQL();
+  private static final List<String> MEMBERSHIP_COLUMN_NAMES =
+      Collections.unmodifiableList(Arrays.asList("AUDIENCE_UUID", "TARGET_UUID"));
+
   private final EntitySQLFactory<Audience, UUID> audienceFactory;
-  private final AudienceMetadata audienceMetadata;
-  private final TargetMetadata targetMetadata;
   private final Logger logger;
 
   AudienceDataMapper(
-      Connection connection,
+      Supplier<Connection> connection,
       EntitySQLFactory<Audience, UUID> audienceFactory,
+      int batchSize,
+      MetricRegistry metricRegistry,
+      UUIDCodec uuidCodec,
       @Named("infrastructure.AudienceDataMapper") Logger logger) {
-    super(connection);
+    super(connection, batchSize, metricRegistry, uuidCodec);
 
     this.audienceFactory = audienceFactory;
-    this.audienceMetadata = new AudienceMetadata();
-    this.targetMetadata = new TargetMetadata();
     this.logger = logger;
   }
 
-  private String findAudiencesForNotificationSQL() {
-    DataMap audienceDataMap = this.audienceMetadata.getDataMap();
+  private static String findAudiencesForNotificationSQL() {
+    DataMap audienceDataMap = audienceMetadata.getDataMap();
     List<String> columnNames = audienceDataMap.getAllColumnNames();
     String columns = String.join(", ", columnNames);
 
@@ -54,12 +80,11 @@ public final class AudienceDataMapper extends DataMapper<Audience> {
             .append(" WHERE NA.NOTIFICATION_UUID = ?;");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String findAudienceMembersSQL() {
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
+  private static String findAudienceMembersSQL() {
+    DataMap targetDataMap = targetMetadata.getDataMap();
     List<String> columnNames = targetDataMap.getAllColumnNames();
     String columns = String.join(", ", columnNames);
 
@@ -78,12 +103,17 @@ public final class AudienceDataMapper extends DataMapper<Audience> {
             .append(" WHERE AT.AUDIENCE_UUID = ?");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String updateAudienceSQL() {
-    DataMap audienceDataMap = this.audienceMetadata.getDataMap();
+  private static String findAudienceMemberUUIDsSQL() {
+    String sql = "SELECT TARGET_UUID FROM AUDIENCE_TARGET WHERE AUDIENCE_UUID = ?";
+    return sql;
+  }
+
+  private static String updateAudienceSQL(boolean versioned) {
+    DataMap audienceDataMap = audienceMetadata.getDataMap();
+    String versionColumn = audienceDataMap.getColumnNameForField(AudienceMetadata.VERSION);
 
     StringBuilder sb =
         new StringBuilder()
@@ -91,25 +121,24 @@ public final class AudienceDataMapper extends DataMapper<Audience> {
             .append(audienceDataMap.getTableName())
             .append(" SET ")
             .append(audienceDataMap.getColumnNameForField(AudienceMetadata.NAME))
-            .append(" = ?")
+            .append(" = ?, ")
+            .append(versionColumn)
+            .append(" = ")
+            .append(versionColumn)
+            .append(" + 1")
             .append(" WHERE ")
             .append(audienceDataMap.getColumnNameForField(AudienceMetadata.UUID))
             .append(" = ?");
+    if (versioned) {
+      sb.append(" AND ").append(versionColumn).append(" = ?");
+    }
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String insertAudienceSQL() {
-    DataMap audienceDataMap = this.audienceMetadata.getDataMap();
-    String sql = this.insertSQL(1, audienceDataMap);
-    this.logger.debug(sql);
-    return sql;
-  }
-
-  private String findAudienceSQL() {
-    DataMap audienceDataMap = this.audienceMetadata.getDataMap();
+  private static String findAudienceSQL() {
+    DataMap audienceDataMap = audienceMetadata.getDataMap();
     List<String> columnNames = audienceDataMap.getAllColumnNames();
     String columns = String.join(", ", columnNames);
 
@@ -128,85 +157,48 @@ public final class AudienceDataMapper extends DataMapper<Audience> {
             .append(" = ?");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
-    return sql;
-  }
-
-  private String associateMemberSQL(int numberOfMembers) {
-    String tableName = "AUDIENCE_TARGET";
-    List<String> columnNames = new ArrayList<>();
-    columnNames.add("AUDIENCE_UUID");
-    columnNames.add("TARGET_UUID");
-    String sql = this.insertSQL(numberOfMembers, tableName, columnNames);
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String disassociateMemberSQL(int numberOfMembers) {
-    String tableName = "AUDIENCE_TARGET";
-    String matchCriteria = "AUDIENCE_UUID = ? AND TARGET_UUID = ?";
-    String sql = this.deleteSQL(numberOfMembers, tableName, matchCriteria);
-    this.logger.debug(sql);
-    return sql;
-  }
-
-  private String deleteAudienceSQL() {
-    DataMap audienceDataMap = this.audienceMetadata.getDataMap();
+  private static String deleteAudienceSQL() {
+    DataMap audienceDataMap = audienceMetadata.getDataMap();
     String matchCriteria =
         new StringBuilder()
             .append(audienceDataMap.getColumnNameForField(AudienceMetadata.UUID))
             .append(" = ?")
             .toString();
-    String sql = this.deleteSQL(1, audienceDataMap, matchCriteria);
-    this.logger.debug(sql);
+    String sql = deleteSQL(1, audienceDataMap, matchCriteria);
     return sql;
   }
 
-  private String disassociateMembersSQL() {
+  private static String disassociateMembersSQL() {
     String tableName = "AUDIENCE_TARGET";
     String matchCriteria = "AUDIENCE_UUID = ?";
-    String sql = this.deleteSQL(1, tableName, matchCriteria);
-    this.logger.debug(sql);
-    return sql;
-  }
-
-  private String countAudiencesSQL() {
-    DataMap audienceDataMap = this.audienceMetadata.getDataMap();
-    StringBuilder sb =
-        new StringBuilder()
-            .append("SELECT ")
-            .append("COUNT(*) ")
-            .append("FROM ")
-            .append(audienceDataMap.getTableName())
-            .append(" AS ")
-            .append(audienceDataMap.getTableAlias());
-    String sql = sb.toString();
-    this.logger.debug(sql);
+    String sql = deleteSQL(1, tableName, matchCriteria);
     return sql;
   }
 
   Set<Audience> findForNotification(UUID notificationUUID) {
 
     // define SQL.
-    String audiencesSQL = this.findAudiencesForNotificationSQL();
-    String membersSQL = this.findAudienceMembersSQL();
+    String audiencesSQL = FIND_AUDIENCES_FOR_NOTIFICATION_SQL;
+    String membersSQL = FIND_AUDIENCE_MEMBERS_SQL;
 
     int index = 0;
     Set<Audience> audiences = new HashSet<>();
     try (PreparedStatement audiencesStatement =
         this.getConnection().prepareStatement(audiencesSQL)) {
-      audiencesStatement.setString(++index, notificationUUID.toString());
+      this.getUUIDCodec().bind(audiencesStatement, ++index, notificationUUID);
 
       try (ResultSet audiencesRS = audiencesStatement.executeQuery()) {
-
-        String uuid =
-            audiencesRS.getString(
-                this.audienceMetadata.getDataMap().getColumnNameForField(AudienceMetadata.UUID));
+        String uuidColumn =
+            audienceMetadata.getDataMap().getColumnNameForField(AudienceMetadata.UUID);
 
         while (audiencesRS.next()) {
+          UUID uuid = UUIDCodec.read(audiencesRS, uuidColumn);
           try (PreparedStatement membersStatement =
               this.getConnection().prepareStatement(membersSQL)) {
-            membersStatement.setString(1, uuid);
+            this.getUUIDCodec().bind(membersStatement, 1, uuid);
 
             try (ResultSet membersRS = membersStatement.executeQuery()) {
               audiences.add(this.audienceFactory.reconstitute(audiencesRS, membersRS));
@@ -220,11 +212,98 @@ public final class AudienceDataMapper extends DataMapper<Audience> {
     }
   }
 
+  /**
+   * Finds the page of audiences matching the provided criteria, along with their members. The page
+   * is loaded with two statements regardless of its size: one for the audiences and one for the
+   * members of every audience of the page. When conditions are provided, the number of audiences
+   * matching them is read from the first statement and reported to {@code total}.
+   *
+   * @param conditions The conditions the audiences must satisfy, or {@code null}.
+   * @param seek The predicate resuming the page after a cursor, or {@code null}.
+   * @param orderBy The sort order of the page, or {@code null}.
+   * @param skip The number of audiences to skip, or {@code null}.
+   * @param take The maximum number of audiences to retrieve, or {@code null}.
+   * @param args The arguments bound to the placeholders of the criteria.
+   * @param total Receives the number of audiences matching the conditions.
+   * @return The page of audiences, in order.
+   */
+  public Set<Audience> find(
+      String conditions,
+      String seek,
+      String orderBy,
+      String skip,
+      String take,
+      List<Query.QueryArgument> args,
+      Consumer<Integer> total) {
+
+    // define SQL.
+    DataMap audienceDataMap = audienceMetadata.getDataMap();
+    String pageSQL = selectPageSQL(audienceDataMap, conditions, seek, orderBy, skip, take, false);
+    String audiencesSQL =
+        selectPageSQL(audienceDataMap, conditions, seek, orderBy, skip, take, true);
+    String membersSQL = this.findMembersForPageSQL(pageSQL);
+    this.logger.debug(audiencesSQL);
+
+    try (final PreparedStatement audiencesStatement =
+            this.getConnection()
+                .prepareStatement(
+                    audiencesSQL, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        final PreparedStatement membersStatement =
+            this.getConnection().prepareStatement(membersSQL)) {
+
+      // the page query is the only parameterized part of each statement.
+      for (Query.QueryArgument arg : args) {
+        this.bind(audiencesStatement, arg);
+        this.bind(membersStatement, arg);
+      }
+
+      try (final ResultSet audiencesRS = audiencesStatement.executeQuery();
+          final ResultSet membersRS = membersStatement.executeQuery()) {
+        if (conditions != null) {
+          readTotal(audiencesRS, seek, skip, total);
+        }
+        return this.audienceFactory.reconstituteAll(audiencesRS, membersRS);
+      }
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
+
+  private String findMembersForPageSQL(String pageSQL) {
+    DataMap audienceDataMap = audienceMetadata.getDataMap();
+    DataMap targetDataMap = targetMetadata.getDataMap();
+    List<String> columnNames = targetDataMap.getAllColumnNamesWithAliases();
+    String columns = String.join(", ", columnNames);
+
+    StringBuilder sb =
+        new StringBuilder()
+            .append("SELECT AT.AUDIENCE_UUID, ")
+            .append(columns)
+            .append(" FROM AUDIENCE_TARGET AS AT")
+            .append(" INNER JOIN ")
+            .append(targetDataMap.getTableName())
+            .append(" AS ")
+            .append(targetDataMap.getTableAlias())
+            .append(" ON AT.TARGET_UUID = ")
+            .append(targetDataMap.getTableAlias())
+            .append(".")
+            .append(targetDataMap.getColumnNameForField(TargetMetadata.UUID))
+            .append(" WHERE AT.AUDIENCE_UUID IN (SELECT PAGE.")
+            .append(audienceDataMap.getColumnNameForField(AudienceMetadata.UUID))
+            .append(" FROM (")
+            .append(pageSQL)
+            .append(") AS PAGE)");
+
+    String sql = sb.toString();
+    this.logger.debug(sql);
+    return sql;
+  }
+
   @Override
   public Audience find(final UUID uuid) {
 
-    String audienceSQL = this.findAudienceSQL();
-    String membersSQL = this.findAudienceMembersSQL();
+    String audienceSQL = FIND_AUDIENCE_SQL;
+    String membersSQL = FIND_AUDIENCE_MEMBERS_SQL;
 
     Audience audience = null;
     try (final PreparedStatement getAudienceStatement =
@@ -232,8 +311,8 @@ public final class AudienceDataMapper extends DataMapper<Audience> {
         final PreparedStatement getAudienceMembersStatement =
             this.getConnection().prepareStatement(membersSQL)) {
       int index = 1;
-      getAudienceStatement.setString(index, uuid.toString());
-      getAudienceMembersStatement.setString(index, uuid.toString());
+      this.getUUIDCodec().bind(getAudienceStatement, index, uuid);
+      this.getUUIDCodec().bind(getAudienceMembersStatement, index, uuid);
 
       try (final ResultSet audienceRS = getAudienceStatement.executeQuery();
           final ResultSet membersRs = getAudienceMembersStatement.executeQuery()) {
@@ -247,77 +326,54 @@ public final class AudienceDataMapper extends DataMapper<Audience> {
     }
   }
 
+  @Override
+  public Audience snapshot(final Audience audience) {
+    // only the membership is diffed, so the members are shared rather than copied.
+    return new Audience(audience.getId(), audience.name(), new HashSet<>(audience.members()));
+  }
+
   @Override
   public void update(final Audience audience) {
+    this.update(audience, null);
+  }
 
-    String audienceSQL = this.updateAudienceSQL();
+  /**
+   * Updates the provided audience without reading it first. When the audience carries a version,
+   * the row is only written while it is still at that version, and a {@link
+   * StaleAggregateException} is thrown otherwise. The members of the audience are diffed against
+   * the state it was loaded with; when that state is not known they are diffed against the
+   * membership streamed from the database.
+   *
+   * @param audience The audience to update.
+   * @param persisted The state the audience was loaded with, or {@code null} if it is not known.
+   */
+  @Override
+  public void update(final Audience audience, final Audience persisted) {
 
-    Audience existingAudience = this.find(audience.getId());
-    if (existingAudience == null) return;
+    Integer version = audience.getVersion();
+    String audienceSQL = version != null ? UPDATE_VERSIONED_AUDIENCE_SQL : UPDATE_AUDIENCE_SQL;
 
     try (final PreparedStatement updateAudienceStatement =
         this.getConnection().prepareStatement(audienceSQL); ) {
       int index = 0;
       updateAudienceStatement.setString(++index, audience.name());
-      updateAudienceStatement.setString(++index, audience.getId().toString());
-      updateAudienceStatement.executeUpdate();
-
-      Set<UUID> toAssociate = new HashSet<>();
-      Set<UUID> toDisassociate = new HashSet<>();
-
-      // determine which members are being added.
-      for (Target member : audience.members()) {
-        boolean exists = false;
-        for (Target existingMember : existingAudience.members()) {
-          if (member.getId().equals(existingMember.getId())) {
-            exists = true;
-            break;
-          }
-        }
-        if (!exists) {
-          toAssociate.add(member.getId());
-        }
+      this.getUUIDCodec().bind(updateAudienceStatement, ++index, audience.getId());
+      if (version != null) {
+        updateAudienceStatement.setInt(++index, version);
       }
 
-      // determine which members are being removed.
-      for (Target existingMember : existingAudience.members()) {
-        boolean exists = false;
-        for (Target member : audience.members()) {
-          if (existingMember.getId().equals(member.getId())) {
-            exists = true;
-            break;
-          }
-        }
-        if (!exists) {
-          toDisassociate.add(existingMember.getId());
+      // a missing row only conflicts with the update when a version was expected.
+      if (updateAudienceStatement.executeUpdate() == 0) {
+        if (version != null) {
+          throw new StaleAggregateException(Audience.class, audience.getId(), version);
         }
+        return;
       }
-
-      if (!toAssociate.isEmpty()) {
-        String associateMemberSQL = this.associateMemberSQL(toAssociate.size());
-        try (final PreparedStatement associateMemberStatement =
-            this.getConnection().prepareStatement(associateMemberSQL)) {
-          index = 0;
-          for (UUID uuid : toAssociate) {
-            associateMemberStatement.setString(++index, audience.getId().toString());
-            associateMemberStatement.setString(++index, uuid.toString());
-          }
-          associateMemberStatement.executeUpdate();
-        }
+      if (version != null) {
+        audience.setVersion(version + 1);
       }
 
-      if (!toDisassociate.isEmpty()) {
-        String disassociateMemberSQL = this.disassociateMemberSQL(toDisassociate.size());
-        try (final PreparedStatement disassociateMemberStatement =
-            this.getConnection().prepareStatement(disassociateMemberSQL)) {
-          index = 0;
-          for (UUID uuid : toDisassociate) {
-            disassociateMemberStatement.setString(++index, audience.getId().toString());
-            disassociateMemberStatement.setString(++index, uuid.toString());
-          }
-          disassociateMemberStatement.executeUpdate();
-        }
-      }
+      this.updateMembers(audience, persisted);
     } catch (SQLException x) {
       throw new RuntimeException(x);
     }
@@ -325,49 +381,151 @@ public final class AudienceDataMapper extends DataMapper<Audience> {
 
   @Override
   public void insert(final Audience audience) {
+    this.insertAll(Collections.singletonList(audience));
+  }
 
-    String audienceSQL = this.insertAudienceSQL();
-    String associateMemberSQL = this.associateMemberSQL(audience.members().size());
+  @Override
+  public void insertAll(final Collection<Audience> audiences) {
+
+    DataMap audienceDataMap = audienceMetadata.getDataMap();
+
+    try {
+      this.insertRows(
+          audienceDataMap.getTableName(),
+          audienceDataMap.getAllColumnNames(),
+          audiences,
+          (statement, index, audience) -> {
+            this.getUUIDCodec().bind(statement, ++index, audience.getId());
+            statement.setString(++index, audience.name());
+            statement.setInt(++index, INITIAL_VERSION);
+            return index;
+          });
+      this.insertMembers(audiences);
+      this.adjustCount(audienceDataMap.getTableName(), audiences.size());
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
 
-    try (final PreparedStatement createAudienceStatement =
-        this.getConnection().prepareStatement(audienceSQL)) {
-      int index = 0;
-      createAudienceStatement.setString(++index, audience.getId().toString());
-      createAudienceStatement.setString(++index, audience.name());
-      createAudienceStatement.executeUpdate();
-
-      if (!audience.members().isEmpty()) {
-        try (PreparedStatement associateMemberStatement =
-            this.getConnection().prepareStatement(associateMemberSQL)) {
-          index = 0;
-          for (Target member : audience.members()) {
-            associateMemberStatement.setString(++index, audience.getId().toString());
-            associateMemberStatement.setString(++index, member.getId().toString());
+    for (Audience audience : audiences) {
+      audience.setVersion(INITIAL_VERSION);
+    }
+  }
+
+  /**
+   * Inserts the memberships of the provided audiences.
+   *
+   * @param audiences The audiences whose memberships are inserted.
+   * @throws SQLException if the memberships could not be inserted.
+   */
+  private void insertMembers(final Collection<Audience> audiences) throws SQLException {
+    List<Map.Entry<UUID, UUID>> memberships = new ArrayList<>();
+    for (Audience audience : audiences) {
+      for (Target member : audience.members()) {
+        memberships.add(new SimpleImmutableEntry<>(audience.getId(), member.getId()));
+      }
+    }
+
+    this.insertRows(
+        "AUDIENCE_TARGET",
+        Arrays.asList("AUDIENCE_UUID", "TARGET_UUID"),
+        memberships,
+        (statement, index, membership) -> {
+          this.getUUIDCodec().bind(statement, ++index, membership.getKey());
+          this.getUUIDCodec().bind(statement, ++index, membership.getValue());
+          return index;
+        });
+  }
+
+  /**
+   * Writes the membership changes of the provided audience. The identities of the current members
+   * are hashed once; every existing member is then struck off that set or, when it is no longer a
+   * member, queued for removal. Whatever remains of the set once the existing members are exhausted
+   * is associated. Only the memberships that changed are written, in chunked multi-row statements.
+   *
+   * <p>When the state the audience was loaded with is not known, the existing members are streamed
+   * from the database as identities rather than reconstituted as {@link Target}s.
+   *
+   * @param audience The audience whose memberships are written.
+   * @param persisted The state the audience was loaded with, or {@code null} if it is not known.
+   * @throws SQLException if the memberships could not be written.
+   */
+  private void updateMembers(final Audience audience, final Audience persisted)
+      throws SQLException {
+    Set<UUID> toAssociate = new LinkedHashSet<>();
+    for (Target member : audience.members()) {
+      toAssociate.add(member.getId());
+    }
+
+    List<UUID> toDisassociate = new ArrayList<>();
+    Consumer<UUID> existingMember =
+        uuid -> {
+          if (!toAssociate.remove(uuid)) {
+            toDisassociate.add(uuid);
           }
-          associateMemberStatement.executeUpdate();
+        };
+    if (persisted != null) {
+      for (Target member : persisted.members()) {
+        existingMember.accept(member.getId());
+      }
+    } else {
+      this.streamMemberUUIDs(audience.getId(), existingMember);
+    }
+
+    RowBinder<UUID> membershipBinder =
+        (statement, index, memberUUID) -> {
+          this.getUUIDCodec().bind(statement, ++index, audience.getId());
+          this.getUUIDCodec().bind(statement, ++index, memberUUID);
+          return index;
+        };
+    this.deleteRows("AUDIENCE_TARGET", MEMBERSHIP_COLUMN_NAMES, toDisassociate, membershipBinder);
+    this.insertRows("AUDIENCE_TARGET", MEMBERSHIP_COLUMN_NAMES, toAssociate, membershipBinder);
+  }
+
+  /**
+   * Streams the identities of the members of the provided audience, one row at a time, without
+   * buffering the membership in memory.
+   *
+   * @param audienceUUID The universally unique identifier of the audience.
+   * @param consumer Receives the identity of each member.
+   * @throws SQLException if the members could not be read.
+   */
+  private void streamMemberUUIDs(final UUID audienceUUID, final Consumer<UUID> consumer)
+      throws SQLException {
+    try (final PreparedStatement membersStatement =
+        this.getConnection()
+            .prepareStatement(
+                FIND_AUDIENCE_MEMBER_UUIDS_SQL,
+                ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+
+      // Connector/J streams the rows of a forward-only, read-only result set with this fetch size.
+      membersStatement.setFetchSize(Integer.MIN_VALUE);
+      this.getUUIDCodec().bind(membersStatement, 1, audienceUUID);
+      try (final ResultSet membersRS = membersStatement.executeQuery()) {
+        while (membersRS.next()) {
+          consumer.accept(UUIDCodec.read(membersRS, 1));
         }
       }
-    } catch (SQLException x) {
-      throw new RuntimeException(x);
     }
   }
 
   @Override
   public void delete(final UUID uuid) {
 
-    String disassociateMembersSQL = this.disassociateMembersSQL();
-    String audienceSQL = this.deleteAudienceSQL();
+    String disassociateMembersSQL = DISASSOCIATE_MEMBERS_SQL;
+    String audienceSQL = DELETE_AUDIENCE_SQL;
 
     try (final PreparedStatement removeAudienceStatement =
             this.getConnection().prepareStatement(audienceSQL);
         final PreparedStatement disassociateMembersStatement =
             this.getConnection().prepareStatement(disassociateMembersSQL)) {
       int index = 1;
-      disassociateMembersStatement.setString(index, uuid.toString());
+      this.getUUIDCodec().bind(disassociateMembersStatement, index, uuid);
       disassociateMembersStatement.executeUpdate();
 
-      removeAudienceStatement.setString(index, uuid.toString());
-      removeAudienceStatement.executeUpdate();
+      this.getUUIDCodec().bind(removeAudienceStatement, index, uuid);
+      int deleted = removeAudienceStatement.executeUpdate();
+      this.adjustCount(audienceMetadata.getDataMap().getTableName(), -deleted);
     } catch (SQLException x) {
       throw new RuntimeException(x);
     }
@@ -375,17 +533,6 @@ public final class AudienceDataMapper extends DataMapper<Audience> {
 
   @Override
   public int count() {
-
-    final String countAudiencesSQL = this.countAudiencesSQL();
-
-    try (final PreparedStatement countAudiencesStatement =
-            this.getConnection().prepareStatement(countAudiencesSQL);
-        final ResultSet rs = countAudiencesStatement.executeQuery()) {
-      int index = 1;
-      rs.next();
-      return rs.getInt(index);
-    } catch (SQLException x) {
-      throw new RuntimeException(x);
-    }
+    return this.countOf(audienceMetadata.getDataMap().getTableName());
   }
 }
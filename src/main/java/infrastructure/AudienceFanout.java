@@ -0,0 +1,568 @@
+package infrastructure;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import domain.Audience;
+import domain.MessageStatus;
+import domain.MessageStatusTally;
+import domain.Notification;
+import domain.NotificationFactory;
+import domain.PhoneNumber;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import net.jodah.failsafe.Failsafe;
+import net.jodah.failsafe.RetryPolicy;
+import org.slf4j.Logger;
+
+/**
+ * Generates the messages of a notification for the members of its audiences.
+ *
+ * <p>The members are streamed from the database rather than loaded with their audiences, and are
+ * deduplicated against each other and the direct recipients of the notification by their packed
+ * phone numbers. Each distinct recipient is assigned the next message identifier, and the messages
+ * are written in chunks, each chunk in its own transaction. The chunks are written in parallel
+ * while the members are still being read, and reading stalls whenever every writer is busy and the
+ * queue of chunks is full, so the heap held is bounded by the chunks in flight and the set of
+ * packed phone numbers, whatever the size of the audiences.
+ *
+ * <p>The writers are shared by every fan-out, so the connections held by fan-outs are bounded by
+ * the number of writers plus one reading connection per fan-out in progress, however many
+ * notifications are created at once. The chunks waiting for a writer are bounded as well: a
+ * fan-out stops reading while every writer is busy and as many chunks again are queued.
+ *
+ * <p>The messages of a chunk are committed independently of the others and of the notification,
+ * which is already committed when the fan-out starts. A notification with audiences is created
+ * flagged as being fanned out and leased to the fan-out, so that neither the scheduler nor the
+ * outbox relay dispatches any of its messages until every one is written: the flag is cleared in
+ * the transaction that completes the fan-out, which also places the pending messages in the outbox
+ * when the notification is already due, and otherwise leaves it to the scheduler. Fan-outs run in
+ * the background, a bounded number at a time, and a fan-out that fails is retried from the
+ * messages already written, since the recipients of those are read back before the members. A
+ * notification whose fan-out still fails after its retries is marked as failed, so that it is never
+ * dispatched to a part of its audiences.
+ *
+ * <p>The lease is renewed while the fan-out runs, so it only lapses when a node stops. Every node
+ * periodically looks for flagged notifications whose lease has expired and resumes their fan-outs,
+ * starting as soon as it starts, so a fan-out interrupted by a restart or a crash is completed
+ * rather than dispatched in part or never dispatched at all.
+ *
+ * @author Jon Freer
+ */
+public final class AudienceFanout implements AutoCloseable {
+
+  /** The messages written by a single transaction: their identifiers and recipients. */
+  private static final class Chunk {
+
+    private final int[] ids;
+    private final String[] phoneNumbers;
+    private int size;
+
+    Chunk(int capacity) {
+      this.ids = new int[capacity];
+      this.phoneNumbers = new String[capacity];
+    }
+
+    void add(int id, String phoneNumber) {
+      this.ids[this.size] = id;
+      this.phoneNumbers[this.size] = phoneNumber;
+      this.size++;
+    }
+
+    boolean isFull() {
+      return this.size == this.ids.length;
+    }
+  }
+
+  private static final String MESSAGE_TABLE_NAME = "MESSAGE";
+  private static final String LEASE_OWNER = "fanout";
+  private static final String SENDER = NotificationFactory.SENDER.toE164();
+
+  // a fan-out that stops without releasing its lease only delays the notification by this much.
+  private static final long LEASE_DURATION = TimeUnit.MINUTES.toMillis(10);
+
+  // failed fan-outs are retried with a backoff, well within a lease renewed by every attempt.
+  private static final int RETRY_DELAY = 1;
+  private static final int RETRY_MAX_DELAY = 32;
+  private static final int MAX_RETRIES = 5;
+
+  // the messages already written, read back so that a retried fan-out resumes after them.
+  private static final String FIND_MESSAGES_SQL =
+      "SELECT ID, `TO` FROM MESSAGE WHERE NOTIFICATION_UUID = ?";
+
+  // the content and audiences of a notification whose fan-out is resumed.
+  private static final String FIND_CONTENT_SQL = "SELECT MESSAGE FROM NOTIFICATION WHERE UUID = ?";
+  private static final String FIND_AUDIENCES_SQL =
+      "SELECT AUDIENCE_UUID FROM NOTIFICATION_AUDIENCE WHERE NOTIFICATION_UUID = ?";
+
+  private final ConnectionFactory connectionFactory;
+  private final UUIDCodec uuidCodec;
+  private final int chunkSize;
+  private final int concurrency;
+  private final ExecutorService fanouts;
+  private final ExecutorService writers;
+  private final Semaphore slots;
+  private final ScheduledExecutorService resumer;
+  private final long resumeInterval;
+  private final RetryPolicy retryPolicy;
+  private final Timer fanoutLatency;
+  private final Meter recipients;
+  private final Meter duplicates;
+  private final Meter failures;
+  private final Logger logger;
+
+  /**
+   * Constructs a new {@link AudienceFanout}.
+   *
+   * @param connectionFactory The factory creating connections to the primary.
+   * @param uuidCodec The codec used to bind and read {@link UUID} values.
+   * @param chunkSize The number of messages written by each transaction.
+   * @param concurrency The number of fan-outs run concurrently in the background.
+   * @param parallelism The number of chunks written concurrently, across every fan-out.
+   * @param resumeInterval The number of milliseconds between searches for stalled fan-outs.
+   * @param metricRegistry The metric registry used to record fan-out metrics.
+   * @param logger The logger used to report fan-out events.
+   */
+  public AudienceFanout(
+      ConnectionFactory connectionFactory,
+      UUIDCodec uuidCodec,
+      int chunkSize,
+      int concurrency,
+      int parallelism,
+      long resumeInterval,
+      MetricRegistry metricRegistry,
+      Logger logger) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("The argument 'chunkSize' must be greater than zero.");
+    }
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("The argument 'concurrency' must be greater than zero.");
+    }
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("The argument 'parallelism' must be greater than zero.");
+    }
+    if (resumeInterval < 1) {
+      throw new IllegalArgumentException(
+          "The argument 'resumeInterval' must be greater than zero.");
+    }
+    this.connectionFactory = connectionFactory;
+    this.uuidCodec = uuidCodec;
+    this.chunkSize = chunkSize;
+    this.concurrency = concurrency;
+    this.fanouts = Executors.newFixedThreadPool(concurrency);
+    this.writers = Executors.newFixedThreadPool(parallelism);
+    this.slots = new Semaphore(2 * parallelism);
+    this.resumer = Executors.newSingleThreadScheduledExecutor();
+    this.resumeInterval = resumeInterval;
+    this.retryPolicy =
+        new RetryPolicy()
+            .retryOn(RuntimeException.class)
+            .withBackoff(RETRY_DELAY, RETRY_MAX_DELAY, TimeUnit.SECONDS)
+            .withMaxRetries(MAX_RETRIES);
+    this.fanoutLatency =
+        metricRegistry.timer(MetricRegistry.name(AudienceFanout.class, "fanout-latency"));
+    this.recipients = metricRegistry.meter(MetricRegistry.name(AudienceFanout.class, "recipients"));
+    this.duplicates = metricRegistry.meter(MetricRegistry.name(AudienceFanout.class, "duplicates"));
+    this.failures = metricRegistry.meter(MetricRegistry.name(AudienceFanout.class, "failures"));
+    this.logger = logger;
+  }
+
+  /**
+   * Starts resuming the fan-outs of notifications whose leases have expired, at once and then
+   * periodically.
+   */
+  public void start() {
+    this.resumer.scheduleWithFixedDelay(
+        this::resume, 0, this.resumeInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops resuming fan-outs, and stops the fan-outs and then the writers once the work already
+   * submitted is done.
+   */
+  @Override
+  public void close() {
+    this.resumer.shutdownNow();
+    this.fanouts.shutdown();
+    try {
+      this.fanouts.awaitTermination(LEASE_DURATION, TimeUnit.MILLISECONDS);
+      this.writers.shutdown();
+      this.writers.awaitTermination(LEASE_DURATION, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Leases a notification with audiences to the fan-out once the provided unit of work is saved, so
+   * that no other node resumes its fan-out while this one runs it.
+   *
+   * @param unitOfWork The unit of work the notification is created with.
+   * @param notificationUUID The universally unique identifier of the notification.
+   */
+  public void lease(UnitOfWork unitOfWork, UUID notificationUUID) {
+    unitOfWork.lease(
+        notificationUUID, LEASE_OWNER, new Date(System.currentTimeMillis() + LEASE_DURATION));
+  }
+
+  /**
+   * Fans out the provided notification in the background, retrying a failed fan-out from the
+   * messages already written. A notification that still cannot be fanned out is marked as failed.
+   *
+   * @param notification The committed notification.
+   */
+  public void fanOutLater(Notification notification) {
+    this.fanOutLater(notification.getId(), notification.content(), audienceUUIDs(notification));
+  }
+
+  private void fanOutLater(UUID uuid, String content, List<UUID> audienceUUIDs) {
+    try {
+      this.fanouts.execute(
+          () -> {
+            try {
+              Failsafe.with(this.retryPolicy)
+                  .onFailedAttempt(
+                      (x) -> this.logger.warn("Unable to fan out notification {}.", uuid, x))
+                  .run(() -> this.fanOut(uuid, content, audienceUUIDs));
+            } catch (RuntimeException x) {
+              this.fail(uuid, x);
+            }
+          });
+    } catch (RejectedExecutionException x) {
+      this.fail(uuid, x);
+    }
+  }
+
+  /**
+   * Writes a message for every distinct member of the audiences of the provided notification who
+   * is not already one of its recipients, and completes the fan-out once they are all written. The
+   * notification is left flagged and leased when the fan-out fails.
+   *
+   * @param notification The committed notification.
+   * @return The number of messages written.
+   * @throws RuntimeException if the members could not be read or a chunk could not be written.
+   */
+  public int fanOut(Notification notification) {
+    return this.fanOut(notification.getId(), notification.content(), audienceUUIDs(notification));
+  }
+
+  private int fanOut(UUID notificationUUID, String content, List<UUID> audienceUUIDs) {
+    if (audienceUUIDs.isEmpty()) {
+      return 0;
+    }
+
+    // the lease taken along with the notification is renewed by every attempt, and again whenever
+    // half of it has passed, so that it only lapses when this node stops.
+    Timer.Context fanningOut = this.fanoutLatency.time();
+    long renewAt = System.currentTimeMillis() + LEASE_DURATION / 2;
+    this.lease(notificationUUID, new Date(renewAt + LEASE_DURATION / 2));
+
+    // the chunks of this fan-out are tracked apart from those of others sharing the writers.
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    Phaser pending = new Phaser(1);
+    int written = 0;
+    try (Connection connection = this.connectionFactory.createConnection()) {
+
+      // the messages already written, to the direct recipients or by an earlier attempt, are kept,
+      // and the messages of the members follow theirs.
+      LongHashSet recipients = new LongHashSet(this.chunkSize);
+      int nextID = 0;
+      try (PreparedStatement statement =
+          connection.prepareStatement(
+              FIND_MESSAGES_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+        statement.setFetchSize(Integer.MIN_VALUE);
+        this.uuidCodec.bind(statement, 1, notificationUUID);
+        try (ResultSet results = statement.executeQuery()) {
+          while (results.next()) {
+            nextID = Math.max(nextID, results.getInt(1) + 1);
+            recipients.add(PhoneNumber.pack(results.getString(2)));
+          }
+        }
+      }
+
+      // stream the members rather than buffering every row of the audiences.
+      try (PreparedStatement statement =
+          connection.prepareStatement(
+              findMemberPhoneNumbersSQL(audienceUUIDs.size()),
+              ResultSet.TYPE_FORWARD_ONLY,
+              ResultSet.CONCUR_READ_ONLY)) {
+        statement.setFetchSize(Integer.MIN_VALUE);
+        int index = 0;
+        for (UUID audienceUUID : audienceUUIDs) {
+          this.uuidCodec.bind(statement, ++index, audienceUUID);
+        }
+
+        try (ResultSet results = statement.executeQuery()) {
+          Chunk chunk = new Chunk(this.chunkSize);
+          while (results.next() && failure.get() == null) {
+            String phoneNumber = results.getString(1);
+            if (!recipients.add(PhoneNumber.pack(phoneNumber))) {
+              this.duplicates.mark();
+              continue;
+            }
+            chunk.add(nextID++, phoneNumber);
+            if (chunk.isFull()) {
+              this.submit(pending, failure, notificationUUID, content, chunk);
+              written += chunk.size;
+              chunk = new Chunk(this.chunkSize);
+              if (System.currentTimeMillis() >= renewAt) {
+                renewAt = System.currentTimeMillis() + LEASE_DURATION / 2;
+                this.lease(notificationUUID, new Date(renewAt + LEASE_DURATION / 2));
+              }
+            }
+          }
+          if (chunk.size > 0 && failure.get() == null) {
+            this.submit(pending, failure, notificationUUID, content, chunk);
+            written += chunk.size;
+          }
+        }
+      }
+      connection.commit();
+    } catch (SQLException x) {
+      failure.compareAndSet(null, x);
+    } finally {
+      try {
+        pending.awaitAdvanceInterruptibly(pending.arrive());
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+        failure.compareAndSet(null, x);
+      }
+      fanningOut.stop();
+    }
+
+    // the notification stays flagged after a failure, so that it is not dispatched in part.
+    if (failure.get() != null) {
+      throw new RuntimeException(failure.get());
+    }
+    this.complete(notificationUUID);
+    this.recipients.mark(written);
+    this.logger.info(
+        "Fanned out {} messages of notification {} to {} audiences.",
+        written,
+        notificationUUID,
+        audienceUUIDs.size());
+    return written;
+  }
+
+  /**
+   * Hands a chunk to the shared writers, waiting while every writer is busy and the queue is full.
+   */
+  private void submit(
+      Phaser pending,
+      AtomicReference<Exception> failure,
+      UUID notificationUUID,
+      String content,
+      Chunk chunk) {
+    try {
+      this.slots.acquire();
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+      failure.compareAndSet(null, x);
+      return;
+    }
+    pending.register();
+    try {
+      this.writers.execute(
+          () -> {
+            try {
+              this.write(notificationUUID, content, chunk);
+            } catch (SQLException | RuntimeException x) {
+              failure.compareAndSet(null, x);
+            } finally {
+              this.slots.release();
+              pending.arriveAndDeregister();
+            }
+          });
+    } catch (RejectedExecutionException x) {
+      this.slots.release();
+      pending.arriveAndDeregister();
+      failure.compareAndSet(null, x);
+    }
+  }
+
+  /**
+   * Writes a chunk of messages in a single transaction.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param content The content of the messages.
+   * @param chunk The messages to write.
+   * @throws SQLException if the chunk could not be written.
+   */
+  private void write(UUID notificationUUID, String content, Chunk chunk) throws SQLException {
+    try (Connection connection = this.connectionFactory.createConnection()) {
+      try {
+        // the phone numbers are written as they were read, already in their E.164 form.
+        String sql =
+            DataMapper.insertSQL(
+                chunk.size, MESSAGE_TABLE_NAME, NotificationDataMapper.messageColumnNames());
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+          int index = 0;
+          for (int i = 0; i < chunk.size; i++) {
+            statement.setInt(++index, chunk.ids[i]);
+            statement.setString(++index, SENDER);
+            statement.setString(++index, chunk.phoneNumbers[i]);
+            statement.setString(++index, content);
+            statement.setString(++index, MessageStatus.PENDING.toString());
+            statement.setString(++index, "");
+            this.uuidCodec.bind(statement, ++index, notificationUUID);
+          }
+          statement.executeUpdate();
+        }
+
+        // the notification row is locked last, just before the commit, so that the writers of
+        // other chunks only wait on it for the commit rather than for the inserts. The new messages
+        // are not yet visible, so no other write of them can hold the row while waiting on them.
+        NotificationDataMapper.adjustMessageTally(
+            connection,
+            this.uuidCodec,
+            notificationUUID,
+            new MessageStatusTally(chunk.size, chunk.size, 0, 0));
+        connection.commit();
+      } catch (SQLException | RuntimeException x) {
+        connection.rollback();
+        throw x;
+      }
+    }
+  }
+
+  /**
+   * Clears the flag of a fanned out notification and releases its lease, first placing its pending
+   * messages in the outbox and marking it as dispatched if it is already due.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @throws RuntimeException if the fan-out could not be completed.
+   */
+  private void complete(UUID notificationUUID) {
+    try (Connection connection = this.connectionFactory.createConnection()) {
+      ScheduleDataMapper schedule =
+          new ScheduleDataMapper(() -> connection, this.chunkSize, this.uuidCodec);
+      try {
+        // the notification may have been cancelled or marked as failed since.
+        Date now = new Date();
+        Date sendAt = schedule.lockFanout(notificationUUID, now);
+        if (sendAt != null && !sendAt.after(now)) {
+          new OutboxDataMapper(() -> connection, this.chunkSize, this.uuidCodec)
+              .enqueuePending(notificationUUID, now);
+          schedule.markDispatched(Collections.singletonList(notificationUUID), now);
+        }
+        schedule.completeFanout(notificationUUID);
+        connection.commit();
+      } catch (SQLException | RuntimeException x) {
+        connection.rollback();
+        throw x;
+      }
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
+
+  /**
+   * Leases the stalled fan-outs of stopped nodes and resumes them in the background, no more at a
+   * time than run at once, so that none waits for a fan-out long enough for its lease to lapse.
+   */
+  private void resume() {
+    try (Connection connection = this.connectionFactory.createConnection()) {
+      List<UUID> claimed;
+      try {
+        long now = System.currentTimeMillis();
+        claimed =
+            new ScheduleDataMapper(() -> connection, this.chunkSize, this.uuidCodec)
+                .claimStalledFanouts(
+                    new Date(now), LEASE_OWNER, new Date(now + LEASE_DURATION), this.concurrency);
+        connection.commit();
+      } catch (SQLException | RuntimeException x) {
+        connection.rollback();
+        throw x;
+      }
+
+      for (UUID uuid : claimed) {
+        this.logger.info("Resuming the fan-out of notification {}.", uuid);
+        String content = null;
+        try (PreparedStatement statement = connection.prepareStatement(FIND_CONTENT_SQL)) {
+          this.uuidCodec.bind(statement, 1, uuid);
+          try (ResultSet results = statement.executeQuery()) {
+            if (results.next()) {
+              content = results.getString(1);
+            }
+          }
+        }
+        List<UUID> audienceUUIDs = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_AUDIENCES_SQL)) {
+          this.uuidCodec.bind(statement, 1, uuid);
+          try (ResultSet results = statement.executeQuery()) {
+            while (results.next()) {
+              audienceUUIDs.add(UUIDCodec.read(results, 1));
+            }
+          }
+        }
+        connection.commit();
+
+        // a notification deleted since it was claimed has nothing left to fan out.
+        if (content != null) {
+          this.fanOutLater(uuid, content, audienceUUIDs);
+        }
+      }
+    } catch (SQLException | RuntimeException x) {
+      this.logger.warn("Unable to resume the stalled fan-outs; retrying on the next pass.", x);
+    }
+  }
+
+  private void lease(UUID notificationUUID, Date leaseExpiresAt) {
+    try (Connection connection = this.connectionFactory.createConnection()) {
+      new ScheduleDataMapper(() -> connection, this.chunkSize, this.uuidCodec)
+          .lease(notificationUUID, LEASE_OWNER, leaseExpiresAt);
+      connection.commit();
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
+
+  private void fail(UUID notificationUUID, Exception failure) {
+    this.failures.mark();
+    this.logger.error(
+        "Unable to fan out notification {}; marking it as failed.", notificationUUID, failure);
+    try (Connection connection = this.connectionFactory.createConnection()) {
+      new ScheduleDataMapper(() -> connection, this.chunkSize, this.uuidCodec)
+          .markFailed(notificationUUID);
+      connection.commit();
+    } catch (SQLException x) {
+      this.logger.error(
+          "Unable to mark notification {} as failed; its lease expires instead.",
+          notificationUUID,
+          x);
+    }
+  }
+
+  private static List<UUID> audienceUUIDs(Notification notification) {
+    List<UUID> audienceUUIDs = new ArrayList<>();
+    for (Audience audience : notification.audiences()) {
+      audienceUUIDs.add(audience.getId());
+    }
+    return audienceUUIDs;
+  }
+
+  private static String findMemberPhoneNumbersSQL(int numOfAudiences) {
+    return new StringBuilder()
+        .append("SELECT T.PHONE_NUMBER FROM AUDIENCE_TARGET AS AT")
+        .append(" INNER JOIN TARGET AS T ON T.UUID = AT.TARGET_UUID")
+        .append(" WHERE AT.AUDIENCE_UUID IN (")
+        .append(String.join(", ", Collections.nCopies(numOfAudiences, "?")))
+        .append(")")
+        .toString();
+  }
+}
@@ -18,10 +18,14 @@ public final class AudienceMetadata extends MetadataMapper {
   /** Represents the {@link domain.Audience} {@code name} field. */
   public static final String NAME = "name";
 
+  /** Represents the {@link domain.Audience} {@code version} field. */
+  public static final String VERSION = "version";
+
   /** Construcs new {@link AudienceMetadata}. */
   public AudienceMetadata() {
     super(new DataMap("AUDIENCE", "A"));
-    this.getDataMap().addColumn("UUID", Types.VARCHAR, UUID);
+    this.getDataMap().addColumn("UUID", Types.BINARY, UUID);
     this.getDataMap().addColumn("NAME", Types.VARCHAR, NAME);
+    this.getDataMap().addColumn("VERSION", Types.INTEGER, VERSION);
   }
 }
@@ -46,7 +46,7 @@ public final class AudienceRepository extends SQLRepository implements Repositor
     final String spanName = String.format("%s#get(query)", className);
     final Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
     try (final Scope scope = this.tracer.scopeManager().activate(span, false)) {
-      return query.execute();
+      return this.getUnitOfWork().register(query.execute());
     } finally {
       span.finish();
     }
@@ -64,8 +64,7 @@ public final class AudienceRepository extends SQLRepository implements Repositor
     final String spanName = String.format("%s#get(uuid)", className);
     final Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
     try (final Scope scope = this.tracer.scopeManager().activate(span, false)) {
-      DataMapper dm = this.getUnitOfWork().dataMappers().get(Audience.class);
-      return (Audience) dm.find(uuid);
+      return this.getUnitOfWork().find(Audience.class, uuid);
     } finally {
       span.finish();
     }
@@ -74,7 +73,8 @@ public final class AudienceRepository extends SQLRepository implements Repositor
   /**
    * Places the {@link Audience} provided into the repository. In the event the {@link Audience}
    * provided already exists in the repository, the prexisting one will be replaced with the one
-   * provided.
+   * provided. An {@link Audience} that carries a version is not read first; it replaces the
+   * prexisting one only if that one is still at the same version.
    *
    * @param audience The audience to put into the repository.
    */
@@ -84,8 +84,9 @@ public final class AudienceRepository extends SQLRepository implements Repositor
     final String spanName = String.format("%s#put", className);
     final Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
     try (final Scope scope = this.tracer.scopeManager().activate(span, false)) {
-      Audience existingAudience = this.get(audience.getId());
-      if (existingAudience == null) {
+      if (audience.getVersion() != null) {
+        this.getUnitOfWork().alter(audience);
+      } else if (this.get(audience.getId()) == null) {
         this.add(audience);
       } else {
         this.getUnitOfWork().alter(audience);
@@ -0,0 +1,107 @@
+package infrastructure;
+
+import domain.Entity;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * The difference between the persisted and the current entities of a collection, matched by their
+ * identities in a single hashed pass over each side. Entities only in the current collection are
+ * added, entities only in the persisted collection are removed, and entities in both whose state
+ * is no longer the same are changed.
+ *
+ * @param <E> The type of the entities.
+ * @author Jon Freer
+ */
+final class ChangeSet<E> {
+
+  private final List<E> added;
+  private final List<E> removed;
+  private final List<E> changed;
+
+  private ChangeSet(List<E> added, List<E> removed, List<E> changed) {
+    this.added = added;
+    this.removed = removed;
+    this.changed = changed;
+  }
+
+  /**
+   * Computes the membership changes between the provided collections. Entities present in both
+   * collections are never reported as changed.
+   *
+   * @param persisted The entities as they were persisted.
+   * @param current The entities as they are now.
+   * @return The changes.
+   */
+  static <I, E extends Entity<I>> ChangeSet<E> of(Collection<E> persisted, Collection<E> current) {
+    return of(persisted, current, (before, after) -> true);
+  }
+
+  /**
+   * Computes the changes between the provided collections.
+   *
+   * @param persisted The entities as they were persisted.
+   * @param current The entities as they are now.
+   * @param same Determines whether the persisted and current state of an entity are the same.
+   * @return The changes.
+   */
+  static <I, E extends Entity<I>> ChangeSet<E> of(
+      Collection<E> persisted, Collection<E> current, BiPredicate<E, E> same) {
+    Map<I, E> remaining = new LinkedHashMap<>();
+    for (E entity : persisted) {
+      remaining.put(entity.getId(), entity);
+    }
+
+    List<E> added = new ArrayList<>();
+    List<E> changed = new ArrayList<>();
+    for (E entity : current) {
+      E before = remaining.remove(entity.getId());
+      if (before == null) {
+        added.add(entity);
+      } else if (!same.test(before, entity)) {
+        changed.add(entity);
+      }
+    }
+    return new ChangeSet<>(added, new ArrayList<>(remaining.values()), changed);
+  }
+
+  /**
+   * Retrieves the entities only in the current collection.
+   *
+   * @return The added entities.
+   */
+  List<E> getAdded() {
+    return this.added;
+  }
+
+  /**
+   * Retrieves the entities only in the persisted collection.
+   *
+   * @return The removed entities.
+   */
+  List<E> getRemoved() {
+    return this.removed;
+  }
+
+  /**
+   * Retrieves the entities in both collections whose state is no longer the same.
+   *
+   * @return The changed entities, as they are now.
+   */
+  List<E> getChanged() {
+    return this.changed;
+  }
+
+  /**
+   * Indicates whether the collections differ at all.
+   *
+   * @return {@code true} if nothing was added, removed, or changed; {@code false} otherwise.
+   */
+  boolean isEmpty() {
+    return this.added.isEmpty() && this.removed.isEmpty() && this.changed.isEmpty();
+  }
+}
@@ -5,4 +5,14 @@ import java.sql.Connection;
 public abstract class ConnectionFactory {
 
   public abstract Connection createConnection();
+
+  /**
+   * Creates a connection for work that only reads. By default reads share the connections used for
+   * writes; factories able to serve reads elsewhere, such as from a replica, override this.
+   *
+   * @return A connection suitable for reads.
+   */
+  public Connection createReadOnlyConnection() {
+    return this.createConnection();
+  }
 }
@@ -1,28 +1,265 @@
 package infrastructure;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
 import domain.Entity;
+import infrastructure.query.Query;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 public abstract class DataMapper<T extends Entity> {
 
-  private final Connection connection;
+  // the version of an aggregate root when it is first inserted.
+  static final int INITIAL_VERSION = 1;
 
-  DataMapper(Connection connection) {
+  // MySQL rejects prepared statements with more placeholders than this.
+  private static final int MAX_PLACEHOLDERS = 65535;
+
+  // each table's counter is spread over this many rows to avoid contention on a single row lock.
+  private static final int COUNT_SLOTS = 16;
+  private static final String ADJUST_COUNT_SQL =
+      "INSERT INTO ENTITY_COUNT (TABLE_NAME, SLOT, COUNT) VALUES (?, ?, ?)"
+          + " ON DUPLICATE KEY UPDATE COUNT = COUNT + VALUES(COUNT)";
+  private static final String COUNT_SQL =
+      "SELECT COALESCE(SUM(COUNT), 0) FROM ENTITY_COUNT WHERE TABLE_NAME = ?";
+
+  private final Supplier<Connection> connection;
+  private final int batchSize;
+  private final MetricRegistry metricRegistry;
+  private final UUIDCodec uuidCodec;
+
+  /** Binds the values of a single row of a multi-row statement. */
+  @FunctionalInterface
+  interface RowBinder<R> {
+
+    /**
+     * Binds the values of the provided row.
+     *
+     * @param statement The statement being bound.
+     * @param index The index of the last parameter bound before this row.
+     * @param row The row to bind.
+     * @return The index of the last parameter bound for this row.
+     * @throws SQLException if a value cannot be bound.
+     */
+    int bind(PreparedStatement statement, int index, R row) throws SQLException;
+  }
+
+  /**
+   * Constructs a new {@link DataMapper}.
+   *
+   * @param connection Supplies the connection of the unit of work. The connection is only
+   *     requested when the data mapper first needs to interact with the database.
+   * @param batchSize The maximum number of rows written by a single multi-row statement.
+   * @param metricRegistry The metric registry used to record the number of rows per batch.
+   * @param uuidCodec The codec used to bind {@link UUID} values.
+   */
+  DataMapper(
+      Supplier<Connection> connection,
+      int batchSize,
+      MetricRegistry metricRegistry,
+      UUIDCodec uuidCodec) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The argument 'batchSize' must be greater than zero.");
+    }
     this.connection = connection;
+    this.batchSize = batchSize;
+    this.metricRegistry = metricRegistry;
+    this.uuidCodec = uuidCodec;
   }
 
   Connection getConnection() {
-    return this.connection;
+    return this.connection.get();
+  }
+
+  int getBatchSize() {
+    return this.batchSize;
   }
 
-  String insertSQL(int numOfInsertions, DataMap dataMap) {
-    return this.insertSQL(numOfInsertions, dataMap.getTableName(), dataMap.getAllColumnNames());
+  MetricRegistry getMetricRegistry() {
+    return this.metricRegistry;
   }
 
-  String insertSQL(int numOfInsertions, String tableName, List<String> columnNames) {
+  UUIDCodec getUUIDCodec() {
+    return this.uuidCodec;
+  }
+
+  /**
+   * Binds a {@link Query.QueryArgument} to its placeholder. {@link UUID} arguments are bound in
+   * the representation used for keys.
+   *
+   * @param statement The statement being bound.
+   * @param arg The argument to bind.
+   * @throws SQLException if the argument cannot be bound.
+   */
+  void bind(PreparedStatement statement, Query.QueryArgument arg) throws SQLException {
+    if (arg.getValue() instanceof UUID) {
+      this.uuidCodec.bind(statement, arg.getIndex(), (UUID) arg.getValue());
+    } else {
+      statement.setObject(arg.getIndex(), arg.getValue(), arg.getType());
+    }
+  }
+
+  /**
+   * Adjusts the number of rows recorded for the provided table. The adjustment is written with the
+   * connection of the unit of work, so it commits or rolls back along with the rows it counts.
+   *
+   * @param tableName The name of the table whose rows were inserted or deleted.
+   * @param delta The number of rows inserted, or the negated number of rows deleted.
+   * @throws SQLException if the count cannot be adjusted.
+   */
+  void adjustCount(String tableName, long delta) throws SQLException {
+    if (delta == 0) {
+      return;
+    }
+    try (PreparedStatement statement = this.getConnection().prepareStatement(ADJUST_COUNT_SQL)) {
+      int index = 0;
+      statement.setString(++index, tableName);
+      statement.setInt(++index, ThreadLocalRandom.current().nextInt(COUNT_SLOTS));
+      statement.setLong(++index, delta);
+      statement.executeUpdate();
+    }
+  }
+
+  /**
+   * Retrieves the number of rows recorded for the provided table, without scanning the table.
+   *
+   * @param tableName The name of the table.
+   * @return The number of rows in the table.
+   */
+  int countOf(String tableName) {
+    try (PreparedStatement statement = this.getConnection().prepareStatement(COUNT_SQL)) {
+      statement.setString(1, tableName);
+      try (ResultSet rs = statement.executeQuery()) {
+        rs.next();
+        return rs.getInt(1);
+      }
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
+
+  /**
+   * Builds a statement retrieving a page of the rows of the provided table. When conditions are
+   * provided, the number of rows matching them is computed by a window over the filtered rows and
+   * returned in the {@code TOTAL} column of every row, so the total never costs a second scan. The
+   * seek, ordering and bounds of the page are applied outside the window so that they do not narrow
+   * the total.
+   *
+   * @param dataMap The mapping of the table.
+   * @param conditions The conditions the rows must satisfy, or {@code null}.
+   * @param seek The predicate resuming the page after a cursor, or {@code null}.
+   * @param orderBy The sort order of the page, or {@code null}.
+   * @param skip The number of rows to skip, or {@code null}.
+   * @param take The maximum number of rows to retrieve, or {@code null}.
+   * @param total {@code true} to compute the total; {@code false} otherwise.
+   * @return The statement retrieving the page.
+   */
+  static String selectPageSQL(
+      DataMap dataMap,
+      String conditions,
+      String seek,
+      String orderBy,
+      String skip,
+      String take,
+      boolean total) {
+    String alias = dataMap.getTableAlias();
+    StringBuilder sb =
+        new StringBuilder()
+            .append("SELECT ")
+            .append(String.join(", ", dataMap.getAllColumnNamesWithAliases()));
+    if (conditions != null && total) {
+      sb.append(", COUNT(*) OVER () AS TOTAL");
+    }
+    sb.append(" FROM ").append(dataMap.getTableName()).append(" AS ").append(alias);
+    if (conditions != null) {
+      sb.append(" WHERE (").append(conditions).append(")");
+    }
+    if (conditions != null && total) {
+      sb = new StringBuilder().append("SELECT ").append(alias).append(".* FROM (").append(sb);
+      sb.append(") AS ").append(alias);
+      return appendPageSQL(sb, false, seek, orderBy, skip, take).toString();
+    }
+    return appendPageSQL(sb, conditions != null, seek, orderBy, skip, take).toString();
+  }
+
+  /**
+   * Appends the seek, ordering and bounds of a page to the provided statement. The bounds are
+   * always written as placeholders, after those of the conditions and the seek, so that the
+   * statement does not vary from one page to the next.
+   *
+   * @param sb The statement selecting the rows the page is taken from.
+   * @param filtered {@code true} if the statement already has a {@code WHERE} clause.
+   * @param seek The predicate resuming the page after a cursor, or {@code null}.
+   * @param orderBy The sort order of the page, or {@code null}.
+   * @param skip Any non-null value if rows are skipped, or {@code null}.
+   * @param take Any non-null value if the rows retrieved are limited, or {@code null}.
+   * @return The statement provided.
+   */
+  static StringBuilder appendPageSQL(
+      StringBuilder sb,
+      boolean filtered,
+      String seek,
+      String orderBy,
+      String skip,
+      String take) {
+
+    // the seek predicate lets MySQL start the page from the index position of the cursor instead
+    // of reading and discarding every row before it.
+    if (seek != null) {
+      sb.append(filtered ? " AND " : " WHERE ").append(seek);
+    }
+
+    if (orderBy != null) {
+      sb.append(" ORDER BY ").append(orderBy);
+    }
+
+    if (take != null) {
+      sb.append(" LIMIT ?");
+    }
+
+    if (skip != null) {
+      sb.append(" OFFSET ?");
+    }
+
+    return sb;
+  }
+
+  /**
+   * Reports the total read from the {@code TOTAL} column of a page, then rewinds the page so that
+   * it can be read from the start. Nothing is reported when the page is empty but other rows
+   * precede it, since no row carries the total then.
+   *
+   * @param page The scrollable results of a statement built by {@link #selectPageSQL}.
+   * @param seek The predicate the page was resumed after a cursor with, or {@code null}.
+   * @param skip The number of rows skipped, or {@code null}.
+   * @param total Receives the total.
+   * @throws SQLException if the total cannot be read.
+   */
+  static void readTotal(ResultSet page, String seek, String skip, Consumer<Integer> total)
+      throws SQLException {
+    if (page.next()) {
+      total.accept(page.getInt("TOTAL"));
+      page.beforeFirst();
+    } else if (seek == null && skip == null) {
+      total.accept(0);
+    }
+  }
+
+  static String insertSQL(int numOfInsertions, DataMap dataMap) {
+    return insertSQL(numOfInsertions, dataMap.getTableName(), dataMap.getAllColumnNames());
+  }
+
+  static String insertSQL(int numOfInsertions, String tableName, List<String> columnNames) {
     String columns = String.join(", ", columnNames);
     List<String> placeholderList = new ArrayList<>();
     for (int i = 0; i < columnNames.size(); i++) {
@@ -45,15 +282,176 @@ public abstract class DataMapper<T extends Entity> {
     return sql;
   }
 
+  /**
+   * Inserts the provided rows into the provided table using multi-row statements. Rows are written
+   * in chunks of at most the configured batch size, so the number of round trips grows with the
+   * number of chunks rather than the number of rows.
+   *
+   * @param tableName The name of the table the rows are inserted into.
+   * @param columnNames The names of the columns bound for each row, in binding order.
+   * @param rows The rows to insert.
+   * @param binder Binds the values of a single row.
+   * @throws SQLException if the rows could not be inserted.
+   */
+  <R> void insertRows(
+      String tableName, List<String> columnNames, Collection<R> rows, RowBinder<R> binder)
+      throws SQLException {
+    this.writeRows(
+        MetricRegistry.name(DataMapper.class, tableName.toLowerCase(), "rows-per-batch"),
+        columnNames.size(),
+        (numberOfRows) -> insertSQL(numberOfRows, tableName, columnNames),
+        rows,
+        binder);
+  }
+
+  /**
+   * Deletes the provided rows from the provided table, identifying each row by the values of the
+   * key columns provided. Like {@link #insertRows}, rows are deleted in chunks of at most the
+   * configured batch size.
+   *
+   * @param tableName The name of the table the rows are deleted from.
+   * @param keyColumnNames The names of the columns bound for each row, in binding order.
+   * @param rows The rows to delete.
+   * @param binder Binds the key values of a single row.
+   * @throws SQLException if the rows could not be deleted.
+   */
+  <R> void deleteRows(
+      String tableName, List<String> keyColumnNames, Collection<R> rows, RowBinder<R> binder)
+      throws SQLException {
+    String matchCriteria = String.join(" = ? AND ", keyColumnNames) + " = ?";
+    this.writeRows(
+        MetricRegistry.name(DataMapper.class, tableName.toLowerCase(), "deletions-per-batch"),
+        keyColumnNames.size(),
+        (numberOfRows) -> deleteSQL(numberOfRows, tableName, matchCriteria),
+        rows,
+        binder);
+  }
+
+  /**
+   * Updates the provided rows with a single statement executed as a JDBC batch, which the driver
+   * can send in a single round trip.
+   *
+   * @param sql The statement updating a single row.
+   * @param rows The rows to update.
+   * @param binder Binds the values of a single row.
+   * @throws SQLException if the rows could not be updated.
+   */
+  <R> void updateRows(String sql, Collection<R> rows, RowBinder<R> binder) throws SQLException {
+    if (rows.isEmpty()) {
+      return;
+    }
+    try (final PreparedStatement statement = this.getConnection().prepareStatement(sql)) {
+      int pending = 0;
+      for (R row : rows) {
+        binder.bind(statement, 0, row);
+        statement.addBatch();
+        if (++pending == this.batchSize) {
+          statement.executeBatch();
+          pending = 0;
+        }
+      }
+      if (pending > 0) {
+        statement.executeBatch();
+      }
+    }
+  }
+
+  private <R> void writeRows(
+      String metricName,
+      int placeholdersPerRow,
+      IntFunction<String> sqlForRows,
+      Collection<R> rows,
+      RowBinder<R> binder)
+      throws SQLException {
+    if (rows.isEmpty()) {
+      return;
+    }
+
+    Histogram rowsPerBatch = this.metricRegistry.histogram(metricName);
+    int maxRows = Math.max(1, Math.min(this.batchSize, MAX_PLACEHOLDERS / placeholdersPerRow));
+    List<R> pending = new ArrayList<>(rows);
+
+    PreparedStatement fullBatchStatement = null;
+    try {
+      for (int start = 0; start < pending.size(); start += maxRows) {
+        List<R> chunk = pending.subList(start, Math.min(start + maxRows, pending.size()));
+
+        // every full chunk shares the same statement; only the final chunk may differ.
+        PreparedStatement statement;
+        if (chunk.size() == maxRows) {
+          if (fullBatchStatement == null) {
+            fullBatchStatement = this.getConnection().prepareStatement(sqlForRows.apply(maxRows));
+          }
+          statement = fullBatchStatement;
+        } else {
+          statement = this.getConnection().prepareStatement(sqlForRows.apply(chunk.size()));
+        }
+
+        try {
+          int index = 0;
+          for (R row : chunk) {
+            index = binder.bind(statement, index, row);
+          }
+          statement.executeUpdate();
+          rowsPerBatch.update(chunk.size());
+        } finally {
+          if (statement != fullBatchStatement) {
+            statement.close();
+          }
+        }
+      }
+    } finally {
+      if (fullBatchStatement != null) {
+        fullBatchStatement.close();
+      }
+    }
+  }
+
   public abstract void insert(T entity);
 
+  /**
+   * Inserts the provided entities. Data mappers that can write several entities with fewer
+   * statements than one per entity override this method.
+   *
+   * @param entities The entities to insert.
+   */
+  public void insertAll(Collection<T> entities) {
+    for (T entity : entities) {
+      this.insert(entity);
+    }
+  }
+
   public abstract void update(T entity);
 
-  String deleteSQL(int numOfDeletions, DataMap dataMap, String matchCriteria) {
-    return this.deleteSQL(numOfDeletions, dataMap.getTableName(), matchCriteria);
+  /**
+   * Captures the state of an entity as it is loaded, so that the state persisted is still known
+   * after the entity is modified in place. The snapshot only needs to hold what {@link
+   * #update(Entity, Entity)} diffs against; by default nothing is captured.
+   *
+   * @param entity The entity that was loaded.
+   * @return The snapshot of the entity, or {@code null} if none is needed.
+   */
+  public T snapshot(T entity) {
+    return null;
+  }
+
+  /**
+   * Updates the provided entity, given the state it was loaded with earlier in the unit of work.
+   * Mappers that diff against the persisted state use it instead of reading that state again; by
+   * default it is ignored.
+   *
+   * @param entity The entity to update.
+   * @param persisted The state the entity was loaded with, or {@code null} if it is not known.
+   */
+  public void update(T entity, T persisted) {
+    this.update(entity);
+  }
+
+  static String deleteSQL(int numOfDeletions, DataMap dataMap, String matchCriteria) {
+    return deleteSQL(numOfDeletions, dataMap.getTableName(), matchCriteria);
   }
 
-  String deleteSQL(int numOfDeletions, String tableName, String matchCriteria) {
+  static String deleteSQL(int numOfDeletions, String tableName, String matchCriteria) {
     StringBuilder sb = new StringBuilder();
     sb.append("DELETE FROM ").append(tableName).append(" WHERE ");
     for (int i = 0; i < numOfDeletions; i++) {
@@ -0,0 +1,51 @@
+package infrastructure;
+
+import java.util.function.Supplier;
+
+/**
+ * A value that is computed the first time it is retrieved and reused afterwards. Like the unit of
+ * work it is typically bound to, a {@link Lazy} is not safe for use by multiple threads.
+ *
+ * @author Jon Freer
+ * @param <T> The type of the value.
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+  private Supplier<T> loader;
+  private T value;
+
+  /**
+   * Constructs a new {@link Lazy}.
+   *
+   * @param loader Computes the value. It is invoked at most once.
+   */
+  public Lazy(Supplier<T> loader) {
+    if (loader == null) {
+      throw new IllegalArgumentException("The argument 'loader' cannot be null.");
+    }
+    this.loader = loader;
+  }
+
+  /**
+   * Retrieves the value, computing it if it has not been computed yet.
+   *
+   * @return The value.
+   */
+  @Override
+  public T get() {
+    if (this.loader != null) {
+      this.value = this.loader.get();
+      this.loader = null;
+    }
+    return this.value;
+  }
+
+  /**
+   * Determines whether the value has been computed.
+   *
+   * @return {@code true} if the value has been computed; {@code false} otherwise.
+   */
+  public boolean isLoaded() {
+    return this.loader == null;
+  }
+}
@@ -0,0 +1,118 @@
+package infrastructure;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Set} whose elements are loaded the first time the set is used. The loader typically
+ * reads from the connection of the unit of work that reconstituted the owning entity, so the set
+ * must be used before that unit of work is closed.
+ *
+ * @author Jon Freer
+ * @param <E> The type of the elements.
+ */
+public final class LazySet<E> implements Set<E> {
+
+  private final Lazy<Set<E>> elements;
+
+  /**
+   * Constructs a new {@link LazySet}.
+   *
+   * @param loader Loads the elements of the set. It is invoked at most once and must return a
+   *     mutable set owned by this {@link LazySet}.
+   */
+  public LazySet(Supplier<Set<E>> loader) {
+    this.elements = new Lazy<>(loader);
+  }
+
+  /**
+   * Determines whether the elements of the set have been loaded.
+   *
+   * @return {@code true} if the elements have been loaded; {@code false} otherwise.
+   */
+  public boolean isLoaded() {
+    return this.elements.isLoaded();
+  }
+
+  @Override
+  public int size() {
+    return this.elements.get().size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.elements.get().isEmpty();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return this.elements.get().contains(o);
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return this.elements.get().iterator();
+  }
+
+  @Override
+  public Object[] toArray() {
+    return this.elements.get().toArray();
+  }
+
+  @Override
+  public <T> T[] toArray(T[] a) {
+    return this.elements.get().toArray(a);
+  }
+
+  @Override
+  public boolean add(E e) {
+    return this.elements.get().add(e);
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    return this.elements.get().remove(o);
+  }
+
+  @Override
+  public boolean containsAll(Collection<?> c) {
+    return this.elements.get().containsAll(c);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends E> c) {
+    return this.elements.get().addAll(c);
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    return this.elements.get().retainAll(c);
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    return this.elements.get().removeAll(c);
+  }
+
+  @Override
+  public void clear() {
+    this.elements.get().clear();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o == this || this.elements.get().equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.elements.get().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return this.elements.get().toString();
+  }
+}
@@ -0,0 +1,122 @@
+package infrastructure;
+
+/**
+ * A set of primitive {@code long} values, held in a single open addressed array with linear
+ * probing. Each value costs 16 to 32 bytes of heap, against the several dozen of a boxed value
+ * in a {@link java.util.HashSet}, and adding a value never allocates beyond the growth of the
+ * array.
+ *
+ * @author Jon Freer
+ */
+final class LongHashSet {
+
+  private static final long EMPTY = 0L;
+  private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+  private long[] slots;
+  private int mask;
+  private int shift;
+  private int size;
+  private boolean containsEmpty;
+
+  /**
+   * Constructs a new {@link LongHashSet}.
+   *
+   * @param expectedSize The number of values expected, which the set holds without growing.
+   */
+  LongHashSet(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("The argument 'expectedSize' cannot be negative.");
+    }
+    // the array is kept at most half full, so probe sequences stay short.
+    int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+    this.allocate(capacity);
+  }
+
+  /**
+   * Retrieves the number of values in the set.
+   *
+   * @return The number of values.
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Adds the provided value to the set.
+   *
+   * @param value The value to add.
+   * @return {@code true} if the value was not already in the set; {@code false} otherwise.
+   */
+  boolean add(long value) {
+
+    // the value marking an empty slot is tracked on its own.
+    if (value == EMPTY) {
+      if (this.containsEmpty) {
+        return false;
+      }
+      this.containsEmpty = true;
+      this.size++;
+      return true;
+    }
+
+    int index = this.index(value);
+    while (this.slots[index] != EMPTY) {
+      if (this.slots[index] == value) {
+        return false;
+      }
+      index = (index + 1) & this.mask;
+    }
+    this.slots[index] = value;
+    this.size++;
+    if (this.size * 2 > this.slots.length) {
+      this.grow();
+    }
+    return true;
+  }
+
+  /**
+   * Determines whether the provided value is in the set.
+   *
+   * @param value The value to find.
+   * @return {@code true} if the value is in the set; {@code false} otherwise.
+   */
+  boolean contains(long value) {
+    if (value == EMPTY) {
+      return this.containsEmpty;
+    }
+    int index = this.index(value);
+    while (this.slots[index] != EMPTY) {
+      if (this.slots[index] == value) {
+        return true;
+      }
+      index = (index + 1) & this.mask;
+    }
+    return false;
+  }
+
+  private int index(long value) {
+    // fibonacci hashing spreads phone numbers, which differ mostly in their low digits.
+    return (int) ((value * GOLDEN_RATIO) >>> this.shift);
+  }
+
+  private void allocate(int capacity) {
+    this.slots = new long[capacity];
+    this.mask = capacity - 1;
+    this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+  }
+
+  private void grow() {
+    long[] previous = this.slots;
+    this.allocate(previous.length * 2);
+    for (long value : previous) {
+      if (value != EMPTY) {
+        int index = this.index(value);
+        while (this.slots[index] != EMPTY) {
+          index = (index + 1) & this.mask;
+        }
+        this.slots[index] = value;
+      }
+    }
+  }
+}
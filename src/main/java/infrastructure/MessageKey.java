@@ -0,0 +1,73 @@
+package infrastructure;
+
+import java.util.UUID;
+
+/**
+ * Identifies a single message by the notification it belongs to and its id within that
+ * notification.
+ *
+ * @author Jon Freer
+ */
+public final class MessageKey {
+
+  private final UUID notificationUUID;
+  private final Integer messageID;
+
+  /**
+   * Constructs a new {@link MessageKey}.
+   *
+   * @param notificationUUID The universally unique identifier of the notification that the message
+   *     belongs to.
+   * @param messageID The id of the message within its notification.
+   */
+  public MessageKey(UUID notificationUUID, Integer messageID) {
+    if (notificationUUID == null) {
+      throw new IllegalArgumentException("The argument 'notificationUUID' cannot be null.");
+    }
+    if (messageID == null) {
+      throw new IllegalArgumentException("The argument 'messageID' cannot be null.");
+    }
+    this.notificationUUID = notificationUUID;
+    this.messageID = messageID;
+  }
+
+  /**
+   * Retrieves the universally unique identifier of the notification that the message belongs to.
+   *
+   * @return The universally unique identifier of the owning notification.
+   */
+  public UUID getNotificationUUID() {
+    return this.notificationUUID;
+  }
+
+  /**
+   * Retrieves the id of the message within its notification.
+   *
+   * @return The id of the message.
+   */
+  public Integer getMessageID() {
+    return this.messageID;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || obj.getClass() != this.getClass()) {
+      return false;
+    }
+    MessageKey key = (MessageKey) obj;
+    return this.notificationUUID.equals(key.notificationUUID)
+        && this.messageID.equals(key.messageID);
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 1;
+    final int prime = 17;
+    hashCode = hashCode * prime + this.notificationUUID.hashCode();
+    hashCode = hashCode * prime + this.messageID.hashCode();
+    return hashCode;
+  }
+}
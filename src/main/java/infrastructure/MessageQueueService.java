@@ -1,10 +1,26 @@
 package infrastructure;
 
+import domain.Message;
 import domain.Notification;
+import java.util.Collection;
+import java.util.Map;
 import org.jvnet.hk2.annotations.Contract;
 
 @Contract
 public interface MessageQueueService {
 
   void send(Notification notification, Integer messageID) throws Exception;
+
+  /**
+   * Enqueues the provided messages of a notification. Every message is handed to the queue before
+   * any of them is awaited, and all of them are awaited against a single deadline.
+   *
+   * @param notification The notification the messages belong to.
+   * @param messages The messages to enqueue.
+   * @return The reason each message that could not be enqueued failed, keyed by the identifier of
+   *     the message. Messages absent from the result were enqueued.
+   * @throws InterruptedException if interrupted while awaiting the messages.
+   */
+  Map<Integer, Exception> sendAll(Notification notification, Collection<Message> messages)
+      throws InterruptedException;
 }
@@ -0,0 +1,33 @@
+package infrastructure;
+
+import domain.Message;
+import java.util.UUID;
+
+/**
+ * Responsible for persisting changes to individual messages without retrieving or persisting the
+ * rest of the notification they belong to.
+ *
+ * @author Jon Freer
+ */
+public interface MessageRepository {
+
+  /**
+   * Replaces the status and external identifier of the message provided. The status of the
+   * notification the message belongs to is updated to reflect the change.
+   *
+   * @param notificationUUID The universally unique identifier of the notification that the message
+   *     belongs to.
+   * @param message The message, identified by its id, with its desired status and external id.
+   * @return {@code true} if the message was replaced; {@code false} if no such message exists.
+   */
+  boolean replace(UUID notificationUUID, Message message);
+
+  /**
+   * Retrieves the key of the message that was assigned the provided external identifier by the
+   * provider that sent it. The notification the message belongs to is not retrieved.
+   *
+   * @param externalMessageID The identifier assigned to the message by its provider.
+   * @return The key of the matching message, or {@code null} if no message matches.
+   */
+  MessageKey findByExternalMessageId(String externalMessageID);
+}
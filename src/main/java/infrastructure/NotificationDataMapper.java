@@ -1,9 +1,17 @@
 package infrastructure;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import domain.Audience;
 import domain.EntitySQLFactory;
 import domain.Message;
+import domain.MessageStatus;
+import domain.MessageStatusTally;
 import domain.Notification;
+import domain.NotificationBuilder;
+import domain.NotificationStatus;
+import domain.StaleAggregateException;
 import domain.Target;
 import infrastructure.query.Query;
 import java.sql.Connection;
@@ -12,61 +20,170 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.inject.Named;
 import org.slf4j.Logger;
 
 public final class NotificationDataMapper extends DataMapper<Notification> {
 
+  private static final NotificationMetadata notificationMetadata = new NotificationMetadata();
+  private static final MessageMetadata messageMetadata = new MessageMetadata();
+  private static final TargetMetadata targetMetadata = new TargetMetadata();
+  private static final AudienceMetadata audienceMetadata = new AudienceMetadata();
+
+  // the number of messages of a notification in each status, from which its status follows.
+  private static final List<String> MESSAGE_TALLY_COLUMN_NAMES =
+      Arrays.asList(
+          "MESSAGE_COUNT", "PENDING_MESSAGE_COUNT", "SENT_MESSAGE_COUNT", "FAILED_MESSAGE_COUNT");
+
+  // set while the members of the audiences of a notification are fanned out into messages.
+  private static final String FANOUT_PENDING_COLUMN_NAME = "FANOUT_PENDING";
+
+  // statements that do not vary between calls are built once, when the class is initialized.
+  private static final String FIND_MESSAGES_SQL = findMessagesSQL();
+  private static final String FIND_AUDIENCE_MEMBERS_SQL = findAudienceMembersSQL();
+  private static final String FIND_AUDIENCES_SQL = findAudiencesSQL();
+  private static final String FIND_RECIPIENTS_SQL = findRecipientsSQL();
+  private static final String FIND_NOTIFICATION_SQL = findNotificationSQL();
+  private static final String UPDATE_NOTIFICATION_SQL = updateNotificationSQL(false);
+  private static final String UPDATE_VERSIONED_NOTIFICATION_SQL = updateNotificationSQL(true);
+  private static final String UPDATE_MESSAGE_SQL = updateMessageSQL();
+  private static final String LOCK_MESSAGE_TALLY_SQL = lockMessageTallySQL();
+  private static final String LOCK_MESSAGE_STATUS_SQL = lockMessageStatusSQL();
+  private static final String UPDATE_MESSAGE_STATUS_SQL = updateMessageStatusSQL();
+  private static final String FIND_MESSAGE_KEY_SQL = findMessageKeySQL();
+  private static final String UPDATE_MESSAGE_TALLY_SQL = updateMessageTallySQL();
+  private static final String ADJUST_MESSAGE_TALLY_SQL = adjustMessageTallySQL();
+  private static final String DELETE_NOTIFICATION_SQL = deleteNotificationSQL();
+  private static final String DELETE_MESSAGES_SQL = deleteMessagesSQL();
+  private static final String DISSOCIATE_TARGET_SQL = dissociateTargetSQL();
+  private static final String DISSOCIATE_AUDIENCE_SQL = dissociateAudienceSQL();
+
+  // the statements of a page depend only on the shape of its query, since every value of the query,
+  // including the bounds of the page, is bound to a placeholder. each shape is compiled once and
+  // shared by every unit of work.
+  private static final int MAX_QUERY_SHAPES = 256;
+  private static final Cache<List<String>, PageStatements> PAGE_STATEMENTS =
+      CacheBuilder.newBuilder().maximumSize(MAX_QUERY_SHAPES).build();
+
   private final EntitySQLFactory<Notification, UUID> notificationFactory;
   private final EntitySQLFactory<Target, UUID> targetFactory;
   private final EntitySQLFactory<Audience, UUID> audienceFactory;
-  private final NotificationMetadata notificationMetadata;
-  private final MessageMetadata messageMetadata;
-  private final TargetMetadata targetMetadata;
-  private final AudienceMetadata audienceMetadata;
   private final Logger logger;
 
+  /** The statements that load a page of notifications for a single shape of query. */
+  private static final class PageStatements {
+    private final String notificationSQL;
+    private final String recipientsSQL;
+    private final String messagesSQL;
+    private final String audiencesSQL;
+    private final String audienceMembersSQL;
+
+    private PageStatements(
+        String notificationSQL,
+        String recipientsSQL,
+        String messagesSQL,
+        String audiencesSQL,
+        String audienceMembersSQL) {
+      this.notificationSQL = notificationSQL;
+      this.recipientsSQL = recipientsSQL;
+      this.messagesSQL = messagesSQL;
+      this.audiencesSQL = audiencesSQL;
+      this.audienceMembersSQL = audienceMembersSQL;
+    }
+  }
+
+  /** Binds the parameters of a statement that may be executed after the mapper has returned. */
+  @FunctionalInterface
+  private interface StatementBinder {
+    void bind(PreparedStatement statement) throws SQLException;
+  }
+
   NotificationDataMapper(
-      Connection connection,
+      Supplier<Connection> connection,
       EntitySQLFactory<Notification, UUID> notificationFactory,
       EntitySQLFactory<Target, UUID> targetFactory,
       EntitySQLFactory<Audience, UUID> audienceFactory,
+      int batchSize,
+      MetricRegistry metricRegistry,
+      UUIDCodec uuidCodec,
       @Named("infrastructure.NotificationDataMapper") Logger logger) {
-    super(connection);
+    super(connection, batchSize, metricRegistry, uuidCodec);
 
     this.notificationFactory = notificationFactory;
     this.targetFactory = targetFactory;
     this.audienceFactory = audienceFactory;
-    this.notificationMetadata = new NotificationMetadata();
-    this.messageMetadata = new MessageMetadata();
-    this.audienceMetadata = new AudienceMetadata();
-    this.targetMetadata = new TargetMetadata();
     this.logger = logger;
   }
 
-  private String findNotificationsSQL(String conditions, String orderBy, String skip, String take) {
+  /**
+   * Builds the statement retrieving the notifications of a page, along with their total when
+   * conditions are provided, as {@link DataMapper#selectPageSQL} does. It is built here because the
+   * notifications may be joined with their messages.
+   */
+  private String findNotificationsSQL(
+      String conditions, String seek, String orderBy, String skip, String take) {
+    String sql;
+    if (conditions != null) {
+      DataMap notificationDataMap = notificationMetadata.getDataMap();
+      String alias = notificationDataMap.getTableAlias();
+      StringBuilder sb =
+          new StringBuilder()
+              .append("SELECT ")
+              .append(alias)
+              .append(".* FROM (")
+              .append(this.filterNotificationsSQL(conditions, true))
+              .append(") AS ")
+              .append(alias);
+      sql = appendPageSQL(sb, false, seek, orderBy, skip, take).append(";").toString();
+    } else {
+      sql = this.selectNotificationsSQL(conditions, seek, orderBy, skip, take) + ";";
+    }
+    this.logger.debug(sql);
+    return sql;
+  }
 
-    DataMap notificationDataMap = this.notificationMetadata.getDataMap();
-    DataMap messageDataMap = this.messageMetadata.getDataMap();
+  private String selectNotificationsSQL(
+      String conditions, String seek, String orderBy, String skip, String take) {
+    StringBuilder sb = new StringBuilder(this.filterNotificationsSQL(conditions, false));
+    return appendPageSQL(sb, conditions != null, seek, orderBy, skip, take).toString();
+  }
+
+  private String filterNotificationsSQL(String conditions, boolean total) {
+
+    DataMap notificationDataMap = notificationMetadata.getDataMap();
+    DataMap messageDataMap = messageMetadata.getDataMap();
 
     List<String> columnNames = notificationDataMap.getAllColumnNamesWithAliases();
     String columns = String.join(", ", columnNames);
 
-    StringBuilder sb =
-        new StringBuilder()
-            .append("SELECT ")
-            .append(columns)
-            .append(" FROM ")
-            .append(notificationDataMap.getTableName())
-            .append(" AS ")
-            .append(notificationDataMap.getTableAlias());
-
-    if (conditions != null) {
+    StringBuilder sb = new StringBuilder().append("SELECT ").append(columns);
+    if (total) {
+      sb.append(", COUNT(*) OVER () AS TOTAL");
+    }
+    sb.append(" FROM ")
+        .append(notificationDataMap.getTableName())
+        .append(" AS ")
+        .append(notificationDataMap.getTableAlias());
+
+    // messages are only joined when filtered on; the join yields a row per message otherwise.
+    boolean joinMessages =
+        conditions != null && conditions.contains(messageDataMap.getTableAlias() + ".");
+    if (joinMessages) {
       sb.append(" INNER JOIN ")
           .append(messageDataMap.getTableName())
           .append(" AS ")
@@ -77,33 +194,146 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
           .append(notificationDataMap.getColumnNameForField(NotificationMetadata.UUID))
           .append(" = ")
           .append(messageDataMap.getTableAlias())
-          .append(".notification_uuid")
-          .append(" WHERE ")
-          .append(conditions);
+          .append(".notification_uuid");
     }
 
-    if (orderBy != null) {
-      sb.append(" ORDER BY ").append(orderBy);
+    if (conditions != null) {
+      sb.append(" WHERE (").append(conditions).append(")");
     }
 
-    if (take != null) {
-      sb.append(" LIMIT ").append(take);
-    }
+    return sb.toString();
+  }
 
-    if (skip != null) {
-      sb.append(" OFFSET ").append(skip);
-    }
+  /**
+   * Builds a predicate restricting a notification UUID column to the notifications of a page. The
+   * page is wrapped in a derived table, which lets MySQL apply its LIMIT and OFFSET inside an IN
+   * subquery.
+   */
+  private String inPageSQL(String notificationUUIDColumn, String pageSQL) {
+    DataMap notificationDataMap = notificationMetadata.getDataMap();
+    return new StringBuilder()
+        .append(notificationUUIDColumn)
+        .append(" IN (SELECT PAGE.")
+        .append(notificationDataMap.getColumnNameForField(NotificationMetadata.UUID))
+        .append(" FROM (")
+        .append(pageSQL)
+        .append(") AS PAGE)")
+        .toString();
+  }
 
-    sb.append(";");
+  private String findMessagesForPageSQL(String pageSQL) {
+
+    DataMap messageDataMap = messageMetadata.getDataMap();
+
+    List<String> columnNames = messageDataMap.getAllColumnNamesWithAliases();
+    String columns = String.join(", ", columnNames);
+    String notificationUUIDColumn = messageDataMap.getTableAlias() + ".NOTIFICATION_UUID";
+
+    StringBuilder sb =
+        new StringBuilder()
+            .append("SELECT ")
+            .append(notificationUUIDColumn)
+            .append(", ")
+            .append(columns)
+            .append(" FROM ")
+            .append(messageDataMap.getTableName())
+            .append(" AS ")
+            .append(messageDataMap.getTableAlias())
+            .append(" WHERE ")
+            .append(this.inPageSQL(notificationUUIDColumn, pageSQL));
 
     String sql = sb.toString();
     this.logger.debug(sql);
     return sql;
   }
 
-  private String findMessagesSQL() {
+  private String findAudiencesForPageSQL(String pageSQL) {
+
+    DataMap audienceDataMap = audienceMetadata.getDataMap();
 
-    DataMap messageDataMap = this.messageMetadata.getDataMap();
+    List<String> columnNames = audienceDataMap.getAllColumnNamesWithAliases();
+    String columns = String.join(", ", columnNames);
+
+    StringBuilder sb =
+        new StringBuilder()
+            .append("SELECT NA.NOTIFICATION_UUID, ")
+            .append(columns)
+            .append(" FROM ")
+            .append(audienceDataMap.getTableName())
+            .append(" AS ")
+            .append(audienceDataMap.getTableAlias())
+            .append(" INNER JOIN NOTIFICATION_AUDIENCE AS NA ON NA.AUDIENCE_UUID = ")
+            .append(audienceDataMap.getTableAlias())
+            .append(".")
+            .append(audienceDataMap.getColumnNameForField(AudienceMetadata.UUID))
+            .append(" WHERE ")
+            .append(this.inPageSQL("NA.NOTIFICATION_UUID", pageSQL));
+
+    String sql = sb.toString();
+    this.logger.debug(sql);
+    return sql;
+  }
+
+  private String findAudienceMembersForPageSQL(String pageSQL) {
+
+    DataMap targetDataMap = targetMetadata.getDataMap();
+
+    List<String> columnNames = targetDataMap.getAllColumnNamesWithAliases();
+    String columns = String.join(", ", columnNames);
+
+    StringBuilder sb =
+        new StringBuilder()
+            .append("SELECT AT.AUDIENCE_UUID, ")
+            .append(columns)
+            .append(" FROM AUDIENCE_TARGET AS AT")
+            .append(" INNER JOIN ")
+            .append(targetDataMap.getTableName())
+            .append(" AS ")
+            .append(targetDataMap.getTableAlias())
+            .append(" ON AT.TARGET_UUID = ")
+            .append(targetDataMap.getTableAlias())
+            .append(".")
+            .append(targetDataMap.getColumnNameForField(TargetMetadata.UUID))
+            .append(" WHERE AT.AUDIENCE_UUID IN (")
+            .append("SELECT NA.AUDIENCE_UUID FROM NOTIFICATION_AUDIENCE AS NA WHERE ")
+            .append(this.inPageSQL("NA.NOTIFICATION_UUID", pageSQL))
+            .append(")");
+
+    String sql = sb.toString();
+    this.logger.debug(sql);
+    return sql;
+  }
+
+  private String findRecipientsForPageSQL(String pageSQL) {
+
+    DataMap targetDataMap = targetMetadata.getDataMap();
+
+    List<String> columnNames = targetDataMap.getAllColumnNamesWithAliases();
+    String columns = String.join(", ", columnNames);
+
+    StringBuilder sb =
+        new StringBuilder()
+            .append("SELECT NT.NOTIFICATION_UUID, ")
+            .append(columns)
+            .append(" FROM ")
+            .append(targetDataMap.getTableName())
+            .append(" AS ")
+            .append(targetDataMap.getTableAlias())
+            .append(" INNER JOIN NOTIFICATION_TARGET AS NT ON NT.TARGET_UUID = ")
+            .append(targetDataMap.getTableAlias())
+            .append(".")
+            .append(targetDataMap.getColumnNameForField(TargetMetadata.UUID))
+            .append(" WHERE ")
+            .append(this.inPageSQL("NT.NOTIFICATION_UUID", pageSQL));
+
+    String sql = sb.toString();
+    this.logger.debug(sql);
+    return sql;
+  }
+
+  private static String findMessagesSQL() {
+
+    DataMap messageDataMap = messageMetadata.getDataMap();
 
     List<String> columnNames = messageDataMap.getAllColumnNamesWithAliases();
     String columns = String.join(", ", columnNames);
@@ -121,13 +351,12 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
             .append(".notification_uuid = ?");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String findAudienceMembersSQL() {
+  private static String findAudienceMembersSQL() {
 
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
+    DataMap targetDataMap = targetMetadata.getDataMap();
 
     List<String> columnNames = targetDataMap.getAllColumnNamesWithAliases();
     String columns = String.join(", ", columnNames);
@@ -138,7 +367,7 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
             .append("AT.AUDIENCE_UUID, ")
             .append(columns)
             .append(" FROM (")
-            .append(this.findAudiencesSQL())
+            .append(findAudiencesSQL())
             .append(") AS AUDIENCES")
             .append(" INNER JOIN AUDIENCE_TARGET AS AT ON AUDIENCES.UUID = AT.AUDIENCE_UUID")
             .append(" INNER JOIN ")
@@ -151,13 +380,12 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
             .append(targetDataMap.getColumnNameForField(TargetMetadata.UUID));
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String findAudiencesSQL() {
+  private static String findAudiencesSQL() {
 
-    DataMap audienceDataMap = this.audienceMetadata.getDataMap();
+    DataMap audienceDataMap = audienceMetadata.getDataMap();
 
     List<String> columnNames = audienceDataMap.getAllColumnNamesWithAliases();
     String columns = String.join(", ", columnNames);
@@ -177,13 +405,12 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
             .append(" WHERE NA.NOTIFICATION_UUID = ?");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String findRecipientsSQL() {
+  private static String findRecipientsSQL() {
 
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
+    DataMap targetDataMap = targetMetadata.getDataMap();
 
     List<String> columnNames = targetDataMap.getAllColumnNamesWithAliases();
     String columns = String.join(", ", columnNames);
@@ -202,13 +429,12 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
             .append(targetDataMap.getColumnNameForField(TargetMetadata.UUID))
             .append(" WHERE NT.NOTIFICATION_UUID = ?");
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String findNotificationSQL() {
+  private static String findNotificationSQL() {
 
-    DataMap notificationDataMap = this.notificationMetadata.getDataMap();
+    DataMap notificationDataMap = notificationMetadata.getDataMap();
 
     List<String> columnNames = notificationDataMap.getAllColumnNamesWithAliases();
     String columns = String.join(", ", columnNames);
@@ -227,13 +453,13 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
             .append(notificationDataMap.getColumnNameForField(NotificationMetadata.UUID))
             .append(" = ?");
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String updateNotificationSQL() {
+  private static String updateNotificationSQL(boolean versioned) {
 
-    DataMap notificationDataMap = this.notificationMetadata.getDataMap();
+    DataMap notificationDataMap = notificationMetadata.getDataMap();
+    String versionColumn = notificationDataMap.getColumnNameForField(NotificationMetadata.VERSION);
 
     StringBuilder sb =
         new StringBuilder()
@@ -247,33 +473,23 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
             .append(notificationDataMap.getColumnNameForField(NotificationMetadata.SENT_AT))
             .append(" = ?, ")
             .append(notificationDataMap.getColumnNameForField(NotificationMetadata.SEND_AT))
-            .append(" = ?")
+            .append(" = ?, ")
+            .append(versionColumn)
+            .append(" = ")
+            .append(versionColumn)
+            .append(" + 1")
             .append(" WHERE ")
             .append(notificationDataMap.getColumnNameForField(NotificationMetadata.UUID))
             .append(" = ?");
+    if (versioned) {
+      sb.append(" AND ").append(versionColumn).append(" = ?");
+    }
     String sql = sb.toString();
-    this.logger.debug(sql);
-    return sql;
-  }
-
-  private String insertNotificationSQL() {
-    DataMap notificationDataMap = this.notificationMetadata.getDataMap();
-    String sql = this.insertSQL(1, notificationDataMap);
-    this.logger.debug(sql);
-    return sql;
-  }
-
-  private String insertMessageSQL() {
-    DataMap messageDataMap = this.messageMetadata.getDataMap();
-    List<String> columnNames = messageDataMap.getAllColumnNames();
-    columnNames.add("NOTIFICATION_UUID");
-    String sql = this.insertSQL(1, messageDataMap.getTableName(), columnNames);
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String updateMessageSQL() {
-    DataMap messageDataMap = this.messageMetadata.getDataMap();
+  private static String updateMessageSQL() {
+    DataMap messageDataMap = messageMetadata.getDataMap();
     StringBuilder sb =
         new StringBuilder()
             .append("UPDATE ")
@@ -294,195 +510,277 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
             .append(" = ? AND NOTIFICATION_UUID = ?");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String insertMessagesSQL(int numberOfMessages) {
-    DataMap messageDataMap = this.messageMetadata.getDataMap();
-    String sql = this.insertSQL(numberOfMessages, messageDataMap);
-    this.logger.debug(sql);
+  private static String lockMessageTallySQL() {
+    DataMap notificationDataMap = notificationMetadata.getDataMap();
+    StringBuilder sb =
+        new StringBuilder()
+            .append("SELECT ")
+            .append(notificationDataMap.getColumnNameForField(NotificationMetadata.STATUS))
+            .append(", ")
+            .append(String.join(", ", MESSAGE_TALLY_COLUMN_NAMES))
+            .append(" FROM ")
+            .append(notificationDataMap.getTableName())
+            .append(" WHERE ")
+            .append(notificationDataMap.getColumnNameForField(NotificationMetadata.UUID))
+            .append(" = ? FOR UPDATE");
+    String sql = sb.toString();
     return sql;
   }
 
-  private String deleteMessagesSQL(int numberOfMessages) {
-    DataMap messageDataMap = this.messageMetadata.getDataMap();
-    String matchCriteria =
+  private static String lockMessageStatusSQL() {
+    DataMap messageDataMap = messageMetadata.getDataMap();
+    StringBuilder sb =
         new StringBuilder()
-            .append(messageDataMap.getTableAlias())
-            .append(".")
+            .append("SELECT ")
+            .append(messageDataMap.getColumnNameForField(MessageMetadata.STATUS))
+            .append(" FROM ")
+            .append(messageDataMap.getTableName())
+            .append(" WHERE ")
             .append(messageDataMap.getColumnNameForField(MessageMetadata.ID))
-            .append(" = ?)")
-            .toString();
-    String sql = this.deleteSQL(numberOfMessages, messageDataMap, matchCriteria);
-    this.logger.debug(sql);
+            .append(" = ? AND NOTIFICATION_UUID = ? FOR UPDATE");
+    String sql = sb.toString();
     return sql;
   }
 
-  private String associateTargetSQL() {
-    return this.associateTargetsSQL(1);
-  }
-
-  private String associateTargetsSQL(int numberOfTargets) {
-    List<String> columns = new ArrayList<>();
-    columns.add("NOTIFICATION_UUID");
-    columns.add("TARGET_UUID");
-    String tableName = "NOTIFICATION_TARGET";
-    String sql = this.insertSQL(numberOfTargets, tableName, columns);
-    this.logger.debug(sql);
+  private static String updateMessageStatusSQL() {
+    DataMap messageDataMap = messageMetadata.getDataMap();
+    StringBuilder sb =
+        new StringBuilder()
+            .append("UPDATE ")
+            .append(messageDataMap.getTableName())
+            .append(" SET ")
+            .append(messageDataMap.getColumnNameForField(MessageMetadata.EXTERNAL_ID))
+            .append(" = ?, ")
+            .append(messageDataMap.getColumnNameForField(MessageMetadata.STATUS))
+            .append(" = ?")
+            .append(" WHERE ")
+            .append(messageDataMap.getColumnNameForField(MessageMetadata.ID))
+            .append(" = ? AND NOTIFICATION_UUID = ?");
+    String sql = sb.toString();
     return sql;
   }
 
-  private String disassociateTargetsSQL(int numberOfTargets) {
-    String tableName = "NOTIFICATION_TARGET";
-    String matchCriteria = "NOTIFICATION_UUID = ? AND NOTIFICATION_TARGET = ?";
-    return this.deleteSQL(numberOfTargets, tableName, matchCriteria);
-  }
-
-  private String associateAudienceSQL() {
-    return this.associateAudiencesSQL(1);
+  private static String findMessageKeySQL() {
+    DataMap messageDataMap = messageMetadata.getDataMap();
+    StringBuilder sb =
+        new StringBuilder()
+            .append("SELECT NOTIFICATION_UUID, ")
+            .append(messageDataMap.getColumnNameForField(MessageMetadata.ID))
+            .append(" FROM ")
+            .append(messageDataMap.getTableName())
+            .append(" WHERE ")
+            .append(messageDataMap.getColumnNameForField(MessageMetadata.EXTERNAL_ID))
+            .append(" = ? LIMIT 1");
+    String sql = sb.toString();
+    return sql;
   }
 
-  private String associateAudiencesSQL(int numberOfAudiences) {
-    List<String> columns = new ArrayList<>();
-    columns.add("NOTIFICATION_UUID");
-    columns.add("AUDIENCE_UUID");
-    String tableName = "NOTIFICATION_AUDIENCE";
-    String sql = this.insertSQL(numberOfAudiences, tableName, columns);
-    this.logger.debug(sql);
+  private static String updateMessageTallySQL() {
+    DataMap notificationDataMap = notificationMetadata.getDataMap();
+    StringBuilder sb =
+        new StringBuilder()
+            .append("UPDATE ")
+            .append(notificationDataMap.getTableName())
+            .append(" SET ")
+            .append(notificationDataMap.getColumnNameForField(NotificationMetadata.STATUS))
+            .append(" = ?, ")
+            .append(String.join(" = ?, ", MESSAGE_TALLY_COLUMN_NAMES))
+            .append(" = ? WHERE ")
+            .append(notificationDataMap.getColumnNameForField(NotificationMetadata.UUID))
+            .append(" = ?");
+    String sql = sb.toString();
     return sql;
   }
 
-  private String disassociateAudiencesSQL(int numberOfAudiences) {
-    String tableName = "NOTIFICATION_AUDIENCE";
-    String matchCriteria = "NOTIFICATION_UUID = ? AND AUDIENCE_UUID = ?";
-    String sql = this.deleteSQL(numberOfAudiences, tableName, matchCriteria);
-    this.logger.debug(sql);
+  private static String adjustMessageTallySQL() {
+    DataMap notificationDataMap = notificationMetadata.getDataMap();
+    List<String> adjustments = new ArrayList<>();
+    for (String columnName : MESSAGE_TALLY_COLUMN_NAMES) {
+      adjustments.add(String.format("%s = %s + ?", columnName, columnName));
+    }
+    StringBuilder sb =
+        new StringBuilder()
+            .append("UPDATE ")
+            .append(notificationDataMap.getTableName())
+            .append(" SET ")
+            .append(String.join(", ", adjustments))
+            .append(" WHERE ")
+            .append(notificationDataMap.getColumnNameForField(NotificationMetadata.UUID))
+            .append(" = ?");
+    String sql = sb.toString();
     return sql;
   }
 
-  private String deleteNotificationSQL() {
-    DataMap notificationDataMap = this.notificationMetadata.getDataMap();
+  private static String deleteNotificationSQL() {
+    DataMap notificationDataMap = notificationMetadata.getDataMap();
     String matchCriteria =
         new StringBuilder()
             .append(notificationDataMap.getColumnNameForField(NotificationMetadata.UUID))
             .append(" = ?")
             .toString();
 
-    String sql = this.deleteSQL(1, notificationDataMap, matchCriteria);
-    this.logger.debug(sql);
+    String sql = deleteSQL(1, notificationDataMap, matchCriteria);
     return sql;
   }
 
-  private String deleteMessagesSQL() {
-    DataMap messageDataMap = this.messageMetadata.getDataMap();
+  private static String deleteMessagesSQL() {
+    DataMap messageDataMap = messageMetadata.getDataMap();
     String matchCriteria = "NOTIFICATION_UUID = ?";
-    String sql = this.deleteSQL(1, messageDataMap, matchCriteria);
-    this.logger.debug(sql);
+    String sql = deleteSQL(1, messageDataMap, matchCriteria);
     return sql;
   }
 
-  private String dissociateTargetSQL() {
+  private static String dissociateTargetSQL() {
     String tableName = "NOTIFICATION_TARGET";
     String matchCriteria = "NOTIFICATION_UUID = ?";
-    String sql = this.deleteSQL(1, tableName, matchCriteria);
-    this.logger.debug(sql);
+    String sql = deleteSQL(1, tableName, matchCriteria);
     return sql;
   }
 
-  private String dissociateAudienceSQL() {
+  private static String dissociateAudienceSQL() {
     String tableName = "NOTIFICATION_AUDIENCE";
     String matchCriteria = "NOTIFICATION_UUID = ?";
-    String sql = this.deleteSQL(1, tableName, matchCriteria);
-    this.logger.debug(sql);
-    return sql;
-  }
-
-  private String countNotificationsSQL() {
-    DataMap notificationDataMap = this.notificationMetadata.getDataMap();
-    StringBuilder sb =
-        new StringBuilder()
-            .append("SELECT ")
-            .append("COUNT(*) ")
-            .append("FROM ")
-            .append(notificationDataMap.getTableName())
-            .append(" AS ")
-            .append(notificationDataMap.getTableAlias());
-    String sql = sb.toString();
-    this.logger.debug(sql);
+    String sql = deleteSQL(1, tableName, matchCriteria);
     return sql;
   }
 
+  /**
+   * Finds the page of notifications matching the provided criteria. The page is loaded with a fixed
+   * number of statements regardless of its size: one for the notifications themselves and one per
+   * child table, each restricted to the notifications of the page.
+   *
+   * <p>When conditions are provided, the number of notifications matching them is read from the
+   * same statement as the page and reported to {@code total}. It is not reported when the page is
+   * empty but other notifications precede it, since no row carries the total then.
+   */
   public Set<Notification> find(
-      String conditions, String orderBy, String skip, String take, List<Query.QueryArgument> args) {
-
-    // define SQL.
-    String notificationSQL = this.findNotificationsSQL(conditions, orderBy, skip, take);
-    String messagesSQL = this.findMessagesSQL();
-    String audiencesSQL = this.findAudiencesSQL();
-    String recipientsSQL = this.findRecipientsSQL();
-    String audienceMembersSQL = this.findAudienceMembersSQL();
-
-    Set<Notification> notifications = new HashSet<>();
-
-    // find all matching notifications.
-    try (PreparedStatement notificationsStatement =
-        this.getConnection().prepareStatement(notificationSQL)) {
+      String conditions,
+      String seek,
+      String orderBy,
+      String skip,
+      String take,
+      List<Query.QueryArgument> args,
+      Consumer<Integer> total) {
+
+    // define SQL; the shape only records whether the page is bounded, never by how much.
+    String skipped = skip == null ? null : "?";
+    String taken = take == null ? null : "?";
+    List<String> shape = Arrays.asList(conditions, seek, orderBy, skipped, taken);
+    PageStatements statements = PAGE_STATEMENTS.getIfPresent(shape);
+    if (statements != null) {
+      this.getMetricRegistry()
+          .counter(MetricRegistry.name(NotificationDataMapper.class, "page-statements", "hits"))
+          .inc();
+    } else {
+      statements = PAGE_STATEMENTS.asMap().computeIfAbsent(shape, this::compilePageStatements);
+    }
+    String notificationSQL = statements.notificationSQL;
+    String recipientsSQL = statements.recipientsSQL;
+    String messagesSQL = statements.messagesSQL;
+    String audiencesSQL = statements.audiencesSQL;
+    String audienceMembersSQL = statements.audienceMembersSQL;
+
+    // find all matching notifications along with their children.
+    try (final PreparedStatement notificationsStatement =
+            this.getConnection()
+                .prepareStatement(
+                    notificationSQL, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        final PreparedStatement getTargetsStatement =
+            this.getConnection().prepareStatement(recipientsSQL);
+        final PreparedStatement getMessagesStatement =
+            this.getConnection().prepareStatement(messagesSQL);
+        final PreparedStatement getAudiencesStatement =
+            this.getConnection().prepareStatement(audiencesSQL)) {
 
+      // the page query is the only parameterized part of each statement.
       for (Query.QueryArgument arg : args) {
-        notificationsStatement.setObject(arg.getIndex(), arg.getValue(), arg.getType());
+        this.bind(notificationsStatement, arg);
+        this.bind(getTargetsStatement, arg);
+        this.bind(getMessagesStatement, arg);
+        this.bind(getAudiencesStatement, arg);
       }
 
-      try (ResultSet notificationRS = notificationsStatement.executeQuery()) {
-        while (notificationRS.next()) {
-          String uuidString =
-              notificationRS.getString(
-                  this.notificationMetadata
-                      .getDataMap()
-                      .getColumnNameForField(NotificationMetadata.UUID));
-          UUID uuid = UUID.fromString(uuidString);
-
-          try (final PreparedStatement getTargetsStatement =
-                  this.getConnection().prepareStatement(recipientsSQL);
-              final PreparedStatement getMessagesStatement =
-                  this.getConnection().prepareStatement(messagesSQL);
-              final PreparedStatement getAudiencesStatement =
-                  this.getConnection().prepareStatement(audiencesSQL);
-              final PreparedStatement getAudienceMembersStatement =
-                  this.getConnection().prepareStatement(audienceMembersSQL)) {
-
-            getTargetsStatement.setString(1, uuid.toString());
-            getMessagesStatement.setString(1, uuid.toString());
-            getAudiencesStatement.setString(1, uuid.toString());
-            getAudienceMembersStatement.setString(1, uuid.toString());
-
-            try (final ResultSet targetsRS = getTargetsStatement.executeQuery();
-                final ResultSet messagesRS = getMessagesStatement.executeQuery();
-                final ResultSet audiencesRS = getAudiencesStatement.executeQuery();
-                final ResultSet membersRS = getAudienceMembersStatement.executeQuery()) {
-              Notification notification =
-                  this.notificationFactory.reconstitute(
-                      notificationRS, targetsRS, messagesRS, audiencesRS, membersRS);
-              notifications.add(notification);
-            }
-          }
+      Set<Notification> notifications;
+      try (final ResultSet notificationRS = notificationsStatement.executeQuery();
+          final ResultSet targetsRS = getTargetsStatement.executeQuery();
+          final ResultSet messagesRS = getMessagesStatement.executeQuery();
+          final ResultSet audiencesRS = getAudiencesStatement.executeQuery()) {
+
+        if (conditions != null) {
+          readTotal(notificationRS, seek, skip, total);
         }
+        notifications =
+            this.notificationFactory.reconstituteAll(
+                notificationRS, targetsRS, messagesRS, audiencesRS);
       }
+
+      this.deferAudienceMembers(
+          notifications,
+          audienceMembersSQL,
+          (statement) -> {
+            for (Query.QueryArgument arg : args) {
+              this.bind(statement, arg);
+            }
+          });
       return notifications;
     } catch (SQLException x) {
       throw new RuntimeException(x);
     }
   }
 
+  /** Compiles the statements loading a page for the provided shape of query. */
+  private PageStatements compilePageStatements(List<String> shape) {
+    String conditions = shape.get(0);
+    String seek = shape.get(1);
+    String orderBy = shape.get(2);
+    String skip = shape.get(3);
+    String take = shape.get(4);
+
+    String pageSQL = this.selectNotificationsSQL(conditions, seek, orderBy, skip, take);
+    this.getMetricRegistry()
+        .counter(
+            MetricRegistry.name(NotificationDataMapper.class, "page-statements", "compilations"))
+        .inc();
+    this.logger.debug("Compiled page statements: {}", pageSQL);
+    return new PageStatements(
+        this.findNotificationsSQL(conditions, seek, orderBy, skip, take),
+        this.findRecipientsForPageSQL(pageSQL),
+        this.findMessagesForPageSQL(pageSQL),
+        this.findAudiencesForPageSQL(pageSQL),
+        this.findAudienceMembersForPageSQL(pageSQL));
+  }
+
+  /**
+   * Finds the notification with the universally unique identifier provided. The members of its
+   * audiences are loaded the first time they are used.
+   *
+   * @param uuid The universally unique identifier of the notification.
+   * @return The notification, or {@code null} if it does not exist.
+   */
   @Override
   public Notification find(final UUID uuid) {
+    return this.find(uuid, false);
+  }
+
+  /**
+   * Finds the notification with the universally unique identifier provided.
+   *
+   * @param uuid The universally unique identifier of the notification.
+   * @param eager {@code true} to load the members of its audiences along with the notification;
+   *     {@code false} to load them the first time they are used.
+   * @return The notification, or {@code null} if it does not exist.
+   */
+  public Notification find(final UUID uuid, final boolean eager) {
 
     // define SQL.
-    String notificationSQL = this.findNotificationSQL();
-    String messagesSQL = this.findMessagesSQL();
-    String audiencesSQL = this.findAudiencesSQL();
-    String recipientsSQL = this.findRecipientsSQL();
-    String audienceMembersSQL = this.findAudienceMembersSQL();
+    String notificationSQL = FIND_NOTIFICATION_SQL;
+    String messagesSQL = FIND_MESSAGES_SQL;
+    String audiencesSQL = FIND_AUDIENCES_SQL;
+    String recipientsSQL = FIND_RECIPIENTS_SQL;
+    String audienceMembersSQL = FIND_AUDIENCE_MEMBERS_SQL;
 
     Notification notification = null;
 
@@ -494,113 +792,302 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
         final PreparedStatement getMessagesStatement =
             this.getConnection().prepareStatement(messagesSQL);
         final PreparedStatement getAudiencesStatement =
-            this.getConnection().prepareStatement(audiencesSQL);
-        final PreparedStatement getAudienceMembersStatement =
-            this.getConnection().prepareStatement(audienceMembersSQL)) {
+            this.getConnection().prepareStatement(audiencesSQL)) {
 
       int index = 1;
-      getNotificationStatement.setString(index, uuid.toString());
-      getTargetsStatement.setString(index, uuid.toString());
-      getMessagesStatement.setString(index, uuid.toString());
-      getAudiencesStatement.setString(index, uuid.toString());
-      getAudienceMembersStatement.setString(index, uuid.toString());
+      this.getUUIDCodec().bind(getNotificationStatement, index, uuid);
+      this.getUUIDCodec().bind(getTargetsStatement, index, uuid);
+      this.getUUIDCodec().bind(getMessagesStatement, index, uuid);
+      this.getUUIDCodec().bind(getAudiencesStatement, index, uuid);
 
       try (final ResultSet notificationRS = getNotificationStatement.executeQuery();
           final ResultSet targetsRS = getTargetsStatement.executeQuery();
           final ResultSet messagesRS = getMessagesStatement.executeQuery();
-          final ResultSet audiencesRS = getAudiencesStatement.executeQuery();
-          final ResultSet membersRS = getAudienceMembersStatement.executeQuery()) {
+          final ResultSet audiencesRS = getAudiencesStatement.executeQuery()) {
 
         if (notificationRS.next()) {
           notification =
               this.notificationFactory.reconstitute(
-                  notificationRS, targetsRS, messagesRS, audiencesRS, membersRS);
+                  notificationRS, targetsRS, messagesRS, audiencesRS);
         }
       }
-      return notification;
     } catch (SQLException x) {
       throw new RuntimeException(x);
     }
-  }
 
-  @Override
-  public void insert(final Notification notification) {
+    if (notification == null || notification.audiences().isEmpty()) {
+      return notification;
+    }
 
-    final String notificationSQL = this.insertNotificationSQL();
-    final String associateTargetSQL = this.associateTargetSQL();
-    final String messageSQL = this.insertMessageSQL();
-    final String associateAudienceSQL = this.associateAudienceSQL();
+    StatementBinder binder = (statement) -> this.getUUIDCodec().bind(statement, 1, uuid);
+    if (eager) {
+      Map<UUID, Set<Target>> members = this.findAudienceMembers(audienceMembersSQL, binder);
+      this.attachAudienceMembers(
+          Collections.singleton(notification),
+          (audienceUUID) -> new HashSet<>(members.getOrDefault(audienceUUID, new HashSet<>())));
+    } else {
+      this.deferAudienceMembers(Collections.singleton(notification), audienceMembersSQL, binder);
+    }
+    return notification;
+  }
 
-    try (final PreparedStatement createNotificationStatement =
-        this.getConnection().prepareStatement(notificationSQL)) {
-      int index = 0;
-      createNotificationStatement.setString(++index, notification.getId().toString());
-      createNotificationStatement.setString(++index, notification.content());
-      createNotificationStatement.setString(++index, notification.status().toString());
+  /**
+   * Defers loading the members of the audiences of the provided notifications until the members of
+   * one of those audiences are first used. The members of every audience are then loaded together.
+   */
+  private void deferAudienceMembers(
+      Collection<Notification> notifications, String membersSQL, StatementBinder binder) {
+    Lazy<Map<UUID, Set<Target>>> members =
+        new Lazy<>(() -> this.findAudienceMembers(membersSQL, binder));
+    this.attachAudienceMembers(
+        notifications,
+        (audienceUUID) ->
+            new LazySet<>(
+                () -> new HashSet<>(members.get().getOrDefault(audienceUUID, new HashSet<>()))));
+  }
 
-      if (notification.sendAt() != null) {
-        createNotificationStatement.setTimestamp(
-            ++index, new Timestamp(notification.sendAt().getTime()));
-      } else {
-        createNotificationStatement.setNull(++index, Types.TIMESTAMP);
+  private void attachAudienceMembers(
+      Collection<Notification> notifications, Function<UUID, Set<Target>> membersOfAudience) {
+    for (Notification notification : notifications) {
+      Set<Audience> audiences = new HashSet<>();
+      for (Audience audience : notification.audiences()) {
+        audiences.add(
+            new Audience(
+                audience.getId(), audience.name(), membersOfAudience.apply(audience.getId())));
       }
+      notification.audiences(audiences);
+    }
+  }
 
-      if (notification.sentAt() != null) {
-        createNotificationStatement.setTimestamp(
-            ++index, new Timestamp(notification.sentAt().getTime()));
-      } else {
-        createNotificationStatement.setNull(++index, Types.TIMESTAMP);
+  private Map<UUID, Set<Target>> findAudienceMembers(String membersSQL, StatementBinder binder) {
+    try (final PreparedStatement statement = this.getConnection().prepareStatement(membersSQL)) {
+      binder.bind(statement);
+      Map<UUID, Set<Target>> members = new HashMap<>();
+      try (final ResultSet results = statement.executeQuery()) {
+        while (results.next()) {
+          UUID audienceUUID = UUIDCodec.read(results, "AUDIENCE_UUID");
+          Target member = this.targetFactory.reconstitute(results);
+          members.computeIfAbsent(audienceUUID, (k) -> new HashSet<>()).add(member);
+        }
       }
+      return members;
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
 
-      createNotificationStatement.executeUpdate();
+  @Override
+  public void insert(final Notification notification) {
+    this.insertAll(Collections.singletonList(notification));
+  }
 
+  @Override
+  public void insertAll(final Collection<Notification> notifications) {
+
+    DataMap notificationDataMap = notificationMetadata.getDataMap();
+
+    // the tally of a new notification is known up front, so it is written with the row itself.
+    List<String> columnNames = notificationDataMap.getAllColumnNames();
+    columnNames.addAll(MESSAGE_TALLY_COLUMN_NAMES);
+    columnNames.add(FANOUT_PENDING_COLUMN_NAME);
+
+    try {
+      this.insertRows(
+          notificationDataMap.getTableName(),
+          columnNames,
+          notifications,
+          (statement, index, notification) -> {
+            this.getUUIDCodec().bind(statement, ++index, notification.getId());
+            statement.setString(++index, notification.content());
+            statement.setString(++index, notification.status().toString());
+
+            if (notification.sendAt() != null) {
+              statement.setTimestamp(++index, new Timestamp(notification.sendAt().getTime()));
+            } else {
+              statement.setNull(++index, Types.TIMESTAMP);
+            }
+
+            if (notification.sentAt() != null) {
+              statement.setTimestamp(++index, new Timestamp(notification.sentAt().getTime()));
+            } else {
+              statement.setNull(++index, Types.TIMESTAMP);
+            }
+            statement.setInt(++index, INITIAL_VERSION);
+
+            MessageStatusTally tally = MessageStatusTally.of(notification.messages());
+            statement.setInt(++index, tally.total());
+            statement.setInt(++index, tally.pending());
+            statement.setInt(++index, tally.sent());
+            statement.setInt(++index, tally.failed());
+
+            // the messages of the members are written by the fan-out once this row is committed.
+            statement.setBoolean(++index, !notification.audiences().isEmpty());
+            return index;
+          });
+      this.insertChildren(notifications);
+      this.adjustCount(notificationDataMap.getTableName(), notifications.size());
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+
+    for (Notification notification : notifications) {
+      notification.setVersion(INITIAL_VERSION);
+    }
+  }
+
+  /**
+   * Inserts the target and audience associations and the messages of the provided notifications.
+   *
+   * @param notifications The notifications whose children are inserted.
+   * @throws SQLException if the children could not be inserted.
+   */
+  private void insertChildren(final Collection<Notification> notifications) throws SQLException {
+
+    // flatten the children of every notification so each table is written in as few batches as
+    // possible.
+    List<Map.Entry<UUID, UUID>> targetAssociations = new ArrayList<>();
+    List<Map.Entry<UUID, UUID>> audienceAssociations = new ArrayList<>();
+    List<Map.Entry<UUID, Message>> messages = new ArrayList<>();
+    for (Notification notification : notifications) {
       for (Target target : notification.directRecipients()) {
-        try (final PreparedStatement associateTargetStatement =
-            this.getConnection().prepareStatement(associateTargetSQL)) {
-          index = 0;
-          associateTargetStatement.setString(++index, notification.getId().toString());
-          associateTargetStatement.setString(++index, target.getId().toString());
-          associateTargetStatement.executeUpdate();
-        }
+        targetAssociations.add(new SimpleImmutableEntry<>(notification.getId(), target.getId()));
       }
-
       for (Audience audience : notification.audiences()) {
-        try (final PreparedStatement associateAudienceStatement =
-            this.getConnection().prepareStatement(associateAudienceSQL)) {
-          index = 0;
-          associateAudienceStatement.setString(++index, notification.getId().toString());
-          associateAudienceStatement.setString(++index, audience.getId().toString());
-          associateAudienceStatement.executeUpdate();
-        }
+        audienceAssociations.add(
+            new SimpleImmutableEntry<>(notification.getId(), audience.getId()));
       }
-
       for (Message message : notification.messages()) {
-        try (final PreparedStatement createMessageStatement =
-            this.getConnection().prepareStatement(messageSQL)) {
-          index = 0;
-          createMessageStatement.setInt(++index, message.getId());
-          createMessageStatement.setString(++index, message.getFrom().toE164());
-          createMessageStatement.setString(++index, message.getTo().toE164());
-          createMessageStatement.setString(++index, message.getContent());
-          createMessageStatement.setString(++index, message.getStatus().toString());
-          createMessageStatement.setString(++index, message.getExternalId());
-          createMessageStatement.setString(++index, notification.getId().toString());
-          createMessageStatement.executeUpdate();
-        }
+        messages.add(new SimpleImmutableEntry<>(notification.getId(), message));
       }
+    }
 
-    } catch (SQLException x) {
-      throw new RuntimeException(x);
+    this.insertRows(
+        "NOTIFICATION_TARGET",
+        Arrays.asList("NOTIFICATION_UUID", "TARGET_UUID"),
+        targetAssociations,
+        (statement, index, association) -> {
+          this.getUUIDCodec().bind(statement, ++index, association.getKey());
+          this.getUUIDCodec().bind(statement, ++index, association.getValue());
+          return index;
+        });
+
+    this.insertRows(
+        "NOTIFICATION_AUDIENCE",
+        Arrays.asList("NOTIFICATION_UUID", "AUDIENCE_UUID"),
+        audienceAssociations,
+        (statement, index, association) -> {
+          this.getUUIDCodec().bind(statement, ++index, association.getKey());
+          this.getUUIDCodec().bind(statement, ++index, association.getValue());
+          return index;
+        });
+
+    this.insertRows(
+        messageMetadata.getDataMap().getTableName(),
+        messageColumnNames(),
+        messages,
+        (statement, index, entry) ->
+            this.bindMessage(statement, index, entry.getKey(), entry.getValue()));
+  }
+
+  static List<String> messageColumnNames() {
+    List<String> messageColumnNames = messageMetadata.getDataMap().getAllColumnNames();
+    messageColumnNames.add("NOTIFICATION_UUID");
+    return messageColumnNames;
+  }
+
+  private int bindMessage(
+      PreparedStatement statement, int index, UUID notificationUUID, Message message)
+      throws SQLException {
+    statement.setInt(++index, message.getId());
+    statement.setString(++index, message.getFrom().toE164());
+    statement.setString(++index, message.getTo().toE164());
+    statement.setString(++index, message.getContent());
+    statement.setString(++index, message.getStatus().toString());
+    statement.setString(++index, message.getExternalId());
+    this.getUUIDCodec().bind(statement, ++index, notificationUUID);
+    return index;
+  }
+
+  private static boolean sameMessage(Message persisted, Message current) {
+    return Objects.equals(persisted.getFrom(), current.getFrom())
+        && Objects.equals(persisted.getTo(), current.getTo())
+        && Objects.equals(persisted.getContent(), current.getContent())
+        && persisted.getStatus() == current.getStatus()
+        && Objects.equals(persisted.getExternalId(), current.getExternalId());
+  }
+
+  /**
+   * Replaces the target and audience associations and the messages of the provided notification
+   * with the ones it currently holds.
+   *
+   * @param notification The notification whose children are replaced.
+   * @throws SQLException if the children could not be replaced.
+   */
+  private void replaceChildren(final Notification notification) throws SQLException {
+    try (final PreparedStatement deleteMessagesStatement =
+            this.getConnection().prepareStatement(DELETE_MESSAGES_SQL);
+        final PreparedStatement deleteTargetAssociationsStatement =
+            this.getConnection().prepareStatement(DISSOCIATE_TARGET_SQL);
+        final PreparedStatement deleteAudienceAssociationsStatement =
+            this.getConnection().prepareStatement(DISSOCIATE_AUDIENCE_SQL)) {
+
+      int index = 1;
+      this.getUUIDCodec().bind(deleteMessagesStatement, index, notification.getId());
+      deleteMessagesStatement.executeUpdate();
+
+      this.getUUIDCodec().bind(deleteTargetAssociationsStatement, index, notification.getId());
+      deleteTargetAssociationsStatement.executeUpdate();
+
+      this.getUUIDCodec().bind(deleteAudienceAssociationsStatement, index, notification.getId());
+      deleteAudienceAssociationsStatement.executeUpdate();
+    }
+    this.insertChildren(Collections.singletonList(notification));
+  }
+
+  @Override
+  public Notification snapshot(final Notification notification) {
+    // targets and audiences are diffed by membership only, so their elements are shared; messages
+    // are also compared field by field and are therefore copied.
+    return new NotificationBuilder()
+        .identity(notification.getId())
+        .content(notification.content())
+        .sendAt(notification.sendAt())
+        .sentAt(notification.sentAt())
+        .targets(notification.directRecipients())
+        .audiences(new HashSet<>(notification.audiences()))
+        .messages(copyMessages(notification.messages()))
+        .build();
+  }
+
+  private static Set<Message> copyMessages(Set<Message> messages) {
+    Set<Message> copies = new HashSet<>();
+    for (Message message : messages) {
+      copies.add(new Message(message));
     }
+    return copies;
   }
 
-  // TODO - should do a diff between targets and audiences.
   @Override
   public void update(final Notification notification) {
+    this.update(notification, null);
+  }
+
+  /**
+   * Updates the provided notification without reading it first. When the notification carries a
+   * version, the row is only written while it is still at that version, and a {@link
+   * StaleAggregateException} is thrown otherwise. The children of the notification are diffed
+   * against the state it was loaded with; when that state is not known they are replaced.
+   *
+   * @param notification The notification to update.
+   * @param persisted The state the notification was loaded with, or {@code null} if it is not
+   *     known.
+   */
+  @Override
+  public void update(final Notification notification, final Notification persisted) {
 
-    String notificationSQL = this.updateNotificationSQL();
-    Notification existingNotification = this.find(notification.getId());
-    if (existingNotification == null) return;
+    Integer version = notification.getVersion();
+    String notificationSQL =
+        version != null ? UPDATE_VERSIONED_NOTIFICATION_SQL : UPDATE_NOTIFICATION_SQL;
 
     try (final PreparedStatement updateNotificationStatement =
         this.getConnection().prepareStatement(notificationSQL)) {
@@ -622,138 +1109,309 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
             ++index, new Timestamp(notification.sendAt().getTime()));
       }
 
-      updateNotificationStatement.setString(++index, notification.getId().toString());
-      updateNotificationStatement.executeUpdate();
-
-      Set<UUID> recipientsToAssociate = new HashSet<>();
-      Set<UUID> recipeintsToDisassociate = new HashSet<>();
-
-      // determine which recipients are being added.
-      for (Target recipient : notification.directRecipients()) {
-        if (!existingNotification.directRecipients().contains(recipient)) {
-          recipientsToAssociate.add(recipient.getId());
-        }
+      this.getUUIDCodec().bind(updateNotificationStatement, ++index, notification.getId());
+      if (version != null) {
+        updateNotificationStatement.setInt(++index, version);
       }
 
-      // determine which recipients are being removed.
-      for (Target recipient : existingNotification.directRecipients()) {
-        if (!notification.directRecipients().contains(recipient)) {
-          recipeintsToDisassociate.add(recipient.getId());
+      // a missing row only conflicts with the update when a version was expected.
+      if (updateNotificationStatement.executeUpdate() == 0) {
+        if (version != null) {
+          throw new StaleAggregateException(Notification.class, notification.getId(), version);
         }
+        return;
       }
-
-      Set<UUID> audiencesToAssociate = new HashSet<>();
-      Set<UUID> audiencesToDisassociate = new HashSet<>();
-
-      // determine which audiences are being added.
-      for (Audience audience : notification.audiences()) {
-        if (!existingNotification.audiences().contains(audience)) {
-          audiencesToAssociate.add(audience.getId());
-        }
+      if (version != null) {
+        notification.setVersion(version + 1);
       }
 
-      // determine which audiences are being removed.
-      for (Audience audience : existingNotification.audiences()) {
-        if (!notification.audiences().contains(audience)) {
-          audiencesToDisassociate.add(audience.getId());
-        }
+      if (persisted == null) {
+        this.replaceChildren(notification);
+        MessageStatusTally tally = MessageStatusTally.of(notification.messages());
+        this.writeMessageTally(notification.getId(), tally.next(notification.status()), tally);
+        return;
       }
-
-      Set<Integer> messagesToInsert = new HashSet<>();
-      Set<Integer> messagesToDelete = new HashSet<>();
-      Set<Integer> messagesToUpdate = new HashSet<>();
-
-      // determine which messages are being added.
-      for (Message message : notification.messages()) {
-        if (!existingNotification.messages().contains(message)) {
-          messagesToInsert.add(message.getId());
-        }
+      Notification existingNotification = persisted;
+
+      // each collection is diffed by hashing identities, so only the rows that changed are written.
+      UUID notificationUUID = notification.getId();
+      ChangeSet<Target> recipients =
+          ChangeSet.of(existingNotification.directRecipients(), notification.directRecipients());
+      ChangeSet<Audience> audiences =
+          ChangeSet.of(existingNotification.audiences(), notification.audiences());
+      ChangeSet<Message> messages =
+          ChangeSet.of(
+              existingNotification.messages(),
+              notification.messages(),
+              NotificationDataMapper::sameMessage);
+
+      List<String> targetColumnNames = Arrays.asList("NOTIFICATION_UUID", "TARGET_UUID");
+      RowBinder<Target> targetBinder =
+          (statement, i, target) -> {
+            this.getUUIDCodec().bind(statement, ++i, notificationUUID);
+            this.getUUIDCodec().bind(statement, ++i, target.getId());
+            return i;
+          };
+      this.deleteRows(
+          "NOTIFICATION_TARGET", targetColumnNames, recipients.getRemoved(), targetBinder);
+      this.insertRows(
+          "NOTIFICATION_TARGET", targetColumnNames, recipients.getAdded(), targetBinder);
+
+      List<String> audienceColumnNames = Arrays.asList("NOTIFICATION_UUID", "AUDIENCE_UUID");
+      RowBinder<Audience> audienceBinder =
+          (statement, i, audience) -> {
+            this.getUUIDCodec().bind(statement, ++i, notificationUUID);
+            this.getUUIDCodec().bind(statement, ++i, audience.getId());
+            return i;
+          };
+      this.deleteRows(
+          "NOTIFICATION_AUDIENCE", audienceColumnNames, audiences.getRemoved(), audienceBinder);
+      this.insertRows(
+          "NOTIFICATION_AUDIENCE", audienceColumnNames, audiences.getAdded(), audienceBinder);
+
+      // the counts are adjusted from the statuses the messages hold now rather than when they were
+      // loaded, since status callbacks write messages without changing the version.
+      List<Message> replaced = new ArrayList<>(messages.getRemoved());
+      replaced.addAll(messages.getChanged());
+      MessageStatusTally delta =
+          MessageStatusTally.of(messages.getAdded())
+              .plus(MessageStatusTally.of(messages.getChanged()))
+              .minus(this.lockMessageStatuses(notificationUUID, replaced));
+
+      DataMap messageDataMap = messageMetadata.getDataMap();
+      String messageIdColumnName = messageDataMap.getColumnNameForField(MessageMetadata.ID);
+      this.deleteRows(
+          messageDataMap.getTableName(),
+          Arrays.asList("NOTIFICATION_UUID", messageIdColumnName),
+          messages.getRemoved(),
+          (statement, i, message) -> {
+            this.getUUIDCodec().bind(statement, ++i, notificationUUID);
+            statement.setInt(++i, message.getId());
+            return i;
+          });
+      this.insertRows(
+          messageDataMap.getTableName(),
+          messageColumnNames(),
+          messages.getAdded(),
+          (statement, i, message) -> this.bindMessage(statement, i, notificationUUID, message));
+      this.updateRows(
+          UPDATE_MESSAGE_SQL,
+          messages.getChanged(),
+          (statement, i, message) -> {
+            statement.setString(++i, message.getContent());
+            statement.setString(++i, message.getTo().toE164());
+            statement.setString(++i, message.getFrom().toE164());
+            statement.setString(++i, message.getExternalId());
+            statement.setString(++i, message.getStatus().toString());
+            statement.setInt(++i, message.getId());
+            this.getUUIDCodec().bind(statement, ++i, notificationUUID);
+            return i;
+          });
+      if (!messages.getAdded().isEmpty() || !replaced.isEmpty()) {
+        Map.Entry<NotificationStatus, MessageStatusTally> locked =
+            this.lockMessageTally(notificationUUID);
+        MessageStatusTally tally = locked.getValue().plus(delta);
+        this.writeMessageTally(notificationUUID, tally.next(locked.getKey()), tally);
       }
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
 
-      // determine which messages are being removed.
-      for (Message message : existingNotification.messages()) {
-        if (!notification.messages().contains(message)) {
-          messagesToDelete.add(message.getId());
-        }
+  /**
+   * Replaces the status and external identifier of a single message, then moves its notification
+   * to the status that follows from its message counts. The counts are adjusted by the change of
+   * the one message, so neither the notification nor its other messages are read.
+   *
+   * <p>The notification row is locked before the message, as by every other write of its messages,
+   * which serializes the updates to the messages of one notification so that each adjusts the
+   * counts left by the previous one. The status of a message is not part of the notification
+   * aggregate, so its version is left as it is.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param message The message, identified by its id, with its desired status and external id.
+   * @return {@code true} if the message was found and updated; {@code false} otherwise.
+   */
+  public boolean updateMessage(final UUID notificationUUID, final Message message) {
+    try (final PreparedStatement lockMessageStatement =
+            this.getConnection().prepareStatement(LOCK_MESSAGE_STATUS_SQL);
+        final PreparedStatement updateMessageStatement =
+            this.getConnection().prepareStatement(UPDATE_MESSAGE_STATUS_SQL)) {
+
+      Map.Entry<NotificationStatus, MessageStatusTally> locked =
+          this.lockMessageTally(notificationUUID);
+      if (locked == null) {
+        return false;
       }
 
-      // determine which messages are being updated.
-      for (Message message : notification.messages()) {
-        if (existingNotification.messages().contains(message)) {
-          messagesToUpdate.add(message.getId());
+      MessageStatus previous;
+      lockMessageStatement.setInt(1, message.getId());
+      this.getUUIDCodec().bind(lockMessageStatement, 2, notificationUUID);
+      try (final ResultSet results = lockMessageStatement.executeQuery()) {
+        if (!results.next()) {
+          return false;
         }
+        previous = MessageStatus.valueOf(results.getString(1));
       }
 
-      if (!audiencesToAssociate.isEmpty()) {
-        String associateAudiencesSQL = this.associateAudiencesSQL(audiencesToAssociate.size());
-        try (final PreparedStatement associateAudienceStatement =
-            this.getConnection().prepareStatement(associateAudiencesSQL)) {
-          index = 0;
-          for (UUID uuid : audiencesToAssociate) {
-            associateAudienceStatement.setString(++index, notification.getId().toString());
-            associateAudienceStatement.setString(++index, uuid.toString());
-          }
-          associateAudienceStatement.executeUpdate();
-        }
-      }
+      int index = 0;
+      updateMessageStatement.setString(++index, message.getExternalId());
+      updateMessageStatement.setString(++index, message.getStatus().toString());
+      updateMessageStatement.setInt(++index, message.getId());
+      this.getUUIDCodec().bind(updateMessageStatement, ++index, notificationUUID);
+      updateMessageStatement.executeUpdate();
+
+      MessageStatusTally tally =
+          locked
+              .getValue()
+              .minus(MessageStatusTally.of(previous))
+              .plus(MessageStatusTally.of(message.getStatus()));
+      this.writeMessageTally(notificationUUID, tally.next(locked.getKey()), tally);
+      return true;
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
 
-      if (!audiencesToDisassociate.isEmpty()) {
-        String disassociateAudiencesSQL =
-            this.disassociateAudiencesSQL(audiencesToDisassociate.size());
-        try (final PreparedStatement disassociateAudiencesStatement =
-            this.getConnection().prepareStatement(disassociateAudiencesSQL)) {
-          index = 0;
-          for (UUID uuid : audiencesToDisassociate) {
-            disassociateAudiencesStatement.setString(++index, notification.getId().toString());
-            disassociateAudiencesStatement.setString(++index, uuid.toString());
-          }
-          disassociateAudiencesStatement.executeUpdate();
+  /**
+   * Locks the row of a notification and reads its status and message counts.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @return The status and the message counts of the notification, or {@code null} if it does not
+   *     exist.
+   * @throws SQLException if the notification could not be locked.
+   */
+  private Map.Entry<NotificationStatus, MessageStatusTally> lockMessageTally(
+      final UUID notificationUUID) throws SQLException {
+    try (final PreparedStatement statement =
+        this.getConnection().prepareStatement(LOCK_MESSAGE_TALLY_SQL)) {
+      this.getUUIDCodec().bind(statement, 1, notificationUUID);
+      try (final ResultSet results = statement.executeQuery()) {
+        if (!results.next()) {
+          return null;
         }
+        return new SimpleImmutableEntry<>(
+            NotificationStatus.valueOf(results.getString(1)),
+            new MessageStatusTally(
+                results.getInt(2), results.getInt(3), results.getInt(4), results.getInt(5)));
       }
+    }
+  }
 
-      if (!messagesToInsert.isEmpty()) {
-        String insertMessagesSQL = this.insertMessagesSQL(messagesToInsert.size());
-        try (final PreparedStatement insertMessagesStatement =
-            this.getConnection().prepareStatement(insertMessagesSQL)) {
-          index = 0;
-          for (Integer id : messagesToInsert) {
-            insertMessagesStatement.setString(++index, notification.getId().toString());
-            insertMessagesStatement.setInt(++index, id);
-          }
-          insertMessagesStatement.executeUpdate();
-        }
-      }
+  /**
+   * Writes the status and message counts of a notification whose row is locked.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param status The status of the notification.
+   * @param tally The message counts of the notification.
+   * @throws SQLException if the notification could not be written.
+   */
+  private void writeMessageTally(
+      final UUID notificationUUID, final NotificationStatus status, final MessageStatusTally tally)
+      throws SQLException {
+    try (final PreparedStatement statement =
+        this.getConnection().prepareStatement(UPDATE_MESSAGE_TALLY_SQL)) {
+      int index = 0;
+      statement.setString(++index, status.toString());
+      statement.setInt(++index, tally.total());
+      statement.setInt(++index, tally.pending());
+      statement.setInt(++index, tally.sent());
+      statement.setInt(++index, tally.failed());
+      this.getUUIDCodec().bind(statement, ++index, notificationUUID);
+      statement.executeUpdate();
+    }
+  }
+
+  /**
+   * Adds to the message counts of a notification without changing its status, for messages that
+   * are inserted in a status that does not move the notification, such as pending messages.
+   *
+   * @param connection The connection the messages are written with.
+   * @param uuidCodec The codec used to bind {@link UUID} values.
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param delta The tally of the inserted messages.
+   * @throws SQLException if the counts could not be adjusted.
+   */
+  static void adjustMessageTally(
+      final Connection connection,
+      final UUIDCodec uuidCodec,
+      final UUID notificationUUID,
+      final MessageStatusTally delta)
+      throws SQLException {
+    if (delta.total() == 0) {
+      return;
+    }
+    try (final PreparedStatement statement =
+        connection.prepareStatement(ADJUST_MESSAGE_TALLY_SQL)) {
+      int index = 0;
+      statement.setInt(++index, delta.total());
+      statement.setInt(++index, delta.pending());
+      statement.setInt(++index, delta.sent());
+      statement.setInt(++index, delta.failed());
+      uuidCodec.bind(statement, ++index, notificationUUID);
+      statement.executeUpdate();
+    }
+  }
 
-      if (!messagesToDelete.isEmpty()) {
-        String deleteMessagesSQL = this.deleteMessagesSQL(messagesToDelete.size());
-        try (final PreparedStatement deleteMessagesStatement =
-            this.getConnection().prepareStatement(deleteMessagesSQL)) {
-          index = 0;
-          for (Integer id : messagesToDelete) {
-            deleteMessagesStatement.setString(++index, notification.getId().toString());
-            deleteMessagesStatement.setInt(++index, id);
+  /**
+   * Locks the provided messages of a notification and tallies the statuses they hold.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param messages The messages to lock.
+   * @return The tally of the statuses the messages hold.
+   * @throws SQLException if the messages could not be locked.
+   */
+  private MessageStatusTally lockMessageStatuses(
+      final UUID notificationUUID, final List<Message> messages) throws SQLException {
+    DataMap messageDataMap = messageMetadata.getDataMap();
+    MessageStatusTally tally = new MessageStatusTally(0, 0, 0, 0);
+    for (int start = 0; start < messages.size(); start += this.getBatchSize()) {
+      List<Message> chunk =
+          messages.subList(start, Math.min(start + this.getBatchSize(), messages.size()));
+      String sql =
+          new StringBuilder()
+              .append("SELECT ")
+              .append(messageDataMap.getColumnNameForField(MessageMetadata.STATUS))
+              .append(" FROM ")
+              .append(messageDataMap.getTableName())
+              .append(" WHERE NOTIFICATION_UUID = ? AND ")
+              .append(messageDataMap.getColumnNameForField(MessageMetadata.ID))
+              .append(" IN (")
+              .append(String.join(", ", Collections.nCopies(chunk.size(), "?")))
+              .append(") FOR UPDATE")
+              .toString();
+      try (final PreparedStatement statement = this.getConnection().prepareStatement(sql)) {
+        int index = 0;
+        this.getUUIDCodec().bind(statement, ++index, notificationUUID);
+        for (Message message : chunk) {
+          statement.setInt(++index, message.getId());
+        }
+        try (final ResultSet results = statement.executeQuery()) {
+          while (results.next()) {
+            tally = tally.plus(MessageStatusTally.of(MessageStatus.valueOf(results.getString(1))));
           }
-          deleteMessagesStatement.executeUpdate();
         }
       }
+    }
+    return tally;
+  }
 
-      if (!messagesToUpdate.isEmpty()) {
-        String updateMessageSQL = this.updateMessageSQL();
-        for (Integer id : messagesToUpdate) {
-          index = 0;
-          Message message = notification.message(id);
-          try (final PreparedStatement updateMessageStatement =
-              this.getConnection().prepareStatement(updateMessageSQL)) {
-            updateMessageStatement.setString(++index, message.getContent());
-            updateMessageStatement.setString(++index, message.getTo().toE164());
-            updateMessageStatement.setString(++index, message.getFrom().toE164());
-            updateMessageStatement.setString(++index, message.getExternalId());
-            updateMessageStatement.setString(++index, message.getStatus().toString());
-            updateMessageStatement.setInt(++index, id);
-            updateMessageStatement.setString(++index, notification.getId().toString());
-            updateMessageStatement.executeUpdate();
-          }
+  /**
+   * Resolves the provided external identifier to the message it was assigned to. Only the index on
+   * the external identifier is read; the owning notification is not retrieved.
+   *
+   * @param externalID The identifier assigned to the message by the provider that sent it.
+   * @return The key of the matching message, or {@code null} if no message matches.
+   */
+  public MessageKey findMessageKey(final String externalID) {
+    try (final PreparedStatement statement =
+        this.getConnection().prepareStatement(FIND_MESSAGE_KEY_SQL)) {
+      statement.setString(1, externalID);
+      try (final ResultSet results = statement.executeQuery()) {
+        if (!results.next()) {
+          return null;
         }
+        return new MessageKey(UUIDCodec.decode(results.getBytes(1)), results.getInt(2));
       }
     } catch (SQLException x) {
       throw new RuntimeException(x);
@@ -763,10 +1421,10 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
   @Override
   public void delete(final UUID uuid) {
 
-    final String deleteNotificationSQL = this.deleteNotificationSQL();
-    final String deleteMessagesSQL = this.deleteMessagesSQL();
-    final String deleteTargetAssociationsSQL = this.dissociateTargetSQL();
-    final String deleteAudienceAssociationsSQL = this.dissociateAudienceSQL();
+    final String deleteNotificationSQL = DELETE_NOTIFICATION_SQL;
+    final String deleteMessagesSQL = DELETE_MESSAGES_SQL;
+    final String deleteTargetAssociationsSQL = DISSOCIATE_TARGET_SQL;
+    final String deleteAudienceAssociationsSQL = DISSOCIATE_AUDIENCE_SQL;
 
     try (final PreparedStatement deleteMessagesStatement =
             this.getConnection().prepareStatement(deleteMessagesSQL);
@@ -778,17 +1436,18 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
             this.getConnection().prepareStatement(deleteAudienceAssociationsSQL)) {
 
       int index = 1;
-      deleteMessagesStatement.setString(index, uuid.toString());
+      this.getUUIDCodec().bind(deleteMessagesStatement, index, uuid);
       deleteMessagesStatement.executeUpdate();
 
-      deleteTargetAssociationsStatement.setString(index, uuid.toString());
+      this.getUUIDCodec().bind(deleteTargetAssociationsStatement, index, uuid);
       deleteTargetAssociationsStatement.executeUpdate();
 
-      deleteAudienceAssociationsStatement.setString(index, uuid.toString());
+      this.getUUIDCodec().bind(deleteAudienceAssociationsStatement, index, uuid);
       deleteAudienceAssociationsStatement.executeUpdate();
 
-      deleteNotificationStatement.setString(index, uuid.toString());
-      deleteNotificationStatement.executeUpdate();
+      this.getUUIDCodec().bind(deleteNotificationStatement, index, uuid);
+      int deleted = deleteNotificationStatement.executeUpdate();
+      this.adjustCount(notificationMetadata.getDataMap().getTableName(), -deleted);
 
     } catch (SQLException x) {
       throw new RuntimeException(x);
@@ -797,17 +1456,6 @@ public final class NotificationDataMapper extends DataMapper<Notification> {
 
   @Override
   public int count() {
-
-    final String countNotificationsSQL = this.countNotificationsSQL();
-
-    try (final PreparedStatement countNotificationsStatement =
-            this.getConnection().prepareStatement(countNotificationsSQL);
-        final ResultSet rs = countNotificationsStatement.executeQuery()) {
-      int index = 1;
-      rs.next();
-      return rs.getInt(index);
-    } catch (SQLException x) {
-      throw new RuntimeException(x);
-    }
+    return this.countOf(notificationMetadata.getDataMap().getTableName());
   }
 }
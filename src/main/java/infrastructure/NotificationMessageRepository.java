@@ -0,0 +1,70 @@
+package infrastructure;
+
+import domain.Message;
+import domain.Notification;
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import java.util.UUID;
+
+/**
+ * Represents the {@link Message} collections of the notifications, persisted alongside them.
+ *
+ * @author Jon Freer
+ */
+public final class NotificationMessageRepository extends SQLRepository
+    implements MessageRepository {
+
+  private final Tracer tracer;
+
+  /**
+   * Constructs a new {@link NotificationMessageRepository}.
+   *
+   * @param unitOfWork The unit of work that this repository will contribute to.
+   * @param tracer The tracer conforming to the OpenTracing standard utilized for instrumentation.
+   */
+  public NotificationMessageRepository(UnitOfWork unitOfWork, Tracer tracer) {
+    super(unitOfWork);
+
+    this.tracer = tracer;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param notificationUUID {@inheritDoc}
+   * @param message {@inheritDoc}
+   * @return {@inheritDoc}
+   */
+  @Override
+  public boolean replace(final UUID notificationUUID, final Message message) {
+    final String className = NotificationMessageRepository.class.getName();
+    final String spanName = String.format("%s#replace", className);
+    final Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
+    try (final Scope scope = this.tracer.scopeManager().activate(span, false)) {
+      DataMapper dm = this.getUnitOfWork().dataMappers().get(Notification.class);
+      return ((NotificationDataMapper) dm).updateMessage(notificationUUID, message);
+    } finally {
+      span.finish();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param externalMessageID {@inheritDoc}
+   * @return {@inheritDoc}
+   */
+  @Override
+  public MessageKey findByExternalMessageId(final String externalMessageID) {
+    final String className = NotificationMessageRepository.class.getName();
+    final String spanName = String.format("%s#findByExternalMessageId", className);
+    final Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
+    try (final Scope scope = this.tracer.scopeManager().activate(span, false)) {
+      DataMapper dm = this.getUnitOfWork().dataMappers().get(Notification.class);
+      return ((NotificationDataMapper) dm).findMessageKey(externalMessageID);
+    } finally {
+      span.finish();
+    }
+  }
+}
@@ -27,13 +27,17 @@ public final class NotificationMetadata extends MetadataMapper {
   /** Represents the {@link domain.Notification} {@code status} field. */
   public static final String STATUS = "status";
 
+  /** Represents the {@link domain.Notification} {@code version} field. */
+  public static final String VERSION = "version";
+
   /** Constructs new {@link NotificationMetadata}. */
   public NotificationMetadata() {
     super(new DataMap("NOTIFICATION", "N"));
-    this.getDataMap().addColumn("UUID", Types.VARCHAR, UUID);
+    this.getDataMap().addColumn("UUID", Types.BINARY, UUID);
     this.getDataMap().addColumn("MESSAGE", Types.VARCHAR, CONTENT);
     this.getDataMap().addColumn("STATUS", Types.VARCHAR, STATUS);
     this.getDataMap().addColumn("SEND_AT", Types.TIMESTAMP, SEND_AT);
     this.getDataMap().addColumn("SENT_AT", Types.TIMESTAMP, SENT_AT);
+    this.getDataMap().addColumn("VERSION", Types.INTEGER, VERSION);
   }
 }
@@ -50,7 +50,7 @@ public final class NotificationRepository extends SQLRepository
     final String spanName = String.format("%s#get(query)", className);
     final Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
     try (final Scope scope = this.tracer.scopeManager().activate(span, false)) {
-      return query.execute();
+      return this.getUnitOfWork().register(query.execute());
     } finally {
       span.finish();
     }
@@ -68,8 +68,7 @@ public final class NotificationRepository extends SQLRepository
     final String spanName = String.format("%s#get(uuid)", className);
     final Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
     try (final Scope scope = this.tracer.scopeManager().activate(span, false)) {
-      DataMapper dm = this.getUnitOfWork().dataMappers().get(Notification.class);
-      return (Notification) dm.find(uuid);
+      return this.getUnitOfWork().find(Notification.class, uuid);
     } finally {
       span.finish();
     }
@@ -78,7 +77,8 @@ public final class NotificationRepository extends SQLRepository
   /**
    * Places the {@link Notification} provided into the repository. In the event the {@link
    * Notification} provided already exists in the repository, the prexisting one will be replaced
-   * with the one provided.
+   * with the one provided. A {@link Notification} that carries a version is not read first; it
+   * replaces the prexisting one only if that one is still at the same version.
    *
    * @param notification The notification to put into the repository.
    */
@@ -88,7 +88,9 @@ public final class NotificationRepository extends SQLRepository
     final String spanName = String.format("%s#put", className);
     final Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
     try (final Scope scope = this.tracer.scopeManager().activate(span, false)) {
-      if (this.get(notification.getId()) == null) {
+      if (notification.getVersion() != null) {
+        this.getUnitOfWork().alter(notification);
+      } else if (this.get(notification.getId()) == null) {
         this.add(notification);
       } else {
         this.getUnitOfWork().alter(notification);
@@ -0,0 +1,163 @@
+package infrastructure;
+
+import domain.MessageStatus;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Reads and writes the rows of the outbox, which holds the messages waiting to be published to the
+ * message queue. Messages are placed in the outbox with the connection of a unit of work, so they
+ * commit or roll back along with the notification they belong to.
+ *
+ * @author Jon Freer
+ */
+public final class OutboxDataMapper {
+
+  private static final String TABLE_NAME = "OUTBOX";
+  private static final List<String> COLUMN_NAMES =
+      Collections.unmodifiableList(
+          Arrays.asList("NOTIFICATION_UUID", "MESSAGE_ID", "MESSAGE_KEY", "CREATED_AT"));
+
+  // rows locked by another relay are skipped rather than waited on, so relays share the backlog.
+  private static final String CLAIM_UNPUBLISHED_SQL =
+      "SELECT ID, NOTIFICATION_UUID, MESSAGE_ID, MESSAGE_KEY, CREATED_AT FROM OUTBOX"
+          + " WHERE PUBLISHED_AT IS NULL ORDER BY ID LIMIT ? FOR UPDATE SKIP LOCKED";
+
+  // the pending messages of a notification are copied into the outbox without being read.
+  private static final String ENQUEUE_PENDING_SQL =
+      "INSERT INTO OUTBOX (NOTIFICATION_UUID, MESSAGE_ID, MESSAGE_KEY, CREATED_AT)"
+          + " SELECT NOTIFICATION_UUID, ID, `TO`, ? FROM MESSAGE"
+          + " WHERE NOTIFICATION_UUID = ? AND STATUS = ?";
+
+  private final Supplier<Connection> connection;
+  private final int batchSize;
+  private final UUIDCodec uuidCodec;
+
+  /**
+   * Constructs a new {@link OutboxDataMapper}.
+   *
+   * @param connection Supplies the connection the outbox is read and written with.
+   * @param batchSize The maximum number of rows written by a single multi-row statement.
+   * @param uuidCodec The codec used to bind and read {@link java.util.UUID} values.
+   */
+  public OutboxDataMapper(Supplier<Connection> connection, int batchSize, UUIDCodec uuidCodec) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The argument 'batchSize' must be greater than zero.");
+    }
+    this.connection = connection;
+    this.batchSize = batchSize;
+    this.uuidCodec = uuidCodec;
+  }
+
+  /**
+   * Places the provided messages in the outbox.
+   *
+   * @param messages The messages to place in the outbox.
+   * @throws SQLException if the messages could not be written.
+   */
+  void insertAll(List<OutboxMessage> messages) throws SQLException {
+    for (int start = 0; start < messages.size(); start += this.batchSize) {
+      List<OutboxMessage> chunk =
+          messages.subList(start, Math.min(start + this.batchSize, messages.size()));
+      String sql = DataMapper.insertSQL(chunk.size(), TABLE_NAME, COLUMN_NAMES);
+      try (PreparedStatement statement = this.connection.get().prepareStatement(sql)) {
+        int index = 0;
+        for (OutboxMessage message : chunk) {
+          this.uuidCodec.bind(statement, ++index, message.getNotificationUUID());
+          statement.setInt(++index, message.getMessageID());
+          statement.setString(++index, message.getKey());
+          statement.setTimestamp(++index, new Timestamp(message.getCreatedAt().getTime()));
+        }
+        statement.executeUpdate();
+      }
+    }
+  }
+
+  /**
+   * Places every pending message of the provided notification in the outbox, keyed by its
+   * recipient, with a single statement.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param createdAt The moment the messages are placed in the outbox.
+   * @return The number of messages placed in the outbox.
+   * @throws SQLException if the messages could not be written.
+   */
+  public int enqueuePending(UUID notificationUUID, Date createdAt) throws SQLException {
+    try (PreparedStatement statement =
+        this.connection.get().prepareStatement(ENQUEUE_PENDING_SQL)) {
+      statement.setTimestamp(1, new Timestamp(createdAt.getTime()));
+      this.uuidCodec.bind(statement, 2, notificationUUID);
+      statement.setString(3, MessageStatus.PENDING.toString());
+      return statement.executeUpdate();
+    }
+  }
+
+  /**
+   * Claims the oldest unpublished messages. The rows stay locked until the transaction of the
+   * connection ends, and rows already claimed by another transaction are skipped.
+   *
+   * @param limit The maximum number of messages to claim.
+   * @return The claimed messages, oldest first.
+   * @throws SQLException if the outbox could not be read.
+   */
+  public List<OutboxMessage> claimUnpublished(int limit) throws SQLException {
+    List<OutboxMessage> messages = new ArrayList<>();
+    try (PreparedStatement statement =
+        this.connection.get().prepareStatement(CLAIM_UNPUBLISHED_SQL)) {
+      statement.setInt(1, limit);
+      try (ResultSet results = statement.executeQuery()) {
+        while (results.next()) {
+          int column = 0;
+          messages.add(
+              new OutboxMessage(
+                  results.getLong(++column),
+                  UUIDCodec.read(results, ++column),
+                  results.getInt(++column),
+                  results.getString(++column),
+                  new Date(results.getTimestamp(++column).getTime())));
+        }
+      }
+    }
+    return messages;
+  }
+
+  /**
+   * Marks the provided messages as published.
+   *
+   * @param messages The messages that were published.
+   * @param publishedAt The moment the messages were published.
+   * @throws SQLException if the messages could not be marked.
+   */
+  public void markPublished(List<OutboxMessage> messages, Date publishedAt) throws SQLException {
+    for (int start = 0; start < messages.size(); start += this.batchSize) {
+      List<OutboxMessage> chunk =
+          messages.subList(start, Math.min(start + this.batchSize, messages.size()));
+      String sql =
+          new StringBuilder()
+              .append("UPDATE ")
+              .append(TABLE_NAME)
+              .append(" SET PUBLISHED_AT = ? WHERE ID IN (")
+              .append(String.join(", ", Collections.nCopies(chunk.size(), "?")))
+              .append(")")
+              .toString();
+      try (PreparedStatement statement = this.connection.get().prepareStatement(sql)) {
+        int index = 0;
+        statement.setTimestamp(++index, new Timestamp(publishedAt.getTime()));
+        for (OutboxMessage message : chunk) {
+          statement.setLong(++index, message.getId());
+        }
+        statement.executeUpdate();
+      }
+    }
+  }
+}
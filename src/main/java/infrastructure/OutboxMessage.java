@@ -0,0 +1,80 @@
+package infrastructure;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * A message of a notification waiting in the outbox to be published to the message queue.
+ *
+ * @author Jon Freer
+ */
+public final class OutboxMessage {
+
+  private final Long id;
+  private final UUID notificationUUID;
+  private final Integer messageID;
+  private final String key;
+  private final Date createdAt;
+
+  /**
+   * Constructs a new {@link OutboxMessage} that has not been written to the outbox yet.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param messageID The identifier of the message within the notification.
+   * @param key The key the message is published with, which determines the order it is sent in.
+   */
+  public OutboxMessage(UUID notificationUUID, Integer messageID, String key) {
+    this(null, notificationUUID, messageID, key, new Date());
+  }
+
+  /**
+   * Constructs a new {@link OutboxMessage}.
+   *
+   * @param id The identifier of the outbox row, or {@code null} if it has not been written yet.
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param messageID The identifier of the message within the notification.
+   * @param key The key the message is published with, which determines the order it is sent in.
+   * @param createdAt The moment the message was placed in the outbox.
+   */
+  OutboxMessage(Long id, UUID notificationUUID, Integer messageID, String key, Date createdAt) {
+    if (notificationUUID == null) {
+      throw new IllegalArgumentException("The argument 'notificationUUID' cannot be null.");
+    }
+    if (messageID == null) {
+      throw new IllegalArgumentException("The argument 'messageID' cannot be null.");
+    }
+    if (key == null) {
+      throw new IllegalArgumentException("The argument 'key' cannot be null.");
+    }
+    this.id = id;
+    this.notificationUUID = notificationUUID;
+    this.messageID = messageID;
+    this.key = key;
+    this.createdAt = createdAt;
+  }
+
+  /**
+   * Retrieves the identifier of the outbox row.
+   *
+   * @return The identifier, or {@code null} if the message has not been written yet.
+   */
+  public Long getId() {
+    return this.id;
+  }
+
+  public UUID getNotificationUUID() {
+    return this.notificationUUID;
+  }
+
+  public Integer getMessageID() {
+    return this.messageID;
+  }
+
+  public String getKey() {
+    return this.key;
+  }
+
+  public Date getCreatedAt() {
+    return this.createdAt;
+  }
+}
@@ -0,0 +1,113 @@
+package infrastructure;
+
+import com.codahale.metrics.MetricRegistry;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ConnectionFactory} that lends connections from a HikariCP pool of connections to MySQL.
+ *
+ * <p>Connections handed out by this factory are returned to the pool when they are closed, with
+ * any work neither committed nor rolled back discarded and their read-only flag reset. Idle
+ * connections are validated before they are lent out again, retired once they reach their maximum
+ * lifetime, and closed after sitting idle while the pool holds more than its minimum, so the pool
+ * shrinks back after a burst and never lends a connection the server is about to time out. The
+ * pool records its metrics with the provided registry, and connections borrowed for longer than
+ * the configured threshold are reported as potential leaks.
+ *
+ * @author Jon Freer
+ */
+public final class PooledConnectionFactory extends ConnectionFactory implements AutoCloseable {
+
+  private final HikariDataSource dataSource;
+  private final Tracer tracer;
+
+  /**
+   * Constructs a new {@link PooledConnectionFactory}.
+   *
+   * @param jdbcURL The JDBC URL required to create a connection to MySQL.
+   * @param username The username required to create a connection to MySQL.
+   * @param password The password required to create a connection to MySQL.
+   * @param name The name distinguishing the metrics of this pool from those of other pools, or
+   *     {@code null} for the primary pool.
+   * @param maxSize The maximum number of connections that may be open at once.
+   * @param minIdle The number of idle connections the pool keeps open rather than closing them.
+   * @param acquireTimeout The number of milliseconds to wait for a connection before failing.
+   * @param validationTimeout The number of seconds allowed to validate an idle connection.
+   * @param idleTimeout The number of milliseconds a connection beyond the minimum may sit idle
+   *     before it is closed.
+   * @param maxLifetime The number of milliseconds after which a connection is retired once it is
+   *     returned to the pool.
+   * @param leakDetectionThreshold The number of milliseconds a connection may be borrowed before
+   *     it is reported as a potential leak. A value of zero disables leak detection.
+   * @param metricRegistry The metric registry used to record pool metrics.
+   * @param tracer The tracer conforming to the OpenTracing standard utilized for instrumentation.
+   */
+  public PooledConnectionFactory(
+      String jdbcURL,
+      String username,
+      String password,
+      String name,
+      int maxSize,
+      int minIdle,
+      long acquireTimeout,
+      int validationTimeout,
+      long idleTimeout,
+      long maxLifetime,
+      long leakDetectionThreshold,
+      MetricRegistry metricRegistry,
+      Tracer tracer) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("The argument 'maxSize' must be greater than zero.");
+    }
+
+    HikariConfig config = new HikariConfig();
+    config.setPoolName(MetricRegistry.name(PooledConnectionFactory.class, name));
+    config.setJdbcUrl(jdbcURL);
+    config.setUsername(username);
+    config.setPassword(password);
+    config.setAutoCommit(false);
+    config.setMaximumPoolSize(maxSize);
+    config.setMinimumIdle(Math.min(minIdle, maxSize));
+    config.setConnectionTimeout(acquireTimeout);
+    config.setValidationTimeout(TimeUnit.SECONDS.toMillis(validationTimeout));
+    config.setIdleTimeout(idleTimeout);
+    config.setMaxLifetime(maxLifetime);
+    config.setLeakDetectionThreshold(leakDetectionThreshold);
+    config.setMetricRegistry(metricRegistry);
+    this.dataSource = new HikariDataSource(config);
+    this.tracer = tracer;
+  }
+
+  /**
+   * Borrows a connection from the pool, opening a new connection if no idle connection is
+   * available and the pool has not reached its maximum size.
+   *
+   * @return A pooled connection. Closing it returns it to the pool.
+   */
+  @Override
+  public Connection createConnection() {
+    String className = PooledConnectionFactory.class.getName();
+    String spanName = String.format("%s#createConnection", className);
+    Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
+    try (Scope scope = this.tracer.scopeManager().activate(span, false)) {
+      return this.dataSource.getConnection();
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    } finally {
+      span.finish();
+    }
+  }
+
+  /** Closes every connection of the pool and prevents further borrowing. */
+  @Override
+  public void close() {
+    this.dataSource.close();
+  }
+}
@@ -25,4 +25,7 @@ public abstract class RepositoryFactory {
   public abstract Repository<Audience, UUID> createAudienceRepository(UnitOfWork unitOfWork);
 
   public abstract Repository<Template, UUID> createTemplateRepository(UnitOfWork unitOfWork);
+
+  // messages are written on their own, without the rest of their notification.
+  public abstract MessageRepository createMessageRepository(UnitOfWork unitOfWork);
 }
@@ -0,0 +1,169 @@
+package infrastructure;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+
+/**
+ * A {@link ConnectionFactory} that sends writes to the primary and reads to a replica.
+ *
+ * <p>The replication lag of the replica is checked periodically. Reads are routed to the primary
+ * while the replica lags by more than the configured threshold, while its lag is unknown, or when
+ * a connection to the replica cannot be obtained.
+ *
+ * @author Jon Freer
+ */
+public final class RoutingConnectionFactory extends ConnectionFactory implements AutoCloseable {
+
+  private static final String LAG_SQL = "SHOW SLAVE STATUS";
+  private static final String LAG_COLUMN = "Seconds_Behind_Master";
+  private static final long UNKNOWN_LAG = -1;
+
+  private final ConnectionFactory primaryConnectionFactory;
+  private final ConnectionFactory replicaConnectionFactory;
+  private final long maxLag;
+  private final Meter replicaReads;
+  private final Meter laggingReads;
+  private final Meter failedReads;
+  private final ScheduledExecutorService lagChecker;
+  private final Tracer tracer;
+  private final Logger logger;
+  private volatile long lag;
+
+  /**
+   * Constructs a new {@link RoutingConnectionFactory}.
+   *
+   * @param primaryConnectionFactory The factory creating connections to the primary.
+   * @param replicaConnectionFactory The factory creating connections to the replica.
+   * @param maxLag The number of seconds the replica may lag behind the primary before reads are
+   *     routed to the primary.
+   * @param lagCheckInterval The number of milliseconds between checks of the replication lag.
+   * @param metricRegistry The metric registry used to record routing metrics.
+   * @param tracer The tracer conforming to the OpenTracing standard utilized for instrumentation.
+   * @param logger The logger used to report routing events.
+   */
+  public RoutingConnectionFactory(
+      ConnectionFactory primaryConnectionFactory,
+      ConnectionFactory replicaConnectionFactory,
+      long maxLag,
+      long lagCheckInterval,
+      MetricRegistry metricRegistry,
+      Tracer tracer,
+      Logger logger) {
+    if (lagCheckInterval < 1) {
+      throw new IllegalArgumentException(
+          "The argument 'lagCheckInterval' must be greater than zero.");
+    }
+
+    this.primaryConnectionFactory = primaryConnectionFactory;
+    this.replicaConnectionFactory = replicaConnectionFactory;
+    this.maxLag = maxLag;
+    this.tracer = tracer;
+    this.logger = logger;
+    this.lag = UNKNOWN_LAG;
+
+    // register routing metrics.
+    metricRegistry.register(
+        MetricRegistry.name(RoutingConnectionFactory.class, "replica-lag"),
+        (Gauge<Long>) () -> this.lag);
+    this.replicaReads =
+        metricRegistry.meter(MetricRegistry.name(RoutingConnectionFactory.class, "reads.replica"));
+    this.laggingReads =
+        metricRegistry.meter(MetricRegistry.name(RoutingConnectionFactory.class, "reads.lagging"));
+    this.failedReads =
+        metricRegistry.meter(MetricRegistry.name(RoutingConnectionFactory.class, "reads.failed"));
+
+    // schedule lag checks.
+    this.lagChecker = Executors.newSingleThreadScheduledExecutor();
+    this.lagChecker.scheduleWithFixedDelay(
+        this::checkLag, 0, lagCheckInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Creates a connection to the primary.
+   *
+   * @return A connection to the primary.
+   */
+  @Override
+  public Connection createConnection() {
+    return this.primaryConnectionFactory.createConnection();
+  }
+
+  /**
+   * Creates a connection to the replica, or to the primary if the replica is lagging or
+   * unavailable.
+   *
+   * @return A connection suitable for reads.
+   */
+  @Override
+  public Connection createReadOnlyConnection() {
+    String className = RoutingConnectionFactory.class.getName();
+    String spanName = String.format("%s#createReadOnlyConnection", className);
+    Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
+    try (Scope scope = this.tracer.scopeManager().activate(span, false)) {
+      long lag = this.lag;
+      if (lag == UNKNOWN_LAG || lag > this.maxLag) {
+        this.laggingReads.mark();
+        span.setTag("replica", false);
+        return this.primaryConnectionFactory.createConnection();
+      }
+
+      try {
+        Connection connection = this.replicaConnectionFactory.createConnection();
+        this.replicaReads.mark();
+        span.setTag("replica", true);
+        return connection;
+      } catch (RuntimeException x) {
+        this.logger.warn("Unable to connect to the replica; reading from the primary.", x);
+        this.failedReads.mark();
+        span.setTag("replica", false);
+        return this.primaryConnectionFactory.createConnection();
+      }
+    } finally {
+      span.finish();
+    }
+  }
+
+  /** Stops checking the replication lag. */
+  @Override
+  public void close() {
+    this.lagChecker.shutdownNow();
+  }
+
+  private void checkLag() {
+    try (Connection connection = this.replicaConnectionFactory.createConnection();
+        PreparedStatement statement = connection.prepareStatement(LAG_SQL);
+        ResultSet results = statement.executeQuery()) {
+
+      // a server that is not replicating, such as a stand-in for a replica, never lags.
+      long lag = 0;
+      if (results.next()) {
+        lag = results.getLong(LAG_COLUMN);
+        if (results.wasNull()) {
+          // replication has stopped, so the lag cannot be known.
+          lag = UNKNOWN_LAG;
+        }
+      }
+      if (lag == UNKNOWN_LAG && this.lag != UNKNOWN_LAG) {
+        this.logger.warn("Replication to the replica has stopped; reading from the primary.");
+      }
+      this.lag = lag;
+    } catch (SQLException | RuntimeException x) {
+      if (this.lag != UNKNOWN_LAG) {
+        this.logger.warn("Unable to check the replication lag; reading from the primary.", x);
+      }
+      this.lag = UNKNOWN_LAG;
+    }
+  }
+}
@@ -84,4 +84,16 @@ public class SQLRepositoryFactory extends RepositoryFactory {
       span.finish();
     }
   }
+
+  @Override
+  public MessageRepository createMessageRepository(UnitOfWork unitOfWork) {
+    String className = SQLRepositoryFactory.class.getName();
+    String spanName = String.format("%s#createMessageRepository", className);
+    final Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
+    try (final Scope scope = this.tracer.scopeManager().activate(span, false)) {
+      return new NotificationMessageRepository(unitOfWork, this.tracer);
+    } finally {
+      span.finish();
+    }
+  }
 }
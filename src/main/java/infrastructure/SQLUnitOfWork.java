@@ -1,5 +1,6 @@
 package infrastructure;
 
+import com.codahale.metrics.MetricRegistry;
 import domain.Audience;
 import domain.Entity;
 import domain.EntitySQLFactory;
@@ -9,8 +10,12 @@ import domain.Template;
 import io.opentracing.Tracer;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import org.slf4j.LoggerFactory;
 
@@ -21,51 +26,143 @@ public class SQLUnitOfWork extends UnitOfWork {
   private final EntitySQLFactory<Audience, UUID> audienceFactory;
   private final EntitySQLFactory<Template, UUID> templateFactory;
   private final ConnectionFactory connectionFactory;
+  private final AggregateCache aggregateCache;
   private final Tracer tracer;
   private final Map<Class, DataMapper> dataMappers;
-  private final Connection connection;
+  private final OutboxDataMapper outboxDataMapper;
+  private final ScheduleDataMapper scheduleDataMapper;
+  private final boolean readOnly;
+  private Connection connection;
+  private boolean closed;
 
   public SQLUnitOfWork(
       ConnectionFactory connectionFactory,
+      boolean readOnly,
       EntitySQLFactory<Notification, UUID> notificationFactory,
       EntitySQLFactory<Target, UUID> targetFactory,
       EntitySQLFactory<Audience, UUID> audienceFactory,
       EntitySQLFactory<Template, UUID> templateFactory,
+      int batchSize,
+      MetricRegistry metricRegistry,
+      UUIDCodec uuidCodec,
+      AggregateCache aggregateCache,
       Tracer tracer) {
     super();
     this.connectionFactory = connectionFactory;
+    this.aggregateCache = aggregateCache;
     this.notificationFactory = notificationFactory;
     this.targetFactory = targetFactory;
     this.audienceFactory = audienceFactory;
     this.templateFactory = templateFactory;
     this.tracer = tracer;
     this.dataMappers = new HashMap<>();
-    this.connection = this.connectionFactory.createConnection();
+    this.readOnly = readOnly;
+    this.connection = null;
+    this.closed = false;
 
     DataMapper ndm =
         new NotificationDataMapper(
-            connection,
+            this::connection,
             this.notificationFactory,
             this.targetFactory,
             this.audienceFactory,
+            batchSize,
+            metricRegistry,
+            uuidCodec,
             LoggerFactory.getLogger(NotificationDataMapper.class));
     DataMapper tdm =
         new TargetDataMapper(
-            this.connection, this.targetFactory, LoggerFactory.getLogger(TargetDataMapper.class));
+            this::connection,
+            this.targetFactory,
+            batchSize,
+            metricRegistry,
+            uuidCodec,
+            LoggerFactory.getLogger(TargetDataMapper.class));
     DataMapper tldm =
         new TemplateDataMapper(
-            this.connection,
+            this::connection,
             this.templateFactory,
+            batchSize,
+            metricRegistry,
+            uuidCodec,
             LoggerFactory.getLogger(TemplateDataMapper.class));
     DataMapper adm =
         new AudienceDataMapper(
-            this.connection,
+            this::connection,
             this.audienceFactory,
+            batchSize,
+            metricRegistry,
+            uuidCodec,
             LoggerFactory.getLogger(AudienceDataMapper.class));
     this.dataMappers.put(Notification.class, ndm);
     this.dataMappers.put(Audience.class, adm);
     this.dataMappers.put(Target.class, tdm);
     this.dataMappers.put(Template.class, tldm);
+    this.outboxDataMapper = new OutboxDataMapper(this::connection, batchSize, uuidCodec);
+    this.scheduleDataMapper = new ScheduleDataMapper(this::connection, batchSize, uuidCodec);
+  }
+
+  /**
+   * Retrieves the connection for the unit of work, borrowing one from the {@link
+   * ConnectionFactory} the first time it is needed. Units of work that never reach the database
+   * never hold a connection. Read-only units of work borrow a read-only connection, which may be
+   * served by a replica.
+   *
+   * @return The connection for the unit of work.
+   * @throws IllegalStateException if the unit of work has been closed, such as when lazily loaded
+   *     state is first used after the unit of work that loaded it.
+   */
+  private Connection connection() {
+    if (this.closed) {
+      throw new IllegalStateException("The unit of work has already been closed.");
+    }
+    if (this.connection == null) {
+      if (this.readOnly) {
+        Connection connection = this.connectionFactory.createReadOnlyConnection();
+        try {
+          connection.setReadOnly(true);
+        } catch (SQLException x) {
+          this.release(connection);
+          throw new RuntimeException(x);
+        }
+        this.connection = connection;
+      } else {
+        this.connection = this.connectionFactory.createConnection();
+      }
+    }
+    return this.connection;
+  }
+
+  private void release(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
+
+  /**
+   * Reads an entity that is not yet in the identity map, from the {@link AggregateCache} when it
+   * holds the entity and from the {@link DataMapper} of the entity otherwise. Only entities read
+   * from the primary are cached: a read-only unit of work may read from a lagging replica, whose
+   * state would outlive the change that already evicted it.
+   *
+   * @param type The type of the entity to read.
+   * @param uuid The identity of the entity to read.
+   * @return The entity, or {@code null} if it does not exist.
+   */
+  @Override
+  protected Entity fetch(Class type, UUID uuid) {
+    Entity entity = this.aggregateCache.get(type, uuid);
+    if (entity == null) {
+      // a change committed while the entity is read must keep the state read out of the cache.
+      long generation = this.aggregateCache.generation(type, uuid);
+      entity = super.fetch(type, uuid);
+      if (entity != null && !this.readOnly) {
+        this.aggregateCache.put(entity, generation);
+      }
+    }
+    return entity;
   }
 
   @Override
@@ -76,16 +173,43 @@ public class SQLUnitOfWork extends UnitOfWork {
   @Override
   public void save() {
 
+    // nothing is written by a read-only unit of work, so there is nothing to commit.
+    if (this.readOnly) {
+      this.closed = true;
+      if (this.connection != null) {
+        this.release(this.connection);
+        this.connection = null;
+      }
+      if (!this.added().isEmpty()
+          || !this.altered().isEmpty()
+          || !this.removed().isEmpty()
+          || !this.enqueued().isEmpty()
+          || !this.dispatched().isEmpty()
+          || !this.leased().isEmpty()) {
+        throw new IllegalStateException("A read-only unit of work cannot persist changes.");
+      }
+      return;
+    }
+
     try {
 
+      // insert consecutive entities of the same type together, preserving the order in which
+      // they were added so that referenced rows are always written first.
+      List<Entity> run = new ArrayList<>();
       for (Entity entity : this.added()) {
-        DataMapper dm = this.dataMappers.get(entity.getClass());
-        dm.insert(entity);
+        if (!run.isEmpty() && run.get(0).getClass() != entity.getClass()) {
+          this.dataMappers.get(run.get(0).getClass()).insertAll(run);
+          run = new ArrayList<>();
+        }
+        run.add(entity);
+      }
+      if (!run.isEmpty()) {
+        this.dataMappers.get(run.get(0).getClass()).insertAll(run);
       }
 
       for (Entity entity : this.altered()) {
         DataMapper dm = this.dataMappers.get(entity.getClass());
-        dm.update(entity);
+        dm.update(entity, this.persisted(entity));
       }
 
       for (Entity entity : this.removed()) {
@@ -93,7 +217,32 @@ public class SQLUnitOfWork extends UnitOfWork {
         dm.delete((UUID) entity.getId());
       }
 
-      this.connection.commit();
+      // the outbox is written last, so its messages only commit along with what they refer to.
+      List<OutboxMessage> enqueued = this.enqueued();
+      if (!enqueued.isEmpty()) {
+        this.outboxDataMapper.insertAll(enqueued);
+      }
+
+      // the notifications handed to the queue here are passed over by the scheduler.
+      Set<UUID> dispatched = this.dispatched();
+      if (!dispatched.isEmpty()) {
+        this.scheduleDataMapper.markDispatched(dispatched, new Date());
+      }
+
+      // the leases commit along with the notifications they hold back from the scheduler.
+      for (Map.Entry<UUID, Map.Entry<String, Date>> lease : this.leased().entrySet()) {
+        this.scheduleDataMapper.lease(
+            lease.getKey(), lease.getValue().getKey(), lease.getValue().getValue());
+      }
+
+      if (this.connection != null) {
+        this.connection.commit();
+
+        // evict what was changed only once the change is visible to other units of work.
+        List<Entity> changed = this.altered();
+        changed.addAll(this.removed());
+        this.aggregateCache.invalidate(changed);
+      }
     } catch (SQLException x) {
       try {
         if (this.connection != null) {
@@ -102,10 +251,22 @@ public class SQLUnitOfWork extends UnitOfWork {
       } catch (SQLException z) {
         throw new RuntimeException(z);
       }
+    } catch (RuntimeException x) {
+      // a data mapper failed or detected a stale aggregate; nothing of the unit of work is kept.
+      try {
+        if (this.connection != null) {
+          this.connection.rollback();
+        }
+      } catch (SQLException z) {
+        x.addSuppressed(z);
+      }
+      throw x;
     } finally {
+      this.closed = true;
       try {
         if (this.connection != null) {
           this.connection.close();
+          this.connection = null;
         }
       } catch (SQLException y) {
         throw new RuntimeException(y);
@@ -1,5 +1,6 @@
 package infrastructure;
 
+import com.codahale.metrics.MetricRegistry;
 import domain.Audience;
 import domain.EntitySQLFactory;
 import domain.Notification;
@@ -19,6 +20,10 @@ public class SQLUnitOfWorkFactory extends UnitOfWorkFactory {
   private final EntitySQLFactory<Audience, UUID> audienceFactory;
   private final EntitySQLFactory<Template, UUID> templateFactory;
   private final ConnectionFactory connectionFactory;
+  private final int batchSize;
+  private final MetricRegistry metricRegistry;
+  private final UUIDCodec uuidCodec;
+  private final AggregateCache aggregateCache;
   private final Tracer tracer;
 
   @Inject
@@ -28,12 +33,20 @@ public class SQLUnitOfWorkFactory extends UnitOfWorkFactory {
       @Named("AudienceSQLFactory") EntitySQLFactory<Audience, UUID> audienceFactory,
       @Named("TemplateSQLFactory") EntitySQLFactory<Template, UUID> templateFactory,
       ConnectionFactory connectionFactory,
+      @Named("DB_BATCH_SIZE") Integer batchSize,
+      MetricRegistry metricRegistry,
+      UUIDCodec uuidCodec,
+      AggregateCache aggregateCache,
       Tracer tracer) {
     this.notificationFactory = notificationFactory;
     this.targetFactory = targetFactory;
     this.audienceFactory = audienceFactory;
     this.templateFactory = templateFactory;
     this.connectionFactory = connectionFactory;
+    this.batchSize = batchSize;
+    this.metricRegistry = metricRegistry;
+    this.uuidCodec = uuidCodec;
+    this.aggregateCache = aggregateCache;
     this.tracer = tracer;
   }
 
@@ -46,10 +59,40 @@ public class SQLUnitOfWorkFactory extends UnitOfWorkFactory {
       UnitOfWork uow =
           new SQLUnitOfWork(
               this.connectionFactory,
+              false,
               this.notificationFactory,
               this.targetFactory,
               this.audienceFactory,
               this.templateFactory,
+              this.batchSize,
+              this.metricRegistry,
+              this.uuidCodec,
+              this.aggregateCache,
+              this.tracer);
+      return uow;
+    } finally {
+      span.finish();
+    }
+  }
+
+  @Override
+  public UnitOfWork createReadOnlyUnitOfWork() {
+    String className = SQLUnitOfWorkFactory.class.getName();
+    String spanName = String.format("%s#createReadOnlyUnitOfWork", className);
+    final Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
+    try (final Scope scope = this.tracer.scopeManager().activate(span, false)) {
+      UnitOfWork uow =
+          new SQLUnitOfWork(
+              this.connectionFactory,
+              true,
+              this.notificationFactory,
+              this.targetFactory,
+              this.audienceFactory,
+              this.templateFactory,
+              this.batchSize,
+              this.metricRegistry,
+              this.uuidCodec,
+              this.aggregateCache,
               this.tracer);
       return uow;
     } finally {
@@ -0,0 +1,353 @@
+package infrastructure;
+
+import domain.NotificationStatus;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Reads and writes the dispatch state of notifications, which records whether the messages of a
+ * notification have been handed to the message queue and which scheduler holds it until then.
+ *
+ * <p>A notification is due once it is pending, undispatched, fanned out, and its send time has
+ * passed. A scheduler leases the due notifications it intends to dispatch, so that schedulers on
+ * other nodes pass over them until the lease expires. A notification whose audiences are still
+ * being fanned out is leased to the fan-out instead, and a fan-out whose lease expired is resumed
+ * by another node. The dispatch state is not part of the notification aggregate and never changes
+ * its version.
+ *
+ * @author Jon Freer
+ */
+public final class ScheduleDataMapper {
+
+  private static final String TABLE_NAME = "NOTIFICATION";
+  private static final String DUE_CONDITION =
+      String.format(
+          " WHERE STATUS = '%s' AND DISPATCHED_AT IS NULL AND NOT FANOUT_PENDING"
+              + " AND SEND_AT <= ?",
+          NotificationStatus.PENDING);
+
+  // rows locked by another scheduler are skipped rather than waited on, as are rows leased to one.
+  private static final String CLAIM_DUE_SQL =
+      "SELECT UUID, SEND_AT FROM "
+          + TABLE_NAME
+          + DUE_CONDITION
+          + " AND (LEASE_OWNER IS NULL OR LEASE_OWNER = ? OR LEASE_EXPIRES_AT < ?)"
+          + " ORDER BY SEND_AT LIMIT ? FOR UPDATE SKIP LOCKED";
+  private static final String COUNT_DUE_SQL =
+      "SELECT COUNT(*) FROM " + TABLE_NAME + DUE_CONDITION;
+  private static final String LOCK_LEASED_SQL =
+      String.format(
+          "SELECT SEND_AT FROM %s WHERE UUID = ? AND STATUS = '%s' AND DISPATCHED_AT IS NULL"
+              + " AND NOT FANOUT_PENDING AND LEASE_OWNER = ? FOR UPDATE",
+          TABLE_NAME, NotificationStatus.PENDING);
+  private static final String LEASE_SQL =
+      "UPDATE "
+          + TABLE_NAME
+          + " SET LEASE_OWNER = ?, LEASE_EXPIRES_AT = ? WHERE UUID = ? AND DISPATCHED_AT IS NULL";
+  private static final String RELEASE_SQL =
+      "UPDATE "
+          + TABLE_NAME
+          + " SET LEASE_OWNER = NULL, LEASE_EXPIRES_AT = NULL WHERE UUID = ? AND LEASE_OWNER = ?";
+
+  // fan-outs whose node stopped are taken over, skipping those another node is taking over.
+  private static final String CLAIM_STALLED_FANOUTS_SQL =
+      String.format(
+          "SELECT UUID FROM %s WHERE FANOUT_PENDING AND STATUS = '%s'"
+              + " AND (LEASE_EXPIRES_AT IS NULL OR LEASE_EXPIRES_AT < ?)"
+              + " LIMIT ? FOR UPDATE SKIP LOCKED",
+          TABLE_NAME, NotificationStatus.PENDING);
+  private static final String LOCK_FANOUT_SQL =
+      String.format(
+          "SELECT COALESCE(SEND_AT, ?) FROM %s WHERE UUID = ? AND STATUS = '%s'"
+              + " AND FANOUT_PENDING FOR UPDATE",
+          TABLE_NAME, NotificationStatus.PENDING);
+  private static final String COMPLETE_FANOUT_SQL =
+      "UPDATE "
+          + TABLE_NAME
+          + " SET FANOUT_PENDING = FALSE, LEASE_OWNER = NULL, LEASE_EXPIRES_AT = NULL"
+          + " WHERE UUID = ?";
+
+  // a notification that could not be completed is failed for good, and revised for its readers.
+  private static final String MARK_FAILED_SQL =
+      String.format(
+          "UPDATE %s SET STATUS = '%s', VERSION = VERSION + 1, FANOUT_PENDING = FALSE,"
+              + " LEASE_OWNER = NULL, LEASE_EXPIRES_AT = NULL"
+              + " WHERE UUID = ? AND STATUS IN ('%s', '%s')",
+          TABLE_NAME,
+          NotificationStatus.FAILED,
+          NotificationStatus.PENDING,
+          NotificationStatus.SENDING);
+
+  private final Supplier<Connection> connection;
+  private final int batchSize;
+  private final UUIDCodec uuidCodec;
+
+  /**
+   * Constructs a new {@link ScheduleDataMapper}.
+   *
+   * @param connection Supplies the connection the dispatch state is read and written with.
+   * @param batchSize The maximum number of rows written by a single statement.
+   * @param uuidCodec The codec used to bind and read {@link UUID} values.
+   */
+  public ScheduleDataMapper(Supplier<Connection> connection, int batchSize, UUIDCodec uuidCodec) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The argument 'batchSize' must be greater than zero.");
+    }
+    this.connection = connection;
+    this.batchSize = batchSize;
+    this.uuidCodec = uuidCodec;
+  }
+
+  /**
+   * Leases the earliest notifications that are due by the provided horizon and not leased to
+   * another scheduler. Leases already held by the owner are renewed.
+   *
+   * @param horizon The latest send time of the notifications leased.
+   * @param now The current time, before which other leases have expired.
+   * @param owner The scheduler taking the leases.
+   * @param leaseExpiresAt The time the leases expire unless renewed.
+   * @param limit The maximum number of notifications leased.
+   * @return The send times of the leased notifications, earliest first.
+   * @throws SQLException if the notifications could not be leased.
+   */
+  public Map<UUID, Date> claimDue(
+      Date horizon, Date now, String owner, Date leaseExpiresAt, int limit) throws SQLException {
+    Map<UUID, Date> claimed = new LinkedHashMap<>();
+    try (PreparedStatement statement = this.connection.get().prepareStatement(CLAIM_DUE_SQL)) {
+      int index = 0;
+      statement.setTimestamp(++index, new Timestamp(horizon.getTime()));
+      statement.setString(++index, owner);
+      statement.setTimestamp(++index, new Timestamp(now.getTime()));
+      statement.setInt(++index, limit);
+      try (ResultSet results = statement.executeQuery()) {
+        while (results.next()) {
+          claimed.put(UUIDCodec.read(results, 1), new Date(results.getTimestamp(2).getTime()));
+        }
+      }
+    }
+
+    this.leaseAll(claimed.keySet(), owner, leaseExpiresAt);
+    return claimed;
+  }
+
+  /**
+   * Leases the pending notifications whose audiences are still being fanned out by a node that has
+   * stopped, as their leases have expired or were never taken.
+   *
+   * @param now The current time, before which leases have expired.
+   * @param owner The owner taking the leases.
+   * @param leaseExpiresAt The time the leases expire unless renewed.
+   * @param limit The maximum number of notifications leased.
+   * @return The universally unique identifiers of the leased notifications.
+   * @throws SQLException if the notifications could not be leased.
+   */
+  public List<UUID> claimStalledFanouts(Date now, String owner, Date leaseExpiresAt, int limit)
+      throws SQLException {
+    List<UUID> claimed = new ArrayList<>();
+    try (PreparedStatement statement =
+        this.connection.get().prepareStatement(CLAIM_STALLED_FANOUTS_SQL)) {
+      statement.setTimestamp(1, new Timestamp(now.getTime()));
+      statement.setInt(2, limit);
+      try (ResultSet results = statement.executeQuery()) {
+        while (results.next()) {
+          claimed.add(UUIDCodec.read(results, 1));
+        }
+      }
+    }
+    this.leaseAll(claimed, owner, leaseExpiresAt);
+    return claimed;
+  }
+
+  /**
+   * Locks a pending notification whose audiences are being fanned out, in order to complete the
+   * fan-out. The row stays locked until the transaction of the connection ends.
+   *
+   * @param uuid The universally unique identifier of the notification.
+   * @param now The current time, returned as the send time of a notification sent immediately.
+   * @return The send time of the notification, or {@code null} if it is no longer pending and
+   *     being fanned out.
+   * @throws SQLException if the notification could not be locked.
+   */
+  public Date lockFanout(UUID uuid, Date now) throws SQLException {
+    try (PreparedStatement statement = this.connection.get().prepareStatement(LOCK_FANOUT_SQL)) {
+      statement.setTimestamp(1, new Timestamp(now.getTime()));
+      this.uuidCodec.bind(statement, 2, uuid);
+      try (ResultSet results = statement.executeQuery()) {
+        return results.next() ? new Date(results.getTimestamp(1).getTime()) : null;
+      }
+    }
+  }
+
+  /**
+   * Marks the audiences of a notification as fanned out, releasing the lease held on it, so that
+   * the notification is left to the scheduler unless it was dispatched along with it.
+   *
+   * @param uuid The universally unique identifier of the notification.
+   * @throws SQLException if the notification could not be marked.
+   */
+  public void completeFanout(UUID uuid) throws SQLException {
+    try (PreparedStatement statement =
+        this.connection.get().prepareStatement(COMPLETE_FANOUT_SQL)) {
+      this.uuidCodec.bind(statement, 1, uuid);
+      statement.executeUpdate();
+    }
+  }
+
+  /**
+   * Counts the notifications that are due and not yet dispatched, whether leased or not.
+   *
+   * @param now The current time.
+   * @return The number of due notifications.
+   * @throws SQLException if the notifications could not be counted.
+   */
+  public int countDue(Date now) throws SQLException {
+    try (PreparedStatement statement = this.connection.get().prepareStatement(COUNT_DUE_SQL)) {
+      statement.setTimestamp(1, new Timestamp(now.getTime()));
+      try (ResultSet results = statement.executeQuery()) {
+        results.next();
+        return results.getInt(1);
+      }
+    }
+  }
+
+  /**
+   * Locks a notification leased to the provided owner for dispatch. The row stays locked until the
+   * transaction of the connection ends.
+   *
+   * @param uuid The universally unique identifier of the notification.
+   * @param owner The scheduler expected to hold the lease.
+   * @return The send time of the notification, or {@code null} if it is no longer pending,
+   *     undispatched, and leased to the owner.
+   * @throws SQLException if the notification could not be locked.
+   */
+  public Date lockLeased(UUID uuid, String owner) throws SQLException {
+    try (PreparedStatement statement = this.connection.get().prepareStatement(LOCK_LEASED_SQL)) {
+      this.uuidCodec.bind(statement, 1, uuid);
+      statement.setString(2, owner);
+      try (ResultSet results = statement.executeQuery()) {
+        if (!results.next()) {
+          return null;
+        }
+        Timestamp sendAt = results.getTimestamp(1);
+        return sendAt == null ? null : new Date(sendAt.getTime());
+      }
+    }
+  }
+
+  /**
+   * Leases a single undispatched notification to the provided owner, taking the lease over from
+   * any scheduler that holds it.
+   *
+   * @param uuid The universally unique identifier of the notification.
+   * @param owner The owner taking the lease.
+   * @param leaseExpiresAt The time the lease expires unless released.
+   * @throws SQLException if the notification could not be leased.
+   */
+  public void lease(UUID uuid, String owner, Date leaseExpiresAt) throws SQLException {
+    try (PreparedStatement statement = this.connection.get().prepareStatement(LEASE_SQL)) {
+      statement.setString(1, owner);
+      statement.setTimestamp(2, new Timestamp(leaseExpiresAt.getTime()));
+      this.uuidCodec.bind(statement, 3, uuid);
+      statement.executeUpdate();
+    }
+  }
+
+  /**
+   * Releases the lease the provided owner holds on a notification, if any.
+   *
+   * @param uuid The universally unique identifier of the notification.
+   * @param owner The scheduler holding the lease.
+   * @throws SQLException if the lease could not be released.
+   */
+  public void release(UUID uuid, String owner) throws SQLException {
+    try (PreparedStatement statement = this.connection.get().prepareStatement(RELEASE_SQL)) {
+      this.uuidCodec.bind(statement, 1, uuid);
+      statement.setString(2, owner);
+      statement.executeUpdate();
+    }
+  }
+
+  /**
+   * Marks a pending or sending notification as failed, releasing any lease held on it. A failed
+   * notification is never dispatched by the scheduler.
+   *
+   * @param uuid The universally unique identifier of the notification.
+   * @throws SQLException if the notification could not be marked.
+   */
+  public void markFailed(UUID uuid) throws SQLException {
+    try (PreparedStatement statement = this.connection.get().prepareStatement(MARK_FAILED_SQL)) {
+      this.uuidCodec.bind(statement, 1, uuid);
+      statement.executeUpdate();
+    }
+  }
+
+  /**
+   * Marks the provided notifications as dispatched, releasing any lease held on them.
+   *
+   * @param uuids The universally unique identifiers of the notifications.
+   * @param dispatchedAt The moment the notifications were dispatched.
+   * @throws SQLException if the notifications could not be marked.
+   */
+  public void markDispatched(Collection<UUID> uuids, Date dispatchedAt) throws SQLException {
+    List<UUID> ordered = new ArrayList<>(uuids);
+    for (int start = 0; start < ordered.size(); start += this.batchSize) {
+      List<UUID> chunk =
+          ordered.subList(start, Math.min(start + this.batchSize, ordered.size()));
+      String sql =
+          new StringBuilder()
+              .append("UPDATE ")
+              .append(TABLE_NAME)
+              .append(" SET DISPATCHED_AT = ?, LEASE_OWNER = NULL, LEASE_EXPIRES_AT = NULL")
+              .append(" WHERE UUID IN (")
+              .append(String.join(", ", Collections.nCopies(chunk.size(), "?")))
+              .append(")")
+              .toString();
+      try (PreparedStatement statement = this.connection.get().prepareStatement(sql)) {
+        int index = 0;
+        statement.setTimestamp(++index, new Timestamp(dispatchedAt.getTime()));
+        for (UUID uuid : chunk) {
+          this.uuidCodec.bind(statement, ++index, uuid);
+        }
+        statement.executeUpdate();
+      }
+    }
+  }
+
+  private void leaseAll(Collection<UUID> uuids, String owner, Date leaseExpiresAt)
+      throws SQLException {
+    List<UUID> ordered = new ArrayList<>(uuids);
+    for (int start = 0; start < ordered.size(); start += this.batchSize) {
+      List<UUID> chunk =
+          ordered.subList(start, Math.min(start + this.batchSize, ordered.size()));
+      String sql =
+          new StringBuilder()
+              .append("UPDATE ")
+              .append(TABLE_NAME)
+              .append(" SET LEASE_OWNER = ?, LEASE_EXPIRES_AT = ? WHERE UUID IN (")
+              .append(String.join(", ", Collections.nCopies(chunk.size(), "?")))
+              .append(")")
+              .toString();
+      try (PreparedStatement statement = this.connection.get().prepareStatement(sql)) {
+        int index = 0;
+        statement.setString(++index, owner);
+        statement.setTimestamp(++index, new Timestamp(leaseExpiresAt.getTime()));
+        for (UUID uuid : chunk) {
+          this.uuidCodec.bind(statement, ++index, uuid);
+        }
+        statement.executeUpdate();
+      }
+    }
+  }
+}
@@ -1,34 +1,54 @@
 package infrastructure;
 
+import com.codahale.metrics.MetricRegistry;
 import domain.EntitySQLFactory;
 import domain.Target;
+import infrastructure.query.Query;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 
 public final class TargetDataMapper extends DataMapper<Target> {
 
+  private static final TargetMetadata targetMetadata = new TargetMetadata();
+
+  // statements that do not vary between calls are built once, when the class is initialized.
+  private static final String FIND_TARGETS_FOR_NOTIFICATION_SQL = findTargetsForNotificationSQL();
+  private static final String FIND_TARGET_SQL = findTargetSQL();
+  private static final String INSERT_TARGET_SQL = insertTargetSQL();
+  private static final String UPDATE_TARGET_SQL = updateTargetSQL();
+  private static final String DELETE_TARGET_SQL = deleteTargetSQL();
+  private static final String DISASSOCIATE_FROM_NOTIFICATION_SQL =
+      disassociateFromNotificationSQL();
+  private static final String DISASSOCIATE_FROM_AUDIENCE_SQL = disassociateFromAudienceSQL();
+
   private final EntitySQLFactory<Target, UUID> targetFactory;
-  private final TargetMetadata targetMetadata;
   private final Logger logger;
 
   TargetDataMapper(
-      Connection connection, EntitySQLFactory<Target, UUID> targetFactory, Logger logger) {
-    super(connection);
+      Supplier<Connection> connection,
+      EntitySQLFactory<Target, UUID> targetFactory,
+      int batchSize,
+      MetricRegistry metricRegistry,
+      UUIDCodec uuidCodec,
+      Logger logger) {
+    super(connection, batchSize, metricRegistry, uuidCodec);
 
     this.targetFactory = targetFactory;
-    this.targetMetadata = new TargetMetadata();
     this.logger = logger;
   }
 
-  private String findTargetsForNotificationSQL() {
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
+  private static String findTargetsForNotificationSQL() {
+    DataMap targetDataMap = targetMetadata.getDataMap();
     List<String> columnNames = targetDataMap.getAllColumnNames();
     String columns = String.join(", ", columnNames);
 
@@ -47,12 +67,11 @@ public final class TargetDataMapper extends DataMapper<Target> {
             .append(" WHERE NT.NOTIFICATION_UUID = ?;");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String findTargetSQL() {
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
+  private static String findTargetSQL() {
+    DataMap targetDataMap = targetMetadata.getDataMap();
     List<String> columnNames = targetDataMap.getAllColumnNames();
     String columns = String.join(", ", columnNames);
 
@@ -71,19 +90,17 @@ public final class TargetDataMapper extends DataMapper<Target> {
             .append(" = ?");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String insertTargetSQL() {
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
-    String sql = this.insertSQL(1, targetDataMap);
-    this.logger.debug(sql);
+  private static String insertTargetSQL() {
+    DataMap targetDataMap = targetMetadata.getDataMap();
+    String sql = insertSQL(1, targetDataMap);
     return sql;
   }
 
-  private String updateTargetSQL() {
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
+  private static String updateTargetSQL() {
+    DataMap targetDataMap = targetMetadata.getDataMap();
 
     StringBuilder sb =
         new StringBuilder()
@@ -99,62 +116,43 @@ public final class TargetDataMapper extends DataMapper<Target> {
             .append(" = ?");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String deleteTargetSQL() {
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
+  private static String deleteTargetSQL() {
+    DataMap targetDataMap = targetMetadata.getDataMap();
     String matchCriteria =
         new StringBuilder()
             .append(targetDataMap.getColumnNameForField(TargetMetadata.UUID))
             .append(" = ?")
             .toString();
 
-    String sql = this.deleteSQL(1, targetDataMap, matchCriteria);
-    this.logger.debug(sql);
+    String sql = deleteSQL(1, targetDataMap, matchCriteria);
     return sql;
   }
 
-  private String disassociateFromNotificationSQL() {
+  private static String disassociateFromNotificationSQL() {
     String tableName = "NOTIFICATION_TARGET";
     String matchCriteria = "TARGET_UUID = ?";
-    String sql = this.deleteSQL(1, tableName, matchCriteria);
-    this.logger.debug(sql);
+    String sql = deleteSQL(1, tableName, matchCriteria);
     return sql;
   }
 
-  private String disassociateFromAudienceSQL() {
+  private static String disassociateFromAudienceSQL() {
     String tableName = "NOTIFICATION_TARGET";
     String matchCriteria = "TARGET_UUID = ?";
-    String sql = this.deleteSQL(1, tableName, matchCriteria);
-    this.logger.debug(sql);
-    return sql;
-  }
-
-  private String countTargetsSQL() {
-    DataMap targetDataMap = this.targetMetadata.getDataMap();
-    StringBuilder sb =
-        new StringBuilder()
-            .append("SELECT ")
-            .append("COUNT(*) ")
-            .append("FROM ")
-            .append(targetDataMap.getTableName())
-            .append(" AS ")
-            .append(targetDataMap.getTableAlias());
-    String sql = sb.toString();
-    this.logger.debug(sql);
+    String sql = deleteSQL(1, tableName, matchCriteria);
     return sql;
   }
 
   Set<Target> findForNotification(UUID notificationUUID) {
 
-    String sql = this.findTargetsForNotificationSQL();
+    String sql = FIND_TARGETS_FOR_NOTIFICATION_SQL;
 
     int index = 0;
     Set<Target> targets = new HashSet<>();
     try (PreparedStatement statement = this.getConnection().prepareStatement(sql)) {
-      statement.setString(++index, notificationUUID.toString());
+      this.getUUIDCodec().bind(statement, ++index, notificationUUID);
       try (ResultSet rs = statement.executeQuery()) {
         while (rs.next()) {
           targets.add(this.targetFactory.reconstitute(rs));
@@ -166,16 +164,62 @@ public final class TargetDataMapper extends DataMapper<Target> {
     }
   }
 
+  /**
+   * Finds the page of targets matching the provided criteria with a single statement. When
+   * conditions are provided, the number of targets matching them is read from the same statement
+   * and reported to {@code total}.
+   *
+   * @param conditions The conditions the targets must satisfy, or {@code null}.
+   * @param seek The predicate resuming the page after a cursor, or {@code null}.
+   * @param orderBy The sort order of the page, or {@code null}.
+   * @param skip The number of targets to skip, or {@code null}.
+   * @param take The maximum number of targets to retrieve, or {@code null}.
+   * @param args The arguments bound to the placeholders of the criteria.
+   * @param total Receives the number of targets matching the conditions.
+   * @return The page of targets, in order.
+   */
+  public Set<Target> find(
+      String conditions,
+      String seek,
+      String orderBy,
+      String skip,
+      String take,
+      List<Query.QueryArgument> args,
+      Consumer<Integer> total) {
+
+    String targetsSQL =
+        selectPageSQL(targetMetadata.getDataMap(), conditions, seek, orderBy, skip, take, true);
+    this.logger.debug(targetsSQL);
+
+    try (PreparedStatement targetsStatement =
+        this.getConnection()
+            .prepareStatement(
+                targetsSQL, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
+      for (Query.QueryArgument arg : args) {
+        this.bind(targetsStatement, arg);
+      }
+
+      try (ResultSet targetsRS = targetsStatement.executeQuery()) {
+        if (conditions != null) {
+          readTotal(targetsRS, seek, skip, total);
+        }
+        return this.targetFactory.reconstituteAll(targetsRS);
+      }
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
+
   @Override
   public Target find(final UUID uuid) {
 
-    final String targetSQL = this.findTargetSQL();
+    final String targetSQL = FIND_TARGET_SQL;
 
     Target target = null;
     try (PreparedStatement getTargetStatement = this.getConnection().prepareStatement(targetSQL)) {
 
       int index = 1;
-      getTargetStatement.setString(index, uuid.toString());
+      this.getUUIDCodec().bind(getTargetStatement, index, uuid);
       try (ResultSet targetRs = getTargetStatement.executeQuery()) {
         if (targetRs.next()) {
           target = this.targetFactory.reconstitute(targetRs);
@@ -190,16 +234,39 @@ public final class TargetDataMapper extends DataMapper<Target> {
   @Override
   public void insert(final Target target) {
 
-    final String insertTargetSQL = this.insertTargetSQL();
+    final String insertTargetSQL = INSERT_TARGET_SQL;
 
     try (PreparedStatement insertTargetStatement =
         this.getConnection().prepareStatement(insertTargetSQL)) {
 
       int index = 0;
-      insertTargetStatement.setString(++index, target.getId().toString());
+      this.getUUIDCodec().bind(insertTargetStatement, ++index, target.getId());
       insertTargetStatement.setString(++index, target.getName());
       insertTargetStatement.setString(++index, target.getPhoneNumber().toE164());
       insertTargetStatement.executeUpdate();
+      this.adjustCount(targetMetadata.getDataMap().getTableName(), 1);
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
+
+  @Override
+  public void insertAll(final Collection<Target> targets) {
+
+    DataMap targetDataMap = targetMetadata.getDataMap();
+
+    try {
+      this.insertRows(
+          targetDataMap.getTableName(),
+          targetDataMap.getAllColumnNames(),
+          targets,
+          (statement, index, target) -> {
+            this.getUUIDCodec().bind(statement, ++index, target.getId());
+            statement.setString(++index, target.getName());
+            statement.setString(++index, target.getPhoneNumber().toE164());
+            return index;
+          });
+      this.adjustCount(targetDataMap.getTableName(), targets.size());
     } catch (SQLException x) {
       throw new RuntimeException(x);
     }
@@ -208,7 +275,7 @@ public final class TargetDataMapper extends DataMapper<Target> {
   @Override
   public void update(final Target target) {
 
-    final String updateTargetSQL = this.updateTargetSQL();
+    final String updateTargetSQL = UPDATE_TARGET_SQL;
 
     try (PreparedStatement updateTargetStatement =
         this.getConnection().prepareStatement(updateTargetSQL)) {
@@ -216,7 +283,7 @@ public final class TargetDataMapper extends DataMapper<Target> {
       int index = 0;
       updateTargetStatement.setString(++index, target.getName());
       updateTargetStatement.setString(++index, target.getPhoneNumber().toE164());
-      updateTargetStatement.setString(++index, target.getId().toString());
+      this.getUUIDCodec().bind(updateTargetStatement, ++index, target.getId());
       updateTargetStatement.executeUpdate();
     } catch (SQLException x) {
       throw new RuntimeException(x);
@@ -226,9 +293,9 @@ public final class TargetDataMapper extends DataMapper<Target> {
   @Override
   public void delete(final UUID uuid) {
 
-    final String deleteTargetSQL = this.deleteTargetSQL();
-    final String disassociateFromNotificationSQL = this.disassociateFromNotificationSQL();
-    final String disassociateFromAudienceSQL = this.disassociateFromAudienceSQL();
+    final String deleteTargetSQL = DELETE_TARGET_SQL;
+    final String disassociateFromNotificationSQL = DISASSOCIATE_FROM_NOTIFICATION_SQL;
+    final String disassociateFromAudienceSQL = DISASSOCIATE_FROM_AUDIENCE_SQL;
 
     try (PreparedStatement disassociateFromNotificationStatement =
             this.getConnection().prepareStatement(disassociateFromNotificationSQL);
@@ -238,14 +305,15 @@ public final class TargetDataMapper extends DataMapper<Target> {
             this.getConnection().prepareStatement(deleteTargetSQL)) {
 
       int index = 1;
-      disassociateFromNotificationStatement.setString(index, uuid.toString());
+      this.getUUIDCodec().bind(disassociateFromNotificationStatement, index, uuid);
       disassociateFromNotificationStatement.executeUpdate();
 
-      disassociateFromAudienceStatement.setString(index, uuid.toString());
+      this.getUUIDCodec().bind(disassociateFromAudienceStatement, index, uuid);
       disassociateFromAudienceStatement.executeUpdate();
 
-      deleteTargetStatement.setString(index, uuid.toString());
-      deleteTargetStatement.executeUpdate();
+      this.getUUIDCodec().bind(deleteTargetStatement, index, uuid);
+      int deleted = deleteTargetStatement.executeUpdate();
+      this.adjustCount(targetMetadata.getDataMap().getTableName(), -deleted);
     } catch (SQLException x) {
       throw new RuntimeException(x);
     }
@@ -253,17 +321,6 @@ public final class TargetDataMapper extends DataMapper<Target> {
 
   @Override
   public int count() {
-
-    final String countTargetsSQL = this.countTargetsSQL();
-
-    try (final PreparedStatement countTargetsStatement =
-            this.getConnection().prepareStatement(countTargetsSQL);
-        final ResultSet rs = countTargetsStatement.executeQuery()) {
-      int index = 1;
-      rs.next();
-      return rs.getInt(index);
-    } catch (SQLException x) {
-      throw new RuntimeException(x);
-    }
+    return this.countOf(targetMetadata.getDataMap().getTableName());
   }
 }
@@ -24,7 +24,7 @@ public final class TargetMetadata extends MetadataMapper {
   /** Construcs new {@link TargetMetadata}. */
   public TargetMetadata() {
     super(new DataMap("TARGET", "T"));
-    this.getDataMap().addColumn("UUID", Types.VARCHAR, UUID);
+    this.getDataMap().addColumn("UUID", Types.BINARY, UUID);
     this.getDataMap().addColumn("NAME", Types.VARCHAR, NAME);
     this.getDataMap().addColumn("PHONE_NUMBER", Types.VARCHAR, PHONE_NUMBER);
   }
@@ -1,32 +1,49 @@
 package infrastructure;
 
+import com.codahale.metrics.MetricRegistry;
 import domain.EntitySQLFactory;
 import domain.Template;
+import infrastructure.query.Query;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 
 public final class TemplateDataMapper extends DataMapper<Template> {
 
+  private static final TemplateMetadata templateMetadata = new TemplateMetadata();
+
+  // statements that do not vary between calls are built once, when the class is initialized.
+  private static final String FIND_TEMPLATE_SQL = findTemplateSQL();
+  private static final String INSERT_TEMPLATE_SQL = insertTemplateSQL();
+  private static final String UPDATE_TEMPLATE_SQL = updateTemplateSQL();
+  private static final String DELETE_TEMPLATE_SQL = deleteTemplateSQL();
+
   private final EntitySQLFactory<Template, UUID> templateFactory;
-  private final TemplateMetadata templateMetadata;
   private final Logger logger;
 
   TemplateDataMapper(
-      Connection connection, EntitySQLFactory<Template, UUID> templateFactory, Logger logger) {
-    super(connection);
+      Supplier<Connection> connection,
+      EntitySQLFactory<Template, UUID> templateFactory,
+      int batchSize,
+      MetricRegistry metricRegistry,
+      UUIDCodec uuidCodec,
+      Logger logger) {
+    super(connection, batchSize, metricRegistry, uuidCodec);
 
     this.templateFactory = templateFactory;
-    this.templateMetadata = new TemplateMetadata();
     this.logger = logger;
   }
 
-  private String findTemplateSQL() {
-    DataMap templateDataMap = this.templateMetadata.getDataMap();
+  private static String findTemplateSQL() {
+    DataMap templateDataMap = templateMetadata.getDataMap();
     List<String> columnNames = templateDataMap.getAllColumnNames();
     String columns = String.join(", ", columnNames);
 
@@ -45,19 +62,17 @@ public final class TemplateDataMapper extends DataMapper<Template> {
             .append(" = ?");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String insertTemplateSQL() {
-    DataMap templateDataMap = this.templateMetadata.getDataMap();
-    String sql = this.insertSQL(1, templateDataMap);
-    this.logger.debug(sql);
+  private static String insertTemplateSQL() {
+    DataMap templateDataMap = templateMetadata.getDataMap();
+    String sql = insertSQL(1, templateDataMap);
     return sql;
   }
 
-  private String updateTemplateSQL() {
-    DataMap templateDataMap = this.templateMetadata.getDataMap();
+  private static String updateTemplateSQL() {
+    DataMap templateDataMap = templateMetadata.getDataMap();
 
     StringBuilder sb =
         new StringBuilder()
@@ -71,49 +86,78 @@ public final class TemplateDataMapper extends DataMapper<Template> {
             .append(" = ?");
 
     String sql = sb.toString();
-    this.logger.debug(sql);
     return sql;
   }
 
-  private String deleteTemplateSQL() {
-    DataMap templateDataMap = this.templateMetadata.getDataMap();
+  private static String deleteTemplateSQL() {
+    DataMap templateDataMap = templateMetadata.getDataMap();
     String matchCriteria =
         new StringBuilder()
             .append(templateDataMap.getColumnNameForField(TemplateMetadata.UUID))
             .append(" = ?")
             .toString();
 
-    String sql = this.deleteSQL(1, templateDataMap, matchCriteria);
-    this.logger.debug(sql);
+    String sql = deleteSQL(1, templateDataMap, matchCriteria);
     return sql;
   }
 
-  private String countTemplatesSQL() {
-    DataMap templateDataMap = this.templateMetadata.getDataMap();
-    StringBuilder sb =
-        new StringBuilder()
-            .append("SELECT ")
-            .append("COUNT(*) ")
-            .append("FROM ")
-            .append(templateDataMap.getTableName())
-            .append(" AS ")
-            .append(templateDataMap.getTableAlias());
-    String sql = sb.toString();
-    this.logger.debug(sql);
-    return sql;
+  /**
+   * Finds the page of templates matching the provided criteria with a single statement. When
+   * conditions are provided, the number of templates matching them is read from the same statement
+   * and reported to {@code total}.
+   *
+   * @param conditions The conditions the templates must satisfy, or {@code null}.
+   * @param seek The predicate resuming the page after a cursor, or {@code null}.
+   * @param orderBy The sort order of the page, or {@code null}.
+   * @param skip The number of templates to skip, or {@code null}.
+   * @param take The maximum number of templates to retrieve, or {@code null}.
+   * @param args The arguments bound to the placeholders of the criteria.
+   * @param total Receives the number of templates matching the conditions.
+   * @return The page of templates, in order.
+   */
+  public Set<Template> find(
+      String conditions,
+      String seek,
+      String orderBy,
+      String skip,
+      String take,
+      List<Query.QueryArgument> args,
+      Consumer<Integer> total) {
+
+    String templatesSQL =
+        selectPageSQL(templateMetadata.getDataMap(), conditions, seek, orderBy, skip, take, true);
+    this.logger.debug(templatesSQL);
+
+    try (PreparedStatement templatesStatement =
+        this.getConnection()
+            .prepareStatement(
+                templatesSQL, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
+      for (Query.QueryArgument arg : args) {
+        this.bind(templatesStatement, arg);
+      }
+
+      try (ResultSet templatesRS = templatesStatement.executeQuery()) {
+        if (conditions != null) {
+          readTotal(templatesRS, seek, skip, total);
+        }
+        return this.templateFactory.reconstituteAll(templatesRS);
+      }
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
   }
 
   @Override
   public Template find(final UUID uuid) {
 
-    final String templateSQL = this.findTemplateSQL();
+    final String templateSQL = FIND_TEMPLATE_SQL;
 
     Template template = null;
     try (PreparedStatement getTemplateStatement =
         this.getConnection().prepareStatement(templateSQL)) {
 
       int index = 1;
-      getTemplateStatement.setString(index, uuid.toString());
+      this.getUUIDCodec().bind(getTemplateStatement, index, uuid);
       try (ResultSet templateRs = getTemplateStatement.executeQuery()) {
         if (templateRs.next()) {
           template = this.templateFactory.reconstitute(templateRs);
@@ -128,15 +172,37 @@ public final class TemplateDataMapper extends DataMapper<Template> {
   @Override
   public void insert(final Template template) {
 
-    final String insertTemplateSQL = this.insertTemplateSQL();
+    final String insertTemplateSQL = INSERT_TEMPLATE_SQL;
 
     try (PreparedStatement insertTemplateStatement =
         this.getConnection().prepareStatement(insertTemplateSQL)) {
 
       int index = 0;
-      insertTemplateStatement.setString(++index, template.getId().toString());
+      this.getUUIDCodec().bind(insertTemplateStatement, ++index, template.getId());
       insertTemplateStatement.setString(++index, template.getContent());
       insertTemplateStatement.executeUpdate();
+      this.adjustCount(templateMetadata.getDataMap().getTableName(), 1);
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+  }
+
+  @Override
+  public void insertAll(final Collection<Template> templates) {
+
+    DataMap templateDataMap = templateMetadata.getDataMap();
+
+    try {
+      this.insertRows(
+          templateDataMap.getTableName(),
+          templateDataMap.getAllColumnNames(),
+          templates,
+          (statement, index, template) -> {
+            this.getUUIDCodec().bind(statement, ++index, template.getId());
+            statement.setString(++index, template.getContent());
+            return index;
+          });
+      this.adjustCount(templateDataMap.getTableName(), templates.size());
     } catch (SQLException x) {
       throw new RuntimeException(x);
     }
@@ -145,14 +211,14 @@ public final class TemplateDataMapper extends DataMapper<Template> {
   @Override
   public void update(final Template template) {
 
-    final String updateTemplateSQL = this.updateTemplateSQL();
+    final String updateTemplateSQL = UPDATE_TEMPLATE_SQL;
 
     try (PreparedStatement updateTemplateStatement =
         this.getConnection().prepareStatement(updateTemplateSQL)) {
 
       int index = 0;
       updateTemplateStatement.setString(++index, template.getContent());
-      updateTemplateStatement.setString(++index, template.getId().toString());
+      this.getUUIDCodec().bind(updateTemplateStatement, ++index, template.getId());
       updateTemplateStatement.executeUpdate();
     } catch (SQLException x) {
       throw new RuntimeException(x);
@@ -162,13 +228,14 @@ public final class TemplateDataMapper extends DataMapper<Template> {
   @Override
   public void delete(final UUID uuid) {
 
-    final String deleteTemplateSQL = this.deleteTemplateSQL();
+    final String deleteTemplateSQL = DELETE_TEMPLATE_SQL;
     try (PreparedStatement deleteTemplateStatement =
         this.getConnection().prepareStatement(deleteTemplateSQL)) {
 
       int index = 1;
-      deleteTemplateStatement.setString(index, uuid.toString());
-      deleteTemplateStatement.executeUpdate();
+      this.getUUIDCodec().bind(deleteTemplateStatement, index, uuid);
+      int deleted = deleteTemplateStatement.executeUpdate();
+      this.adjustCount(templateMetadata.getDataMap().getTableName(), -deleted);
     } catch (SQLException x) {
       throw new RuntimeException(x);
     }
@@ -176,16 +243,6 @@ public final class TemplateDataMapper extends DataMapper<Template> {
 
   @Override
   public int count() {
-
-    final String countTemplatesSQL = this.countTemplatesSQL();
-    try (final PreparedStatement countTemplatesStatement =
-            this.getConnection().prepareStatement(countTemplatesSQL);
-        final ResultSet rs = countTemplatesStatement.executeQuery()) {
-      int index = 1;
-      rs.next();
-      return rs.getInt(index);
-    } catch (SQLException x) {
-      throw new RuntimeException(x);
-    }
+    return this.countOf(templateMetadata.getDataMap().getTableName());
   }
 }
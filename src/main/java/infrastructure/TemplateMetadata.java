@@ -21,7 +21,7 @@ public final class TemplateMetadata extends MetadataMapper {
   /** Construcs new {@link TemplateMetadata}. */
   public TemplateMetadata() {
     super(new DataMap("TEMPLATE", "T"));
-    this.getDataMap().addColumn("UUID", Types.VARCHAR, UUID);
+    this.getDataMap().addColumn("UUID", Types.BINARY, UUID);
     this.getDataMap().addColumn("CONTENT", Types.VARCHAR, CONTENT);
   }
 }
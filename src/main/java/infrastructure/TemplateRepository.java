@@ -46,7 +46,7 @@ public final class TemplateRepository extends SQLRepository implements Repositor
     String spanName = String.format("%s#get(query)", className);
     Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
     try (Scope scope = this.tracer.scopeManager().activate(span, false)) {
-      return query.execute();
+      return this.getUnitOfWork().register(query.execute());
     } finally {
       span.finish();
     }
@@ -64,8 +64,7 @@ public final class TemplateRepository extends SQLRepository implements Repositor
     String spanName = String.format("%s#get(uuid)", className);
     Span span = this.tracer.buildSpan(spanName).asChildOf(this.tracer.activeSpan()).start();
     try (Scope scope = this.tracer.scopeManager().activate(span, false)) {
-      DataMapper dm = this.getUnitOfWork().dataMappers().get(Template.class);
-      return (Template) dm.find(uuid);
+      return this.getUnitOfWork().find(Template.class, uuid);
     } finally {
       span.finish();
     }
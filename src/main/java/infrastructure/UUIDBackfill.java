@@ -0,0 +1,191 @@
+package infrastructure;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+
+/**
+ * Fills the binary shadow columns of the UUID keys of the rows written before they were added.
+ *
+ * <p>The shadow columns are added alongside the textual keys, and filled by triggers for every row
+ * inserted since. The rows that already existed are filled here, walking each table in the order of
+ * its primary key and committing a batch of rows at a time, so that no lock is held for long and
+ * the nodes still writing textual keys are never blocked. A backfill that stops part-way resumes
+ * where the rows still lack their binary keys, and a table whose keys are already converted has no
+ * shadow columns and is skipped.
+ *
+ * @author Jon Freer
+ */
+public final class UUIDBackfill {
+
+  /** A table holding UUID keys: its primary key, and the keys converted to binary. */
+  private static final class Table {
+
+    private final String name;
+    private final List<String> primaryKey;
+    private final List<String> keys;
+
+    Table(String name, List<String> primaryKey, List<String> keys) {
+      this.name = name;
+      this.primaryKey = primaryKey;
+      this.keys = keys;
+    }
+  }
+
+  private static final String SHADOW_SUFFIX = "_BIN";
+  private static final List<Table> TABLES =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              new Table("TARGET", Arrays.asList("UUID"), Arrays.asList("UUID")),
+              new Table("NOTIFICATION", Arrays.asList("UUID"), Arrays.asList("UUID")),
+              new Table("AUDIENCE", Arrays.asList("UUID"), Arrays.asList("UUID")),
+              new Table("TEMPLATE", Arrays.asList("UUID"), Arrays.asList("UUID")),
+              new Table("REPRESENTATION_METADATA", Arrays.asList("UUID"), Arrays.asList("UUID")),
+              new Table(
+                  "NOTIFICATION_TARGET",
+                  Arrays.asList("NOTIFICATION_UUID", "TARGET_UUID"),
+                  Arrays.asList("NOTIFICATION_UUID", "TARGET_UUID")),
+              new Table(
+                  "MESSAGE",
+                  Arrays.asList("NOTIFICATION_UUID", "ID"),
+                  Arrays.asList("NOTIFICATION_UUID")),
+              new Table(
+                  "NOTIFICATION_AUDIENCE",
+                  Arrays.asList("NOTIFICATION_UUID", "AUDIENCE_UUID"),
+                  Arrays.asList("NOTIFICATION_UUID", "AUDIENCE_UUID")),
+              new Table(
+                  "AUDIENCE_TARGET",
+                  Arrays.asList("AUDIENCE_UUID", "TARGET_UUID"),
+                  Arrays.asList("AUDIENCE_UUID", "TARGET_UUID"))));
+  private static final String FIND_SHADOW_COLUMN_SQL =
+      "SELECT COUNT(*) FROM information_schema.COLUMNS"
+          + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?";
+
+  private final ConnectionFactory connectionFactory;
+  private final int batchSize;
+  private final Logger logger;
+
+  /**
+   * Constructs a new {@link UUIDBackfill}.
+   *
+   * @param connectionFactory The factory creating connections to the primary.
+   * @param batchSize The number of rows filled by each transaction.
+   * @param logger The logger used to report the progress of the backfill.
+   */
+  public UUIDBackfill(ConnectionFactory connectionFactory, int batchSize, Logger logger) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The argument 'batchSize' must be greater than zero.");
+    }
+    this.connectionFactory = connectionFactory;
+    this.batchSize = batchSize;
+    this.logger = logger;
+  }
+
+  /**
+   * Fills the shadow columns of every row that lacks its binary keys.
+   *
+   * @return The number of rows filled.
+   * @throws RuntimeException if a batch could not be filled.
+   */
+  public long backfill() {
+    long filled = 0;
+    try (Connection connection = this.connectionFactory.createConnection()) {
+      for (Table table : TABLES) {
+        if (this.hasShadowColumns(connection, table)) {
+          long rows = this.backfill(connection, table);
+          this.logger.info("Backfilled the binary keys of {} rows of {}.", rows, table.name);
+          filled += rows;
+        }
+      }
+    } catch (SQLException x) {
+      throw new RuntimeException(x);
+    }
+    return filled;
+  }
+
+  private boolean hasShadowColumns(Connection connection, Table table) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(FIND_SHADOW_COLUMN_SQL)) {
+      statement.setString(1, table.name);
+      statement.setString(2, table.keys.get(0) + SHADOW_SUFFIX);
+      try (ResultSet results = statement.executeQuery()) {
+        results.next();
+        boolean exists = results.getInt(1) > 0;
+        connection.commit();
+        return exists;
+      }
+    }
+  }
+
+  private long backfill(Connection connection, Table table) throws SQLException {
+    String primaryKey = String.join(", ", table.primaryKey);
+    String row = "(" + String.join(", ", Collections.nCopies(table.primaryKey.size(), "?")) + ")";
+    String after = "(" + primaryKey + ") > " + row;
+    String upTo = "(" + primaryKey + ") <= " + row;
+    List<String> assignments = new ArrayList<>(table.keys.size());
+    for (String key : table.keys) {
+      assignments.add(String.format("%s%s = UUID_TO_BIN(%s)", key, SHADOW_SUFFIX, key));
+    }
+    String fill = String.join(", ", assignments);
+    String unfilled = table.keys.get(0) + SHADOW_SUFFIX + " IS NULL";
+
+    long filled = 0;
+    List<Object> last = null;
+    while (true) {
+
+      // find the primary key closing the next batch, reading past the rows already filled.
+      String findSQL =
+          String.format(
+              "SELECT %s FROM %s%s ORDER BY %s LIMIT %d",
+              primaryKey,
+              table.name,
+              last == null ? "" : " WHERE " + after,
+              primaryKey,
+              this.batchSize);
+      List<Object> upper = null;
+      try (PreparedStatement statement = connection.prepareStatement(findSQL)) {
+        bind(statement, 0, last);
+        try (ResultSet results = statement.executeQuery()) {
+          while (results.next()) {
+            upper = new ArrayList<>(table.primaryKey.size());
+            for (int column = 1; column <= table.primaryKey.size(); column++) {
+              upper.add(results.getObject(column));
+            }
+          }
+        }
+      }
+      if (upper == null) {
+        connection.commit();
+        return filled;
+      }
+
+      // fill the batch and release its locks before reading the next one.
+      String fillSQL =
+          String.format(
+              "UPDATE %s SET %s WHERE %s%s AND %s",
+              table.name, fill, last == null ? "" : after + " AND ", upTo, unfilled);
+      try (PreparedStatement statement = connection.prepareStatement(fillSQL)) {
+        int index = bind(statement, 0, last);
+        bind(statement, index, upper);
+        filled += statement.executeUpdate();
+      }
+      connection.commit();
+      last = upper;
+    }
+  }
+
+  private static int bind(PreparedStatement statement, int index, List<Object> values)
+      throws SQLException {
+    if (values != null) {
+      for (Object value : values) {
+        statement.setObject(++index, value);
+      }
+    }
+    return index;
+  }
+}
@@ -0,0 +1,165 @@
+package infrastructure;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.UUID;
+
+/**
+ * Converts {@link UUID} values to and from their database representations.
+ *
+ * <p>Keys are stored as {@code BINARY(16)}. While a database is being migrated from the original
+ * {@code VARCHAR} keys, the codec can be configured to keep writing the textual form, which the
+ * schema mirrors into binary shadow columns until the keys are converted. Reads always accept both
+ * forms, which allows the schema and the application to be switched independently.
+ *
+ * @author Jon Freer
+ */
+public final class UUIDCodec {
+
+  private static final int BINARY_LENGTH = 16;
+
+  /** The representations a {@link UUID} may be written with. */
+  public enum Format {
+    /** The canonical 36 character string form. */
+    TEXT,
+    /** The 16 byte big-endian form. */
+    BINARY
+  }
+
+  private final Format format;
+
+  /**
+   * Constructs a new {@link UUIDCodec}.
+   *
+   * @param format The representation used when binding {@link UUID} values.
+   */
+  public UUIDCodec(Format format) {
+    if (format == null) {
+      throw new IllegalArgumentException("The argument 'format' cannot be null.");
+    }
+    this.format = format;
+  }
+
+  /**
+   * Retrieves the representation used when binding {@link UUID} values.
+   *
+   * @return The representation used when binding.
+   */
+  public Format getFormat() {
+    return this.format;
+  }
+
+  /**
+   * Encodes the provided {@link UUID} in the configured representation.
+   *
+   * @param uuid The {@link UUID} to encode.
+   * @return A {@code byte[]} when writing binary keys; a {@link String} otherwise.
+   */
+  public Object encode(UUID uuid) {
+    if (uuid == null) {
+      return null;
+    }
+    return this.format == Format.BINARY ? toBytes(uuid) : uuid.toString();
+  }
+
+  /**
+   * Retrieves the {@link Types} constant of the configured representation.
+   *
+   * @return The SQL type used when binding {@link UUID} values.
+   */
+  public int getType() {
+    return this.format == Format.BINARY ? Types.BINARY : Types.VARCHAR;
+  }
+
+  /**
+   * Binds the provided {@link UUID} to a statement parameter in the configured representation.
+   *
+   * @param statement The statement being bound.
+   * @param index The index of the parameter.
+   * @param uuid The {@link UUID} to bind.
+   * @throws SQLException if the value cannot be bound.
+   */
+  public void bind(PreparedStatement statement, int index, UUID uuid) throws SQLException {
+    if (uuid == null) {
+      statement.setNull(index, this.getType());
+    } else if (this.format == Format.BINARY) {
+      statement.setBytes(index, toBytes(uuid));
+    } else {
+      statement.setString(index, uuid.toString());
+    }
+  }
+
+  /**
+   * Reads a {@link UUID} from the provided column of the current row. Both the binary and the
+   * textual representations are accepted.
+   *
+   * @param results The results positioned on the row to read.
+   * @param column The label of the column to read.
+   * @return The {@link UUID}, or {@code null} if the column is {@code NULL}.
+   * @throws SQLException if the column cannot be read.
+   */
+  public static UUID read(ResultSet results, String column) throws SQLException {
+    return decode(results.getBytes(column));
+  }
+
+  /**
+   * Reads a {@link UUID} from the column at the provided position of the current row. Both the
+   * binary and the textual representations are accepted.
+   *
+   * @param results The results positioned on the row to read.
+   * @param column The 1-based position of the column to read.
+   * @return The {@link UUID}, or {@code null} if the column is {@code NULL}.
+   * @throws SQLException if the column cannot be read.
+   */
+  public static UUID read(ResultSet results, int column) throws SQLException {
+    return decode(results.getBytes(column));
+  }
+
+  /**
+   * Decodes a {@link UUID} from either its binary or its textual representation.
+   *
+   * @param bytes The stored bytes.
+   * @return The {@link UUID}, or {@code null} if no bytes are provided.
+   */
+  public static UUID decode(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    if (bytes.length == BINARY_LENGTH) {
+      return fromBytes(bytes);
+    }
+    return UUID.fromString(new String(bytes, StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Converts the provided {@link UUID} into its 16 byte big-endian form, matching MySQL's {@code
+   * UUID_TO_BIN(uuid)}.
+   *
+   * @param uuid The {@link UUID} to convert.
+   * @return The binary form of the {@link UUID}.
+   */
+  public static byte[] toBytes(UUID uuid) {
+    return ByteBuffer.allocate(BINARY_LENGTH)
+        .putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits())
+        .array();
+  }
+
+  /**
+   * Converts the 16 byte big-endian form of a {@link UUID} back into a {@link UUID}.
+   *
+   * @param bytes The binary form of the {@link UUID}.
+   * @return The {@link UUID}.
+   */
+  public static UUID fromBytes(byte[] bytes) {
+    if (bytes.length != BINARY_LENGTH) {
+      throw new IllegalArgumentException("The argument 'bytes' must contain exactly 16 bytes.");
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+}
@@ -1,62 +1,200 @@
 package infrastructure;
 
 import domain.Entity;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 public abstract class UnitOfWork implements AutoCloseable {
 
-  private final List<Entity> added;
-  private final List<Entity> removed;
-  private final List<Entity> altered;
+  // entities are equal when their identities are, so each set holds at most one entity per
+  // identity. insertion order is kept so that referenced rows are written first.
+  private final Set<Entity> added;
+  private final Set<Entity> removed;
+  private final Set<Entity> altered;
+
+  // the messages to place in the outbox, written in the same transaction as the entities.
+  private final List<OutboxMessage> enqueued;
+
+  // the notifications whose messages are handed to the message queue outside of the scheduler.
+  private final Set<UUID> dispatched;
+
+  // the notifications leased away from the scheduler, with the owner and expiry of each lease.
+  private final Map<UUID, Map.Entry<String, Date>> leased;
+
+  // the identity map: every entity loaded within the unit of work, keyed by its class and id,
+  // along with the state each was loaded with for data mappers to diff against when saving.
+  private final Map<Map.Entry<Class, Object>, Entity> loaded;
+  private final Map<Map.Entry<Class, Object>, Entity> snapshots;
 
   public UnitOfWork() {
-    this.added = new ArrayList<>();
-    this.removed = new ArrayList<>();
-    this.altered = new ArrayList<>();
+    this.added = new LinkedHashSet<>();
+    this.removed = new LinkedHashSet<>();
+    this.altered = new LinkedHashSet<>();
+    this.enqueued = new ArrayList<>();
+    this.dispatched = new LinkedHashSet<>();
+    this.leased = new LinkedHashMap<>();
+    this.loaded = new HashMap<>();
+    this.snapshots = new HashMap<>();
   }
 
   public void add(Entity entity) {
-    if (!this.added.contains(entity)) {
-      this.added.add(entity);
+    if (this.added.add(entity)) {
+      this.loaded.putIfAbsent(key(entity.getClass(), entity.getId()), entity);
     }
   }
 
   List<Entity> added() {
-    List<Entity> copy = new ArrayList<>();
-    for (Entity entity : this.added) {
-      copy.add(entity);
-    }
-    return copy;
+    return new ArrayList<>(this.added);
   }
 
   public void remove(Entity entity) {
-    if (!this.removed.contains(entity)) {
-      this.removed.add(entity);
+    if (this.removed.add(entity)) {
+      Map.Entry<Class, Object> key = key(entity.getClass(), entity.getId());
+      this.loaded.remove(key);
+      this.snapshots.remove(key);
     }
   }
 
   List<Entity> removed() {
-    List<Entity> copy = new ArrayList<>();
-    for (Entity entity : this.removed) {
-      copy.add(entity);
-    }
-    return copy;
+    return new ArrayList<>(this.removed);
   }
 
   public void alter(Entity entity) {
-    if (!this.altered.contains(entity)) {
-      this.altered.add(entity);
-    }
+    this.altered.add(entity);
   }
 
   List<Entity> altered() {
-    List<Entity> copy = new ArrayList<>();
-    for (Entity entity : this.altered) {
-      copy.add(entity);
+    return new ArrayList<>(this.altered);
+  }
+
+  /**
+   * Places a message in the outbox once the unit of work is saved. The message is only published
+   * to the message queue if the changes of the unit of work are committed.
+   *
+   * @param message The message to publish.
+   */
+  public void enqueue(OutboxMessage message) {
+    this.enqueued.add(message);
+  }
+
+  List<OutboxMessage> enqueued() {
+    return new ArrayList<>(this.enqueued);
+  }
+
+  /**
+   * Marks a notification as dispatched once the unit of work is saved, so that the scheduler never
+   * dispatches it again.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   */
+  public void dispatch(UUID notificationUUID) {
+    this.dispatched.add(notificationUUID);
+  }
+
+  Set<UUID> dispatched() {
+    return new LinkedHashSet<>(this.dispatched);
+  }
+
+  /**
+   * Leases a notification to the provided owner once the unit of work is saved, so that the
+   * scheduler does not dispatch it before the lease is released or expires.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param owner The owner taking the lease.
+   * @param leaseExpiresAt The time the lease expires unless released.
+   */
+  public void lease(UUID notificationUUID, String owner, Date leaseExpiresAt) {
+    this.leased.put(notificationUUID, new SimpleImmutableEntry<>(owner, leaseExpiresAt));
+  }
+
+  Map<UUID, Map.Entry<String, Date>> leased() {
+    return new LinkedHashMap<>(this.leased);
+  }
+
+  /**
+   * Finds the entity of the type and identity provided. Each entity is read from its {@link
+   * DataMapper} at most once within the unit of work; later requests are answered from the identity
+   * map, so every caller shares the same instance.
+   *
+   * @param type The type of the entity to find.
+   * @param uuid The identity of the entity to find.
+   * @return The entity, or {@code null} if it does not exist.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Entity> T find(Class<T> type, UUID uuid) {
+    Map.Entry<Class, Object> key = key(type, uuid);
+    Entity entity = this.loaded.get(key);
+    if (entity == null) {
+      entity = this.fetch(type, uuid);
+      if (entity != null) {
+        this.load(key, entity);
+      }
+    }
+    return (T) entity;
+  }
+
+  /**
+   * Reads an entity that is not yet in the identity map.
+   *
+   * @param type The type of the entity to read.
+   * @param uuid The identity of the entity to read.
+   * @return The entity, or {@code null} if it does not exist.
+   */
+  protected Entity fetch(Class type, UUID uuid) {
+    return this.dataMappers().get(type).find(uuid);
+  }
+
+  /**
+   * Places entities loaded outside of {@link #find(Class, UUID)}, such as the results of a query,
+   * into the identity map. Entities that were already loaded are replaced by the instance in the
+   * identity map.
+   *
+   * @param entities The entities loaded.
+   * @return The entities, in the order provided, as they are known to the unit of work.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Entity> Set<T> register(Set<T> entities) {
+    Set<T> registered = new LinkedHashSet<>();
+    for (T entity : entities) {
+      Map.Entry<Class, Object> key = key(entity.getClass(), entity.getId());
+      Entity known = this.loaded.get(key);
+      if (known == null) {
+        this.load(key, entity);
+      }
+      registered.add(known != null ? (T) known : entity);
+    }
+    return registered;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void load(Map.Entry<Class, Object> key, Entity entity) {
+    this.loaded.put(key, entity);
+    Entity snapshot = this.dataMappers().get(entity.getClass()).snapshot(entity);
+    if (snapshot != null) {
+      this.snapshots.put(key, snapshot);
     }
-    return copy;
+  }
+
+  /**
+   * Retrieves the state the provided entity was loaded with, for data mappers to diff against.
+   *
+   * @param entity The entity being saved.
+   * @return The state the entity was loaded with, or {@code null} if it is not known.
+   */
+  Entity persisted(Entity entity) {
+    return this.snapshots.get(key(entity.getClass(), entity.getId()));
+  }
+
+  private static Map.Entry<Class, Object> key(Class type, Object id) {
+    return new SimpleImmutableEntry<>(type, id);
   }
 
   @Override
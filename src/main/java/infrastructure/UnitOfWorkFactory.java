@@ -3,4 +3,12 @@ package infrastructure;
 public abstract class UnitOfWorkFactory {
 
   public abstract UnitOfWork createUnitOfWork();
+
+  /**
+   * Creates a unit of work that only reads. Its reads may be served by a replica, and it neither
+   * flushes nor commits when it is closed.
+   *
+   * @return The read-only unit of work.
+   */
+  public abstract UnitOfWork createReadOnlyUnitOfWork();
 }
@@ -0,0 +1,62 @@
+package infrastructure.query;
+
+import domain.Audience;
+import infrastructure.AudienceDataMapper;
+import infrastructure.AudienceMetadata;
+import infrastructure.DataMap;
+import infrastructure.query.expressions.QueryExpression;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents a {@link infrastructure.query.Query} that retrieves a {@link Audience} collection
+ * matching its criteria.
+ *
+ * @author Jon Freer
+ */
+public final class AudienceQuery extends Query<Audience> {
+
+  // the mappings never change, so they are shared rather than rebuilt for every query.
+  private static final List<DataMap> DATA_MAPS =
+      Collections.singletonList(new AudienceMetadata().getDataMap());
+
+  private final AudienceDataMapper audienceDataMapper;
+
+  /**
+   * Constructs a new {@link AudienceQuery}.
+   *
+   * @param audienceDataMapper The data mapper responsible for mapping the {@link Audience} domain
+   *     objects to the database.
+   */
+  public AudienceQuery(AudienceDataMapper audienceDataMapper) {
+    super();
+
+    this.audienceDataMapper = audienceDataMapper;
+  }
+
+  @Override
+  public List<DataMap> getDataMaps() {
+    return DATA_MAPS;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return The {@link Audience} collection matching the {@link infrastructure.query.Query}.
+   */
+  @Override
+  public Set<Audience> execute() {
+
+    QueryExpression expression = this.getQueryExpression();
+    String condition = expression != null ? expression.interpret() : null;
+    String seek = this.getSeekExpression() != null ? this.getSeekExpression().interpret() : null;
+    String orderBy =
+        this.getOrderByExpression() != null ? this.getOrderByExpression().interpret() : null;
+    String skip = this.getSkipExpression() != null ? this.getSkipExpression().interpret() : null;
+    String limit = this.getLimitExpression() != null ? this.getLimitExpression().interpret() : null;
+
+    return this.audienceDataMapper.find(
+        condition, seek, orderBy, skip, limit, this.getQueryArguments(), this::setTotal);
+  }
+}
@@ -0,0 +1,17 @@
+package infrastructure.query;
+
+import domain.Audience;
+import infrastructure.AudienceDataMapper;
+import infrastructure.DataMapper;
+import infrastructure.UnitOfWork;
+import org.jvnet.hk2.annotations.Service;
+
+@Service
+public final class AudienceQueryFactory extends QueryFactory<Audience> {
+
+  @Override
+  public Query<Audience> createQuery(UnitOfWork unitOfWork) {
+    DataMapper dm = unitOfWork.dataMappers().get(Audience.class);
+    return new AudienceQuery((AudienceDataMapper) dm);
+  }
+}
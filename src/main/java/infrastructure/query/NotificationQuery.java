@@ -6,7 +6,8 @@ import infrastructure.MessageMetadata;
 import infrastructure.NotificationDataMapper;
 import infrastructure.NotificationMetadata;
 import infrastructure.query.expressions.QueryExpression;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -18,6 +19,12 @@ import java.util.Set;
  */
 public final class NotificationQuery extends Query<Notification> {
 
+  // the mappings never change, so they are shared rather than rebuilt for every query.
+  private static final List<DataMap> DATA_MAPS =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              new NotificationMetadata().getDataMap(), new MessageMetadata().getDataMap()));
+
   private final NotificationDataMapper notificationDataMapper;
 
   /**
@@ -34,10 +41,7 @@ public final class NotificationQuery extends Query<Notification> {
 
   @Override
   public List<DataMap> getDataMaps() {
-    List<DataMap> dataMaps = new ArrayList<>();
-    dataMaps.add(new NotificationMetadata().getDataMap());
-    dataMaps.add(new MessageMetadata().getDataMap());
-    return dataMaps;
+    return DATA_MAPS;
   }
 
   /**
@@ -50,12 +54,13 @@ public final class NotificationQuery extends Query<Notification> {
 
     QueryExpression expression = this.getQueryExpression();
     String condition = expression != null ? expression.interpret() : null;
+    String seek = this.getSeekExpression() != null ? this.getSeekExpression().interpret() : null;
     String orderBy =
         this.getOrderByExpression() != null ? this.getOrderByExpression().interpret() : null;
     String skip = this.getSkipExpression() != null ? this.getSkipExpression().interpret() : null;
     String limit = this.getLimitExpression() != null ? this.getLimitExpression().interpret() : null;
 
     return this.notificationDataMapper.find(
-        condition, orderBy, skip, limit, this.getQueryArguments());
+        condition, seek, orderBy, skip, limit, this.getQueryArguments(), this::setTotal);
   }
 }
@@ -20,11 +20,14 @@ import infrastructure.query.expressions.OrderByExpression;
 import infrastructure.query.expressions.QueryExpression;
 import infrastructure.query.expressions.StringExpression;
 import infrastructure.query.expressions.TerminalExpression;
+import infrastructure.query.expressions.UUIDExpression;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.Stack;
+import java.util.UUID;
 
 /**
  * Represents a generic query.
@@ -37,9 +40,14 @@ public abstract class Query<T> {
   private QueryExpression orderByExpression;
   private QueryExpression limitExpression;
   private QueryExpression skipExpression;
+  private QueryExpression seekExpression;
+  private QueryArgument seekArgument;
+  private QueryArgument limitArgument;
+  private QueryArgument skipArgument;
   private List<QueryArgument> args;
   private List<DataMap> dataMaps;
   private int index;
+  private Integer total;
 
   public static class QueryArgument<T> {
 
@@ -95,6 +103,20 @@ public abstract class Query<T> {
     return ex;
   }
 
+  /**
+   * Constructs a {@link UUIDExpression} within the {@link Query}. The argument is bound in the
+   * representation used to store keys.
+   *
+   * @param uuid The {@link UUID} used to construct the {@link UUIDExpression}.
+   * @return The {@link UUIDExpression}.
+   */
+  public QueryExpression uuid(UUID uuid) {
+    this.args.add(new QueryArgument<UUID>(++this.index, uuid, Types.BINARY));
+    TerminalExpression ex = new UUIDExpression(uuid);
+    ex.usePlaceholders(true);
+    return ex;
+  }
+
   /**
    * Constructs a {@link BooleanLiteralExpression} within the {@link Query}.
    *
@@ -142,6 +164,10 @@ public abstract class Query<T> {
    * @return The {@link ColumnExpression}.
    */
   public QueryExpression field(String name) {
+    return this.column(name);
+  }
+
+  private ColumnExpression column(String name) {
     for (DataMap map : this.dataMaps) {
       String columnName = map.getColumnNameForField(name);
       if (columnName != null) {
@@ -262,7 +288,7 @@ public abstract class Query<T> {
    * @param amount The number of results to skip.
    */
   public void skip(Integer amount) {
-    this.args.add(new QueryArgument<Integer>(++this.index, amount, Types.INTEGER));
+    this.skipArgument = new QueryArgument<Integer>(0, amount, Types.INTEGER);
     TerminalExpression ex = new IntegerExpression(amount);
     ex.usePlaceholders(true);
     this.skipExpression = ex;
@@ -283,12 +309,56 @@ public abstract class Query<T> {
    * @param amount The number of results to retrieve.
    */
   public void limit(Integer amount) {
-    this.args.add(new QueryArgument<Integer>(++this.index, amount, Types.INTEGER));
+    this.limitArgument = new QueryArgument<Integer>(0, amount, Types.INTEGER);
     TerminalExpression ex = new IntegerExpression(amount);
     ex.usePlaceholders(true);
     this.limitExpression = ex;
   }
 
+  /**
+   * Constructs the {@link GreaterThanExpression} utilized to resume the results retrieved after the
+   * provided cursor, rather than after a number of skipped results. The results must be sorted in
+   * ascending order of the same field, which should be unique, so that the position of the cursor
+   * is stable between pages.
+   *
+   * @param name The domain object field name the results are sorted by.
+   * @param cursor The value of the field for the last result of the previous page.
+   */
+  public void after(String name, UUID cursor) {
+    this.seekArgument = new QueryArgument<UUID>(0, cursor, Types.BINARY);
+    TerminalExpression ex = new UUIDExpression(cursor);
+    ex.usePlaceholders(true);
+    this.seekExpression = new GreaterThanExpression(this.column(name), ex);
+  }
+
+  /**
+   * Constructs the {@link OrderByExpression} utilized to express the an ascending sort order of the
+   * results retrieved.
+   *
+   * @param names The domain object field names to sort by.
+   */
+  public void ascending(String... names) {
+    this.ascending(this.columns(names));
+  }
+
+  /**
+   * Constructs the {@link OrderByExpression} utilized to express the an descending sort order of
+   * the results retrieved.
+   *
+   * @param names The domain object field names to sort by.
+   */
+  public void descending(String... names) {
+    this.descending(this.columns(names));
+  }
+
+  private ColumnExpression[] columns(String... names) {
+    ColumnExpression[] columns = new ColumnExpression[names.length];
+    for (int i = 0; i < names.length; i++) {
+      columns[i] = this.column(names[i]);
+    }
+    return columns;
+  }
+
   /**
    * Constructs the {@link OrderByExpression} utilized to express the an ascending sort order of the
    * results retrieved.
@@ -320,6 +390,16 @@ public abstract class Query<T> {
     return !this.expression.isEmpty() ? this.expression.pop() : null;
   }
 
+  /**
+   * Retrieves the underlying seek {@link QueryExpression} of the {@link Query}, which restricts the
+   * results to those after a cursor.
+   *
+   * @return The underlying seek {@link QueryExpression}.
+   */
+  protected QueryExpression getSeekExpression() {
+    return this.seekExpression;
+  }
+
   /**
    * Retrieves the underlying skip {@link QueryExpression} of the {@link Query}.
    *
@@ -348,12 +428,44 @@ public abstract class Query<T> {
   }
 
   /**
-   * Retrieves the list of arguments utilized to resolve placeholders within the {@link Query}.
+   * Retrieves the list of arguments utilized to resolve placeholders within the {@link Query}. The
+   * arguments of the conditions come first, followed by those of the seek, limit and skip clauses,
+   * which is the order their placeholders appear in the statement regardless of the order in which
+   * the clauses were constructed.
    *
    * @return The {@link QueryArgument} collection.
    */
   protected List<QueryArgument> getQueryArguments() {
-    return this.args;
+    List<QueryArgument> arguments = new ArrayList<>(this.args);
+    for (QueryArgument clauseArgument :
+        Arrays.asList(this.seekArgument, this.limitArgument, this.skipArgument)) {
+      if (clauseArgument != null) {
+        arguments.add(
+            new QueryArgument<Object>(
+                arguments.size() + 1, clauseArgument.getValue(), clauseArgument.getType()));
+      }
+    }
+    return arguments;
+  }
+
+  /**
+   * Retrieves the number of results satisfying the conditions of the {@link Query}, ignoring its
+   * seek, limit and skip clauses. Only known once the {@link Query} has been executed, and only
+   * reported by queries able to compute it alongside their results.
+   *
+   * @return The number of results satisfying the conditions, or {@code null} if it is not known.
+   */
+  public Integer getTotal() {
+    return this.total;
+  }
+
+  /**
+   * Records the number of results satisfying the conditions of the {@link Query}.
+   *
+   * @param total The number of results satisfying the conditions.
+   */
+  protected void setTotal(Integer total) {
+    this.total = total;
   }
 
   /**
@@ -0,0 +1,62 @@
+package infrastructure.query;
+
+import domain.Target;
+import infrastructure.DataMap;
+import infrastructure.TargetDataMapper;
+import infrastructure.TargetMetadata;
+import infrastructure.query.expressions.QueryExpression;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents a {@link infrastructure.query.Query} that retrieves a {@link Target} collection
+ * matching its criteria.
+ *
+ * @author Jon Freer
+ */
+public final class TargetQuery extends Query<Target> {
+
+  // the mappings never change, so they are shared rather than rebuilt for every query.
+  private static final List<DataMap> DATA_MAPS =
+      Collections.singletonList(new TargetMetadata().getDataMap());
+
+  private final TargetDataMapper targetDataMapper;
+
+  /**
+   * Constructs a new {@link TargetQuery}.
+   *
+   * @param targetDataMapper The data mapper responsible for mapping the {@link Target} domain
+   *     objects to the database.
+   */
+  public TargetQuery(TargetDataMapper targetDataMapper) {
+    super();
+
+    this.targetDataMapper = targetDataMapper;
+  }
+
+  @Override
+  public List<DataMap> getDataMaps() {
+    return DATA_MAPS;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return The {@link Target} collection matching the {@link infrastructure.query.Query}.
+   */
+  @Override
+  public Set<Target> execute() {
+
+    QueryExpression expression = this.getQueryExpression();
+    String condition = expression != null ? expression.interpret() : null;
+    String seek = this.getSeekExpression() != null ? this.getSeekExpression().interpret() : null;
+    String orderBy =
+        this.getOrderByExpression() != null ? this.getOrderByExpression().interpret() : null;
+    String skip = this.getSkipExpression() != null ? this.getSkipExpression().interpret() : null;
+    String limit = this.getLimitExpression() != null ? this.getLimitExpression().interpret() : null;
+
+    return this.targetDataMapper.find(
+        condition, seek, orderBy, skip, limit, this.getQueryArguments(), this::setTotal);
+  }
+}
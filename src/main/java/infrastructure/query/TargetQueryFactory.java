@@ -0,0 +1,17 @@
+package infrastructure.query;
+
+import domain.Target;
+import infrastructure.DataMapper;
+import infrastructure.TargetDataMapper;
+import infrastructure.UnitOfWork;
+import org.jvnet.hk2.annotations.Service;
+
+@Service
+public final class TargetQueryFactory extends QueryFactory<Target> {
+
+  @Override
+  public Query<Target> createQuery(UnitOfWork unitOfWork) {
+    DataMapper dm = unitOfWork.dataMappers().get(Target.class);
+    return new TargetQuery((TargetDataMapper) dm);
+  }
+}
@@ -0,0 +1,62 @@
+package infrastructure.query;
+
+import domain.Template;
+import infrastructure.DataMap;
+import infrastructure.TemplateDataMapper;
+import infrastructure.TemplateMetadata;
+import infrastructure.query.expressions.QueryExpression;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents a {@link infrastructure.query.Query} that retrieves a {@link Template} collection
+ * matching its criteria.
+ *
+ * @author Jon Freer
+ */
+public final class TemplateQuery extends Query<Template> {
+
+  // the mappings never change, so they are shared rather than rebuilt for every query.
+  private static final List<DataMap> DATA_MAPS =
+      Collections.singletonList(new TemplateMetadata().getDataMap());
+
+  private final TemplateDataMapper templateDataMapper;
+
+  /**
+   * Constructs a new {@link TemplateQuery}.
+   *
+   * @param templateDataMapper The data mapper responsible for mapping the {@link Template} domain
+   *     objects to the database.
+   */
+  public TemplateQuery(TemplateDataMapper templateDataMapper) {
+    super();
+
+    this.templateDataMapper = templateDataMapper;
+  }
+
+  @Override
+  public List<DataMap> getDataMaps() {
+    return DATA_MAPS;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return The {@link Template} collection matching the {@link infrastructure.query.Query}.
+   */
+  @Override
+  public Set<Template> execute() {
+
+    QueryExpression expression = this.getQueryExpression();
+    String condition = expression != null ? expression.interpret() : null;
+    String seek = this.getSeekExpression() != null ? this.getSeekExpression().interpret() : null;
+    String orderBy =
+        this.getOrderByExpression() != null ? this.getOrderByExpression().interpret() : null;
+    String skip = this.getSkipExpression() != null ? this.getSkipExpression().interpret() : null;
+    String limit = this.getLimitExpression() != null ? this.getLimitExpression().interpret() : null;
+
+    return this.templateDataMapper.find(
+        condition, seek, orderBy, skip, limit, this.getQueryArguments(), this::setTotal);
+  }
+}
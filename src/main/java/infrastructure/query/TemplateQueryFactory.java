@@ -0,0 +1,17 @@
+package infrastructure.query;
+
+import domain.Template;
+import infrastructure.DataMapper;
+import infrastructure.TemplateDataMapper;
+import infrastructure.UnitOfWork;
+import org.jvnet.hk2.annotations.Service;
+
+@Service
+public final class TemplateQueryFactory extends QueryFactory<Template> {
+
+  @Override
+  public Query<Template> createQuery(UnitOfWork unitOfWork) {
+    DataMapper dm = unitOfWork.dataMappers().get(Template.class);
+    return new TemplateQuery((TemplateDataMapper) dm);
+  }
+}
@@ -0,0 +1,40 @@
+package infrastructure.query.expressions;
+
+import java.util.UUID;
+
+/**
+ * Terminal expression representing a {@link UUID}.
+ *
+ * <p>See Interpreter pattern.
+ *
+ * @author Jon Freer
+ */
+public final class UUIDExpression extends TerminalExpression {
+
+  private final UUID uuid;
+
+  /**
+   * Constructs a new {@link UUIDExpression}.
+   *
+   * @param uuid The {@link UUID} that this expression represents.
+   */
+  public UUIDExpression(UUID uuid) {
+    super();
+    this.uuid = uuid;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return {@inheritDoc}
+   */
+  @Override
+  public String interpret() {
+    if (this.usePlaceholders()) return new PlaceholderExpression().interpret();
+    return new StringBuilder()
+        .append("UUID_TO_BIN(\"")
+        .append(this.uuid.toString())
+        .append("\")")
+        .toString();
+  }
+}
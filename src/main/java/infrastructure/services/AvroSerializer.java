@@ -0,0 +1,85 @@
+package infrastructure.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Serializes the values of a single Avro schema in the wire format of the Confluent schema
+ * registry: a zero magic byte, the 4 byte identifier of the schema, and the binary encoding of the
+ * value.
+ *
+ * <p>The schema is registered once, when the serializer is constructed, and its identifier is kept
+ * for every value serialized afterwards. No value is ever resolved against the registry.
+ *
+ * @param <T> The type of the values serialized.
+ * @author Jon Freer
+ */
+public final class AvroSerializer<T> implements Serializer<T> {
+
+  private static final byte MAGIC_BYTE = 0x0;
+
+  private final Schema schema;
+  private final int schemaId;
+  private final DatumWriter<Object> writer;
+
+  /**
+   * Constructs a new {@link AvroSerializer}, registering the provided schema.
+   *
+   * @param schemaRegistry The registry the schema is registered with.
+   * @param subject The subject the schema is registered under.
+   * @param schema The schema of the values serialized.
+   * @throws IOException if the schema could not be registered.
+   */
+  public AvroSerializer(SchemaRegistry schemaRegistry, String subject, Schema schema)
+      throws IOException {
+    this.schema = schema;
+    this.schemaId = schemaRegistry.register(subject, schema);
+    this.writer = new GenericDatumWriter<>(schema);
+  }
+
+  /**
+   * Retrieves the identifier the schema was registered with.
+   *
+   * @return The identifier of the schema.
+   */
+  public int getSchemaId() {
+    return this.schemaId;
+  }
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {}
+
+  @Override
+  public byte[] serialize(String topic, T value) {
+    if (value == null) {
+      return null;
+    }
+
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      out.write(MAGIC_BYTE);
+      out.write(this.schemaId >>> 24);
+      out.write(this.schemaId >>> 16);
+      out.write(this.schemaId >>> 8);
+      out.write(this.schemaId);
+      BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+      this.writer.write(value, encoder);
+      encoder.flush();
+      return out.toByteArray();
+    } catch (IOException | RuntimeException x) {
+      throw new SerializationException(
+          String.format("Unable to serialize a value with schema '%s'.", this.schema.getName()), x);
+    }
+  }
+
+  @Override
+  public void close() {}
+}
@@ -0,0 +1,83 @@
+package infrastructure.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import org.apache.avro.Schema;
+
+/**
+ * A {@link SchemaRegistry} that keeps its schemas in a local properties file, standing in for a
+ * schema registry server so that records can be produced and benchmarked offline.
+ *
+ * <p>As with a schema registry server, identifiers are assigned per distinct schema rather than
+ * per subject, and the same schema keeps its identifier across restarts.
+ *
+ * @author Jon Freer
+ */
+public final class FileSchemaRegistry implements SchemaRegistry {
+
+  private static final String SCHEMA_PREFIX = "schema.";
+  private static final String SUBJECT_PREFIX = "subject.";
+
+  private final Path path;
+
+  /**
+   * Constructs a new {@link FileSchemaRegistry}.
+   *
+   * @param path The file the schemas are kept in. It is created when the first schema is
+   *     registered.
+   */
+  public FileSchemaRegistry(Path path) {
+    if (path == null) {
+      throw new IllegalArgumentException("The argument 'path' cannot be null.");
+    }
+    this.path = path;
+  }
+
+  @Override
+  public synchronized int register(String subject, Schema schema) throws IOException {
+    Properties registry = new Properties();
+    if (Files.exists(this.path)) {
+      try (Reader reader = Files.newBufferedReader(this.path, StandardCharsets.UTF_8)) {
+        registry.load(reader);
+      }
+    }
+
+    // a schema that is already registered keeps the identifier it was first assigned.
+    String definition = schema.toString();
+    int id = 0;
+    int lastId = 0;
+    for (String name : registry.stringPropertyNames()) {
+      if (name.startsWith(SCHEMA_PREFIX)) {
+        int existingId = Integer.parseInt(name.substring(SCHEMA_PREFIX.length()));
+        lastId = Math.max(lastId, existingId);
+        if (definition.equals(registry.getProperty(name))) {
+          id = existingId;
+        }
+      }
+    }
+    if (id != 0 && String.valueOf(id).equals(registry.getProperty(SUBJECT_PREFIX + subject))) {
+      return id;
+    }
+    if (id == 0) {
+      id = lastId + 1;
+      registry.setProperty(SCHEMA_PREFIX + id, definition);
+    }
+    registry.setProperty(SUBJECT_PREFIX + subject, String.valueOf(id));
+
+    // write a sibling file and swap it in, so that the registry is never left half written.
+    Path parent = this.path.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    Path temporary = Files.createTempFile(parent, this.path.getFileName().toString(), ".tmp");
+    try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+      registry.store(writer, "noti schema registry");
+    }
+    Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING);
+    return id;
+  }
+}
@@ -0,0 +1,55 @@
+package infrastructure.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+
+/**
+ * Encodes the {@code noti.Message} records announcing the messages to send. The schema is read
+ * from {@code avro/message.avsc} and parsed once, when the class is initialized, so every record
+ * shares the same {@link Schema} instance.
+ *
+ * @author Jon Freer
+ */
+public final class MessageRecordCodec {
+
+  private static final String SCHEMA_RESOURCE = "/avro/message.avsc";
+
+  /** The schema of the {@code noti.Message} record. */
+  public static final Schema SCHEMA = parseSchema();
+
+  private static final String NOTIFICATION_UUID_FIELD = "notificationUUID";
+  private static final String MESSAGE_ID_FIELD = "messageID";
+
+  private MessageRecordCodec() {}
+
+  private static Schema parseSchema() {
+    try (InputStream schema = MessageRecordCodec.class.getResourceAsStream(SCHEMA_RESOURCE)) {
+      if (schema == null) {
+        throw new IllegalStateException(
+            String.format("The resource '%s' could not be found.", SCHEMA_RESOURCE));
+      }
+      return new Schema.Parser().parse(schema);
+    } catch (IOException x) {
+      throw new UncheckedIOException(x);
+    }
+  }
+
+  /**
+   * Encodes the record announcing a message of a notification.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param messageID The identifier of the message within the notification.
+   * @return The record.
+   */
+  public static GenericRecord encode(UUID notificationUUID, Integer messageID) {
+    GenericRecord record = new GenericData.Record(SCHEMA);
+    record.put(NOTIFICATION_UUID_FIELD, notificationUUID.toString());
+    record.put(MESSAGE_ID_FIELD, messageID);
+    return record;
+  }
+}
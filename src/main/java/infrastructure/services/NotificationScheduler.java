@@ -0,0 +1,244 @@
+package infrastructure.services;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import infrastructure.ConnectionFactory;
+import infrastructure.OutboxDataMapper;
+import infrastructure.ScheduleDataMapper;
+import infrastructure.UUIDCodec;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+
+/**
+ * Dispatches the notifications whose send time is in the future once that time comes.
+ *
+ * <p>The due notifications are claimed periodically: each pass leases the earliest notifications
+ * due within the window, skipping those locked or leased by the schedulers of other nodes, and
+ * holds them in a {@link TimingWheel}. The wheel is checked every tick, and the pending messages of
+ * each notification that comes due are placed in the outbox in the same transaction that marks it
+ * as dispatched, so a notification is either dispatched with all of its messages or not at all;
+ * publishing them is left to the {@link OutboxRelay}. A notification is only dispatched while this
+ * scheduler still holds its lease, and one whose send time was moved later is released to be
+ * claimed again.
+ *
+ * <p>Leases are renewed by every pass, so they only lapse when a node stops; the notifications it
+ * held are then claimed by the other nodes once their leases expire. The passes and the ticks run
+ * on a single thread, which owns the wheel.
+ *
+ * @author Jon Freer
+ */
+public final class NotificationScheduler implements AutoCloseable {
+
+  private final ConnectionFactory connectionFactory;
+  private final UUIDCodec uuidCodec;
+  private final int batchSize;
+  private final long tick;
+  private final long window;
+  private final long leaseDuration;
+  private final String owner;
+  private final TimingWheel<Map.Entry<UUID, Date>> wheel;
+  private final Map<UUID, Date> held;
+  private final Histogram lag;
+  private final Histogram backlog;
+  private final Histogram lateness;
+  private final Meter failures;
+  private final ScheduledExecutorService executor;
+  private final Logger logger;
+  private long lastTick;
+
+  /**
+   * Constructs a new {@link NotificationScheduler} and starts claiming due notifications.
+   *
+   * @param connectionFactory The factory creating connections to the primary.
+   * @param uuidCodec The codec used to bind and read {@link UUID} values.
+   * @param batchSize The maximum number of notifications leased by a single pass.
+   * @param tick The number of milliseconds between checks for notifications that are due.
+   * @param wheelSize The number of ticks spanned by each level of the timing wheel.
+   * @param window The number of milliseconds ahead of their send time notifications are leased.
+   * @param claimInterval The number of milliseconds between passes leasing notifications.
+   * @param leaseDuration The number of milliseconds a lease lasts unless renewed.
+   * @param metricRegistry The metric registry used to record scheduler metrics.
+   * @param logger The logger used to report scheduler events.
+   */
+  public NotificationScheduler(
+      ConnectionFactory connectionFactory,
+      UUIDCodec uuidCodec,
+      int batchSize,
+      long tick,
+      int wheelSize,
+      long window,
+      long claimInterval,
+      long leaseDuration,
+      MetricRegistry metricRegistry,
+      Logger logger) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The argument 'batchSize' must be greater than zero.");
+    }
+    if (claimInterval < 1) {
+      throw new IllegalArgumentException("The argument 'claimInterval' must be greater than zero.");
+    }
+    if (leaseDuration <= claimInterval) {
+      throw new IllegalArgumentException(
+          "The argument 'leaseDuration' must be greater than the argument 'claimInterval'.");
+    }
+
+    this.connectionFactory = connectionFactory;
+    this.uuidCodec = uuidCodec;
+    this.batchSize = batchSize;
+    this.tick = tick;
+    this.window = window;
+    this.leaseDuration = leaseDuration;
+    this.owner = UUID.randomUUID().toString();
+    this.wheel = new TimingWheel<>(tick, wheelSize, System.currentTimeMillis());
+    this.held = new HashMap<>();
+    this.logger = logger;
+
+    // register scheduler metrics.
+    this.lag = metricRegistry.histogram(MetricRegistry.name(NotificationScheduler.class, "lag"));
+    this.backlog =
+        metricRegistry.histogram(MetricRegistry.name(NotificationScheduler.class, "backlog"));
+    this.lateness =
+        metricRegistry.histogram(MetricRegistry.name(NotificationScheduler.class, "lateness"));
+    this.failures =
+        metricRegistry.meter(MetricRegistry.name(NotificationScheduler.class, "failures"));
+
+    // schedule the passes and the ticks on the thread that owns the wheel.
+    this.executor = Executors.newSingleThreadScheduledExecutor();
+    this.executor.scheduleWithFixedDelay(this::claim, 0, claimInterval, TimeUnit.MILLISECONDS);
+    this.executor.scheduleAtFixedRate(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the scheduler and releases the leases it holds, so that other nodes need not wait for
+   * them to expire.
+   */
+  @Override
+  public void close() {
+    this.executor.shutdownNow();
+    try {
+      if (!this.executor.awaitTermination(this.leaseDuration, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    try (Connection connection = this.connectionFactory.createConnection()) {
+      ScheduleDataMapper schedule =
+          new ScheduleDataMapper(() -> connection, this.batchSize, this.uuidCodec);
+      for (UUID uuid : this.held.keySet()) {
+        schedule.release(uuid, this.owner);
+      }
+      connection.commit();
+    } catch (SQLException | RuntimeException x) {
+      this.logger.warn("Unable to release the leased notifications; they expire instead.", x);
+    }
+  }
+
+  /** Leases the notifications due within the window and holds the new ones in the wheel. */
+  private void claim() {
+    try (Connection connection = this.connectionFactory.createConnection()) {
+      ScheduleDataMapper schedule =
+          new ScheduleDataMapper(() -> connection, this.batchSize, this.uuidCodec);
+      Map<UUID, Date> claimed;
+      try {
+        long now = System.currentTimeMillis();
+        this.backlog.update(schedule.countDue(new Date(now)));
+        claimed =
+            schedule.claimDue(
+                new Date(now + this.window),
+                new Date(now),
+                this.owner,
+                new Date(now + this.leaseDuration),
+                this.batchSize);
+        connection.commit();
+      } catch (SQLException | RuntimeException x) {
+        connection.rollback();
+        throw x;
+      }
+
+      // a notification already held is only scheduled again if its send time has moved.
+      for (Map.Entry<UUID, Date> entry : claimed.entrySet()) {
+        if (!entry.getValue().equals(this.held.put(entry.getKey(), entry.getValue()))) {
+          this.wheel.schedule(
+              new SimpleImmutableEntry<>(entry.getKey(), entry.getValue()),
+              entry.getValue().getTime());
+        }
+      }
+    } catch (SQLException | RuntimeException x) {
+      this.logger.warn("Unable to claim the due notifications; retrying on the next pass.", x);
+    }
+  }
+
+  /** Dispatches the held notifications that have come due. */
+  private void tick() {
+    long now = System.currentTimeMillis();
+    if (this.lastTick != 0) {
+      this.lag.update(Math.max(0, now - this.lastTick - this.tick));
+    }
+    this.lastTick = now;
+
+    for (Map.Entry<UUID, Date> due : this.wheel.advance(now)) {
+
+      // the entries left behind by a change of send time are superseded and skipped.
+      if (!due.getValue().equals(this.held.get(due.getKey()))) {
+        continue;
+      }
+      this.held.remove(due.getKey());
+
+      try {
+        this.dispatch(due.getKey());
+      } catch (SQLException | RuntimeException x) {
+        // the lease is kept, so the next pass claims the notification again.
+        this.failures.mark();
+        this.logger.warn("Unable to dispatch notification {}.", due.getKey(), x);
+      }
+    }
+  }
+
+  /**
+   * Places the pending messages of a due notification in the outbox and marks it as dispatched.
+   *
+   * @param uuid The universally unique identifier of the notification.
+   * @throws SQLException if the notification could not be dispatched.
+   */
+  private void dispatch(UUID uuid) throws SQLException {
+    try (Connection connection = this.connectionFactory.createConnection()) {
+      ScheduleDataMapper schedule =
+          new ScheduleDataMapper(() -> connection, this.batchSize, this.uuidCodec);
+      try {
+        // the notification may have been cancelled, dispatched, or leased elsewhere since.
+        Date sendAt = schedule.lockLeased(uuid, this.owner);
+        long now = System.currentTimeMillis();
+        if (sendAt == null || sendAt.getTime() > now) {
+          schedule.release(uuid, this.owner);
+          connection.commit();
+          return;
+        }
+
+        // the database copies the messages into the outbox, so the notification is never loaded.
+        Date dispatchedAt = new Date();
+        new OutboxDataMapper(() -> connection, this.batchSize, this.uuidCodec)
+            .enqueuePending(uuid, dispatchedAt);
+        schedule.markDispatched(Collections.singletonList(uuid), dispatchedAt);
+        connection.commit();
+        this.lateness.update(now - sendAt.getTime());
+      } catch (SQLException | RuntimeException x) {
+        connection.rollback();
+        throw x;
+      }
+    }
+  }
+}
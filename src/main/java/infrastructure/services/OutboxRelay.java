@@ -0,0 +1,189 @@
+package infrastructure.services;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import infrastructure.ConnectionFactory;
+import infrastructure.OutboxDataMapper;
+import infrastructure.OutboxMessage;
+import infrastructure.UUIDCodec;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+
+/**
+ * Publishes the messages placed in the outbox to the {@code sms} topic.
+ *
+ * <p>The outbox is polled periodically. Each pass claims a batch of the oldest unpublished
+ * messages, sends all of them without waiting on one another, and then waits for their
+ * acknowledgements against a single deadline. The acknowledged messages are marked as published in
+ * the same transaction that claimed them; the others are released and sent again by a later pass.
+ * Messages are therefore published at least once, and a pass that finds a full batch is followed
+ * immediately by another until the backlog is drained.
+ *
+ * @author Jon Freer
+ */
+public final class OutboxRelay implements AutoCloseable {
+
+  private final ConnectionFactory connectionFactory;
+  private final Producer<String, GenericRecord> producer;
+  private final UUIDCodec uuidCodec;
+  private final int batchSize;
+  private final long publishTimeout;
+  private final Histogram lag;
+  private final Histogram batchSizes;
+  private final Timer publishLatency;
+  private final Meter failures;
+  private final ScheduledExecutorService poller;
+  private final Logger logger;
+
+  /**
+   * Constructs a new {@link OutboxRelay} and starts polling the outbox.
+   *
+   * @param connectionFactory The factory creating connections to the primary.
+   * @param producer The producer the messages are sent with.
+   * @param uuidCodec The codec used to bind and read {@link java.util.UUID} values.
+   * @param batchSize The maximum number of messages claimed by a single pass.
+   * @param pollInterval The number of milliseconds between passes over an empty outbox.
+   * @param publishTimeout The number of milliseconds a pass waits for its acknowledgements.
+   * @param metricRegistry The metric registry used to record relay metrics.
+   * @param logger The logger used to report relay events.
+   */
+  public OutboxRelay(
+      ConnectionFactory connectionFactory,
+      Producer<String, GenericRecord> producer,
+      UUIDCodec uuidCodec,
+      int batchSize,
+      long pollInterval,
+      long publishTimeout,
+      MetricRegistry metricRegistry,
+      Logger logger) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The argument 'batchSize' must be greater than zero.");
+    }
+    if (pollInterval < 1) {
+      throw new IllegalArgumentException("The argument 'pollInterval' must be greater than zero.");
+    }
+
+    this.connectionFactory = connectionFactory;
+    this.producer = producer;
+    this.uuidCodec = uuidCodec;
+    this.batchSize = batchSize;
+    this.publishTimeout = publishTimeout;
+    this.logger = logger;
+
+    // register relay metrics.
+    this.lag = metricRegistry.histogram(MetricRegistry.name(OutboxRelay.class, "lag"));
+    this.batchSizes =
+        metricRegistry.histogram(MetricRegistry.name(OutboxRelay.class, "batch-size"));
+    this.publishLatency =
+        metricRegistry.timer(MetricRegistry.name(OutboxRelay.class, "publish-latency"));
+    this.failures = metricRegistry.meter(MetricRegistry.name(OutboxRelay.class, "failures"));
+
+    // schedule passes over the outbox.
+    this.poller = Executors.newSingleThreadScheduledExecutor();
+    this.poller.scheduleWithFixedDelay(
+        this::drain, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /** Stops polling the outbox. Messages claimed by an interrupted pass are released. */
+  @Override
+  public void close() {
+    this.poller.shutdownNow();
+  }
+
+  private void drain() {
+    try {
+      // a full batch suggests a backlog, so the next batch is claimed without waiting.
+      int relayed;
+      do {
+        relayed = this.relay();
+      } while (relayed == this.batchSize && !Thread.currentThread().isInterrupted());
+    } catch (SQLException | RuntimeException x) {
+      this.logger.warn("Unable to relay the outbox; retrying on the next pass.", x);
+    }
+  }
+
+  /**
+   * Claims, publishes, and marks a single batch of messages.
+   *
+   * @return The number of messages claimed.
+   * @throws SQLException if the outbox could not be read or written.
+   */
+  private int relay() throws SQLException {
+    try (Connection connection = this.connectionFactory.createConnection()) {
+      OutboxDataMapper outbox =
+          new OutboxDataMapper(() -> connection, this.batchSize, this.uuidCodec);
+      try {
+        List<OutboxMessage> claimed = outbox.claimUnpublished(this.batchSize);
+        if (claimed.isEmpty()) {
+          connection.commit();
+          return 0;
+        }
+        this.batchSizes.update(claimed.size());
+
+        List<OutboxMessage> published = this.publish(claimed);
+        outbox.markPublished(published, new Date());
+        connection.commit();
+        return claimed.size();
+      } catch (SQLException | RuntimeException x) {
+        connection.rollback();
+        throw x;
+      }
+    }
+  }
+
+  /**
+   * Sends the provided messages and waits for their acknowledgements.
+   *
+   * @param messages The messages to send.
+   * @return The messages that were acknowledged before the deadline.
+   */
+  private List<OutboxMessage> publish(List<OutboxMessage> messages) {
+    Timer.Context publishing = this.publishLatency.time();
+
+    // every record is handed to the producer before any acknowledgement is awaited, so the
+    // producer is free to batch them.
+    List<Future<RecordMetadata>> futures = new ArrayList<>(messages.size());
+    for (OutboxMessage message : messages) {
+      futures.add(
+          this.producer.send(
+              SMSQueueService.createRecord(
+                  message.getNotificationUUID(), message.getMessageID(), message.getKey())));
+    }
+
+    List<OutboxMessage> published = new ArrayList<>(messages.size());
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.publishTimeout);
+    for (int i = 0; i < messages.size(); i++) {
+      OutboxMessage message = messages.get(i);
+      try {
+        futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        published.add(message);
+        this.lag.update(System.currentTimeMillis() - message.getCreatedAt().getTime());
+      } catch (ExecutionException | TimeoutException x) {
+        // the message is released with the batch and sent again; the send that timed out may
+        // still succeed, which is why consumers must tolerate duplicates.
+        this.failures.mark();
+        this.logger.warn("Unable to publish outbox message {}.", message.getId(), x);
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    publishing.stop();
+    return published;
+  }
+}
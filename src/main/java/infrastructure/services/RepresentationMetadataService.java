@@ -2,6 +2,7 @@ package infrastructure.services;
 
 import infrastructure.ConnectionFactory;
 import infrastructure.RepresentationMetadata;
+import infrastructure.UUIDCodec;
 import io.opentracing.Scope;
 import io.opentracing.Span;
 import io.opentracing.Tracer;
@@ -38,6 +39,7 @@ import org.slf4j.Logger;
 public class RepresentationMetadataService implements infrastructure.RepresentationMetadataService {
 
   private final ConnectionFactory connectionFactory;
+  private final UUIDCodec uuidCodec;
   private final Tracer tracer;
   private final Calendar calendar;
   private final Logger logger;
@@ -45,9 +47,11 @@ public class RepresentationMetadataService implements infrastructure.Representat
   @Inject
   public RepresentationMetadataService(
       ConnectionFactory connectionFactory,
+      UUIDCodec uuidCodec,
       Tracer tracer,
       @Named("infrastructure.services.RepresentationMetadataService") Logger logger) {
     this.connectionFactory = connectionFactory;
+    this.uuidCodec = uuidCodec;
     this.calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
     this.tracer = tracer;
     this.logger = logger;
@@ -230,7 +234,7 @@ public class RepresentationMetadataService implements infrastructure.Representat
                     .getBytes(Charset.forName("UTF-8")));
 
         int columnIndex = 0;
-        statement.setString(++columnIndex, UUID.randomUUID().toString());
+        this.uuidCodec.bind(statement, ++columnIndex, UUID.randomUUID());
         statement.setString(++columnIndex, representationMetadata.getContentLocation().toString());
         statement.setString(++columnIndex, new String(bytesMD5));
         statement.setString(++columnIndex, representationMetadata.getContentType().toString());
@@ -294,8 +298,8 @@ public class RepresentationMetadataService implements infrastructure.Representat
               .toString();
       this.logger.debug(sql);
 
-      try (Scope scope = this.tracer.scopeManager().activate(span, false)) {
-        Connection connection = this.connectionFactory.createConnection();
+      try (Scope scope = this.tracer.scopeManager().activate(span, false);
+          Connection connection = this.connectionFactory.createConnection()) {
 
         String contentLanguage = null;
         if (representationMetadata.getContentLanguage() != null) {
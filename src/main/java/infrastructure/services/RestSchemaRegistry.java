@@ -0,0 +1,75 @@
+package infrastructure.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import org.apache.avro.Schema;
+
+/**
+ * A {@link SchemaRegistry} backed by the REST API of a Confluent schema registry.
+ *
+ * @author Jon Freer
+ */
+public final class RestSchemaRegistry implements SchemaRegistry {
+
+  private static final String CONTENT_TYPE = "application/vnd.schemaregistry.v1+json";
+
+  private final String url;
+  private final ObjectMapper mapper;
+
+  /**
+   * Constructs a new {@link RestSchemaRegistry}.
+   *
+   * @param url The base URL of the schema registry, such as {@code http://localhost:8081}.
+   */
+  public RestSchemaRegistry(String url) {
+    if (url == null || url.isEmpty()) {
+      throw new IllegalArgumentException("The argument 'url' cannot be null or empty.");
+    }
+    this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    this.mapper = new ObjectMapper();
+  }
+
+  @Override
+  public int register(String subject, Schema schema) throws IOException {
+    URL versions =
+        new URL(
+            String.format(
+                "%s/subjects/%s/versions",
+                this.url, URLEncoder.encode(subject, StandardCharsets.UTF_8.name())));
+    byte[] body =
+        this.mapper.writeValueAsBytes(Collections.singletonMap("schema", schema.toString()));
+
+    HttpURLConnection connection = (HttpURLConnection) versions.openConnection();
+    try {
+      connection.setRequestMethod("POST");
+      connection.setRequestProperty("Content-Type", CONTENT_TYPE);
+      connection.setRequestProperty("Accept", CONTENT_TYPE);
+      connection.setDoOutput(true);
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(body);
+      }
+
+      int status = connection.getResponseCode();
+      if (status != HttpURLConnection.HTTP_OK) {
+        throw new IOException(
+            String.format(
+                "Unable to register the schema of subject '%s'; the registry responded %d.",
+                subject, status));
+      }
+      try (InputStream in = connection.getInputStream()) {
+        JsonNode response = this.mapper.readTree(in);
+        return response.get("id").asInt();
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+}
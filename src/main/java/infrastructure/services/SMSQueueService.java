@@ -5,14 +5,17 @@ import com.codahale.metrics.MetricRegistry;
 import domain.Message;
 import domain.Notification;
 import infrastructure.MessageQueueService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import javax.inject.Inject;
 import javax.inject.Named;
-import org.apache.avro.Schema;
-import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
@@ -25,28 +28,28 @@ import org.slf4j.Logger;
 public final class SMSQueueService implements MessageQueueService {
 
   /** Represents a callback that is invoked after an attempt to send a message to Kafka. */
-  private class ProducerCallback implements Callback {
+  private static final class ProducerCallback implements Callback {
 
     private static final String SMS_ENQUEUE_SUCCESS_METER_NAME = "sms.enqueue.success";
     private static final String SMS_ENQUEUE_FAILURE_METER_NAME = "sms.enqueue.failure";
 
-    private final MetricRegistry metricRegistry;
     private final Meter enqueueSuccessMeter;
     private final Meter enqueueFailureMeter;
     private final Logger logger;
 
     /**
-     * Constructs a {@link ProducerCallback}.
+     * Constructs a {@link ProducerCallback}. The callback holds no state of its own, so a single
+     * instance is shared by every send.
      *
      * @param metricRegistry The metric registry use to record metrics.
+     * @param logger The logger used to report the outcome of each send.
      */
-    public ProducerCallback(final MetricRegistry metricRegistry, final Logger logger) {
-      this.metricRegistry = metricRegistry;
+    ProducerCallback(final MetricRegistry metricRegistry, final Logger logger) {
       this.enqueueSuccessMeter =
-          this.metricRegistry.meter(
+          metricRegistry.meter(
               MetricRegistry.name(SMSQueueService.class, SMS_ENQUEUE_SUCCESS_METER_NAME));
       this.enqueueFailureMeter =
-          this.metricRegistry.meter(
+          metricRegistry.meter(
               MetricRegistry.name(SMSQueueService.class, SMS_ENQUEUE_FAILURE_METER_NAME));
       this.logger = logger;
     }
@@ -64,42 +67,38 @@ public final class SMSQueueService implements MessageQueueService {
     }
   }
 
+  /** The topic the messages to send are announced on. */
+  public static final String TOPIC_NAME = "sms";
+
   private final Producer<String, GenericRecord> producer;
-  private final MetricRegistry metricRegistry;
+  private final ProducerCallback callback;
+  private final long sendTimeout;
   private final Logger logger;
-  private static final String TOPIC_NAME = "sms";
 
   @Inject
   public SMSQueueService(
       Producer<String, GenericRecord> producer,
       MetricRegistry metricRegistry,
+      @Named("KAFKA_SEND_TIMEOUT") Long sendTimeout,
       @Named("infrastructure.services.SMSQueueService") Logger logger) {
     this.producer = producer;
-    this.metricRegistry = metricRegistry;
+    this.callback = new ProducerCallback(metricRegistry, logger);
+    this.sendTimeout = sendTimeout;
     this.logger = logger;
   }
 
-  private String getSchema() {
-    StringBuilder builder = new StringBuilder();
-    builder
-        .append("{")
-        .append("\"namespace\": \"noti\",")
-        .append("\"type\":\"record\",")
-        .append("\"name\":\"Message\",")
-        .append("\"fields\":")
-        .append("[")
-        .append("{")
-        .append("\"name\":\"notificationUUID\",")
-        .append("\"type\":\"string\"")
-        .append("},")
-        .append("{")
-        .append("\"name\":\"messageID\",")
-        .append("\"type\":\"int\"")
-        .append("}")
-        .append("]")
-        .append("}");
-    String schemaString = builder.toString();
-    return schemaString;
+  /**
+   * Constructs the record announcing a message of a notification on the {@code sms} topic.
+   *
+   * @param notificationUUID The universally unique identifier of the notification.
+   * @param messageID The identifier of the message within the notification.
+   * @param key The key of the record, which preserves the order of messages sharing it.
+   * @return The record to send to Kafka.
+   */
+  static ProducerRecord<String, GenericRecord> createRecord(
+      UUID notificationUUID, Integer messageID, String key) {
+    GenericRecord messageRecord = MessageRecordCodec.encode(notificationUUID, messageID);
+    return new ProducerRecord<String, GenericRecord>(TOPIC_NAME, key, messageRecord);
   }
 
   @Override
@@ -121,20 +120,9 @@ public final class SMSQueueService implements MessageQueueService {
           "Invalid value for 'messageID'. The message does not exist.");
     }
 
-    // construct the Avro record.
-    String schemaString = this.getSchema();
-    Schema.Parser parser = new Schema.Parser();
-    Schema schema = parser.parse(schemaString);
-
-    GenericRecord messageRecord = new GenericData.Record(schema);
-    messageRecord.put("notificationUUID", notification.getId().toString());
-    messageRecord.put("messageID", messageID);
-
-    // construct record to send to Kafka.
-    String key =
-        message.getTo().toE164(); // choosing the target phone number to preserve order of messages.
+    // choosing the target phone number as the key to preserve order of messages.
     ProducerRecord<String, GenericRecord> record =
-        new ProducerRecord<String, GenericRecord>(TOPIC_NAME, key, messageRecord);
+        createRecord(notification.getId(), messageID, message.getTo().toE164());
 
     // although it would be ideal to have this be purely asynchronous,
     // the issue lies in being able to adequately recover from a failure.
@@ -152,8 +140,48 @@ public final class SMSQueueService implements MessageQueueService {
     // choosing to do the call to Kafka synchronously with a tight timeout is
     // a solid middle ground, because it keeps latency a top priority, while also
     // providing the ability to surface errors immediately to clients.
-    Future<RecordMetadata> future =
-        this.producer.send(record, new ProducerCallback(this.metricRegistry, this.logger));
-    future.get(100, TimeUnit.MILLISECONDS);
+    Future<RecordMetadata> future = this.producer.send(record, this.callback);
+    future.get(this.sendTimeout, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public Map<Integer, Exception> sendAll(Notification notification, Collection<Message> messages)
+      throws InterruptedException {
+
+    if (notification == null) {
+      throw new IllegalArgumentException("The argument 'notification' cannot be null.");
+    }
+
+    if (messages == null) {
+      throw new IllegalArgumentException("The argument 'messages' cannot be null.");
+    }
+
+    // hand every record to the producer before awaiting any, so that the producer batches them.
+    Map<Integer, Future<RecordMetadata>> futures = new LinkedHashMap<>();
+    Map<Integer, Exception> failures = new HashMap<>();
+    for (Message message : messages) {
+      ProducerRecord<String, GenericRecord> record =
+          createRecord(notification.getId(), message.getId(), message.getTo().toE164());
+      try {
+        futures.put(message.getId(), this.producer.send(record, this.callback));
+      } catch (RuntimeException x) {
+        failures.put(message.getId(), x);
+      }
+    }
+
+    // every send shares one deadline, so the wait does not grow with the number of messages.
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.sendTimeout);
+    for (Map.Entry<Integer, Future<RecordMetadata>> entry : futures.entrySet()) {
+      try {
+        entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (ExecutionException | TimeoutException x) {
+        failures.put(entry.getKey(), x);
+      }
+    }
+
+    if (!failures.isEmpty()) {
+      this.logger.warn("Unable to enqueue {} of {} messages.", failures.size(), messages.size());
+    }
+    return failures;
   }
 }
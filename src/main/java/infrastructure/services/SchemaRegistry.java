@@ -0,0 +1,24 @@
+package infrastructure.services;
+
+import java.io.IOException;
+import org.apache.avro.Schema;
+
+/**
+ * Assigns the identifiers that Avro records are published with, so that consumers can resolve the
+ * schema each record was written with.
+ *
+ * @author Jon Freer
+ */
+public interface SchemaRegistry {
+
+  /**
+   * Registers the provided schema under the provided subject. Registering a schema that is already
+   * registered returns the identifier it was first assigned.
+   *
+   * @param subject The subject to register the schema under, such as {@code sms-value}.
+   * @param schema The schema to register.
+   * @return The identifier of the schema.
+   * @throws IOException if the schema could not be registered.
+   */
+  int register(String subject, Schema schema) throws IOException;
+}
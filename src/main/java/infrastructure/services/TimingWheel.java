@@ -0,0 +1,173 @@
+package infrastructure.services;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel holding items until their deadlines pass.
+ *
+ * <p>Each wheel is a ring of buckets spanning one tick each. Items due beyond the span of a wheel
+ * are held by an overflow wheel whose ticks span the whole of the finer wheel, and are moved down
+ * once the finer wheel reaches their bucket. Scheduling an item and advancing by a tick are
+ * therefore constant time regardless of how many items are held or how far ahead they are due.
+ * Items due within the current tick are checked against their exact deadline, so no item is
+ * released early.
+ *
+ * <p>The wheel is not thread safe; it is meant to be owned by a single scheduling thread.
+ *
+ * @param <T> The type of the items held.
+ * @author Jon Freer
+ */
+final class TimingWheel<T> {
+
+  private static final class Entry<T> {
+
+    private final T item;
+    private final long deadline;
+
+    Entry(T item, long deadline) {
+      this.item = item;
+      this.deadline = deadline;
+    }
+  }
+
+  private final long tick;
+  private final int wheelSize;
+  private final long interval;
+  private final List<List<Entry<T>>> buckets;
+  private final List<Entry<T>> pending;
+  private long currentTime;
+  private TimingWheel<T> overflow;
+  private int size;
+
+  /**
+   * Constructs a new {@link TimingWheel}.
+   *
+   * @param tick The number of milliseconds spanned by each bucket of the finest wheel.
+   * @param wheelSize The number of buckets of each wheel.
+   * @param startTime The time, in milliseconds, the wheel starts at.
+   */
+  TimingWheel(long tick, int wheelSize, long startTime) {
+    if (tick < 1) {
+      throw new IllegalArgumentException("The argument 'tick' must be greater than zero.");
+    }
+    if (wheelSize < 2) {
+      throw new IllegalArgumentException("The argument 'wheelSize' must be greater than one.");
+    }
+    this.tick = tick;
+    this.wheelSize = wheelSize;
+    this.interval = tick * wheelSize;
+    this.buckets = new ArrayList<>(wheelSize);
+    for (int i = 0; i < wheelSize; i++) {
+      this.buckets.add(new ArrayList<>());
+    }
+    this.pending = new ArrayList<>();
+    this.currentTime = startTime - Math.floorMod(startTime, tick);
+  }
+
+  /**
+   * Retrieves the number of items held.
+   *
+   * @return The number of items held.
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Holds the provided item until its deadline. An item whose deadline has already passed is
+   * released by the next advance.
+   *
+   * @param item The item to hold.
+   * @param deadline The time, in milliseconds, the item is due.
+   */
+  void schedule(T item, long deadline) {
+    this.place(new Entry<>(item, deadline));
+    this.size++;
+  }
+
+  /**
+   * Advances the wheel to the provided time, releasing every item that is due by then.
+   *
+   * @param now The current time, in milliseconds.
+   * @return The items that are due.
+   */
+  List<T> advance(long now) {
+
+    // an empty wheel skips straight to the present rather than turning through idle ticks.
+    if (this.size == 0) {
+      this.currentTime = now - Math.floorMod(now, this.tick);
+      this.overflow = null;
+      return new ArrayList<>();
+    }
+
+    this.rotate(now, this::place);
+    List<T> due = new ArrayList<>();
+    Iterator<Entry<T>> entries = this.pending.iterator();
+    while (entries.hasNext()) {
+      Entry<T> entry = entries.next();
+      if (entry.deadline <= now) {
+        due.add(entry.item);
+        entries.remove();
+      }
+    }
+    this.size -= due.size();
+    return due;
+  }
+
+  /**
+   * Places an entry in the finest wheel able to hold it, or with the entries of the current tick.
+   */
+  private void place(Entry<T> entry) {
+    if (!this.offer(entry)) {
+      this.pending.add(entry);
+    }
+  }
+
+  /**
+   * Places an entry in this wheel or one of its overflow wheels.
+   *
+   * @return {@code false} if the entry is due within the current tick of this wheel.
+   */
+  private boolean offer(Entry<T> entry) {
+    if (entry.deadline < this.currentTime + this.tick) {
+      return false;
+    }
+    if (entry.deadline < this.currentTime + this.interval) {
+      this.buckets.get(this.slot(entry.deadline)).add(entry);
+      return true;
+    }
+    if (this.overflow == null) {
+      this.overflow = new TimingWheel<>(this.interval, this.wheelSize, this.currentTime);
+    }
+    return this.overflow.offer(entry);
+  }
+
+  /**
+   * Turns the wheel tick by tick up to the provided time, handing the entries of each bucket
+   * reached to the sink so that they are placed in a finer wheel.
+   */
+  private void rotate(long now, Consumer<Entry<T>> sink) {
+    while (this.currentTime + this.tick <= now) {
+      this.currentTime += this.tick;
+
+      // the overflow wheel turns in step, moving its entries down as they come within reach.
+      if (this.overflow != null) {
+        this.overflow.rotate(this.currentTime, sink);
+      }
+
+      List<Entry<T>> bucket = this.buckets.get(this.slot(this.currentTime));
+      if (!bucket.isEmpty()) {
+        List<Entry<T>> reached = new ArrayList<>(bucket);
+        bucket.clear();
+        reached.forEach(sink);
+      }
+    }
+  }
+
+  private int slot(long time) {
+    return (int) Math.floorMod(time / this.tick, (long) this.wheelSize);
+  }
+}
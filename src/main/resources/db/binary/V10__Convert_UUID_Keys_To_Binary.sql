@@ -0,0 +1,238 @@
+-- Converts every UUID key from its VARCHAR(128) textual form to BINARY(16).
+--
+-- The shadow columns added by V9.1 hold the binary form of every key, filled by their triggers and
+-- the backfill the application runs before applying this migration. Each table swaps its shadow
+-- columns in place of the textual ones and rebuilds its primary key in a single online ALTER, which
+-- permits concurrent reads and writes and either completes or leaves the table untouched. A shadow
+-- column that is still missing values fails the swap of its table, as it cannot be made NOT NULL.
+--
+-- Every step is skipped once done, so a conversion that failed part-way completes once the failure
+-- is repaired and the migration is applied again.
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- the triggers write the shadow columns, which are about to be swapped in.
+DROP TRIGGER IF EXISTS `TARGET_UUID_BIN`;
+DROP TRIGGER IF EXISTS `NOTIFICATION_UUID_BIN`;
+DROP TRIGGER IF EXISTS `AUDIENCE_UUID_BIN`;
+DROP TRIGGER IF EXISTS `TEMPLATE_UUID_BIN`;
+DROP TRIGGER IF EXISTS `REPRESENTATION_METADATA_UUID_BIN`;
+DROP TRIGGER IF EXISTS `NOTIFICATION_TARGET_UUID_BIN`;
+DROP TRIGGER IF EXISTS `MESSAGE_UUID_BIN`;
+DROP TRIGGER IF EXISTS `NOTIFICATION_AUDIENCE_UUID_BIN`;
+DROP TRIGGER IF EXISTS `AUDIENCE_TARGET_UUID_BIN`;
+
+-- drop the foreign keys on the textual keys. their generated names differ between MySQL versions,
+-- so they are looked up rather than named, and those recreated below are kept.
+SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`')) INTO @drops
+FROM information_schema.TABLE_CONSTRAINTS
+WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'NOTIFICATION_TARGET'
+	AND CONSTRAINT_TYPE = 'FOREIGN KEY' AND CONSTRAINT_NAME NOT LIKE '%\_UUID\_FK';
+SET @statement = IF(@drops IS NULL, 'DO 0', CONCAT('ALTER TABLE `NOTIFICATION_TARGET` ', @drops));
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`')) INTO @drops
+FROM information_schema.TABLE_CONSTRAINTS
+WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'MESSAGE'
+	AND CONSTRAINT_TYPE = 'FOREIGN KEY' AND CONSTRAINT_NAME NOT LIKE '%\_UUID\_FK';
+SET @statement = IF(@drops IS NULL, 'DO 0', CONCAT('ALTER TABLE `MESSAGE` ', @drops));
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`')) INTO @drops
+FROM information_schema.TABLE_CONSTRAINTS
+WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'NOTIFICATION_AUDIENCE'
+	AND CONSTRAINT_TYPE = 'FOREIGN KEY' AND CONSTRAINT_NAME NOT LIKE '%\_UUID\_FK';
+SET @statement = IF(@drops IS NULL, 'DO 0', CONCAT('ALTER TABLE `NOTIFICATION_AUDIENCE` ', @drops));
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`')) INTO @drops
+FROM information_schema.TABLE_CONSTRAINTS
+WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'AUDIENCE_TARGET'
+	AND CONSTRAINT_TYPE = 'FOREIGN KEY' AND CONSTRAINT_NAME NOT LIKE '%\_UUID\_FK';
+SET @statement = IF(@drops IS NULL, 'DO 0', CONCAT('ALTER TABLE `AUDIENCE_TARGET` ', @drops));
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+-- swap the keys of each table, unless its shadow columns are already gone.
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.COLUMNS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'TARGET' AND COLUMN_NAME = 'UUID_BIN') = 0,
+	'DO 0',
+	'ALTER TABLE `TARGET` DROP PRIMARY KEY, DROP COLUMN `UUID`,
+		CHANGE COLUMN `UUID_BIN` `UUID` BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY(`UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.COLUMNS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'NOTIFICATION' AND COLUMN_NAME = 'UUID_BIN') = 0,
+	'DO 0',
+	'ALTER TABLE `NOTIFICATION` DROP PRIMARY KEY, DROP COLUMN `UUID`,
+		CHANGE COLUMN `UUID_BIN` `UUID` BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY(`UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.COLUMNS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'AUDIENCE' AND COLUMN_NAME = 'UUID_BIN') = 0,
+	'DO 0',
+	'ALTER TABLE `AUDIENCE` DROP PRIMARY KEY, DROP COLUMN `UUID`,
+		CHANGE COLUMN `UUID_BIN` `UUID` BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY(`UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.COLUMNS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'TEMPLATE' AND COLUMN_NAME = 'UUID_BIN') = 0,
+	'DO 0',
+	'ALTER TABLE `TEMPLATE` DROP PRIMARY KEY, DROP COLUMN `UUID`,
+		CHANGE COLUMN `UUID_BIN` `UUID` BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY(`UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.COLUMNS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'REPRESENTATION_METADATA'
+			AND COLUMN_NAME = 'UUID_BIN') = 0,
+	'DO 0',
+	'ALTER TABLE `REPRESENTATION_METADATA` DROP PRIMARY KEY, DROP COLUMN `UUID`,
+		CHANGE COLUMN `UUID_BIN` `UUID` BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY(`UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.COLUMNS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'NOTIFICATION_TARGET'
+			AND COLUMN_NAME = 'NOTIFICATION_UUID_BIN') = 0,
+	'DO 0',
+	'ALTER TABLE `NOTIFICATION_TARGET` DROP PRIMARY KEY,
+		DROP COLUMN `NOTIFICATION_UUID`, DROP COLUMN `TARGET_UUID`,
+		CHANGE COLUMN `NOTIFICATION_UUID_BIN` `NOTIFICATION_UUID` BINARY(16) NOT NULL FIRST,
+		CHANGE COLUMN `TARGET_UUID_BIN` `TARGET_UUID` BINARY(16) NOT NULL AFTER `NOTIFICATION_UUID`,
+		ADD PRIMARY KEY(`NOTIFICATION_UUID`, `TARGET_UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.COLUMNS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'MESSAGE'
+			AND COLUMN_NAME = 'NOTIFICATION_UUID_BIN') = 0,
+	'DO 0',
+	'ALTER TABLE `MESSAGE` DROP PRIMARY KEY, DROP COLUMN `NOTIFICATION_UUID`,
+		CHANGE COLUMN `NOTIFICATION_UUID_BIN` `NOTIFICATION_UUID` BINARY(16) NOT NULL AFTER `STATUS`,
+		ADD PRIMARY KEY(`NOTIFICATION_UUID`, `ID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.COLUMNS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'NOTIFICATION_AUDIENCE'
+			AND COLUMN_NAME = 'NOTIFICATION_UUID_BIN') = 0,
+	'DO 0',
+	'ALTER TABLE `NOTIFICATION_AUDIENCE` DROP PRIMARY KEY,
+		DROP COLUMN `NOTIFICATION_UUID`, DROP COLUMN `AUDIENCE_UUID`,
+		CHANGE COLUMN `NOTIFICATION_UUID_BIN` `NOTIFICATION_UUID` BINARY(16) NOT NULL FIRST,
+		CHANGE COLUMN `AUDIENCE_UUID_BIN` `AUDIENCE_UUID` BINARY(16) NOT NULL AFTER `NOTIFICATION_UUID`,
+		ADD PRIMARY KEY(`NOTIFICATION_UUID`, `AUDIENCE_UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.COLUMNS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'AUDIENCE_TARGET'
+			AND COLUMN_NAME = 'AUDIENCE_UUID_BIN') = 0,
+	'DO 0',
+	'ALTER TABLE `AUDIENCE_TARGET` DROP PRIMARY KEY,
+		DROP COLUMN `AUDIENCE_UUID`, DROP COLUMN `TARGET_UUID`,
+		CHANGE COLUMN `AUDIENCE_UUID_BIN` `AUDIENCE_UUID` BINARY(16) NOT NULL FIRST,
+		CHANGE COLUMN `TARGET_UUID_BIN` `TARGET_UUID` BINARY(16) NOT NULL AFTER `AUDIENCE_UUID`,
+		ADD PRIMARY KEY(`AUDIENCE_UUID`, `TARGET_UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+-- recreate the foreign keys against the binary keys, unless they already exist. the keys were
+-- converted from valid references, so they are added without being checked again.
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.TABLE_CONSTRAINTS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'NOTIFICATION_TARGET'
+			AND CONSTRAINT_NAME = 'NOTIFICATION_TARGET_NOTIFICATION_UUID_FK') > 0,
+	'DO 0',
+	'ALTER TABLE `NOTIFICATION_TARGET`
+		ADD CONSTRAINT `NOTIFICATION_TARGET_NOTIFICATION_UUID_FK`
+			FOREIGN KEY (`NOTIFICATION_UUID`) REFERENCES `NOTIFICATION` (`UUID`),
+		ADD CONSTRAINT `NOTIFICATION_TARGET_TARGET_UUID_FK`
+			FOREIGN KEY (`TARGET_UUID`) REFERENCES `TARGET` (`UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.TABLE_CONSTRAINTS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'MESSAGE'
+			AND CONSTRAINT_NAME = 'MESSAGE_NOTIFICATION_UUID_FK') > 0,
+	'DO 0',
+	'ALTER TABLE `MESSAGE`
+		ADD CONSTRAINT `MESSAGE_NOTIFICATION_UUID_FK`
+			FOREIGN KEY (`NOTIFICATION_UUID`) REFERENCES `NOTIFICATION` (`UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.TABLE_CONSTRAINTS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'NOTIFICATION_AUDIENCE'
+			AND CONSTRAINT_NAME = 'NOTIFICATION_AUDIENCE_NOTIFICATION_UUID_FK') > 0,
+	'DO 0',
+	'ALTER TABLE `NOTIFICATION_AUDIENCE`
+		ADD CONSTRAINT `NOTIFICATION_AUDIENCE_NOTIFICATION_UUID_FK`
+			FOREIGN KEY (`NOTIFICATION_UUID`) REFERENCES `NOTIFICATION` (`UUID`),
+		ADD CONSTRAINT `NOTIFICATION_AUDIENCE_AUDIENCE_UUID_FK`
+			FOREIGN KEY (`AUDIENCE_UUID`) REFERENCES `AUDIENCE` (`UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET @statement = IF(
+	(SELECT COUNT(*) FROM information_schema.TABLE_CONSTRAINTS
+		WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'AUDIENCE_TARGET'
+			AND CONSTRAINT_NAME = 'AUDIENCE_TARGET_AUDIENCE_UUID_FK') > 0,
+	'DO 0',
+	'ALTER TABLE `AUDIENCE_TARGET`
+		ADD CONSTRAINT `AUDIENCE_TARGET_AUDIENCE_UUID_FK`
+			FOREIGN KEY (`AUDIENCE_UUID`) REFERENCES `AUDIENCE` (`UUID`),
+		ADD CONSTRAINT `AUDIENCE_TARGET_TARGET_UUID_FK`
+			FOREIGN KEY (`TARGET_UUID`) REFERENCES `TARGET` (`UUID`),
+		ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE step FROM @statement;
+EXECUTE step;
+DEALLOCATE PREPARE step;
+
+SET FOREIGN_KEY_CHECKS = 1;
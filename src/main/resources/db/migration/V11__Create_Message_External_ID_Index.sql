@@ -0,0 +1,6 @@
+-- Indexes the identifiers assigned to messages by the provider that sent them.
+--
+-- The index is not unique because messages that have not been sent yet share an empty identifier.
+-- InnoDB secondary indexes carry the primary key, so the index alone resolves an external
+-- identifier to the NOTIFICATION_UUID and ID of the message it belongs to.
+CREATE INDEX `MESSAGE_EXTERNAL_ID` ON `MESSAGE` (`EXTERNAL_ID`);
@@ -0,0 +1,21 @@
+-- Maintains the number of rows of each aggregate table, so totals are read without scanning.
+--
+-- InnoDB has no stored row count, so COUNT(*) reads an entire index. Instead the data mappers
+-- adjust these counters in the same transaction as each insert and delete. Every table is spread
+-- across several slots and each adjustment lands on a random one, so concurrent writers rarely
+-- wait on the same row lock. The total of a table is the sum of its slots.
+CREATE TABLE `ENTITY_COUNT`
+(
+	`TABLE_NAME`	VARCHAR(64)			NOT NULL,
+	`SLOT`			TINYINT UNSIGNED	NOT NULL,
+	`COUNT`			BIGINT				NOT NULL,
+
+	PRIMARY KEY(`TABLE_NAME`, `SLOT`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- seed the first slot of each table with its existing rows.
+INSERT INTO `ENTITY_COUNT` (`TABLE_NAME`, `SLOT`, `COUNT`)
+SELECT 'NOTIFICATION', 0, COUNT(*) FROM `NOTIFICATION`
+UNION ALL SELECT 'TARGET', 0, COUNT(*) FROM `TARGET`
+UNION ALL SELECT 'AUDIENCE', 0, COUNT(*) FROM `AUDIENCE`
+UNION ALL SELECT 'TEMPLATE', 0, COUNT(*) FROM `TEMPLATE`;
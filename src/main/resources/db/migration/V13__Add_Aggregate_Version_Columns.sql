@@ -0,0 +1,7 @@
+-- Versions the rows of the aggregate root tables.
+--
+-- Every update of an aggregate increments its version. An update that expects a version only
+-- matches while the row still carries it, which detects concurrent modifications without reading
+-- the aggregate first. Existing rows start at the same version as newly inserted ones.
+ALTER TABLE `NOTIFICATION` ADD COLUMN `VERSION` INT UNSIGNED NOT NULL DEFAULT 1;
+ALTER TABLE `AUDIENCE` ADD COLUMN `VERSION` INT UNSIGNED NOT NULL DEFAULT 1;
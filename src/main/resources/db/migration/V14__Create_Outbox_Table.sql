@@ -0,0 +1,19 @@
+-- Holds the messages waiting to be published to the message queue.
+--
+-- Rows are written in the same transaction as the notification they belong to, so a message is
+-- only published once its notification is committed and is never lost once it is. A relay drains
+-- the unpublished rows in the order they were written and stamps each one once the queue has
+-- acknowledged it. The notification key is not a foreign key and accepts both the textual and the
+-- binary form of a UUID, so the table is unaffected by the conversion of the other keys.
+CREATE TABLE `OUTBOX`
+(
+	`ID`				BIGINT UNSIGNED	NOT NULL AUTO_INCREMENT,
+	`NOTIFICATION_UUID`	VARBINARY(36)	NOT NULL,
+	`MESSAGE_ID`		INT				NOT NULL,
+	`MESSAGE_KEY`		VARCHAR(128)	NOT NULL,
+	`CREATED_AT`		DATETIME(3)		NOT NULL,
+	`PUBLISHED_AT`		DATETIME(3)		NULL,
+
+	PRIMARY KEY(`ID`),
+	INDEX `OUTBOX_UNPUBLISHED` (`PUBLISHED_AT`, `ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,17 @@
+-- Records the dispatch of each notification to the message queue.
+--
+-- A notification is due once it is pending, undispatched, and its send time has passed. Schedulers
+-- lease due notifications by stamping their owner and the moment the lease expires, and stamp the
+-- dispatch once the messages are handed to the queue. Notifications sent immediately are stamped
+-- when their messages are placed in the outbox. The index serves the due query: an equality on the
+-- status, a null check on the dispatch, and a range over the send time in send time order.
+ALTER TABLE `NOTIFICATION`
+	ADD COLUMN `DISPATCHED_AT`		DATETIME(3)		NULL,
+	ADD COLUMN `LEASE_OWNER`		VARCHAR(64)		NULL,
+	ADD COLUMN `LEASE_EXPIRES_AT`	DATETIME(3)		NULL;
+CREATE INDEX `NOTIFICATION_DUE` ON `NOTIFICATION` (`STATUS`, `DISPATCHED_AT`, `SEND_AT`);
+
+-- Notifications whose send time has already passed were enqueued when they were created, so only
+-- those still waiting on their send time are left for the scheduler.
+UPDATE `NOTIFICATION` SET `DISPATCHED_AT` = COALESCE(`SEND_AT`, NOW(3))
+	WHERE `SEND_AT` IS NULL OR `SEND_AT` <= NOW();
@@ -0,0 +1,28 @@
+-- Records the number of messages of each notification in each status.
+--
+-- The status of a notification follows from these counts alone. Every write of a message adjusts
+-- them by the change it makes, in the same transaction and under the lock of the notification row,
+-- so a status callback never reads the other messages of its notification. Sent and delivered
+-- messages are counted together, as they count alike towards the status of the notification.
+ALTER TABLE `NOTIFICATION`
+	ADD COLUMN `MESSAGE_COUNT`			INT UNSIGNED	NOT NULL DEFAULT 0,
+	ADD COLUMN `PENDING_MESSAGE_COUNT`	INT UNSIGNED	NOT NULL DEFAULT 0,
+	ADD COLUMN `SENT_MESSAGE_COUNT`		INT UNSIGNED	NOT NULL DEFAULT 0,
+	ADD COLUMN `FAILED_MESSAGE_COUNT`	INT UNSIGNED	NOT NULL DEFAULT 0,
+	ALGORITHM=INSTANT;
+
+-- seed the counts of the existing notifications from their messages.
+UPDATE `NOTIFICATION` AS N
+	INNER JOIN (
+		SELECT `NOTIFICATION_UUID`,
+			COUNT(*) AS `TOTAL`,
+			SUM(`STATUS` = 'PENDING') AS `PENDING`,
+			SUM(`STATUS` IN ('SENT', 'DELIVERED')) AS `SENT`,
+			SUM(`STATUS` = 'FAILED') AS `FAILED`
+		FROM `MESSAGE`
+		GROUP BY `NOTIFICATION_UUID`
+	) AS M ON M.`NOTIFICATION_UUID` = N.`UUID`
+	SET N.`MESSAGE_COUNT` = M.`TOTAL`,
+		N.`PENDING_MESSAGE_COUNT` = M.`PENDING`,
+		N.`SENT_MESSAGE_COUNT` = M.`SENT`,
+		N.`FAILED_MESSAGE_COUNT` = M.`FAILED`;
@@ -0,0 +1,11 @@
+-- Records that the members of the audiences of a notification are still being fanned out into
+-- messages.
+--
+-- The flag is set in the transaction that creates a notification with audiences and cleared in the
+-- transaction that dispatches it, or releases it to the scheduler, once every message is written.
+-- Schedulers pass over flagged notifications, and a fan-out whose node stopped is resumed by
+-- another node once its lease expires. The index serves the search for those stalled fan-outs.
+ALTER TABLE `NOTIFICATION`
+	ADD COLUMN `FANOUT_PENDING`		BOOLEAN		NOT NULL DEFAULT FALSE,
+	ALGORITHM=INSTANT;
+CREATE INDEX `NOTIFICATION_FANOUT_PENDING` ON `NOTIFICATION` (`FANOUT_PENDING`, `LEASE_EXPIRES_AT`);
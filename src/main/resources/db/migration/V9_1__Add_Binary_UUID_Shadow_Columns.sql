@@ -0,0 +1,49 @@
+-- Prepares the conversion of every UUID key from its textual form to BINARY(16), without blocking.
+--
+-- Each key column gains a nullable BINARY(16) shadow column, added instantly at the end of its
+-- table. Triggers fill the shadow columns of every row inserted from now on, so nodes that still
+-- write textual keys keep both forms in step while the existing rows are backfilled in batches by
+-- the application. Keys are never updated, so only inserts need a trigger. Once every shadow column
+-- is filled, the conversion in db/binary swaps the shadow columns in place of the textual ones.
+
+ALTER TABLE `TARGET` ADD COLUMN `UUID_BIN` BINARY(16) NULL, ALGORITHM=INSTANT;
+ALTER TABLE `NOTIFICATION` ADD COLUMN `UUID_BIN` BINARY(16) NULL, ALGORITHM=INSTANT;
+ALTER TABLE `AUDIENCE` ADD COLUMN `UUID_BIN` BINARY(16) NULL, ALGORITHM=INSTANT;
+ALTER TABLE `TEMPLATE` ADD COLUMN `UUID_BIN` BINARY(16) NULL, ALGORITHM=INSTANT;
+ALTER TABLE `REPRESENTATION_METADATA` ADD COLUMN `UUID_BIN` BINARY(16) NULL, ALGORITHM=INSTANT;
+ALTER TABLE `NOTIFICATION_TARGET`
+	ADD COLUMN `NOTIFICATION_UUID_BIN` BINARY(16) NULL,
+	ADD COLUMN `TARGET_UUID_BIN` BINARY(16) NULL,
+	ALGORITHM=INSTANT;
+ALTER TABLE `MESSAGE` ADD COLUMN `NOTIFICATION_UUID_BIN` BINARY(16) NULL, ALGORITHM=INSTANT;
+ALTER TABLE `NOTIFICATION_AUDIENCE`
+	ADD COLUMN `NOTIFICATION_UUID_BIN` BINARY(16) NULL,
+	ADD COLUMN `AUDIENCE_UUID_BIN` BINARY(16) NULL,
+	ALGORITHM=INSTANT;
+ALTER TABLE `AUDIENCE_TARGET`
+	ADD COLUMN `AUDIENCE_UUID_BIN` BINARY(16) NULL,
+	ADD COLUMN `TARGET_UUID_BIN` BINARY(16) NULL,
+	ALGORITHM=INSTANT;
+
+-- write both forms of every key inserted until the conversion.
+CREATE TRIGGER `TARGET_UUID_BIN` BEFORE INSERT ON `TARGET` FOR EACH ROW
+	SET NEW.`UUID_BIN` = UUID_TO_BIN(NEW.`UUID`);
+CREATE TRIGGER `NOTIFICATION_UUID_BIN` BEFORE INSERT ON `NOTIFICATION` FOR EACH ROW
+	SET NEW.`UUID_BIN` = UUID_TO_BIN(NEW.`UUID`);
+CREATE TRIGGER `AUDIENCE_UUID_BIN` BEFORE INSERT ON `AUDIENCE` FOR EACH ROW
+	SET NEW.`UUID_BIN` = UUID_TO_BIN(NEW.`UUID`);
+CREATE TRIGGER `TEMPLATE_UUID_BIN` BEFORE INSERT ON `TEMPLATE` FOR EACH ROW
+	SET NEW.`UUID_BIN` = UUID_TO_BIN(NEW.`UUID`);
+CREATE TRIGGER `REPRESENTATION_METADATA_UUID_BIN` BEFORE INSERT ON `REPRESENTATION_METADATA`
+	FOR EACH ROW SET NEW.`UUID_BIN` = UUID_TO_BIN(NEW.`UUID`);
+CREATE TRIGGER `NOTIFICATION_TARGET_UUID_BIN` BEFORE INSERT ON `NOTIFICATION_TARGET` FOR EACH ROW
+	SET NEW.`NOTIFICATION_UUID_BIN` = UUID_TO_BIN(NEW.`NOTIFICATION_UUID`),
+		NEW.`TARGET_UUID_BIN` = UUID_TO_BIN(NEW.`TARGET_UUID`);
+CREATE TRIGGER `MESSAGE_UUID_BIN` BEFORE INSERT ON `MESSAGE` FOR EACH ROW
+	SET NEW.`NOTIFICATION_UUID_BIN` = UUID_TO_BIN(NEW.`NOTIFICATION_UUID`);
+CREATE TRIGGER `NOTIFICATION_AUDIENCE_UUID_BIN` BEFORE INSERT ON `NOTIFICATION_AUDIENCE` FOR EACH ROW
+	SET NEW.`NOTIFICATION_UUID_BIN` = UUID_TO_BIN(NEW.`NOTIFICATION_UUID`),
+		NEW.`AUDIENCE_UUID_BIN` = UUID_TO_BIN(NEW.`AUDIENCE_UUID`);
+CREATE TRIGGER `AUDIENCE_TARGET_UUID_BIN` BEFORE INSERT ON `AUDIENCE_TARGET` FOR EACH ROW
+	SET NEW.`AUDIENCE_UUID_BIN` = UUID_TO_BIN(NEW.`AUDIENCE_UUID`),
+		NEW.`TARGET_UUID_BIN` = UUID_TO_BIN(NEW.`TARGET_UUID`);
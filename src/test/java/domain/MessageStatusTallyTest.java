@@ -0,0 +1,100 @@
+package domain;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import org.junit.Test;
+
+public final class MessageStatusTallyTest {
+
+  private static final PhoneNumber FROM = new PhoneNumber("1", "812", "555", "0100");
+  private static final PhoneNumber TO = new PhoneNumber("1", "812", "555", "0101");
+
+  private static Message message(int id, MessageStatus status) {
+    return new Message(id, FROM, TO, "content", status, "");
+  }
+
+  @Test
+  public void of_outcomeIs_statusesTallied() {
+    // arrange.
+    MessageStatusTally sut =
+        MessageStatusTally.of(
+            Arrays.asList(
+                message(0, MessageStatus.PENDING),
+                message(1, MessageStatus.SENT),
+                message(2, MessageStatus.DELIVERED)));
+
+    // action.
+    NotificationStatus status = sut.next(NotificationStatus.PENDING);
+
+    // assert.
+    assertEquals(NotificationStatus.SENDING, status);
+  }
+
+  @Test
+  public void next_outcomeIs_sentWhenEveryMessageIsSentOrDelivered() {
+    // arrange.
+    MessageStatusTally sut = new MessageStatusTally(3, 0, 3, 0);
+
+    // action.
+    NotificationStatus status = sut.next(NotificationStatus.SENDING);
+
+    // assert.
+    assertEquals(NotificationStatus.SENT, status);
+  }
+
+  @Test
+  public void next_outcomeIs_failedWhenEveryMessageFailed() {
+    // arrange.
+    MessageStatusTally sut = new MessageStatusTally(2, 0, 0, 2);
+
+    // action.
+    NotificationStatus status = sut.next(NotificationStatus.PENDING);
+
+    // assert.
+    assertEquals(NotificationStatus.FAILED, status);
+  }
+
+  @Test
+  public void next_outcomeIs_pendingWhenNoMessageHasProgressed() {
+    // arrange.
+    MessageStatusTally sut = new MessageStatusTally(2, 2, 0, 0);
+
+    // action.
+    NotificationStatus status = sut.next(NotificationStatus.PENDING);
+
+    // assert.
+    assertEquals(NotificationStatus.PENDING, status);
+  }
+
+  @Test
+  public void next_outcomeIs_terminalStatusesKept() {
+    // arrange.
+    MessageStatusTally sut = new MessageStatusTally(2, 2, 0, 0);
+
+    // action.
+    NotificationStatus sent = sut.next(NotificationStatus.SENT);
+    NotificationStatus failed = sut.next(NotificationStatus.FAILED);
+
+    // assert.
+    assertEquals(NotificationStatus.SENT, sent);
+    assertEquals(NotificationStatus.FAILED, failed);
+  }
+
+  @Test
+  public void minus_outcomeIs_statusOfMovedMessageReplaced() {
+    // arrange.
+    MessageStatusTally sut = new MessageStatusTally(2, 1, 1, 0);
+
+    // action.
+    MessageStatusTally tally =
+        sut.minus(MessageStatusTally.of(MessageStatus.PENDING))
+            .plus(MessageStatusTally.of(MessageStatus.DELIVERED));
+
+    // assert.
+    assertEquals(2, tally.total());
+    assertEquals(0, tally.pending());
+    assertEquals(2, tally.sent());
+    assertEquals(NotificationStatus.SENT, tally.next(NotificationStatus.SENDING));
+  }
+}
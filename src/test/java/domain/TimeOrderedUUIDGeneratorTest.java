@@ -0,0 +1,64 @@
+package domain;
+
+import static org.junit.Assert.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class TimeOrderedUUIDGeneratorTest {
+
+  private static final long MILLIS = 1539734400000L;
+
+  private TimeOrderedUUIDGenerator sut;
+
+  @Before
+  public void setup() {
+    Clock clock = Clock.fixed(Instant.ofEpochMilli(MILLIS), ZoneOffset.UTC);
+    this.sut = new TimeOrderedUUIDGenerator(clock);
+  }
+
+  @After
+  public void tearDown() {
+    this.sut = null;
+  }
+
+  @Test
+  public void nextIdentity_outcomeIs_version7() {
+    // action.
+    UUID uuid = this.sut.nextIdentity();
+
+    // assert.
+    assertEquals(7, uuid.version());
+    assertEquals(2, uuid.variant());
+  }
+
+  @Test
+  public void nextIdentity_outcomeIs_prefixedWithTimestamp() {
+    // action.
+    UUID uuid = this.sut.nextIdentity();
+
+    // assert.
+    assertEquals(MILLIS, uuid.getMostSignificantBits() >>> 16);
+  }
+
+  @Test
+  public void nextIdentity_outcomeIs_orderedWithinTheSameMillisecond() {
+    // arrange.
+    final int count = 10000;
+    UUID previous = this.sut.nextIdentity();
+
+    for (int i = 0; i < count; i++) {
+      // action.
+      UUID next = this.sut.nextIdentity();
+
+      // assert.
+      assertTrue(previous.compareTo(next) < 0);
+      previous = next;
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package domain;
+
+import infrastructure.UUIDCodec;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares insert throughput and index size of time-ordered and random {@link UUID} keys.
+ *
+ * <p>Each generator fills its own table, keyed and secondarily indexed the way the TARGET table
+ * is, with the same number of rows inserted in the same batch size. Run it against a local MySQL,
+ * for example the one in docker/docker-compose.yml:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=domain.UUIDInsertBenchmark
+ * </pre>
+ *
+ * <p>The connection is configured with the DB_HOST, DB_PORT, DB_NAME, DB_USER and DB_PASSWORD
+ * environment variables; BENCHMARK_ROWS and BENCHMARK_BATCH_SIZE control the workload.
+ *
+ * @author Jon Freer
+ */
+public final class UUIDInsertBenchmark {
+
+  private static final String TABLE_PREFIX = "UUID_BENCHMARK_";
+
+  private UUIDInsertBenchmark() {}
+
+  public static void main(String[] args) throws SQLException {
+    String url =
+        String.format(
+            "jdbc:mysql://%s:%s/%s?useSSL=false&allowPublicKeyRetrieval=true"
+                + "&rewriteBatchedStatements=true",
+            env("DB_HOST", "localhost"), env("DB_PORT", "3306"), env("DB_NAME", "NOTI"));
+    int rows = Integer.parseInt(env("BENCHMARK_ROWS", "1000000"));
+    int batchSize = Integer.parseInt(env("BENCHMARK_BATCH_SIZE", "500"));
+
+    try (Connection connection =
+        DriverManager.getConnection(url, env("DB_USER", "root"), env("DB_PASSWORD", ""))) {
+      // warm up the server and the JIT before anything is measured.
+      run(connection, "WARMUP", new RandomUUIDGenerator(), Math.min(rows, 50000), batchSize);
+
+      run(connection, "RANDOM", new RandomUUIDGenerator(), rows, batchSize);
+      run(connection, "TIME_ORDERED", new TimeOrderedUUIDGenerator(), rows, batchSize);
+    }
+  }
+
+  private static void run(
+      Connection connection,
+      String name,
+      IdentityGenerator<UUID> generator,
+      int rows,
+      int batchSize)
+      throws SQLException {
+    String table = TABLE_PREFIX + name;
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS " + table);
+      statement.execute(
+          "CREATE TABLE "
+              + table
+              + " (UUID BINARY(16) NOT NULL, NAME VARCHAR(256) NOT NULL,"
+              + " PHONE_NUMBER VARCHAR(22) NOT NULL, PRIMARY KEY(UUID), INDEX(PHONE_NUMBER))"
+              + " ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+    }
+
+    connection.setAutoCommit(false);
+    long start = System.nanoTime();
+    try (PreparedStatement statement =
+        connection.prepareStatement(
+            "INSERT INTO " + table + " (UUID, NAME, PHONE_NUMBER) VALUES (?, ?, ?)")) {
+      for (int i = 1; i <= rows; i++) {
+        statement.setBytes(1, UUIDCodec.toBytes(generator.nextIdentity()));
+        statement.setString(2, "Target " + i);
+        statement.setString(3, String.format("+1%010d", i));
+        statement.addBatch();
+        if (i % batchSize == 0 || i == rows) {
+          statement.executeBatch();
+          connection.commit();
+        }
+      }
+    } finally {
+      connection.setAutoCommit(true);
+    }
+    long elapsed = System.nanoTime() - start;
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("ANALYZE TABLE " + table);
+      try (ResultSet results =
+          statement.executeQuery(
+              "SELECT DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES"
+                  + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '"
+                  + table
+                  + "'")) {
+        results.next();
+        System.out.printf(
+            "%-12s rows=%d elapsed=%dms rows/s=%.0f data=%.1fMiB index=%.1fMiB%n",
+            name,
+            rows,
+            TimeUnit.NANOSECONDS.toMillis(elapsed),
+            rows / (elapsed / 1e9),
+            results.getLong("DATA_LENGTH") / 1048576.0,
+            results.getLong("INDEX_LENGTH") / 1048576.0);
+      }
+      statement.execute("DROP TABLE " + table);
+    }
+  }
+
+  private static String env(String name, String defaultValue) {
+    String value = System.getenv(name);
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+}
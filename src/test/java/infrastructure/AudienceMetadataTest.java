@@ -26,7 +26,7 @@ public final class AudienceMetadataTest {
 
     // arrange.
     final String expectedColumnName = "UUID";
-    final Integer expectedType = Types.VARCHAR;
+    final Integer expectedType = Types.BINARY;
     final String expectedFieldName = "uuid";
 
     // action.
@@ -0,0 +1,77 @@
+package infrastructure;
+
+import static org.junit.Assert.*;
+
+import domain.Message;
+import domain.MessageStatus;
+import domain.PhoneNumber;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.junit.Test;
+
+public final class ChangeSetTest {
+
+  private static final PhoneNumber FROM = new PhoneNumber("1", "812", "555", "0100");
+  private static final PhoneNumber TO = new PhoneNumber("1", "812", "555", "0101");
+
+  private static Message message(int id, MessageStatus status) {
+    return new Message(id, FROM, TO, "content", status, null);
+  }
+
+  private static boolean sameStatus(Message before, Message after) {
+    return Objects.equals(before.getStatus(), after.getStatus());
+  }
+
+  @Test
+  public void of_outcomeIs_addedAndRemovedByIdentity() {
+
+    // arrange.
+    List<Message> persisted = Arrays.asList(message(1, MessageStatus.SENT), message(2, null));
+    List<Message> current = Arrays.asList(message(2, null), message(3, MessageStatus.SENT));
+
+    // action.
+    ChangeSet<Message> changes = ChangeSet.of(persisted, current);
+
+    // assert.
+    assertEquals(1, changes.getAdded().size());
+    assertEquals(Integer.valueOf(3), changes.getAdded().get(0).getId());
+    assertEquals(1, changes.getRemoved().size());
+    assertEquals(Integer.valueOf(1), changes.getRemoved().get(0).getId());
+    assertTrue(changes.getChanged().isEmpty());
+  }
+
+  @Test
+  public void of_outcomeIs_changedWhenStateDiffers() {
+
+    // arrange.
+    List<Message> persisted =
+        Arrays.asList(message(1, MessageStatus.SENT), message(2, MessageStatus.SENT));
+    Message delivered = message(2, MessageStatus.DELIVERED);
+    List<Message> current = Arrays.asList(message(1, MessageStatus.SENT), delivered);
+
+    // action.
+    ChangeSet<Message> changes = ChangeSet.of(persisted, current, ChangeSetTest::sameStatus);
+
+    // assert.
+    assertTrue(changes.getAdded().isEmpty());
+    assertTrue(changes.getRemoved().isEmpty());
+    assertEquals(Collections.singletonList(delivered), changes.getChanged());
+    assertSame(delivered, changes.getChanged().get(0));
+  }
+
+  @Test
+  public void of_outcomeIs_emptyWhenNothingDiffers() {
+
+    // arrange.
+    List<Message> persisted = Arrays.asList(message(1, MessageStatus.SENT));
+    List<Message> current = Arrays.asList(message(1, MessageStatus.SENT));
+
+    // action.
+    ChangeSet<Message> changes = ChangeSet.of(persisted, current, ChangeSetTest::sameStatus);
+
+    // assert.
+    assertTrue(changes.isEmpty());
+  }
+}
@@ -0,0 +1,75 @@
+package infrastructure;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class LazySetTest {
+
+  private int loads;
+  private LazySet<String> sut;
+
+  @Before
+  public void setup() {
+    this.loads = 0;
+    this.sut =
+        new LazySet<>(
+            () -> {
+              this.loads++;
+              return new HashSet<>(Arrays.asList("first", "second"));
+            });
+  }
+
+  @After
+  public void tearDown() {
+    this.sut = null;
+  }
+
+  @Test
+  public void construct_outcomeIs_notLoaded() {
+    // assert.
+    assertFalse(this.sut.isLoaded());
+    assertEquals(0, this.loads);
+  }
+
+  @Test
+  public void size_outcomeIs_loadedOnce() {
+    // action.
+    int size = this.sut.size();
+    boolean contains = this.sut.contains("first");
+
+    // assert.
+    assertEquals(2, size);
+    assertTrue(contains);
+    assertTrue(this.sut.isLoaded());
+    assertEquals(1, this.loads);
+  }
+
+  @Test
+  public void add_outcomeIs_addedToLoadedElements() {
+    // action.
+    this.sut.add("third");
+
+    // assert.
+    assertEquals(3, this.sut.size());
+    assertEquals(1, this.loads);
+  }
+
+  @Test
+  public void equals_outcomeIs_equalToLoadedElements() {
+    // arrange.
+    Set<String> expected = new HashSet<>(Arrays.asList("first", "second"));
+
+    // action.
+    boolean equal = this.sut.equals(expected);
+
+    // assert.
+    assertTrue(equal);
+    assertEquals(expected.hashCode(), this.sut.hashCode());
+  }
+}
@@ -0,0 +1,60 @@
+package infrastructure;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public final class LongHashSetTest {
+
+  @Test
+  public void add_outcomeIs_duplicatesRejected() {
+
+    // arrange.
+    LongHashSet set = new LongHashSet(4);
+
+    // action.
+    boolean first = set.add(18125550100L);
+    boolean second = set.add(18125550100L);
+
+    // assert.
+    assertTrue(first);
+    assertFalse(second);
+    assertEquals(1, set.size());
+  }
+
+  @Test
+  public void add_outcomeIs_valuesKeptAcrossGrowth() {
+
+    // arrange.
+    LongHashSet set = new LongHashSet(2);
+
+    // action.
+    for (long value = 0; value < 10000; value++) {
+      set.add(18120000000L + value * 7);
+    }
+
+    // assert.
+    assertEquals(10000, set.size());
+    for (long value = 0; value < 10000; value++) {
+      assertTrue(set.contains(18120000000L + value * 7));
+    }
+    assertFalse(set.contains(18120000001L));
+  }
+
+  @Test
+  public void add_outcomeIs_zeroHeldLikeAnyOtherValue() {
+
+    // arrange.
+    LongHashSet set = new LongHashSet(2);
+
+    // action.
+    boolean first = set.add(0L);
+    boolean second = set.add(0L);
+
+    // assert.
+    assertTrue(first);
+    assertFalse(second);
+    assertTrue(set.contains(0L));
+    assertEquals(1, set.size());
+  }
+}
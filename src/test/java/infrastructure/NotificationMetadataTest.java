@@ -26,7 +26,7 @@ public final class NotificationMetadataTest {
 
     // arrange.
     final String expectedColumnName = "UUID";
-    final Integer expectedType = Types.VARCHAR;
+    final Integer expectedType = Types.BINARY;
     final String expectedFieldName = "uuid";
 
     // action.
@@ -121,6 +121,26 @@ public final class NotificationMetadataTest {
     assertEquals(expectedFieldName, fieldName);
   }
 
+  @Test
+  public void getDataMap_outcomeIs_containsVersionMapping() {
+
+    // arrange.
+    final String expectedColumnName = "VERSION";
+    final Integer expectedType = Types.INTEGER;
+    final String expectedFieldName = "version";
+
+    // action.
+    DataMap dataMap = this.sut.getDataMap();
+    String columnName = dataMap.getColumnNameForField(NotificationMetadata.VERSION);
+    Integer type = dataMap.getColumnTypeForColumn(expectedColumnName);
+    String fieldName = dataMap.getFieldNameForColumn(expectedColumnName);
+
+    // assert.
+    assertEquals(expectedColumnName, columnName);
+    assertEquals(expectedType, type);
+    assertEquals(expectedFieldName, fieldName);
+  }
+
   @Test
   public void getTableName_outcomeIs_correctTableName() {
 
@@ -25,7 +25,7 @@ public final class TargetMetadataTest {
   public void getDataMap_outcomeIs_containsUUIDMapping() {
     // arrange.
     final String expectedColumnName = "UUID";
-    final Integer expectedType = Types.VARCHAR;
+    final Integer expectedType = Types.BINARY;
     final String expectedFieldName = "uuid";
 
     // action.
@@ -0,0 +1,110 @@
+package infrastructure;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class UUIDCodecTest {
+
+  private UUIDCodec sut;
+
+  @Before
+  public void setup() {
+    this.sut = new UUIDCodec(UUIDCodec.Format.BINARY);
+  }
+
+  @After
+  public void tearDown() {
+    this.sut = null;
+  }
+
+  @Test
+  public void fromBytes_outcomeIs_roundTripsToBytes() {
+    // arrange.
+    final UUID expected = UUID.fromString("6ccd780c-baba-1026-9564-5b8c656024db");
+
+    // action.
+    UUID actual = UUIDCodec.fromBytes(UUIDCodec.toBytes(expected));
+
+    // assert.
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void toBytes_outcomeIs_bigEndian() {
+    // arrange.
+    final UUID uuid = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+
+    // action.
+    byte[] bytes = UUIDCodec.toBytes(uuid);
+
+    // assert.
+    assertEquals(16, bytes.length);
+    assertEquals((byte) 0x00, bytes[0]);
+    assertEquals((byte) 0x77, bytes[7]);
+    assertEquals((byte) 0xff, bytes[15]);
+  }
+
+  @Test
+  public void decode_outcomeIs_acceptsTextualForm() {
+    // arrange.
+    final UUID expected = UUID.randomUUID();
+    final byte[] text = expected.toString().getBytes(StandardCharsets.US_ASCII);
+
+    // action.
+    UUID actual = UUIDCodec.decode(text);
+
+    // assert.
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void decode_outcomeIs_acceptsBinaryForm() {
+    // arrange.
+    final UUID expected = UUID.randomUUID();
+
+    // action.
+    UUID actual = UUIDCodec.decode(UUIDCodec.toBytes(expected));
+
+    // assert.
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void decode_outcomeIs_nullForNull() {
+    // action.
+    UUID actual = UUIDCodec.decode(null);
+
+    // assert.
+    assertNull(actual);
+  }
+
+  @Test
+  public void encode_outcomeIs_bytesForBinaryFormat() {
+    // arrange.
+    final UUID uuid = UUID.randomUUID();
+
+    // action.
+    Object encoded = this.sut.encode(uuid);
+
+    // assert.
+    assertArrayEquals(UUIDCodec.toBytes(uuid), (byte[]) encoded);
+  }
+
+  @Test
+  public void encode_outcomeIs_stringForTextFormat() {
+    // arrange.
+    final UUID uuid = UUID.randomUUID();
+    this.sut = new UUIDCodec(UUIDCodec.Format.TEXT);
+
+    // action.
+    Object encoded = this.sut.encode(uuid);
+
+    // assert.
+    assertEquals(uuid.toString(), encoded);
+  }
+}
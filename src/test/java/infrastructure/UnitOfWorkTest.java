@@ -0,0 +1,145 @@
+package infrastructure;
+
+import static org.junit.Assert.*;
+
+import com.codahale.metrics.MetricRegistry;
+import domain.PhoneNumber;
+import domain.Target;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class UnitOfWorkTest {
+
+  private final UUID uuid = UUID.fromString("01665c1e-2a7b-7000-8000-000000000001");
+
+  private CountingTargetDataMapper targetDataMapper;
+  private UnitOfWork sut;
+
+  private static final class CountingTargetDataMapper extends DataMapper<Target> {
+
+    private int finds;
+
+    CountingTargetDataMapper() {
+      super(() -> null, 1, new MetricRegistry(), new UUIDCodec(UUIDCodec.Format.BINARY));
+    }
+
+    @Override
+    public Target find(UUID uuid) {
+      this.finds++;
+      return new Target(uuid, "Jon", new PhoneNumber("1", "812", "555", "0100"));
+    }
+
+    @Override
+    public Target snapshot(Target target) {
+      return new Target(target);
+    }
+
+    @Override
+    public void insert(Target target) {}
+
+    @Override
+    public void update(Target target) {}
+
+    @Override
+    public void delete(UUID uuid) {}
+
+    @Override
+    public int count() {
+      return 0;
+    }
+  }
+
+  @Before
+  public void setup() {
+    this.targetDataMapper = new CountingTargetDataMapper();
+    final Map<Class, DataMapper> dataMappers = new HashMap<>();
+    dataMappers.put(Target.class, this.targetDataMapper);
+    this.sut =
+        new UnitOfWork() {
+          @Override
+          public void save() {}
+
+          @Override
+          public Map<Class, DataMapper> dataMappers() {
+            return dataMappers;
+          }
+        };
+  }
+
+  @After
+  public void tearDown() {
+    this.sut = null;
+    this.targetDataMapper = null;
+  }
+
+  @Test
+  public void find_outcomeIs_loadedOnce() {
+    // action.
+    Target first = this.sut.find(Target.class, this.uuid);
+    Target second = this.sut.find(Target.class, this.uuid);
+
+    // assert.
+    assertSame(first, second);
+    assertEquals(1, this.targetDataMapper.finds);
+  }
+
+  @Test
+  public void register_outcomeIs_knownInstanceReturned() {
+    // arrange.
+    Target loaded = this.sut.find(Target.class, this.uuid);
+    Target duplicate = new Target(loaded);
+
+    // action.
+    Set<Target> registered = this.sut.register(Collections.singleton(duplicate));
+
+    // assert.
+    assertSame(loaded, registered.iterator().next());
+  }
+
+  @Test
+  public void persisted_outcomeIs_snapshotOfLoadedState() {
+    // arrange.
+    Target loaded = this.sut.find(Target.class, this.uuid);
+
+    // action.
+    Object persisted = this.sut.persisted(loaded);
+
+    // assert.
+    assertNotNull(persisted);
+    assertNotSame(loaded, persisted);
+    assertEquals(loaded, persisted);
+  }
+
+  @Test
+  public void remove_outcomeIs_evictedFromIdentityMap() {
+    // arrange.
+    Target loaded = this.sut.find(Target.class, this.uuid);
+
+    // action.
+    this.sut.remove(loaded);
+    this.sut.find(Target.class, this.uuid);
+
+    // assert.
+    assertEquals(2, this.targetDataMapper.finds);
+    assertNull(this.sut.persisted(loaded));
+  }
+
+  @Test
+  public void alter_outcomeIs_oneEntryPerIdentity() {
+    // arrange.
+    Target loaded = this.sut.find(Target.class, this.uuid);
+
+    // action.
+    this.sut.alter(loaded);
+    this.sut.alter(new Target(loaded));
+
+    // assert.
+    assertEquals(1, this.sut.altered().size());
+  }
+}
@@ -0,0 +1,71 @@
+package infrastructure.services;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class AvroSerializerTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private SchemaRegistry schemaRegistry;
+
+  @Before
+  public void setup() {
+    this.schemaRegistry = new FileSchemaRegistry(this.folder.getRoot().toPath().resolve("schemas"));
+  }
+
+  @Test
+  public void serialize_outcomeIs_registryWireFormat() throws Exception {
+
+    // arrange.
+    AvroSerializer<GenericRecord> sut =
+        new AvroSerializer<>(this.schemaRegistry, "sms-value", MessageRecordCodec.SCHEMA);
+    UUID notificationUUID = UUID.fromString("01665c1e-2a7b-7000-8000-000000000001");
+    GenericRecord record = MessageRecordCodec.encode(notificationUUID, 7);
+
+    // action.
+    byte[] bytes = sut.serialize("sms", record);
+
+    // assert.
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    assertEquals(0, buffer.get());
+    assertEquals(sut.getSchemaId(), buffer.getInt());
+    GenericRecord decoded =
+        new GenericDatumReader<GenericRecord>(MessageRecordCodec.SCHEMA)
+            .read(
+                null,
+                DecoderFactory.get()
+                    .binaryDecoder(Arrays.copyOfRange(bytes, 5, bytes.length), null));
+    assertEquals(notificationUUID.toString(), decoded.get("notificationUUID").toString());
+    assertEquals(7, decoded.get("messageID"));
+  }
+
+  @Test
+  public void register_outcomeIs_sameIdForSameSchema() throws Exception {
+
+    // arrange.
+    Schema schema = Schema.create(Schema.Type.STRING);
+    int first = this.schemaRegistry.register("sms-key", schema);
+
+    // action.
+    int second =
+        new FileSchemaRegistry(this.folder.getRoot().toPath().resolve("schemas"))
+            .register("sms-key", schema);
+    int other = this.schemaRegistry.register("sms-value", MessageRecordCodec.SCHEMA);
+
+    // assert.
+    assertEquals(first, second);
+    assertNotEquals(first, other);
+  }
+}
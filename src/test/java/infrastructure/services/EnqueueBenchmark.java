@@ -0,0 +1,80 @@
+package infrastructure.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * Measures the cost of encoding and serializing the records announcing messages to send, without
+ * a Kafka broker or a schema registry server.
+ *
+ * <p>Schemas are registered with a {@link FileSchemaRegistry} in a temporary file, exactly as the
+ * application does at startup when {@code schema.registry.file} is configured. Run it with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=infrastructure.services.EnqueueBenchmark
+ * </pre>
+ *
+ * <p>BENCHMARK_MESSAGES controls the workload.
+ *
+ * @author Jon Freer
+ */
+public final class EnqueueBenchmark {
+
+  private EnqueueBenchmark() {}
+
+  public static void main(String[] args) throws IOException {
+    int messages = Integer.parseInt(env("BENCHMARK_MESSAGES", "1000000"));
+
+    Path registryFile = Files.createTempFile("noti-schemas", ".properties");
+    try {
+      SchemaRegistry schemaRegistry = new FileSchemaRegistry(registryFile);
+      AvroSerializer<String> keySerializer =
+          new AvroSerializer<>(schemaRegistry, "sms-key", Schema.create(Schema.Type.STRING));
+      AvroSerializer<GenericRecord> valueSerializer =
+          new AvroSerializer<>(schemaRegistry, "sms-value", MessageRecordCodec.SCHEMA);
+
+      // warm up the JIT before anything is measured.
+      run("WARMUP", keySerializer, valueSerializer, Math.min(messages, 100000));
+      run("ENQUEUE", keySerializer, valueSerializer, messages);
+    } finally {
+      Files.deleteIfExists(registryFile);
+    }
+  }
+
+  private static void run(
+      String name,
+      AvroSerializer<String> keySerializer,
+      AvroSerializer<GenericRecord> valueSerializer,
+      int messages) {
+    UUID notificationUUID = UUID.randomUUID();
+    long bytes = 0;
+    long start = System.nanoTime();
+    for (int i = 1; i <= messages; i++) {
+      ProducerRecord<String, GenericRecord> record =
+          SMSQueueService.createRecord(notificationUUID, i, String.format("+1%010d", i));
+      bytes += keySerializer.serialize(record.topic(), record.key()).length;
+      bytes += valueSerializer.serialize(record.topic(), record.value()).length;
+    }
+    long elapsed = System.nanoTime() - start;
+
+    System.out.printf(
+        "%-8s messages=%d elapsed=%dms messages/s=%.0f bytes/message=%.1f%n",
+        name,
+        messages,
+        TimeUnit.NANOSECONDS.toMillis(elapsed),
+        messages / (elapsed / 1e9),
+        bytes / (double) messages);
+  }
+
+  private static String env(String name, String defaultValue) {
+    String value = System.getenv(name);
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+}
@@ -0,0 +1,79 @@
+package infrastructure.services;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+public final class TimingWheelTest {
+
+  @Test
+  public void advance_outcomeIs_itemReleasedAtItsDeadline() {
+
+    // arrange.
+    TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+    wheel.schedule("a", 1035);
+
+    // action.
+    List<String> early = wheel.advance(1034);
+    List<String> due = wheel.advance(1035);
+
+    // assert.
+    assertTrue(early.isEmpty());
+    assertEquals(Arrays.asList("a"), due);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  public void advance_outcomeIs_overflowItemReleasedAtItsDeadline() {
+
+    // arrange.
+    TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+    wheel.schedule("a", 1000 + 10 * 8 * 8 * 3 + 7);
+
+    // action.
+    List<String> early = wheel.advance(1000 + 10 * 8 * 8 * 3 + 6);
+    List<String> due = wheel.advance(1000 + 10 * 8 * 8 * 3 + 7);
+
+    // assert.
+    assertTrue(early.isEmpty());
+    assertEquals(Arrays.asList("a"), due);
+  }
+
+  @Test
+  public void advance_outcomeIs_pastItemReleasedImmediately() {
+
+    // arrange.
+    TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+    wheel.schedule("a", 500);
+
+    // action.
+    List<String> due = wheel.advance(1000);
+
+    // assert.
+    assertEquals(Arrays.asList("a"), due);
+  }
+
+  @Test
+  public void advance_outcomeIs_onlyDueItemsReleased() {
+
+    // arrange.
+    TimingWheel<Integer> wheel = new TimingWheel<>(10, 8, 0);
+    for (int i = 1; i <= 1000; i++) {
+      wheel.schedule(i, i * 7);
+    }
+
+    // action.
+    List<Integer> due = wheel.advance(3500);
+
+    // assert.
+    assertEquals(500, due.size());
+    assertEquals(500, new HashSet<>(due).size());
+    for (Integer item : due) {
+      assertTrue(item * 7 <= 3500);
+    }
+    assertEquals(500, wheel.size());
+  }
+}